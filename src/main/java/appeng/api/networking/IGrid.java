@@ -84,7 +84,8 @@ public interface IGrid {
      *
      * @param machineClass class of the machine associated with a grid node
      * @return all unique machines of specified class. if a machine is connected to the grid with multiple nodes, this
-     *         will only return the machine once.
+     *         will only return the machine once. The returned set is an immutable snapshot, which is reused until
+     *         machines of that class join or leave the grid.
      */
 
     <T> Set<T> getMachines(Class<T> machineClass);
@@ -94,7 +95,8 @@ public interface IGrid {
      *
      * @param machineClass class of the machine associated with a grid node
      * @return all unique machines of specified class. if a machine is connected to the grid with multiple nodes, this
-     *         will only return the machine once.
+     *         will only return the machine once. The returned set is an immutable snapshot, which is reused until
+     *         the machines of that class or their active state change.
      */
 
     <T> Set<T> getActiveMachines(Class<T> machineClass);
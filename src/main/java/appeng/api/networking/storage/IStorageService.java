@@ -27,6 +27,7 @@
 import appeng.api.networking.IGridService;
 import appeng.api.stacks.AEKeyType;
 import appeng.api.stacks.KeyCounter;
+import appeng.api.stacks.KeyCounterSnapshot;
 import appeng.api.storage.IStorageProvider;
 import appeng.api.storage.MEStorage;
 
@@ -51,6 +52,20 @@ public interface IStorageService extends IGridService {
      */
     KeyCounter getCachedInventory();
 
+    /**
+     * Returns an immutable snapshot of the {@link #getCachedInventory() cached inventory}. The grid's storage service
+     * returns the same snapshot until the content of the cached inventory changes, and only then changes its
+     * {@link KeyCounterSnapshot#getVersion() version}.
+     * <p/>
+     * Preferred to {@link #getCachedInventory()} by consumers that only read the inventory, or that want to know
+     * whether it changed since they last looked at it.
+     * <p/>
+     * The default implementation copies the cached inventory on every call, and does not track versions.
+     */
+    default KeyCounterSnapshot getCachedInventorySnapshot() {
+        return getCachedInventory().snapshot(0);
+    }
+
     /**
      * Adds a {@link IStorageProvider} that is not associated with a specific {@link IGridNode }. This is for adding
      * storage provided by {@link IGridService}s for examples.
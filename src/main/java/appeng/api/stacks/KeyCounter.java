@@ -23,6 +23,7 @@
 
 package appeng.api.stacks;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -35,6 +36,7 @@
 import org.jetbrains.annotations.Nullable;
 
 import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
 import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 
@@ -159,6 +161,42 @@ public int size() {
         return tot;
     }
 
+    /**
+     * Creates an immutable copy of the non-zero entries of this counter.
+     *
+     * @param version The version to stamp the snapshot with. See {@link KeyCounterSnapshot#getVersion()}.
+     */
+    public KeyCounterSnapshot snapshot(long version) {
+        var size = size();
+        var keys = new AEKey[size];
+        var amounts = new long[size];
+        var groups = new Reference2IntOpenHashMap<Object>(lists.size());
+        var groupOffsets = new int[lists.size() + 1];
+
+        var count = 0;
+        var groupCount = 0;
+        for (var entry : lists.reference2ObjectEntrySet()) {
+            var groupStart = count;
+            for (var variant : entry.getValue()) {
+                if (variant.getLongValue() != 0) {
+                    keys[count] = variant.getKey();
+                    amounts[count] = variant.getLongValue();
+                    count++;
+                }
+            }
+            if (count > groupStart) {
+                groups.put(entry.getKey(), groupCount);
+                groupOffsets[++groupCount] = count;
+            }
+        }
+
+        if (count < size) {
+            keys = Arrays.copyOf(keys, count);
+            amounts = Arrays.copyOf(amounts, count);
+        }
+        return new KeyCounterSnapshot(keys, amounts, groups, groupOffsets, version);
+    }
+
     @Override
     public Iterator<Object2LongMap.Entry<AEKey>> iterator() {
         return Iterators.concat(
@@ -0,0 +1,101 @@
+package appeng.api.stacks;
+
+import java.util.Objects;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntMaps;
+
+/**
+ * An immutable copy of the non-zero entries of a {@link KeyCounter}, stored as parallel arrays of keys and amounts.
+ * <p>
+ * Intended for consumers that only read, and read often: iterating by index does not allocate, and the
+ * {@link #getVersion() version} tells whether the content changed without having to compare it. Keys with the same
+ * {@link AEKey#getPrimaryKey() primary key} are stored next to each other, and an index of the primary keys allows
+ * looking up a single key.
+ *
+ * <pre>
+ * for (int i = 0; i &lt; snapshot.size(); i++) {
+ *     var what = snapshot.getKey(i);
+ *     var amount = snapshot.getAmount(i);
+ * }
+ * </pre>
+ */
+public final class KeyCounterSnapshot {
+    public static final KeyCounterSnapshot EMPTY = new KeyCounterSnapshot(new AEKey[0], new long[0],
+            Reference2IntMaps.emptyMap(), new int[] { 0 }, 0);
+
+    private final AEKey[] keys;
+    private final long[] amounts;
+    /**
+     * Maps each primary key to its variant group. The keys of group {@code g} are stored in the range from
+     * {@code groupOffsets[g]} (inclusive) to {@code groupOffsets[g + 1]} (exclusive).
+     */
+    private final Reference2IntMap<Object> groups;
+    private final int[] groupOffsets;
+    private final long version;
+
+    KeyCounterSnapshot(AEKey[] keys, long[] amounts, Reference2IntMap<Object> groups, int[] groupOffsets,
+            long version) {
+        this.keys = keys;
+        this.amounts = amounts;
+        this.groups = groups;
+        this.groupOffsets = groupOffsets;
+        this.version = version;
+    }
+
+    /**
+     * The version of the content this snapshot was taken from. Two snapshots from the same source with the same
+     * version have the same content.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return True if this snapshot was taken from a different version than the given one.
+     */
+    public boolean isChangedSince(long version) {
+        return this.version != version;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    public AEKey getKey(int index) {
+        return keys[index];
+    }
+
+    public long getAmount(int index) {
+        return amounts[index];
+    }
+
+    /**
+     * @return The index of the given key, or -1 if this snapshot does not contain it.
+     */
+    public int indexOf(AEKey what) {
+        Objects.requireNonNull(what, "what");
+        var group = groups.getOrDefault(what.getPrimaryKey(), -1);
+        if (group == -1) {
+            return -1;
+        }
+        for (var i = groupOffsets[group]; i < groupOffsets[group + 1]; i++) {
+            if (keys[i].equals(what)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return The amount of the given key, or 0 if this snapshot does not contain it.
+     */
+    public long get(AEKey what) {
+        var index = indexOf(what);
+        return index != -1 ? amounts[index] : 0;
+    }
+}
@@ -1,12 +1,21 @@
 package appeng.api.stacks;
 
+import java.util.AbstractCollection;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
+import com.google.common.base.Preconditions;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectAVLTreeMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectSortedMap;
+import it.unimi.dsi.fastutil.ints.IntComparators;
+import it.unimi.dsi.fastutil.objects.AbstractObject2LongMap;
 import it.unimi.dsi.fastutil.objects.Object2LongMap;
 import it.unimi.dsi.fastutil.objects.Object2LongMaps;
-import it.unimi.dsi.fastutil.objects.Object2LongSortedMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 
 import appeng.api.config.FuzzyMode;
 
@@ -209,14 +218,93 @@ public VariantCounter copy() {
     /**
      * This variant list is optimized for damageable items, and supports selecting durability ranges with
      * {@link #findFuzzy}.
+     * <p>
+     * Exact lookups use a hash map. A separate index of the keys by their damage value is only used by
+     * {@link #findFuzzy}. Keys are added to the index as soon as they are added to the map, but removed keys are only
+     * purged from the index lazily, which keeps removal (including through iterators) free of extra bookkeeping.
      */
     static class FuzzyVariantMap extends VariantCounter {
-        private final AEKey2LongMap.AVLTreeMap records = FuzzySearch.createMap2Long();
+        private final AEKey2LongMap.OpenHashMap records = new AEKey2LongMap.OpenHashMap();
+        /**
+         * Keys by their fuzzy search value, from most to least damaged. May contain keys that are no longer in
+         * {@link #records}.
+         */
+        private final Int2ObjectSortedMap<Set<AEKey>> damageIndex = new Int2ObjectAVLTreeMap<>(
+                IntComparators.OPPOSITE_COMPARATOR);
+        private int indexedKeys;
+
+        @Override
+        public void add(AEKey key, long amount) {
+            var previousSize = records.size();
+            super.add(key, amount);
+            if (records.size() > previousSize) {
+                addToIndex(key);
+            }
+        }
+
+        @Override
+        public void set(AEKey key, long amount) {
+            var previousSize = records.size();
+            super.set(key, amount);
+            if (records.size() > previousSize) {
+                addToIndex(key);
+            }
+        }
+
+        @Override
+        public void clear() {
+            super.clear();
+            damageIndex.clear();
+            indexedKeys = 0;
+        }
+
+        private void addToIndex(AEKey key) {
+            // Rebuild the index once it is mostly made up of removed keys
+            if (indexedKeys >= 2 * records.size() + 32) {
+                rebuildIndex();
+            } else if (damageIndex.computeIfAbsent(key.getFuzzySearchValue(), d -> new ObjectOpenHashSet<>())
+                    .add(key)) {
+                indexedKeys++;
+            }
+        }
+
+        private void rebuildIndex() {
+            damageIndex.clear();
+            indexedKeys = 0;
+            for (var key : records.keySet()) {
+                damageIndex.computeIfAbsent(key.getFuzzySearchValue(), d -> new ObjectOpenHashSet<>()).add(key);
+                indexedKeys++;
+            }
+        }
 
         @Override
         public Collection<Object2LongMap.Entry<AEKey>> findFuzzy(AEKey key, FuzzyMode fuzzy) {
-            // The cast is necessary because the subMap in the call is not an instance of AEKey2LongMap.AVLTreeMap!
-            return FuzzySearch.findFuzzy((Object2LongSortedMap<AEKey>) records, key, fuzzy).object2LongEntrySet();
+            var lowerBound = FuzzySearch.makeLowerBound(key, fuzzy);
+            var upperBound = FuzzySearch.makeUpperBound(key, fuzzy);
+            Preconditions.checkState(lowerBound.itemDamage() > upperBound.itemDamage());
+
+            // The index is ordered from most to least damaged, so the range is (upperBound, lowerBound]
+            var buckets = damageIndex.subMap(lowerBound.itemDamage(), upperBound.itemDamage()).values();
+            return new AbstractCollection<>() {
+                @Override
+                public Iterator<Object2LongMap.Entry<AEKey>> iterator() {
+                    return new FuzzyIterator(buckets.iterator());
+                }
+
+                @Override
+                public boolean isEmpty() {
+                    return !iterator().hasNext();
+                }
+
+                @Override
+                public int size() {
+                    int size = 0;
+                    for (var it = iterator(); it.hasNext(); it.next()) {
+                        size++;
+                    }
+                    return size;
+                }
+            };
         }
 
         @Override
@@ -228,7 +316,54 @@ AEKey2LongMap getRecords() {
         public VariantCounter copy() {
             var result = new FuzzyVariantMap();
             result.records.putAll(records);
+            result.rebuildIndex();
             return result;
         }
+
+        /**
+         * Iterates over the keys in a range of the damage index, skipping keys that have been removed from the map.
+         */
+        private class FuzzyIterator implements Iterator<Object2LongMap.Entry<AEKey>> {
+            private final Iterator<Set<AEKey>> buckets;
+            private Iterator<AEKey> bucket = Collections.emptyIterator();
+            private Object2LongMap.Entry<AEKey> next;
+
+            FuzzyIterator(Iterator<Set<AEKey>> buckets) {
+                this.buckets = buckets;
+                this.next = seekNext();
+            }
+
+            @Override
+            public boolean hasNext() {
+                return this.next != null;
+            }
+
+            @Override
+            public Object2LongMap.Entry<AEKey> next() {
+                if (this.next == null) {
+                    throw new NoSuchElementException();
+                }
+
+                var result = this.next;
+                this.next = this.seekNext();
+                return result;
+            }
+
+            private Object2LongMap.Entry<AEKey> seekNext() {
+                while (true) {
+                    while (this.bucket.hasNext()) {
+                        var key = this.bucket.next();
+                        if (records.containsKey(key)) {
+                            return new AbstractObject2LongMap.BasicEntry<>(key, records.getLong(key));
+                        }
+                    }
+
+                    if (!this.buckets.hasNext()) {
+                        return null;
+                    }
+                    this.bucket = this.buckets.next().iterator();
+                }
+            }
+        }
     }
 }
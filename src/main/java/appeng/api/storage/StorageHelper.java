@@ -39,6 +39,7 @@
 import appeng.api.stacks.AEKey;
 import appeng.core.stats.AeStats;
 import appeng.crafting.CraftingLink;
+import appeng.me.service.helpers.CraftingRequestCoalescer;
 
 public final class StorageHelper {
     private StorageHelper() {
@@ -54,6 +55,11 @@ public static ICraftingLink loadCraftingLink(CompoundTag data, ICraftingRequeste
         Objects.requireNonNull(data);
         Objects.requireNonNull(req);
 
+        // Links of merged requests also restore the requester's share of the job
+        if (data.contains(CraftingRequestCoalescer.NBT_SHARE)) {
+            return CraftingRequestCoalescer.loadLink(data, req);
+        }
+
         return new CraftingLink(data, req);
     }
 
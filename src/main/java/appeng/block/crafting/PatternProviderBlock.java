@@ -60,6 +60,7 @@ public void neighborChanged(BlockState state, Level level, BlockPos pos, Block b
         var be = this.getBlockEntity(level, pos);
         if (be != null) {
             be.getLogic().updateRedstoneState();
+            be.getLogic().notifyTerminalChanged();
         }
     }
 
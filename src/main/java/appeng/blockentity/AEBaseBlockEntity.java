@@ -18,13 +18,12 @@
 
 package appeng.blockentity;
 
-import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
-import com.google.gson.stream.JsonWriter;
 import com.mojang.serialization.JsonOps;
 
 import org.jetbrains.annotations.ApiStatus;
@@ -81,6 +80,7 @@
 import appeng.hooks.VisualStateSaving;
 import appeng.hooks.ticking.TickHandler;
 import appeng.items.tools.MemoryCardItem;
+import appeng.util.DebugExport;
 import appeng.util.IDebugExportable;
 import appeng.util.JsonStreamUtil;
 import appeng.util.SettingsFrom;
@@ -104,6 +104,17 @@ public class AEBaseBlockEntity extends BlockEntity
      * subsequently be equal.
      */
     private byte readyInvoked = 0;
+    /**
+     * The last update payload that all clients tracking this block entity are known to have, or null if that is
+     * unknown. Used on the server to skip updates that would not change anything.
+     */
+    @Nullable
+    private byte[] syncedPayload;
+    /**
+     * The {@link #getDeltaBaseline() delta baseline} that all clients tracking this block entity are known to have.
+     */
+    @Nullable
+    private Object syncedDeltaBaseline;
 
     public AEBaseBlockEntity(BlockEntityType<?> blockEntityType, BlockPos pos, BlockState blockState) {
         super(blockEntityType, pos, blockState);
@@ -142,12 +153,13 @@ public final void loadAdditional(CompoundTag tag, HolderLookup.Provider registri
         } else if (level != null) {
             registryAccess = level.registryAccess();
         }
-        if (tag.contains("#upd", Tag.TAG_BYTE_ARRAY) && tag.size() == 1) {
-            var updateData = tag.getByteArray("#upd");
+        var delta = tag.contains("#dlt", Tag.TAG_BYTE_ARRAY);
+        if ((delta || tag.contains("#upd", Tag.TAG_BYTE_ARRAY)) && tag.size() == 1) {
+            var updateData = tag.getByteArray(delta ? "#dlt" : "#upd");
             if (registryAccess == null) {
                 LOG.warn("Ignoring  update packet for {} since no registry is available.", this);
             } else if (readUpdateData(
-                    new RegistryFriendlyByteBuf(Unpooled.wrappedBuffer(updateData), registryAccess))) {
+                    new RegistryFriendlyByteBuf(Unpooled.wrappedBuffer(updateData), registryAccess), delta)) {
                 // Triggers a chunk re-render if the level is already loaded
                 if (level != null) {
                     requestModelDataUpdate();
@@ -212,19 +224,65 @@ protected void scheduleInit() {
     public CompoundTag getUpdateTag(HolderLookup.Provider registries) {
         var data = new CompoundTag();
 
+        var payload = writeUpdatePayload();
+        data.putByteArray("#upd", payload);
+
+        // This tag is sent to an unknown set of players (i.e. as part of a chunk), so we can no longer assume that
+        // all clients have the same state, unless it matches what they were sent before.
+        if (!Arrays.equals(payload, syncedPayload)) {
+            syncedPayload = null;
+        }
+        if (!Objects.equals(getDeltaBaseline(), syncedDeltaBaseline)) {
+            syncedDeltaBaseline = null;
+        }
+
+        return data;
+    }
+
+    private byte[] writeUpdatePayload() {
         var stream = new RegistryFriendlyByteBuf(Unpooled.buffer(), level.registryAccess());
         this.writeToStream(stream);
 
         stream.capacity(stream.readableBytes());
-        data.putByteArray("#upd", stream.array());
-        return data;
+        return stream.array();
     }
 
-    private boolean readUpdateData(RegistryFriendlyByteBuf stream) {
+    /**
+     * Builds the packet that brings all clients tracking this block entity up to date, or returns null if they already
+     * have the current state. If the {@link #getDeltaBaseline() delta baseline} is unchanged since the last update,
+     * only the delta written by {@link #writeDeltaToStream} is sent.
+     * <p>
+     * The caller must send the returned packet to all players tracking this block entity.
+     */
+    @ApiStatus.Internal
+    @Nullable
+    public final Packet<ClientGamePacketListener> createClientSyncPacket() {
+        var payload = writeUpdatePayload();
+        if (Arrays.equals(payload, syncedPayload)) {
+            return null;
+        }
+        syncedPayload = payload;
+
+        var data = new CompoundTag();
+        var baseline = getDeltaBaseline();
+        if (baseline != null && baseline.equals(syncedDeltaBaseline)) {
+            var stream = new RegistryFriendlyByteBuf(Unpooled.buffer(), level.registryAccess());
+            this.writeDeltaToStream(stream);
+            stream.capacity(stream.readableBytes());
+            data.putByteArray("#dlt", stream.array());
+        } else {
+            syncedDeltaBaseline = baseline;
+            data.putByteArray("#upd", payload);
+        }
+
+        return ClientboundBlockEntityDataPacket.create(this, (blockEntity, registries) -> data);
+    }
+
+    private boolean readUpdateData(RegistryFriendlyByteBuf stream, boolean delta) {
         boolean output = false;
 
         try {
-            output = this.readFromStream(stream);
+            output = delta ? this.readDeltaFromStream(stream) : this.readFromStream(stream);
         } catch (Throwable t) {
             AELog.warn(t);
         }
@@ -244,6 +302,34 @@ protected boolean readFromStream(RegistryFriendlyByteBuf data) {
     protected void writeToStream(RegistryFriendlyByteBuf data) {
     }
 
+    /**
+     * Block entities with state that changes frequently (i.e. the cell LEDs of drives) can send only that part of their
+     * state to clients. The baseline describes everything else that is written by {@link #writeToStream}. As long as it
+     * is equal to the baseline of the last update, only {@link #writeDeltaToStream} is sent.
+     * <p>
+     * This is called right after {@link #writeToStream}.
+     *
+     * @return The baseline, or null if this block entity does not support delta updates.
+     */
+    @Nullable
+    protected Object getDeltaBaseline() {
+        return null;
+    }
+
+    /**
+     * Writes the part of the client state that is not covered by {@link #getDeltaBaseline()}. Since clients may have
+     * received any earlier state, all fields must be written as absolute values.
+     */
+    protected void writeDeltaToStream(RegistryFriendlyByteBuf data) {
+    }
+
+    /**
+     * @see #writeDeltaToStream
+     */
+    protected boolean readDeltaFromStream(RegistryFriendlyByteBuf data) {
+        return false;
+    }
+
     /**
      * Used to store the state that is synchronized to clients for the visual appearance of this part as NBT. This is
      * only used to store this state for tools such as Create Ponders in Structure NBT. Actual synchronization uses
@@ -271,7 +357,12 @@ public void markForClientUpdate() {
         this.requestModelDataUpdate();
 
         if (this.level != null && !this.isRemoved() && !notLoaded()) {
-            this.level.sendBlockUpdated(this.worldPosition, getBlockState(), getBlockState(), Block.UPDATE_CLIENTS);
+            if (this.level instanceof ServerLevel serverLevel) {
+                TickHandler.instance().addClientSync(serverLevel, this);
+            } else {
+                this.level.sendBlockUpdated(this.worldPosition, getBlockState(), getBlockState(),
+                        Block.UPDATE_CLIENTS);
+            }
         }
     }
 
@@ -279,10 +370,8 @@ public void markForUpdate() {
         // Clearing the cached model-data is always harmless regardless of status
         this.requestModelDataUpdate();
 
-        // TODO: Optimize Network Load
         if (this.level != null && !this.isRemoved() && !notLoaded()) {
 
-            boolean alreadyUpdated = false;
             // Let the block update its own state with our internal state changes
             BlockState currentState = getBlockState();
             if (currentState.getBlock() instanceof AEBaseEntityBlock<?> block) {
@@ -290,11 +379,14 @@ public void markForUpdate() {
                 if (currentState != newState) {
                     AELog.blockUpdate(this.worldPosition, currentState, newState, this);
                     this.level.setBlockAndUpdate(worldPosition, newState);
-                    alreadyUpdated = true;
+                    return;
                 }
             }
 
-            if (!alreadyUpdated) {
+            // Updates of the block entity data alone are coalesced and sent at the end of the tick
+            if (this.level instanceof ServerLevel serverLevel) {
+                TickHandler.instance().addClientSync(serverLevel, this);
+            } else {
                 this.level.sendBlockUpdated(this.worldPosition, currentState, currentState, Block.UPDATE_NEIGHBORS);
             }
         }
@@ -506,17 +598,22 @@ public void setBlockState(BlockState state) {
     }
 
     @Override
-    public void debugExport(JsonWriter writer, HolderLookup.Provider registries, Reference2IntMap<Object> machineIds,
-            Reference2IntMap<IGridNode> nodeIds)
-            throws IOException {
+    public DebugExport debugExport(HolderLookup.Provider registries, Reference2IntMap<Object> machineIds,
+            Reference2IntMap<IGridNode> nodeIds) {
+        // The saved data is a fresh copy, and block states and positions are immutable
         var data = new CompoundTag();
         saveAdditional(data, registries);
-
-        var ops = registries.createSerializationContext(JsonOps.INSTANCE);
-        JsonStreamUtil.writeProperties(Map.of(
-                "blockState", BlockState.CODEC.encodeStart(ops, getBlockState()).getOrThrow(),
-                "level", level.dimension().location().toString(),
-                "pos", getBlockPos(),
-                "data", CompoundTag.CODEC.encodeStart(ops, data).getOrThrow()), writer);
+        var blockState = getBlockState();
+        var levelId = level.dimension().location().toString();
+        var pos = getBlockPos();
+
+        return writer -> {
+            var ops = registries.createSerializationContext(JsonOps.INSTANCE);
+            JsonStreamUtil.writeProperties(Map.of(
+                    "blockState", BlockState.CODEC.encodeStart(ops, blockState).getOrThrow(),
+                    "level", levelId,
+                    "pos", pos,
+                    "data", CompoundTag.CODEC.encodeStart(ops, data).getOrThrow()), writer);
+        };
     }
 }
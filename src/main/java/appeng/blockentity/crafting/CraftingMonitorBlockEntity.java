@@ -33,6 +33,7 @@
 import net.neoforged.neoforge.client.model.data.ModelData;
 
 import appeng.api.implementations.blockentities.IColorableBlockEntity;
+import appeng.api.stacks.AEKey;
 import appeng.api.stacks.GenericStack;
 import appeng.api.util.AEColor;
 
@@ -64,6 +65,29 @@ protected void writeToStream(RegistryFriendlyByteBuf data) {
         GenericStack.writeBuffer(display, data);
     }
 
+    @Override
+    @Nullable
+    protected Object getDeltaBaseline() {
+        // While a job is running, usually only the amount of the displayed stack changes
+        return display != null ? new SyncBaseline(paintedColor, display.what()) : null;
+    }
+
+    @Override
+    protected void writeDeltaToStream(RegistryFriendlyByteBuf data) {
+        super.writeDeltaToStream(data);
+        data.writeVarLong(display.amount());
+    }
+
+    @Override
+    protected boolean readDeltaFromStream(RegistryFriendlyByteBuf data) {
+        final boolean c = super.readDeltaFromStream(data);
+        var amount = data.readVarLong();
+        if (this.display != null) {
+            this.display = new GenericStack(this.display.what(), amount);
+        }
+        return c; // Block Entity Renderer takes care of display
+    }
+
     @Override
     public void loadTag(CompoundTag data, HolderLookup.Provider registries) {
         super.loadTag(data, registries);
@@ -111,4 +135,7 @@ public boolean recolourBlock(Direction side, AEColor newPaintedColor, Player who
     public ModelData getModelData() {
         return CraftingMonitorModelData.create(getConnections(), getColor());
     }
+
+    private record SyncBaseline(AEColor paintedColor, AEKey what) {
+    }
 }
@@ -178,5 +178,7 @@ public ItemStack getMainMenuIcon() {
     public void setBlockState(BlockState state) {
         super.setBlockState(state);
         onGridConnectableSidesChanged();
+        // The push direction determines which adjacent machines the provider is grouped by
+        logic.notifyTerminalChanged();
     }
 }
@@ -18,12 +18,10 @@
 
 package appeng.blockentity.networking;
 
-import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 
-import com.google.gson.stream.JsonWriter;
-
 import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.core.BlockPos;
@@ -60,6 +58,7 @@
 import appeng.core.AppEng;
 import appeng.helpers.AEMultiBlockEntity;
 import appeng.parts.CableBusContainer;
+import appeng.util.DebugExport;
 import appeng.util.IDebugExportable;
 import appeng.util.Platform;
 
@@ -385,24 +384,36 @@ public VoxelShape getCollisionShape(CollisionContext context) {
     }
 
     @Override
-    public void debugExport(JsonWriter writer, HolderLookup.Provider registries, Reference2IntMap<Object> machineIds,
-            Reference2IntMap<IGridNode> nodeIds)
-            throws IOException {
-        super.debugExport(writer, registries, machineIds, nodeIds);
+    public DebugExport debugExport(HolderLookup.Provider registries, Reference2IntMap<Object> machineIds,
+            Reference2IntMap<IGridNode> nodeIds) {
+        var hostExport = super.debugExport(registries, machineIds, nodeIds);
 
-        writer.name("parts");
-        writer.beginObject();
+        // Parts that don't export anything are still listed
+        var partExports = new LinkedHashMap<String, DebugExport>();
         for (var side : Platform.DIRECTIONS_WITH_NULL) {
             var part = getPart(side);
             if (part != null) {
-                writer.name(side == null ? "center" : side.getSerializedName());
+                partExports.put(side == null ? "center" : side.getSerializedName(),
+                        part instanceof IDebugExportable exportable
+                                ? exportable.debugExport(registries, machineIds, nodeIds)
+                                : null);
+            }
+        }
+
+        return writer -> {
+            hostExport.write(writer);
+
+            writer.name("parts");
+            writer.beginObject();
+            for (var entry : partExports.entrySet()) {
+                writer.name(entry.getKey());
                 writer.beginObject();
-                if (part instanceof IDebugExportable exportable) {
-                    exportable.debugExport(writer, registries, machineIds, nodeIds);
+                if (entry.getValue() != null) {
+                    entry.getValue().write(writer);
                 }
                 writer.endObject();
             }
-        }
-        writer.endObject();
+            writer.endObject();
+        };
     }
 }
@@ -57,9 +57,11 @@
 import appeng.blockentity.grid.AENetworkedInvBlockEntity;
 import appeng.blockentity.inventory.AppEngCellInventory;
 import appeng.client.render.model.DriveModelData;
+import appeng.core.AEConfig;
 import appeng.core.AELog;
 import appeng.core.definitions.AEBlocks;
 import appeng.helpers.IPriorityHost;
+import appeng.me.storage.DriveStorage;
 import appeng.me.storage.DriveWatcher;
 import appeng.menu.ISubMenu;
 import appeng.menu.MenuOpener;
@@ -73,6 +75,8 @@ public class DriveBlockEntity extends AENetworkedInvBlockEntity
 
     private final AppEngCellInventory inv = new AppEngCellInventory(this, getCellCount());
     private final DriveWatcher[] invBySlot = new DriveWatcher[getCellCount()];
+    // Presents all cells as one storage, if enabled
+    private final DriveStorage driveStorage;
     private boolean isCached = false;
     private int priority = 0;
     private boolean wasOnline = false;
@@ -83,6 +87,7 @@ public class DriveBlockEntity extends AENetworkedInvBlockEntity
 
     public DriveBlockEntity(BlockEntityType<?> blockEntityType, BlockPos pos, BlockState blockState) {
         super(blockEntityType, pos, blockState);
+        this.driveStorage = new DriveStorage(invBySlot, blockState.getBlock().getName());
         getMainNode()
                 .addService(IStorageProvider.class, this)
                 .setFlags(GridFlags.REQUIRE_CHANNEL);
@@ -101,6 +106,32 @@ protected void writeToStream(RegistryFriendlyByteBuf data) {
         super.writeToStream(data);
         updateClientSideState();
 
+        data.writeInt(getPackedClientSideState());
+
+        for (int i = 0; i < getCellCount(); i++) {
+            data.writeVarInt(BuiltInRegistries.ITEM.getId(getCellItem(i)));
+        }
+    }
+
+    @Override
+    protected Object getDeltaBaseline() {
+        // Cell LEDs and the online state change far more often than the inserted cells
+        return Arrays.asList(clientSideCellItems.clone());
+    }
+
+    @Override
+    protected void writeDeltaToStream(RegistryFriendlyByteBuf data) {
+        super.writeDeltaToStream(data);
+        data.writeInt(getPackedClientSideState());
+    }
+
+    @Override
+    protected boolean readDeltaFromStream(RegistryFriendlyByteBuf data) {
+        var changed = super.readDeltaFromStream(data);
+        return readPackedClientSideState(data.readInt()) || changed;
+    }
+
+    private int getPackedClientSideState() {
         // Pack the enums into an int of 3 bit per cell state, using 30 bits total
         int packedState = 0;
         for (int i = 0; i < getCellCount(); i++) {
@@ -110,11 +141,26 @@ protected void writeToStream(RegistryFriendlyByteBuf data) {
         if (clientSideOnline) {
             packedState |= 1 << 31;
         }
-        data.writeInt(packedState);
+        return packedState;
+    }
 
+    private boolean readPackedClientSideState(int packedState) {
+        var changed = false;
         for (int i = 0; i < getCellCount(); i++) {
-            data.writeVarInt(BuiltInRegistries.ITEM.getId(getCellItem(i)));
+            var cellStateOrdinal = (packedState >> (i * 3)) & 0b111;
+            var cellState = CellState.values()[cellStateOrdinal];
+            if (clientSideCellState[i] != cellState) {
+                clientSideCellState[i] = cellState;
+                changed = true;
+            }
         }
+
+        var online = (packedState & (1 << 31)) != 0;
+        if (clientSideOnline != online) {
+            clientSideOnline = online;
+            changed = true;
+        }
+        return changed;
     }
 
     @Override
@@ -140,19 +186,7 @@ protected void saveVisualState(CompoundTag data) {
     protected boolean readFromStream(RegistryFriendlyByteBuf data) {
         var changed = super.readFromStream(data);
 
-        var packedState = data.readInt();
-        for (int i = 0; i < getCellCount(); i++) {
-            var cellStateOrdinal = (packedState >> (i * 3)) & 0b111;
-            var cellState = CellState.values()[cellStateOrdinal];
-            if (clientSideCellState[i] != cellState) {
-                clientSideCellState[i] = cellState;
-                changed = true;
-            }
-        }
-
-        var online = (packedState & (1 << 31)) != 0;
-        if (clientSideOnline != online) {
-            clientSideOnline = online;
+        if (readPackedClientSideState(data.readInt())) {
             changed = true;
         }
 
@@ -347,6 +381,7 @@ private void updateState() {
             for (int slot = 0; slot < this.inv.size(); slot++) {
                 power += updateStateForSlot(slot);
             }
+            this.driveStorage.invalidate();
             this.getMainNode().setIdlePowerUsage(power);
 
             this.isCached = true;
@@ -365,7 +400,8 @@ private double updateStateForSlot(int slot) {
             if (cell != null) {
                 this.inv.setHandler(slot, cell);
 
-                var driveWatcher = new DriveWatcher(cell, () -> blinkCell(slot));
+                var driveWatcher = new DriveWatcher(cell, () -> blinkCell(slot),
+                        what -> driveStorage.onCellContentChanged(slot, what));
                 this.invBySlot[slot] = driveWatcher;
 
                 return cell.getIdleDrain();
@@ -385,6 +421,11 @@ public void onReady() {
     public void mountInventories(IStorageMounts storageMounts) {
         if (this.getMainNode().isOnline()) {
             this.updateState();
+            if (AEConfig.instance().isAggregateDriveStorage()) {
+                storageMounts.mount(driveStorage, priority);
+                return;
+            }
+
             for (var inventory : this.invBySlot) {
                 if (inventory != null) {
                     storageMounts.mount(inventory, priority);
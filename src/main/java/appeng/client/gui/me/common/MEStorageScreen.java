@@ -460,6 +460,36 @@ public void drawFG(GuiGraphics guiGraphics, int offsetX, int offsetY, int mouseX
         }
 
         renderLinkStatus(guiGraphics, getMenu().getLinkStatus());
+        renderPendingEntries(guiGraphics);
+    }
+
+    /**
+     * Large updates are sent by the server over multiple ticks. Until they are complete, show placeholders in the
+     * empty slots.
+     */
+    private void renderPendingEntries(GuiGraphics guiGraphics) {
+        var pendingEntries = repo.getPendingEntries();
+        if (pendingEntries <= 0 || !getMenu().getLinkStatus().connected()) {
+            return;
+        }
+
+        Slot firstEmptySlot = null;
+        for (Slot slot : menu.slots) {
+            if (slot instanceof RepoSlot repoSlot && repoSlot.isActive() && repoSlot.getEntry() == null) {
+                guiGraphics.fill(slot.x, slot.y, slot.x + 16, slot.y + 16, 0x20ffffff);
+                if (firstEmptySlot == null) {
+                    firstEmptySlot = slot;
+                }
+            }
+        }
+
+        if (firstEmptySlot != null) {
+            var firstSlot = style.getSlotPos(0, 0);
+            var lastSlot = style.getSlotPos(0, style.getSlotsPerRow() - 1);
+            var centerX = (firstSlot.getX() + lastSlot.getX() + 16) / 2;
+            guiGraphics.drawCenteredString(font, GuiText.TerminalPendingEntries.text(pendingEntries), centerX,
+                    firstEmptySlot.y + 4, 0xffffff);
+        }
     }
 
     private void renderLinkStatus(GuiGraphics guiGraphics, ILinkStatus linkStatus) {
@@ -773,6 +803,8 @@ public void containerTick() {
             }
         }
 
+        this.repo.updateSearchIndex();
+
         super.containerTick();
     }
 
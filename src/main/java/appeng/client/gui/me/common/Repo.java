@@ -91,6 +91,7 @@ public class Repo implements IClientRepo {
     private final IScrollSource src;
     private final ISortSource sortSrc;
     private boolean paused;
+    private int pendingEntries;
 
     public Repo(IScrollSource src, ISortSource sortSrc) {
         this.src = src;
@@ -117,6 +118,18 @@ public final void handleUpdate(boolean fullUpdate, List<GridInventoryEntry> entr
         updateView();
     }
 
+    @Override
+    public void setPendingEntries(int pendingEntries) {
+        this.pendingEntries = pendingEntries;
+    }
+
+    /**
+     * @return The number of changed entries that the server has not sent yet.
+     */
+    public int getPendingEntries() {
+        return pendingEntries;
+    }
+
     private void handleUpdate(GridInventoryEntry serverEntry) {
         entriesByItemIdNeedsUpdate = true;
 
@@ -129,6 +142,7 @@ private void handleUpdate(GridInventoryEntry serverEntry) {
             }
             if (serverEntry.isMeaningful()) {
                 entries.put(serverEntry.getSerial(), serverEntry);
+                search.addToIndex(serverEntry.getWhat());
             }
             return;
         }
@@ -355,6 +369,7 @@ public final int size() {
 
     public final void clear() {
         this.entries.clear();
+        this.search.clearIndexQueue();
         this.view.clear();
         this.pinnedRow.clear();
         this.entriesByItemId.clear();
@@ -389,6 +404,14 @@ public final void setSearchString(String searchString) {
         this.search.setSearchString(searchString);
     }
 
+    /**
+     * Spends a small amount of time on building the search index for entries received from the server. Should be
+     * called once per client tick.
+     */
+    public final void updateSearchIndex() {
+        this.search.updateIndex();
+    }
+
     private Comparator<AEKey> getKeyComparator(SortOrder sortBy, SortDir sortDir) {
         return KeySorters.getComparator(sortBy, sortDir);
     }
@@ -42,6 +42,7 @@
 import appeng.client.gui.widgets.ServerSettingToggleButton;
 import appeng.client.gui.widgets.SettingToggleButton;
 import appeng.core.localization.GuiText;
+import appeng.crafting.execution.CraftingJobTelemetry;
 import appeng.menu.me.crafting.CraftingCPUMenu;
 import appeng.menu.me.crafting.CraftingStatus;
 import appeng.menu.me.crafting.CraftingStatusEntry;
@@ -103,6 +104,15 @@ protected void updateBeforeRender() {
         if (menu.isCantStoreItems()) {
             title = title.copy().append(" - ").append(GuiText.CantStoreItems.text().withStyle(ChatFormatting.RED));
         }
+        // Show the job telemetry if the server collects it
+        if (menu.getCoProcessorUtilization() >= 0) {
+            title = title.copy().append(" - ")
+                    .append(GuiText.CraftingCpuUtilization.text(menu.getCoProcessorUtilization()));
+            var cpuState = menu.getCpuState();
+            if (cpuState != null) {
+                title = title.copy().append(", ").append(getCpuStateText(cpuState));
+            }
+        }
         setTextContent(TEXT_ID_DIALOG_TITLE, title);
 
         final int size = this.status != null ? this.status.getEntries().size() : 0;
@@ -111,6 +121,16 @@ protected void updateBeforeRender() {
         this.schedulingModeButton.set(this.menu.getSchedulingMode());
     }
 
+    private static Component getCpuStateText(CraftingJobTelemetry.CpuState cpuState) {
+        return switch (cpuState) {
+            case PUSHING -> GuiText.CraftingCpuPushing.text();
+            case OPS_EXHAUSTED -> GuiText.CraftingCpuOpsExhausted.text();
+            case BLOCKED_BY_PROVIDERS -> GuiText.CraftingCpuBlockedByProviders.text().withStyle(ChatFormatting.RED);
+            case WAITING_FOR_RETURNS -> GuiText.CraftingCpuWaitingForReturns.text();
+            case MISSING_INPUTS -> GuiText.CraftingCpuMissingInputs.text().withStyle(ChatFormatting.RED);
+        };
+    }
+
     private List<CraftingStatusEntry> getVisualEntries() {
         return this.status != null ? status.getEntries() : Collections.emptyList();
     }
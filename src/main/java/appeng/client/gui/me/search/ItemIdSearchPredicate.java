@@ -1,6 +1,5 @@
 package appeng.client.gui.me.search;
 
-import java.util.Locale;
 import java.util.Objects;
 import java.util.function.Predicate;
 
@@ -9,15 +8,16 @@
 
 final class ItemIdSearchPredicate implements Predicate<GridInventoryEntry> {
     private final String term;
+    private final SearchIndex index;
 
-    public ItemIdSearchPredicate(String term) {
+    public ItemIdSearchPredicate(String term, SearchIndex index) {
         this.term = term.toLowerCase();
+        this.index = index;
     }
 
     @Override
     public boolean test(GridInventoryEntry gridInventoryEntry) {
         AEKey what = Objects.requireNonNull(gridInventoryEntry.getWhat());
-        var id = what.getId().toString();
-        return id.toLowerCase(Locale.ROOT).contains(term);
+        return index.get(what).id.contains(term);
     }
 }
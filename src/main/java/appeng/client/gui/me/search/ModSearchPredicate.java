@@ -6,28 +6,23 @@
 
 import appeng.api.stacks.AEKey;
 import appeng.menu.me.common.GridInventoryEntry;
-import appeng.util.Platform;
 
 final class ModSearchPredicate implements Predicate<GridInventoryEntry> {
     private final String term;
+    private final SearchIndex index;
 
-    public ModSearchPredicate(String term) {
+    public ModSearchPredicate(String term, SearchIndex index) {
         this.term = normalize(term);
+        this.index = index;
     }
 
     @Override
     public boolean test(GridInventoryEntry gridInventoryEntry) {
         AEKey entryInfo = Objects.requireNonNull(gridInventoryEntry.getWhat());
-        String modId = entryInfo.getModId();
+        var indexEntry = index.get(entryInfo);
 
-        if (modId != null) {
-            if (modId.contains(term)) {
-                return true;
-            }
-
-            String modName = Platform.getModName(modId);
-            modName = normalize(modName);
-            return modName.contains(term);
+        if (indexEntry.modId != null) {
+            return indexEntry.modId.contains(term) || indexEntry.modName.contains(term);
         }
 
         return false;
@@ -8,15 +8,16 @@
 
 final class NameSearchPredicate implements Predicate<GridInventoryEntry> {
     private final String term;
+    private final SearchIndex index;
 
-    public NameSearchPredicate(String term) {
+    public NameSearchPredicate(String term, SearchIndex index) {
         this.term = term.toLowerCase();
+        this.index = index;
     }
 
     @Override
     public boolean test(GridInventoryEntry gridInventoryEntry) {
         AEKey entryInfo = Objects.requireNonNull(gridInventoryEntry.getWhat());
-        String displayName = entryInfo.getDisplayName().getString();
-        return displayName.toLowerCase().contains(term);
+        return index.get(entryInfo).name.contains(term);
     }
 }
@@ -2,10 +2,11 @@
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
+import com.google.common.annotations.VisibleForTesting;
+
 import it.unimi.dsi.fastutil.longs.Long2BooleanMap;
 import it.unimi.dsi.fastutil.longs.Long2BooleanOpenHashMap;
 
@@ -14,12 +15,17 @@
 
 public class RepoSearch {
 
+    /**
+     * How much time per client tick may be spent on building the search index ahead of time.
+     */
+    private static final long INDEX_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
     private String searchString = "";
 
     // Cached information
     private final Long2BooleanMap cache = new Long2BooleanOpenHashMap();
     private Predicate<GridInventoryEntry> search = (e) -> true;
-    final Map<AEKey, String> tooltipCache = new WeakHashMap<>();
+    private final SearchIndex index = new SearchIndex();
 
     public RepoSearch() {
     }
@@ -30,21 +36,84 @@ public String getSearchString() {
 
     public void setSearchString(String searchString) {
         if (!searchString.equals(this.searchString)) {
+            if (isNarrowing(this.searchString, searchString)) {
+                // Entries that did not match the previous search can't match the more specific one either,
+                // so only the previous matches need to be tested again.
+                this.cache.long2BooleanEntrySet().removeIf(Long2BooleanMap.Entry::getBooleanValue);
+            } else {
+                this.cache.clear();
+            }
             this.search = fromString(searchString);
             this.searchString = searchString;
-            this.cache.clear();
         }
     }
 
+    /**
+     * A search is narrowed if it has the same alternatives, and each of them only makes its terms more specific or adds
+     * more terms that all have to match. Adding an alternative using "|" widens the search.
+     */
+    @VisibleForTesting
+    static boolean isNarrowing(String previous, String next) {
+        var previousParts = splitAlternatives(previous);
+        var nextParts = splitAlternatives(next);
+        if (previousParts.length != nextParts.length) {
+            return false;
+        }
+
+        for (var i = 0; i < previousParts.length; i++) {
+            var previousTerms = splitTerms(previousParts[i]);
+            var nextTerms = splitTerms(nextParts[i]);
+            if (nextTerms.length < previousTerms.length) {
+                return false;
+            }
+            for (var j = 0; j < previousTerms.length; j++) {
+                if (!nextTerms[j].startsWith(previousTerms[j])) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static String[] splitAlternatives(String searchString) {
+        return searchString.split("\\|");
+    }
+
+    private static String[] splitTerms(String query) {
+        return query.toLowerCase().trim().split("\\s+");
+    }
+
     public boolean matches(GridInventoryEntry entry) {
         return cache.computeIfAbsent(entry.getSerial(), s -> search.test(entry));
     }
 
+    /**
+     * Queues a key that was newly received from the server to have its search strings built ahead of time.
+     */
+    public void addToIndex(AEKey what) {
+        index.queue(what);
+    }
+
+    /**
+     * Continues building the search index for queued keys, within a fixed time budget. Should be called once per
+     * client tick.
+     */
+    public void updateIndex() {
+        index.indexPending(INDEX_BUDGET_NANOS);
+    }
+
+    /**
+     * Drops all keys that are still queued for indexing, i.e. because the server sent a full update.
+     */
+    public void clearIndexQueue() {
+        index.clearPending();
+    }
+
     /*
      * Creates a predicate for provided search string.
      */
     private Predicate<GridInventoryEntry> fromString(String searchString) {
-        var orParts = searchString.split("\\|");
+        var orParts = splitAlternatives(searchString);
 
         if (orParts.length == 1) {
             return AndSearchPredicate.of(getPredicates(orParts[0]));
@@ -64,20 +133,20 @@ private Predicate<GridInventoryEntry> fromString(String searchString) {
      * to and the searched together delimited by " " Each space in {@code query} treated as a separate 'and' operation.
      */
     private List<Predicate<GridInventoryEntry>> getPredicates(String query) {
-        var terms = query.toLowerCase().trim().split("\\s+");
+        var terms = splitTerms(query);
         var predicateFilters = new ArrayList<Predicate<GridInventoryEntry>>(terms.length);
 
         for (String part : terms) {
             if (part.startsWith("@")) {
-                predicateFilters.add(new ModSearchPredicate(part.substring(1)));
+                predicateFilters.add(new ModSearchPredicate(part.substring(1), index));
             } else if (part.startsWith("$")) {
-                predicateFilters.add(new TooltipsSearchPredicate(part.substring(1), tooltipCache));
+                predicateFilters.add(new TooltipsSearchPredicate(part.substring(1), index));
             } else if (part.startsWith("#")) {
                 predicateFilters.add(new TagSearchPredicate(part.substring(1)));
             } else if (part.startsWith("*")) {
-                predicateFilters.add(new ItemIdSearchPredicate(part.substring(1)));
+                predicateFilters.add(new ItemIdSearchPredicate(part.substring(1), index));
             } else {
-                predicateFilters.add(new NameSearchPredicate(part));
+                predicateFilters.add(new NameSearchPredicate(part, index));
             }
         }
 
@@ -0,0 +1,143 @@
+package appeng.client.gui.me.search;
+
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.ChatFormatting;
+
+import appeng.api.client.AEKeyRendering;
+import appeng.api.stacks.AEKey;
+import appeng.core.AEConfig;
+import appeng.util.Platform;
+
+/**
+ * Holds the pre-normalized strings that the search predicates match against, so that they only have to be computed
+ * once per key rather than once per key and keystroke.
+ * <p/>
+ * Building the tooltip of a key is by far the most expensive part, and the tooltip text is only needed for tooltip
+ * searches. It is built ahead of time in small, time-budgeted batches while the terminal is open. Tooltips are
+ * assembled from client-side state that is not thread-safe, which is why this runs as part of the client tick instead
+ * of on a separate thread.
+ */
+final class SearchIndex {
+    private final Map<AEKey, Entry> entries = new WeakHashMap<>();
+
+    /**
+     * Keys that should be fully indexed (including their tooltip) by {@link #indexPending(long)}.
+     */
+    private final ArrayDeque<AEKey> pending = new ArrayDeque<>();
+
+    /**
+     * Queues a key for having its search strings built ahead of time.
+     */
+    void queue(AEKey what) {
+        var entry = entries.get(what);
+        if (entry == null || entry.tooltip == null) {
+            pending.add(what);
+        }
+    }
+
+    /**
+     * Builds the search strings for queued keys until the given time budget has been used up.
+     */
+    void indexPending(long budgetNanos) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        var deadline = System.nanoTime() + budgetNanos;
+        AEKey what;
+        while ((what = pending.poll()) != null) {
+            getTooltip(what);
+
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+    }
+
+    void clearPending() {
+        pending.clear();
+    }
+
+    Entry get(AEKey what) {
+        return entries.computeIfAbsent(what, Entry::new);
+    }
+
+    /**
+     * Gets the concatenated text of a keys tooltip for search purposes.
+     */
+    String getTooltip(AEKey what) {
+        var entry = get(what);
+        if (entry.tooltip == null) {
+            entry.tooltip = buildTooltipText(what);
+        }
+        return entry.tooltip;
+    }
+
+    static final class Entry {
+        final String name;
+        final String id;
+        @Nullable
+        final String modId;
+        @Nullable
+        final String modName;
+        @Nullable
+        private String tooltip;
+
+        private Entry(AEKey what) {
+            this.name = what.getDisplayName().getString().toLowerCase();
+            this.id = what.getId().toString().toLowerCase(Locale.ROOT);
+            this.modId = what.getModId();
+            this.modName = modId != null ? Platform.getModName(modId).toLowerCase(Locale.ROOT) : null;
+        }
+    }
+
+    private static String buildTooltipText(AEKey what) {
+        var lines = AEKeyRendering.getTooltip(what);
+
+        var tooltipText = new StringBuilder();
+        for (int i = 0; i < lines.size(); i++) {
+            var line = lines.get(i);
+
+            // Process last line and skip mod name if our heuristic detects it
+            if (i > 0 && i >= lines.size() - 1 && !AEConfig.instance().isSearchModNameInTooltips()) {
+                var text = line.getString();
+                boolean hadFormatting = false;
+                if (text.indexOf(ChatFormatting.PREFIX_CODE) != -1) {
+                    text = ChatFormatting.stripFormatting(text);
+                    hadFormatting = true;
+                } else {
+                    hadFormatting = !line.getStyle().isEmpty();
+                }
+
+                if (!hadFormatting || !Objects.equals(text, Platform.getModName(what.getModId()))) {
+                    tooltipText.append('\n').append(text);
+                }
+            } else {
+                if (i > 0) {
+                    tooltipText.append('\n');
+                }
+                line.visit(text -> {
+                    if (text.indexOf(ChatFormatting.PREFIX_CODE) != -1) {
+                        text = ChatFormatting.stripFormatting(text);
+                    }
+                    tooltipText.append(text);
+                    return Optional.empty();
+                });
+            }
+        }
+
+        return normalizeTooltip(tooltipText.toString());
+    }
+
+    static String normalizeTooltip(String input) {
+        return input.toLowerCase().replace(" ", "");
+    }
+}
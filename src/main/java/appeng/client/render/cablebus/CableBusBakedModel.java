@@ -26,6 +26,7 @@
 import java.util.Map;
 import java.util.Map.Entry;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -58,6 +59,7 @@
 import appeng.api.util.AEColor;
 import appeng.block.networking.CableBusBlock;
 import appeng.client.render.model.AEModelData;
+import appeng.core.AEConfig;
 import appeng.thirdparty.fabric.MeshBuilderImpl;
 
 public class CableBusBakedModel implements IDynamicBakedModel {
@@ -91,8 +93,31 @@ public class CableBusBakedModel implements IDynamicBakedModel {
     private record FacadeModelData(EnumMap<Direction, ModelData> facadeData, BlockAndTintGetter level) {
     }
 
+    /**
+     * Identifies the quads of a cable bus without its facades. These only depend on the render state (which includes
+     * the model data of the parts), the models of the attached parts and the render type.
+     */
+    private record RenderStateKey(CableBusRenderState renderState,
+            EnumMap<Direction, List<ResourceLocation>> partModels,
+            @Nullable RenderType renderType) {
+    }
+
+    /**
+     * The most recently baked model, whose cache statistics are shown in the debug overlay.
+     */
+    @Nullable
+    private static volatile CableBusBakedModel lastBaked;
+
     private final LoadingCache<CableBusRenderState, List<BakedQuad>> cableModelCache;
 
+    /**
+     * Caches the combined quads of the cable and all attached parts, so that rebuilding a chunk does not have to
+     * re-query and rotate the quads of every part. Facades are not included since they depend on the neighboring
+     * blocks.
+     */
+    @Nullable
+    private final Cache<RenderStateKey, List<BakedQuad>> renderStateCache;
+
     private final CableBuilder cableBuilder;
 
     private final FacadeBuilder facadeBuilder;
@@ -118,6 +143,33 @@ public List<BakedQuad> load(CableBusRenderState renderState) {
                         return model;
                     }
                 });
+
+        var renderStateCacheSize = AEConfig.instance().getCableBusModelCacheSize();
+        if (renderStateCacheSize > 0) {
+            this.renderStateCache = CacheBuilder.newBuilder()//
+                    .maximumWeight(renderStateCacheSize)//
+                    .weigher((Weigher<RenderStateKey, List<BakedQuad>>) (key, value) -> value.size())//
+                    .recordStats()//
+                    .build();
+        } else {
+            this.renderStateCache = null;
+        }
+
+        lastBaked = this;
+    }
+
+    /**
+     * Adds the hit rate of the cable bus model cache to the debug overlay.
+     */
+    public static void addDebugText(List<String> lines) {
+        var model = lastBaked;
+        if (model == null || model.renderStateCache == null) {
+            return;
+        }
+
+        var stats = model.renderStateCache.stats();
+        lines.add(String.format("AE2 cable bus cache: %d entries, %.1f%% hits",
+                model.renderStateCache.size(), stats.hitRate() * 100));
     }
 
     @Override
@@ -154,60 +206,102 @@ public List<BakedQuad> getQuads(@Nullable BlockState state, @Nullable Direction
             return Collections.emptyList();
         }
 
-        List<BakedQuad> quads = new ArrayList<>();
+        List<BakedQuad> cableAndPartQuads = Collections.emptyList();
 
         // The core parts of the cable will only be rendered in the CUTOUT layer.
         // Facades will add themselves to what ever the block would be rendered with,
         // except when transparent facades are enabled, they are forced to TRANSPARENT.
         if (renderType == null || renderType == RenderType.cutout()) {
+            cableAndPartQuads = getCableAndPartQuads(state, rand, renderState, renderType);
+        }
 
-            // First, handle the cable at the center of the cable bus
-            final List<BakedQuad> cableModel = cableModelCache.getUnchecked(renderState);
-            quads.addAll(cableModel);
+        FacadeModelData facadeData = data.get(FACADE_DATA);
+        if (facadeData == null) {
+            return cableAndPartQuads;
+        }
 
-            var meshBuilder = new MeshBuilderImpl();
-            var emitter = meshBuilder.getEmitter();
+        List<BakedQuad> quads = new ArrayList<>(cableAndPartQuads);
+        this.facadeBuilder
+                .getFacadeMesh(renderState, () -> rand, facadeData.level, facadeData.facadeData, renderType)
+                .forEach(qv -> quads.add(qv.toBlockBakedQuad()));
+        return quads;
+    }
 
-            // Then handle attachments
-            for (Direction facing : Direction.values()) {
-                final IPartModel partModel = renderState.getAttachments().get(facing);
-                if (partModel == null) {
-                    continue;
-                }
+    private List<BakedQuad> getCableAndPartQuads(@Nullable BlockState state, RandomSource rand,
+            CableBusRenderState renderState, @Nullable RenderType renderType) {
+        if (renderStateCache == null || !isCacheable(renderState)) {
+            return buildCableAndPartQuads(state, rand, renderState, renderType);
+        }
 
-                ModelData partModelData = renderState.getPartModelData().get(facing);
-                if (partModelData == null) {
-                    partModelData = ModelData.EMPTY;
-                }
+        var key = new RenderStateKey(renderState, getPartModels(renderState), renderType);
+        var quads = renderStateCache.getIfPresent(key);
+        if (quads == null) {
+            quads = Collections.unmodifiableList(buildCableAndPartQuads(state, rand, renderState, renderType));
+            renderStateCache.put(key, quads);
+        }
+        return quads;
+    }
 
-                for (var model : partModel.getModels()) {
-                    BakedModel bakedModel = this.partModels.get(model);
+    private static boolean isCacheable(CableBusRenderState renderState) {
+        for (var partModelData : renderState.getPartModelData().values()) {
+            if (Boolean.TRUE.equals(partModelData.get(AEModelData.SKIP_CACHE))) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-                    if (bakedModel == null) {
-                        throw new IllegalStateException("Trying to use an unregistered part model: " + model);
-                    }
+    private static EnumMap<Direction, List<ResourceLocation>> getPartModels(CableBusRenderState renderState) {
+        var result = new EnumMap<Direction, List<ResourceLocation>>(Direction.class);
+        for (var entry : renderState.getAttachments().entrySet()) {
+            result.put(entry.getKey(), entry.getValue().getModels());
+        }
+        return result;
+    }
 
-                    List<BakedQuad> partQuads = bakedModel.getQuads(state, null, rand, partModelData, renderType);
+    private List<BakedQuad> buildCableAndPartQuads(@Nullable BlockState state, RandomSource rand,
+            CableBusRenderState renderState, @Nullable RenderType renderType) {
+        List<BakedQuad> quads = new ArrayList<>();
 
-                    var spin = getPartSpin(partModelData);
+        // First, handle the cable at the center of the cable bus
+        final List<BakedQuad> cableModel = cableModelCache.getUnchecked(renderState);
+        quads.addAll(cableModel);
 
-                    // Rotate quads accordingly
-                    var rotator = QuadRotator.get(facing, spin);
+        var meshBuilder = new MeshBuilderImpl();
+        var emitter = meshBuilder.getEmitter();
 
-                    for (var partQuad : partQuads) {
-                        emitter.fromVanilla(partQuad, null);
-                        rotator.transform(emitter);
-                        quads.add(emitter.toBakedQuad(partQuad.getSprite()));
-                    }
-                }
+        // Then handle attachments
+        for (Direction facing : Direction.values()) {
+            final IPartModel partModel = renderState.getAttachments().get(facing);
+            if (partModel == null) {
+                continue;
             }
-        }
 
-        FacadeModelData facadeData = data.get(FACADE_DATA);
-        if (facadeData != null) {
-            this.facadeBuilder
-                    .getFacadeMesh(renderState, () -> rand, facadeData.level, facadeData.facadeData, renderType)
-                    .forEach(qv -> quads.add(qv.toBlockBakedQuad()));
+            ModelData partModelData = renderState.getPartModelData().get(facing);
+            if (partModelData == null) {
+                partModelData = ModelData.EMPTY;
+            }
+
+            for (var model : partModel.getModels()) {
+                BakedModel bakedModel = this.partModels.get(model);
+
+                if (bakedModel == null) {
+                    throw new IllegalStateException("Trying to use an unregistered part model: " + model);
+                }
+
+                List<BakedQuad> partQuads = bakedModel.getQuads(state, null, rand, partModelData, renderType);
+
+                var spin = getPartSpin(partModelData);
+
+                // Rotate quads accordingly
+                var rotator = QuadRotator.get(facing, spin);
+
+                for (var partQuad : partQuads) {
+                    emitter.fromVanilla(partQuad, null);
+                    rotator.transform(emitter);
+                    quads.add(emitter.toBakedQuad(partQuad.getSprite()));
+                }
+            }
         }
 
         return quads;
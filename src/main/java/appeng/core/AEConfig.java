@@ -206,6 +206,46 @@ public int getFormationPlaneEntityLimit() {
         return common.formationPlaneEntityLimit.get();
     }
 
+    public int getFormationPlaneBatchStacks() {
+        return common.formationPlaneBatchStacks.get();
+    }
+
+    public boolean isBatchAnnihilationPlaneInserts() {
+        return common.batchAnnihilationPlaneInserts.get();
+    }
+
+    public boolean isReactiveIOBuses() {
+        return common.reactiveIOBuses.get();
+    }
+
+    public boolean isAggregateDriveStorage() {
+        return common.aggregateDriveStorage.get();
+    }
+
+    public boolean isSubnetStorageBusPassthrough() {
+        return common.subnetStorageBusPassthrough.get();
+    }
+
+    public int getTerminalSyncBytesPerTick() {
+        return common.terminalSyncBytesPerTick.get();
+    }
+
+    public int getTerminalKeyDictionarySize() {
+        return common.terminalKeyDictionarySize.get();
+    }
+
+    public int getParallelInventoryDiffThreads() {
+        return common.parallelInventoryDiffThreads.get();
+    }
+
+    public int getClientSyncFullRateDistance() {
+        return common.clientSyncFullRateDistance.get();
+    }
+
+    public int getClientSyncMaxInterval() {
+        return common.clientSyncMaxInterval.get();
+    }
+
     public boolean isEnableEffects() {
         return client.enableEffects.getAsBoolean();
     }
@@ -238,6 +278,18 @@ public int getCraftingCalculationTimePerTick() {
         return common.craftingCalculationTimePerTick.get();
     }
 
+    public boolean isReserveCraftingIngredients() {
+        return common.reserveCraftingIngredients.get();
+    }
+
+    public boolean isCoalesceCraftingRequests() {
+        return common.coalesceCraftingRequests.get();
+    }
+
+    public int getCraftingReservationExtractsPerTick() {
+        return common.craftingReservationExtractsPerTick.get();
+    }
+
     public boolean isSpatialAnchorEnablesRandomTicks() {
         return common.spatialAnchorEnableRandomTicks.get();
     }
@@ -278,6 +330,10 @@ public DoubleSupplier getChargedStaffBattery() {
         return common.chargedStaffBattery::get;
     }
 
+    public int getCableBusModelCacheSize() {
+        return client.cableBusModelCacheSize.get();
+    }
+
     public boolean isShowDebugGuiOverlays() {
         return client.debugGuiOverlays.get();
     }
@@ -431,6 +487,7 @@ private static class ClientConfig {
         public final BooleanValue debugGuiOverlays;
         public final BooleanValue showPlacementPreview;
         public final BooleanValue notifyForFinishedCraftingJobs;
+        public final IntValue cableBusModelCacheSize;
 
         // Terminal Settings
         public final EnumValue<TerminalStyle> terminalStyle;
@@ -475,6 +532,8 @@ public ClientConfig() {
                     "Show a preview of part and facade placement");
             this.notifyForFinishedCraftingJobs = define(builder, "notifyForFinishedCraftingJobs", true,
                     "Show toast when long-running crafting jobs finish.");
+            this.cableBusModelCacheSize = define(builder, "cableBusModelCacheSize", 20000, 0, 1000000,
+                    "Maximum number of quads of cables and their attached parts to keep cached for chunk rendering. Set to 0 to disable this cache. Requires a resource reload.");
             builder.pop();
 
             var terminals = builder.push("terminals");
@@ -522,10 +581,23 @@ private static class CommonConfig {
 
         // Misc
         public final IntValue formationPlaneEntityLimit;
+        public final IntValue formationPlaneBatchStacks;
+        public final BooleanValue batchAnnihilationPlaneInserts;
+        public final BooleanValue reactiveIOBuses;
         public final IntValue craftingCalculationTimePerTick;
+        public final BooleanValue reserveCraftingIngredients;
+        public final IntValue craftingReservationExtractsPerTick;
+        public final BooleanValue coalesceCraftingRequests;
         public final BooleanValue debugTools;
         public final BooleanValue matterCannonBlockDamage;
         public final BooleanValue tinyTntBlockDamage;
+        public final IntValue clientSyncFullRateDistance;
+        public final IntValue clientSyncMaxInterval;
+        public final BooleanValue aggregateDriveStorage;
+        public final BooleanValue subnetStorageBusPassthrough;
+        public final IntValue parallelInventoryDiffThreads;
+        public final IntValue terminalSyncBytesPerTick;
+        public final IntValue terminalKeyDictionarySize;
         public final EnumValue<ChannelMode> channels;
         public final BooleanValue spatialAnchorEnableRandomTicks;
 
@@ -598,14 +670,41 @@ public CommonConfig() {
                     "Changes the channel capacity that cables provide in AE2.");
             spatialAnchorEnableRandomTicks = define(builder, "spatialAnchorEnableRandomTicks", true,
                     "Whether Spatial Anchors should force random chunk ticks and entity spawning.");
+            clientSyncFullRateDistance = define(builder, "clientSyncFullRateDistance", 24, 0, 512,
+                    "Block entities within this many blocks of a player send visual updates (i.e. drive LEDs) every tick. Further away, updates are sent less often.");
+            clientSyncMaxInterval = define(builder, "clientSyncMaxInterval", 10, 1, 100,
+                    "The maximum number of ticks between two visual updates of a block entity that is far away from all players. 1 disables distance-based rate limiting.");
+            aggregateDriveStorage = define(builder, "aggregateDriveStorage", false,
+                    "If enabled, each ME Drive adds its cells to the network as a single storage that indexes which cell holds which item, instead of adding every cell separately. This speeds up networks with many drives. The order in which cells are filled and emptied does not change.");
+            subnetStorageBusPassthrough = define(builder, "subnetStorageBusPassthrough", false,
+                    "If enabled, storage buses facing an interface of another network list that network's content from its cached inventory, instead of going through all of its storage again. This speeds up setups with nested subnetworks, but the content seen through the storage bus may lag behind by up to one tick.");
+            parallelInventoryDiffThreads = define(builder, "parallelInventoryDiffThreads", 0, 0, 64,
+                    "The number of additional threads used to compare the cached network inventory of different grids against the previous tick in parallel. Only this comparison runs in parallel. Reading the inventories, notifying listeners, sending terminal updates and crafting stay on the server thread, and listeners are only notified once all other services of all grids have ticked. Only helps servers with many large grids. 0 disables it.");
+            terminalSyncBytesPerTick = define(builder, "terminalSyncBytesPerTick", 262144, 0, Integer.MAX_VALUE,
+                    "The number of bytes of network content sent to an open terminal per tick. Larger updates, such as opening a terminal on a network with many different items, are spread over multiple ticks, sending the entries at the top of the terminal first. 0 sends everything at once.");
+            terminalKeyDictionarySize = define(builder, "terminalKeyDictionarySize", 8192, 0, 1 << 20,
+                    "The number of keys remembered per player connection for terminal updates. Keys the player has already received, even in a previously opened terminal, are then sent as a short id. The least recently used keys are forgotten first. 0 always sends the full keys.");
             builder.pop();
 
             builder.push("automation");
             formationPlaneEntityLimit = define(builder, "formationPlaneEntityLimit", 128);
+            formationPlaneBatchStacks = define(builder, "formationPlaneBatchStacks", 1, 1, 64,
+                    "The maximum number of full stacks a formation plane drops at once when the network inserts into it. Higher values let planes empty the network faster with fewer insert operations. The entity limit around the plane still applies.");
+            batchAnnihilationPlaneInserts = define(builder, "batchAnnihilationPlaneInserts", false,
+                    "If enabled, the items picked up by all annihilation planes of a network are inserted into the network together at the end of each tick, with one insertion per item type. This speeds up large farms. Items that unexpectedly don't fit after all are dropped in front of the plane that picked them up.");
+            reactiveIOBuses = define(builder, "reactiveIOBuses", false,
+                    "If enabled, idle import and export buses stop ticking until the adjacent block changes, the network gains items they are configured to export, or their configuration changes. Import buses that are idle because the network is full will not notice free space until the adjacent inventory changes.");
             builder.pop();
 
             builder.push("craftingCPU");
             this.craftingCalculationTimePerTick = define(builder, "craftingCalculationTimePerTick", 5);
+            this.reserveCraftingIngredients = define(builder, "reserveCraftingIngredients", false,
+                    "If enabled, starting a crafting job only reserves its ingredients instead of extracting all of them at once. Crafting CPUs then extract the reserved ingredients over the following ticks, and new crafting calculations treat them as unavailable. Ingredients that are removed from the network by other means before the CPU extracts them will stall the job until they are available again.");
+            this.craftingReservationExtractsPerTick = define(builder, "craftingReservationExtractsPerTick", 64, 1,
+                    Integer.MAX_VALUE,
+                    "The number of different reserved ingredients a crafting CPU extracts from the network per tick.");
+            this.coalesceCraftingRequests = define(builder, "coalesceCraftingRequests", false,
+                    "If enabled, crafting requests that machines such as interfaces and export buses make for the same item during the same tick are calculated and crafted as a single job for the summed amount. The crafted items are then distributed among the requesting machines.");
             builder.pop();
 
             builder.push("crafting");
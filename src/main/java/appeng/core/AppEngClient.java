@@ -49,6 +49,7 @@
 import net.neoforged.fml.loading.FMLLoader;
 import net.neoforged.neoforge.client.event.ClientPlayerNetworkEvent;
 import net.neoforged.neoforge.client.event.ClientTickEvent;
+import net.neoforged.neoforge.client.event.CustomizeGuiOverlayEvent;
 import net.neoforged.neoforge.client.event.EntityRenderersEvent;
 import net.neoforged.neoforge.client.event.InputEvent;
 import net.neoforged.neoforge.client.event.ModelEvent;
@@ -82,6 +83,7 @@
 import appeng.client.guidebook.ConfigValueTagExtension;
 import appeng.client.guidebook.PartAnnotationStrategy;
 import appeng.client.render.StorageCellClientTooltipComponent;
+import appeng.client.render.cablebus.CableBusBakedModel;
 import appeng.client.render.crafting.CraftingMonitorRenderer;
 import appeng.client.render.crafting.MolecularAssemblerRenderer;
 import appeng.client.render.effects.CraftingFx;
@@ -105,6 +107,7 @@
 import appeng.core.definitions.AEBlockEntities;
 import appeng.core.definitions.AEBlocks;
 import appeng.core.definitions.AEEntities;
+import appeng.core.network.KeyDictionary;
 import appeng.core.network.ServerboundPacket;
 import appeng.core.network.serverbound.MouseWheelPacket;
 import appeng.core.network.serverbound.UpdateHoldingCtrlPacket;
@@ -188,6 +191,7 @@ public AppEngClient(IEventBus modEventBus, ModContainer container) {
         NeoForge.EVENT_BUS.addListener((ClientPlayerNetworkEvent.LoggingIn evt) -> {
             PendingCraftingJobs.clearPendingJobs();
             PinnedKeys.clearPinnedKeys();
+            KeyDictionary.clearClientKeys();
         });
 
         NeoForge.EVENT_BUS.addListener((ClientTickEvent.Post e) -> {
@@ -195,6 +199,12 @@ public AppEngClient(IEventBus modEventBus, ModContainer container) {
             Hotkeys.checkHotkeys();
         });
 
+        NeoForge.EVENT_BUS.addListener((CustomizeGuiOverlayEvent.DebugText e) -> {
+            if (AEConfig.instance().isShowDebugGuiOverlays()) {
+                CableBusBakedModel.addDebugText(e.getRight());
+            }
+        });
+
         container.registerExtensionPoint(IConfigScreenFactory.class,
                 (mc, parent) -> new ConfigurationScreen(container, parent));
     }
@@ -73,6 +73,12 @@ public enum GuiText implements LocalizationEnum {
     CraftErrorRetry("Retry"),
     Crafting("Crafting: %s"),
     CraftingCPUs("Crafting CPUs"),
+    CraftingCpuBlockedByProviders("Blocked by pattern providers"),
+    CraftingCpuMissingInputs("Missing ingredients"),
+    CraftingCpuOpsExhausted("Out of co-processor operations"),
+    CraftingCpuPushing("Pushing patterns"),
+    CraftingCpuUtilization("%d%% co-processor usage"),
+    CraftingCpuWaitingForReturns("Waiting for crafting results"),
     CraftingInterface("ME Pattern Provider"),
     CraftingPattern("Crafting Patterns"),
     CraftingPlan("Crafting Plan - %s"),
@@ -241,6 +247,7 @@ public enum GuiText implements LocalizationEnum {
     TankCapacity("Capacity: %d"),
     TankBucketCapacity("Can Store up to %d Buckets"),
     Terminal("Terminal"),
+    TerminalPendingEntries("Receiving %d more entries..."),
     TerminalSettingsTitle("Terminal Settings"),
     TerminalSettingsPinAutoCraftedItems("Pin auto-crafted items to first row"),
     TerminalSettingsNotifyForFinishedJobs("Notify about finished crafting jobs (requires wireless terminal)"),
@@ -0,0 +1,165 @@
+package appeng.core.network;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.network.ServerGamePacketListenerImpl;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+
+import appeng.api.stacks.AEKey;
+import appeng.core.AEConfig;
+import appeng.core.AELog;
+
+/**
+ * Remembers the keys that were sent to a client over its connection, so that sending them again only takes a short id
+ * instead of the full key. This survives closing and reopening menus, but not reconnecting.
+ * <p>
+ * The server decides which id a key gets and evicts the least recently used keys once the dictionary is full. Since
+ * packets arrive in the order they were sent, the client only has to remember the last key that was defined for each
+ * id, and never has to be told about evictions.
+ * <p>
+ * Keys are written as a varint header, optionally followed by the key itself:
+ * <ul>
+ * <li>0: no key</li>
+ * <li>1: a key that is not stored in the dictionary</li>
+ * <li>2 + 2 * id: a reference to a key that was defined before</li>
+ * <li>3 + 2 * id: a key that is stored in the dictionary under the given id</li>
+ * </ul>
+ */
+public final class KeyDictionary {
+    private static final int NO_KEY = 0;
+    private static final int INLINE_KEY = 1;
+    private static final int FIRST_ID_HEADER = 2;
+
+    private static final Map<ServerGamePacketListenerImpl, KeyDictionary> SERVER_DICTIONARIES = new WeakHashMap<>();
+
+    private static final Int2ObjectMap<AEKey> CLIENT_KEYS = new Int2ObjectOpenHashMap<>();
+
+    private final int capacity;
+    /**
+     * The ids of the keys known to the client, in least recently used order.
+     */
+    private final LinkedHashMap<AEKey, Integer> ids = new LinkedHashMap<>(16, 0.75f, true);
+
+    @VisibleForTesting
+    KeyDictionary(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return The dictionary for the connection of the given player, or null if the dictionary is disabled.
+     */
+    @Nullable
+    public static KeyDictionary forPlayer(ServerPlayer player) {
+        var capacity = AEConfig.instance().getTerminalKeyDictionarySize();
+        if (capacity <= 0 || player.connection == null) {
+            return null;
+        }
+
+        var dictionary = SERVER_DICTIONARIES.get(player.connection);
+        if (dictionary == null || dictionary.capacity != capacity) {
+            // Ids assigned by a previous dictionary are simply redefined before they are used again
+            dictionary = new KeyDictionary(capacity);
+            SERVER_DICTIONARIES.put(player.connection, dictionary);
+        }
+        return dictionary;
+    }
+
+    /**
+     * Forgets the keys sent to the given player. Used when a packet could not be sent after ids were already assigned
+     * while writing it, so that the client is not sent references to keys it never received.
+     */
+    public static void reset(ServerPlayer player) {
+        if (player.connection != null) {
+            SERVER_DICTIONARIES.remove(player.connection);
+        }
+    }
+
+    /**
+     * Writes a key that is read using {@link #readKey}.
+     *
+     * @param dictionary The dictionary of the connection the buffer is sent over, or null to always write the full key.
+     */
+    public static void writeKey(RegistryFriendlyByteBuf buffer, @Nullable AEKey key,
+            @Nullable KeyDictionary dictionary) {
+        if (key == null) {
+            buffer.writeVarInt(NO_KEY);
+        } else if (dictionary == null) {
+            buffer.writeVarInt(INLINE_KEY);
+            AEKey.writeKey(buffer, key);
+        } else {
+            var id = dictionary.ids.get(key);
+            if (id != null) {
+                buffer.writeVarInt(FIRST_ID_HEADER + 2 * id);
+            } else {
+                id = dictionary.assignId(key);
+                buffer.writeVarInt(FIRST_ID_HEADER + 2 * id + 1);
+                AEKey.writeKey(buffer, key);
+            }
+        }
+    }
+
+    private int assignId(AEKey key) {
+        int id;
+        if (ids.size() < capacity) {
+            id = ids.size();
+        } else {
+            var it = ids.values().iterator();
+            id = it.next();
+            it.remove();
+        }
+        ids.put(key, id);
+        return id;
+    }
+
+    /**
+     * Reads a key written using {@link #writeKey} on the client.
+     */
+    @Nullable
+    public static AEKey readKey(RegistryFriendlyByteBuf buffer) {
+        var header = buffer.readVarInt();
+        if (header == NO_KEY) {
+            return null;
+        } else if (header == INLINE_KEY) {
+            return AEKey.readKey(buffer);
+        }
+
+        var id = (header - FIRST_ID_HEADER) >> 1;
+        var defined = ((header - FIRST_ID_HEADER) & 1) != 0;
+        synchronized (CLIENT_KEYS) {
+            if (defined) {
+                var key = AEKey.readKey(buffer);
+                if (key != null) {
+                    CLIENT_KEYS.put(id, key);
+                } else {
+                    CLIENT_KEYS.remove(id);
+                }
+                return key;
+            }
+
+            var key = CLIENT_KEYS.get(id);
+            if (key == null) {
+                AELog.warn("Received reference to unknown key id %d", id);
+            }
+            return key;
+        }
+    }
+
+    /**
+     * Forgets the keys received by the client, when it connects to a server.
+     */
+    public static void clearClientKeys() {
+        synchronized (CLIENT_KEYS) {
+            CLIENT_KEYS.clear();
+        }
+    }
+}
@@ -26,13 +26,23 @@
 import appeng.core.AELog;
 import appeng.core.network.ClientboundPacket;
 import appeng.core.network.CustomAppEngPayload;
+import appeng.core.network.KeyDictionary;
 import appeng.menu.me.common.GridInventoryEntry;
 import appeng.menu.me.common.IncrementalUpdateHelper;
 import appeng.menu.me.common.MEStorageMenu;
 
+/**
+ * Sends the content of the network to an open terminal. Large updates can be spread over multiple ticks by limiting the
+ * number of bytes written per tick, see {@link Builder#setByteBudget}. Each packet tells the client how many changed
+ * entries are still to come, so it can show that the content is incomplete.
+ * <p>
+ * Keys are written through the {@link KeyDictionary} of the player's connection if one is set on the builder, so keys
+ * the client has already received don't have to be sent in full again.
+ */
 public record MEInventoryUpdatePacket(
         boolean fullUpdate,
         int containerId,
+        int pendingEntries,
         @Nullable List<GridInventoryEntry> entries,
         int encodedEntryCount,
         @Nullable RegistryFriendlyByteBuf encodedEntries
@@ -64,14 +74,16 @@ public Type<MEInventoryUpdatePacket> type() {
     public static MEInventoryUpdatePacket decode(RegistryFriendlyByteBuf data) {
         var containerId = data.readVarInt();
         var fullUpdate = data.readBoolean();
+        var pendingEntries = data.readVarInt();
         var encodedEntryCount = data.readVarInt();
         var entries = decodeEntriesPayload(encodedEntryCount, data);
-        return new MEInventoryUpdatePacket(fullUpdate, containerId, entries, 0, null);
+        return new MEInventoryUpdatePacket(fullUpdate, containerId, pendingEntries, entries, 0, null);
     }
 
     public void write(RegistryFriendlyByteBuf data) {
         data.writeVarInt(containerId);
         data.writeBoolean(fullUpdate);
+        data.writeVarInt(pendingEntries);
         data.writeVarInt(encodedEntryCount);
         if (encodedEntryCount > 0) {
             if (encodedEntries == null) {
@@ -97,6 +109,19 @@ public static class Builder {
         @Nullable
         private AEKeyFilter filter;
 
+        @Nullable
+        private KeyDictionary keyDictionary;
+
+        private long byteBudget = Long.MAX_VALUE;
+        /**
+         * Bytes written to packets that were already flushed.
+         */
+        private long flushedBytes;
+        /**
+         * The number of changed entries that have not been written yet.
+         */
+        private int pendingEntries;
+
         public Builder(int containerId, boolean fullUpdate, RegistryAccess registryAccess) {
             this.containerId = containerId;
             this.fullUpdate = fullUpdate;
@@ -107,6 +132,26 @@ public void setFilter(@Nullable AEKeyFilter filter) {
             this.filter = filter;
         }
 
+        /**
+         * Sets the dictionary of the connection that the packets will be sent over. The packets must then be sent in
+         * the order they were built, and must not be dropped.
+         */
+        public void setKeyDictionary(@Nullable KeyDictionary keyDictionary) {
+            this.keyDictionary = keyDictionary;
+        }
+
+        /**
+         * Limits the number of bytes that {@link #addChanges} writes. Changes that don't fit are left in the update
+         * helper, to be sent by a later update. At least one entry is always written.
+         */
+        public void setByteBudget(long byteBudget) {
+            this.byteBudget = byteBudget;
+        }
+
+        private long getWrittenBytes() {
+            return flushedBytes + (encodedEntries != null ? encodedEntries.writerIndex() : 0);
+        }
+
         public void addFull(IncrementalUpdateHelper updateHelper,
                 KeyCounter networkStorage,
                 Set<AEKey> craftables,
@@ -131,11 +176,25 @@ public void addFull(IncrementalUpdateHelper updateHelper,
             }
         }
 
+        /**
+         * Adds the changes queued in the update helper in the order they were queued, until the
+         * {@link #setByteBudget byte budget} is used up.
+         */
         public void addChanges(IncrementalUpdateHelper updateHelper,
                 KeyCounter networkStorage,
                 Set<AEKey> craftables,
                 KeyCounter requestables) {
-            for (AEKey key : updateHelper) {
+            pendingEntries = updateHelper.getChangeCount();
+            var hadChanges = pendingEntries > 0;
+            var polled = 0;
+            while (pendingEntries > 0) {
+                if (getWrittenBytes() >= byteBudget && polled > 0) {
+                    break;
+                }
+
+                var key = updateHelper.pollChange();
+                pendingEntries--;
+                polled++;
                 if (this.filter != null && !this.filter.matches(key)) {
                     continue;
                 }
@@ -167,7 +226,13 @@ public void addChanges(IncrementalUpdateHelper updateHelper,
                 }
             }
 
-            updateHelper.commitChanges();
+            if (hadChanges) {
+                // Always send a packet, even if all changes were filtered, so the client learns how many are pending
+                ensureData();
+            }
+            if (pendingEntries == 0) {
+                updateHelper.commitChanges();
+            }
         }
 
         public void add(GridInventoryEntry entry) {
@@ -176,7 +241,7 @@ public void add(GridInventoryEntry entry) {
             // This should only error out if the entire packet exceeds about 2 megabytes of memory,
             // if any item writes that much junk to a share tag, it's acceptable to crash.
             // We'll normally flush much much earlier (32k)
-            writeEntry(data, entry);
+            writeEntry(data, entry, keyDictionary);
 
             ++entryCount;
 
@@ -188,10 +253,12 @@ public void add(GridInventoryEntry entry) {
         private void flushData() {
             if (encodedEntries != null) {
                 // Build a packet and queue it
-                var packet = new MEInventoryUpdatePacket(fullUpdate, containerId, null, entryCount, encodedEntries);
+                var packet = new MEInventoryUpdatePacket(fullUpdate, containerId, pendingEntries, null, entryCount,
+                        encodedEntries);
                 packets.add(packet);
 
                 // Reset
+                flushedBytes += encodedEntries.writerIndex();
                 encodedEntries = null;
                 entryCount = 0;
                 fullUpdate = false; // Only the first packet in a chain is a full update
@@ -226,9 +293,10 @@ public static Builder builder(int containerId, boolean fullUpdate, RegistryAcces
     /**
      * Writes this entry to a packet buffer for shipping it to the client.
      */
-    private static void writeEntry(RegistryFriendlyByteBuf buffer, GridInventoryEntry entry) {
+    private static void writeEntry(RegistryFriendlyByteBuf buffer, GridInventoryEntry entry,
+            @Nullable KeyDictionary keyDictionary) {
         buffer.writeVarLong(entry.getSerial());
-        AEKey.writeOptionalKey(buffer, entry.getWhat());
+        KeyDictionary.writeKey(buffer, entry.getWhat(), keyDictionary);
         buffer.writeVarLong(entry.getStoredAmount());
         buffer.writeVarLong(entry.getRequestableAmount());
         buffer.writeBoolean(entry.isCraftable());
@@ -239,7 +307,7 @@ private static void writeEntry(RegistryFriendlyByteBuf buffer, GridInventoryEntr
      */
     public static GridInventoryEntry readEntry(RegistryFriendlyByteBuf buffer) {
         long serial = buffer.readVarLong();
-        AEKey what = AEKey.readOptionalKey(buffer);
+        AEKey what = KeyDictionary.readKey(buffer);
         long storedAmount = buffer.readVarLong();
         long requestableAmount = buffer.readVarLong();
         boolean craftable = buffer.readBoolean();
@@ -249,6 +317,14 @@ public static GridInventoryEntry readEntry(RegistryFriendlyByteBuf buffer) {
     @Override
     @OnlyIn(Dist.CLIENT)
     public void handleOnClient(Player player) {
+        // In singleplayer, we're just getting the exact same instance that the builder created
+        // so it has the pre-encoded data. Decode it even if the menu is gone, since it may define keys
+        // of the key dictionary that later packets refer to.
+        var actualEntries = entries;
+        if (actualEntries == null && encodedEntries != null) {
+            actualEntries = decodeEntriesPayload(encodedEntryCount, encodedEntries);
+        }
+
         if (player.containerMenu.containerId == containerId
                 && player.containerMenu instanceof MEStorageMenu meMenu) {
             var clientRepo = meMenu.getClientRepo();
@@ -257,16 +333,10 @@ public void handleOnClient(Player player) {
                 return;
             }
 
-            // In singleplayer, we're just getting the exact same instance that the builder created
-            // so it has the pre-encoded data.
-            var actualEntries = entries;
-            if (actualEntries == null && encodedEntries != null) {
-                actualEntries = decodeEntriesPayload(encodedEntryCount, encodedEntries);
-            }
-
             if (actualEntries != null) {
                 clientRepo.handleUpdate(fullUpdate, actualEntries);
             }
+            clientRepo.setPendingEntries(pendingEntries);
         }
     }
 
@@ -41,6 +41,7 @@
 import appeng.crafting.inv.CraftingSimulationState;
 import appeng.crafting.inv.NetworkCraftingSimulationState;
 import appeng.hooks.ticking.TickHandler;
+import appeng.me.service.CraftingService;
 
 public class CraftingCalculation {
     private final NetworkCraftingSimulationState networkInv;
@@ -71,7 +72,8 @@ public CraftingCalculation(Level level, IGrid grid, ICraftingSimulationRequester
 
         var storage = grid.getStorageService();
         var craftingService = grid.getCraftingService();
-        this.networkInv = new NetworkCraftingSimulationState(storage, simRequester.getActionSource());
+        var reserved = craftingService instanceof CraftingService service ? service.getReservedItems() : null;
+        this.networkInv = new NetworkCraftingSimulationState(storage, simRequester.getActionSource(), reserved);
 
         this.tree = new CraftingTreeNode(craftingService, this, this.output, 1, null, -1);
     }
@@ -50,7 +50,8 @@ public boolean isDead(IGrid g, CraftingService craftingService) {
             this.tickOfDeath++;
         } else {
             final boolean hasCpu = craftingService.hasCpu(this.cpu.getCpu());
-            final boolean hasMachine = this.getRequest().getRequester().getActionableNode().getGrid() == g;
+            final var machineNode = this.getRequest().getRequester().getActionableNode();
+            final boolean hasMachine = machineNode != null && machineNode.getGrid() == g;
 
             if (hasCpu && hasMachine) {
                 this.tickOfDeath = 0;
@@ -134,6 +135,11 @@ public void removeNode() {
         this.tickOfDeath = 0;
     }
 
+    @Nullable
+    public ICraftingRequester getRequester() {
+        return this.req != null ? this.req.getRequester() : null;
+    }
+
     @Nullable
     public CraftingLink getRequest() {
         return this.req;
@@ -33,10 +33,13 @@
 import appeng.api.networking.IGrid;
 import appeng.api.networking.crafting.ICraftingPlan;
 import appeng.api.networking.security.IActionSource;
+import appeng.api.stacks.AEKey;
 import appeng.api.stacks.GenericStack;
 import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.MEStorage;
 import appeng.crafting.inv.ICraftingInventory;
 import appeng.crafting.inv.ListCraftingInventory;
+import appeng.me.service.CraftingService;
 
 /**
  * Helper functions used by the CPU.
@@ -72,6 +75,97 @@ public static GenericStack tryExtractInitialItems(ICraftingPlan plan, IGrid grid
         return null;
     }
 
+    /**
+     * Checks that all ingredients defined by the plan can be extracted from the network by the given source, and are
+     * not yet reserved by other crafting CPUs, and reserves them. Nothing is extracted. Returns null on success and
+     * otherwise a {@link GenericStack} explaining what is missing.
+     */
+    @Nullable
+    public static GenericStack tryReserveInitialItems(ICraftingPlan plan, IGrid grid,
+            ListCraftingInventory reservations, IActionSource src) {
+        var storage = grid.getStorageService().getInventory();
+        var craftingService = (CraftingService) grid.getCraftingService();
+
+        for (var entry : plan.usedItems()) {
+            var what = entry.getKey();
+            var toReserve = entry.getLongValue();
+            var reservedByOthers = craftingService.getReservedAmount(what);
+            // Simulate with the requesting source so that its access restrictions apply.
+            var extractable = storage.extract(what, saturatedAdd(reservedByOthers, toReserve), Actionable.SIMULATE,
+                    src);
+            var unreserved = extractable - reservedByOthers;
+            if (unreserved < toReserve) {
+                return new GenericStack(what, toReserve - Math.max(0, unreserved));
+            }
+        }
+
+        for (var entry : plan.usedItems()) {
+            reservations.insert(entry.getKey(), entry.getLongValue(), Actionable.MODULATE);
+        }
+        return null;
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        var sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    /**
+     * Extracts reserved ingredients from the network into the CPU inventory. Ingredients that are missing from the
+     * network stay reserved, to be extracted later.
+     *
+     * @param maxTypes  The maximum number of different ingredients to extract. Ingredients that are missing from the
+     *                  network don't count towards this limit, so they can't hold up the others.
+     * @param preferred Ingredients to extract before any others, such as the inputs of the tasks that run next.
+     * @return True if anything was extracted.
+     */
+    public static boolean extractReservedItems(ListCraftingInventory reservations, IGrid grid,
+            ListCraftingInventory cpuInventory, IActionSource src, int maxTypes, Iterable<AEKey> preferred) {
+        var storageService = grid.getStorageService();
+        var storage = storageService.getInventory();
+        // Skip ingredients that the network doesn't have without asking every storage for them
+        var available = storageService.getCachedInventory();
+
+        var extractedTypes = 0;
+        for (var what : preferred) {
+            if (extractedTypes >= maxTypes) {
+                break;
+            }
+            var extracted = extractReservedItem(what, reservations.list.get(what), storage, available, cpuInventory,
+                    src);
+            if (extracted > 0) {
+                reservations.extract(what, extracted, Actionable.MODULATE);
+                extractedTypes++;
+            }
+        }
+
+        for (var entry : reservations.list) {
+            if (extractedTypes >= maxTypes) {
+                break;
+            }
+            var extracted = extractReservedItem(entry.getKey(), entry.getLongValue(), storage, available, cpuInventory,
+                    src);
+            if (extracted > 0) {
+                entry.setValue(entry.getLongValue() - extracted);
+                extractedTypes++;
+            }
+        }
+        reservations.list.removeZeros();
+        return extractedTypes > 0;
+    }
+
+    private static long extractReservedItem(AEKey what, long reserved, MEStorage storage, KeyCounter available,
+            ListCraftingInventory cpuInventory, IActionSource src) {
+        if (reserved <= 0 || available.get(what) <= 0) {
+            return 0;
+        }
+        var extracted = storage.extract(what, reserved, Actionable.MODULATE, src);
+        if (extracted > 0) {
+            cpuInventory.insert(what, extracted, Actionable.MODULATE);
+        }
+        return extracted;
+    }
+
     public static CompoundTag generateLinkData(UUID craftId, boolean standalone, boolean req) {
         final CompoundTag tag = new CompoundTag();
 
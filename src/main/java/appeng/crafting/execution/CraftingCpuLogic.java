@@ -18,6 +18,7 @@
 package appeng.crafting.execution;
 
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.Consumer;
@@ -44,6 +45,7 @@
 import appeng.api.stacks.AEKey;
 import appeng.api.stacks.GenericStack;
 import appeng.api.stacks.KeyCounter;
+import appeng.core.AEConfig;
 import appeng.core.AELog;
 import appeng.core.network.ClientboundPacket;
 import appeng.core.network.clientbound.CraftingJobStatusPacket;
@@ -77,6 +79,11 @@ public class CraftingCpuLogic {
     private boolean cantStoreItems = false;
 
     private long lastModifiedOnTick = TickHandler.instance().getCurrentTick();
+    /**
+     * Statistics about the current job, only collected while {@link CraftingJobTelemetry#isEnabled()}.
+     */
+    @Nullable
+    private CraftingJobTelemetry telemetry;
 
     public CraftingCpuLogic(CraftingCPUCluster cluster) {
         this.cluster = cluster;
@@ -97,8 +104,13 @@ public ICraftingSubmitResult trySubmitJob(IGrid grid, ICraftingPlan plan, IActio
         if (!inventory.list.isEmpty())
             AELog.warn("Crafting CPU inventory is not empty yet a job was submitted.");
 
-        // Try to extract required items.
-        var missingIngredient = CraftingCpuHelper.tryExtractInitialItems(plan, grid, inventory, src);
+        // Try to extract required items, or only reserve them and extract them over the next ticks.
+        var reserveIngredients = AEConfig.instance().isReserveCraftingIngredients();
+        var reservations = new ListCraftingInventory(what -> {
+        });
+        var missingIngredient = reserveIngredients
+                ? CraftingCpuHelper.tryReserveInitialItems(plan, grid, reservations, src)
+                : CraftingCpuHelper.tryExtractInitialItems(plan, grid, inventory, src);
         if (missingIngredient != null)
             return CraftingSubmitResult.missingIngredient(missingIngredient);
 
@@ -109,6 +121,9 @@ public ICraftingSubmitResult trySubmitJob(IGrid grid, ICraftingPlan plan, IActio
         var craftId = UUID.randomUUID();
         var linkCpu = new CraftingLink(CraftingCpuHelper.generateLinkData(craftId, requester == null, false), cluster);
         this.job = new ExecutingCraftingJob(plan, this::postChange, linkCpu, playerId);
+        for (var entry : reservations.list) {
+            job.reserved.insert(entry.getKey(), entry.getLongValue(), Actionable.MODULATE);
+        }
         cluster.updateOutput(plan.finalOutput());
         cluster.markDirty();
 
@@ -149,7 +164,28 @@ public void tickCraftingLogic(IEnergyService eg, CraftingService cc) {
             return;
         }
 
-        var remainingOperations = cluster.getCoProcessors() + 1 - (this.usedOps[0] + this.usedOps[1] + this.usedOps[2]);
+        // Extract some of the reserved ingredients.
+        if (!job.reserved.list.isEmpty()) {
+            var grid = cluster.getGrid();
+            if (grid != null) {
+                if (CraftingCpuHelper.extractReservedItems(job.reserved, grid, inventory, cluster.getSrc(),
+                        AEConfig.instance().getCraftingReservationExtractsPerTick(), getTaskIngredients(job))) {
+                    cluster.markDirty();
+                }
+            }
+        }
+
+        if (CraftingJobTelemetry.isEnabled()) {
+            if (telemetry == null) {
+                telemetry = new CraftingJobTelemetry();
+            }
+            telemetry.beginTick();
+        } else {
+            telemetry = null;
+        }
+
+        var opsPerWindow = cluster.getCoProcessors() + 1;
+        var remainingOperations = opsPerWindow - (this.usedOps[0] + this.usedOps[1] + this.usedOps[2]);
         final var started = remainingOperations;
 
         if (remainingOperations > 0) {
@@ -166,6 +202,36 @@ public void tickCraftingLogic(IEnergyService eg, CraftingService cc) {
         this.usedOps[2] = this.usedOps[1];
         this.usedOps[1] = this.usedOps[0];
         this.usedOps[0] = started - remainingOperations;
+
+        if (telemetry != null && this.job != null) {
+            CraftingJobTelemetry.CpuState state;
+            if (started <= 0) {
+                state = CraftingJobTelemetry.CpuState.OPS_EXHAUSTED;
+            } else if (this.usedOps[0] > 0) {
+                state = CraftingJobTelemetry.CpuState.PUSHING;
+            } else {
+                state = telemetry.getStalledState(!job.waitingFor.list.isEmpty());
+            }
+            telemetry.endTick(state, Math.max(0, this.usedOps[0]), opsPerWindow);
+        }
+    }
+
+    /**
+     * The possible inputs of the job's remaining tasks, in the order that {@link #executeCrafting} tries the tasks.
+     */
+    private static Set<AEKey> getTaskIngredients(ExecutingCraftingJob job) {
+        var ingredients = new LinkedHashSet<AEKey>();
+        for (var task : job.tasks.entrySet()) {
+            if (task.getValue().value <= 0) {
+                continue;
+            }
+            for (var input : task.getKey().getInputs()) {
+                for (var possibleInput : input.getPossibleInputs()) {
+                    ingredients.add(possibleInput.what());
+                }
+            }
+        }
+        return ingredients;
     }
 
     /**
@@ -180,6 +246,7 @@ public int executeCrafting(int maxPatterns, CraftingService craftingService, IEn
             return 0;
 
         var pushedPatterns = 0;
+        var telemetry = this.telemetry;
 
         var it = job.tasks.entrySet().iterator();
         taskLoop: while (it.hasNext()) {
@@ -197,20 +264,48 @@ public int executeCrafting(int maxPatterns, CraftingService craftingService, IEn
             var craftingContainer = CraftingCpuHelper.extractPatternInputs(
                     details, inventory, level, expectedOutputs, expectedContainerItems);
 
+            var taskStats = telemetry != null ? telemetry.getTask(details) : null;
+            if (taskStats != null) {
+                if (craftingContainer == null) {
+                    telemetry.recordMissingInputs(taskStats);
+                } else {
+                    telemetry.recordInputsReady();
+                }
+            }
+
             // Try to push to each provider.
+            var hasProviders = false;
             for (var provider : craftingService.getProviders(details)) {
+                hasProviders = true;
                 if (craftingContainer == null)
                     break;
-                if (provider.isBusy())
+                if (provider.isBusy()) {
+                    if (taskStats != null) {
+                        taskStats.recordFailure(CraftingJobTelemetry.PushFailure.PROVIDER_BUSY);
+                    }
                     continue;
+                }
 
                 var patternPower = CraftingCpuHelper.calculatePatternPower(craftingContainer);
 
                 if (energyService.extractAEPower(patternPower, Actionable.SIMULATE,
-                        PowerMultiplier.CONFIG) < patternPower - 0.01)
+                        PowerMultiplier.CONFIG) < patternPower - 0.01) {
+                    if (taskStats != null) {
+                        taskStats.recordFailure(CraftingJobTelemetry.PushFailure.NOT_ENOUGH_POWER);
+                    }
                     break;
+                }
+
+                boolean pushed;
+                if (taskStats != null) {
+                    var startNanos = System.nanoTime();
+                    pushed = provider.pushPattern(details, craftingContainer);
+                    taskStats.recordPush(pushed, System.nanoTime() - startNanos);
+                } else {
+                    pushed = provider.pushPattern(details, craftingContainer);
+                }
 
-                if (provider.pushPattern(details, craftingContainer)) {
+                if (pushed) {
                     energyService.extractAEPower(patternPower, Actionable.MODULATE, PowerMultiplier.CONFIG);
                     pushedPatterns++;
 
@@ -245,6 +340,10 @@ public int executeCrafting(int maxPatterns, CraftingService craftingService, IEn
                 }
             }
 
+            if (taskStats != null && !hasProviders && craftingContainer != null) {
+                taskStats.recordFailure(CraftingJobTelemetry.PushFailure.NO_PROVIDER);
+            }
+
             // Failed to push this pattern, reinject the inputs.
             if (craftingContainer != null) {
                 CraftingCpuHelper.reinjectPatternInputs(inventory, craftingContainer);
@@ -346,6 +445,7 @@ private void finishJob(boolean success) {
 
         // Finish job.
         this.job = null;
+        this.telemetry = null;
 
         // Store all remaining items.
         this.storeItems();
@@ -465,8 +565,25 @@ public void removeListener(Consumer<AEKey> listener) {
         listeners.remove(listener);
     }
 
+    /**
+     * Reserved ingredients are shown as stored, since they belong to the job even before they are extracted.
+     */
     public long getStored(AEKey template) {
-        return this.inventory.extract(template, Long.MAX_VALUE, Actionable.SIMULATE);
+        var stored = this.inventory.extract(template, Long.MAX_VALUE, Actionable.SIMULATE);
+        return stored + getReserved(template);
+    }
+
+    public long getReserved(AEKey template) {
+        if (this.job != null) {
+            return this.job.reserved.extract(template, Long.MAX_VALUE, Actionable.SIMULATE);
+        }
+        return 0;
+    }
+
+    public void getAllReserved(KeyCounter out) {
+        if (this.job != null) {
+            out.addAll(this.job.reserved.list);
+        }
     }
 
     public long getWaitingFor(AEKey template) {
@@ -504,6 +621,7 @@ public long getPendingOutputs(AEKey template) {
     public void getAllItems(KeyCounter out) {
         out.addAll(this.inventory.list);
         if (this.job != null) {
+            out.addAll(job.reserved.list);
             out.addAll(job.waitingFor.list);
             for (var t : job.tasks.entrySet()) {
                 for (var output : t.getKey().getOutputs()) {
@@ -517,6 +635,22 @@ public boolean isCantStoreItems() {
         return cantStoreItems;
     }
 
+    /**
+     * @return The statistics about the current job, or null if none are collected.
+     */
+    @Nullable
+    public CraftingJobTelemetry getTelemetry() {
+        return telemetry;
+    }
+
+    /**
+     * @return The share of the co-processor operations used over the last three ticks, in percent.
+     */
+    public int getCoProcessorUtilization() {
+        var used = this.usedOps[0] + this.usedOps[1] + this.usedOps[2];
+        return Math.min(100, Math.max(0, used * 100 / (cluster.getCoProcessors() + 1)));
+    }
+
     private void notifyJobOwner(ExecutingCraftingJob job, CraftingJobStatusPacket.Status status) {
         this.lastModifiedOnTick = TickHandler.instance().getCurrentTick();
 
@@ -0,0 +1,215 @@
+package appeng.crafting.execution;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jetbrains.annotations.Nullable;
+
+import appeng.api.crafting.IPatternDetails;
+
+/**
+ * Collects statistics about how a crafting CPU executes its current job, to find out why a job progresses slowly.
+ * <p>
+ * Collecting is disabled by default. While it is disabled, crafting CPUs don't create any telemetry and only check
+ * {@link #isEnabled()} once per tick.
+ */
+public final class CraftingJobTelemetry {
+    private static boolean enabled = false;
+
+    /**
+     * What a crafting CPU did during a tick.
+     */
+    public enum CpuState {
+        /**
+         * At least one pattern was pushed.
+         */
+        PUSHING,
+        /**
+         * All co-processor operations were used up by previous ticks.
+         */
+        OPS_EXHAUSTED,
+        /**
+         * Some patterns had their inputs ready, but no provider accepted them.
+         */
+        BLOCKED_BY_PROVIDERS,
+        /**
+         * No pattern had its inputs ready, and the CPU is waiting for the results of pushed patterns.
+         */
+        WAITING_FOR_RETURNS,
+        /**
+         * No pattern had its inputs ready, and the CPU isn't waiting for anything that would provide them.
+         */
+        MISSING_INPUTS
+    }
+
+    /**
+     * Why a pattern could not be pushed to a provider.
+     */
+    public enum PushFailure {
+        NO_PROVIDER,
+        PROVIDER_BUSY,
+        NOT_ENOUGH_POWER,
+        REJECTED
+    }
+
+    private final Map<IPatternDetails, TaskStats> tasks = new HashMap<>();
+    private final long[] ticksPerState = new long[CpuState.values().length];
+    private long ticks;
+    private long usedOps;
+    private long availableOps;
+    @Nullable
+    private CpuState lastState;
+
+    // State of the current tick
+    private boolean tickHadInputs;
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        CraftingJobTelemetry.enabled = enabled;
+    }
+
+    void beginTick() {
+        ticks++;
+        tickHadInputs = false;
+    }
+
+    /**
+     * @param usedOps      The number of patterns pushed during this tick.
+     * @param opsPerWindow The number of patterns the CPU can push in three consecutive ticks.
+     */
+    void endTick(CpuState state, int usedOps, int opsPerWindow) {
+        this.usedOps += usedOps;
+        // The CPU can push opsPerWindow patterns over any three consecutive ticks
+        this.availableOps += opsPerWindow;
+        ticksPerState[state.ordinal()]++;
+        lastState = state;
+    }
+
+    /**
+     * Determines the state of a tick in which no pattern was pushed, although operations were available.
+     */
+    CpuState getStalledState(boolean waitingForReturns) {
+        if (tickHadInputs) {
+            return CpuState.BLOCKED_BY_PROVIDERS;
+        }
+        return waitingForReturns ? CpuState.WAITING_FOR_RETURNS : CpuState.MISSING_INPUTS;
+    }
+
+    TaskStats getTask(IPatternDetails details) {
+        return tasks.computeIfAbsent(details, TaskStats::new);
+    }
+
+    void recordMissingInputs(TaskStats task) {
+        if (task.lastTickWithoutInputs != ticks) {
+            task.lastTickWithoutInputs = ticks;
+            task.ticksWithoutInputs++;
+        }
+    }
+
+    void recordInputsReady() {
+        tickHadInputs = true;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public long getTicks(CpuState state) {
+        return ticksPerState[state.ordinal()];
+    }
+
+    /**
+     * @return The state of the last tick, or null if no tick was recorded yet.
+     */
+    @Nullable
+    public CpuState getLastState() {
+        return lastState;
+    }
+
+    /**
+     * @return The share of the co-processor operations that were used since collecting started, in percent.
+     */
+    public int getAverageUtilization() {
+        // availableOps counts every operation three times, since it is counted for each tick of the window
+        return availableOps > 0 ? (int) Math.min(100, usedOps * 300 / availableOps) : 0;
+    }
+
+    /**
+     * @return The tasks sorted by the number of failed pushes and ticks without inputs, most problematic first.
+     */
+    public List<TaskStats> getTasks() {
+        var result = new ArrayList<>(tasks.values());
+        result.sort(Comparator.comparingLong(TaskStats::getStalls).reversed());
+        return result;
+    }
+
+    /**
+     * Statistics about pushing a single pattern.
+     */
+    public static final class TaskStats {
+        private final IPatternDetails details;
+        private final long[] failures = new long[PushFailure.values().length];
+        private long attempts;
+        private long successes;
+        private long pushNanos;
+        private long ticksWithoutInputs;
+        private long lastTickWithoutInputs = -1;
+
+        private TaskStats(IPatternDetails details) {
+            this.details = details;
+        }
+
+        void recordFailure(PushFailure failure) {
+            attempts++;
+            failures[failure.ordinal()]++;
+        }
+
+        void recordPush(boolean success, long nanos) {
+            pushNanos += nanos;
+            if (success) {
+                attempts++;
+                successes++;
+            } else {
+                recordFailure(PushFailure.REJECTED);
+            }
+        }
+
+        public IPatternDetails getDetails() {
+            return details;
+        }
+
+        public long getAttempts() {
+            return attempts;
+        }
+
+        public long getSuccesses() {
+            return successes;
+        }
+
+        public long getFailures(PushFailure failure) {
+            return failures[failure.ordinal()];
+        }
+
+        /**
+         * @return The average time spent in calls to the provider's pushPattern, in nanoseconds.
+         */
+        public long getAveragePushNanos() {
+            var calls = successes + failures[PushFailure.REJECTED.ordinal()];
+            return calls > 0 ? pushNanos / calls : 0;
+        }
+
+        public long getTicksWithoutInputs() {
+            return ticksWithoutInputs;
+        }
+
+        private long getStalls() {
+            return attempts - successes + ticksWithoutInputs;
+        }
+    }
+}
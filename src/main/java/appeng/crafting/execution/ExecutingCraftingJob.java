@@ -48,10 +48,16 @@ public class ExecutingCraftingJob {
     private static final String NBT_TIME_TRACKER = "timeTracker";
     private static final String NBT_REMAINING_AMOUNT = "remainingAmount";
     private static final String NBT_TASKS = "tasks";
+    private static final String NBT_RESERVED = "reserved";
     private static final String NBT_CRAFTING_PROGRESS = "#craftingProgress";
 
     final CraftingLink link;
     final ListCraftingInventory waitingFor;
+    /**
+     * Ingredients of the job that are still in the network storage. They are extracted into the CPU inventory over
+     * the following ticks.
+     */
+    final ListCraftingInventory reserved;
     final Map<IPatternDetails, TaskProgress> tasks = new HashMap<>();
     final ElapsedTimeTracker timeTracker;
     GenericStack finalOutput;
@@ -69,6 +75,7 @@ interface CraftingDifferenceListener {
         this.finalOutput = plan.finalOutput();
         this.remainingAmount = this.finalOutput.amount();
         this.waitingFor = new ListCraftingInventory(postCraftingDifference::onCraftingDifference);
+        this.reserved = new ListCraftingInventory(postCraftingDifference::onCraftingDifference);
 
         // Fill waiting for and tasks
         this.timeTracker = new ElapsedTimeTracker();
@@ -99,6 +106,8 @@ interface CraftingDifferenceListener {
         this.remainingAmount = data.getLong(NBT_REMAINING_AMOUNT);
         this.waitingFor = new ListCraftingInventory(postCraftingDifference::onCraftingDifference);
         this.waitingFor.readFromNBT(data.getList(NBT_WAITING_FOR, Tag.TAG_COMPOUND), registries);
+        this.reserved = new ListCraftingInventory(postCraftingDifference::onCraftingDifference);
+        this.reserved.readFromNBT(data.getList(NBT_RESERVED, Tag.TAG_COMPOUND), registries);
         this.timeTracker = new ElapsedTimeTracker(data.getCompound(NBT_TIME_TRACKER));
         if (data.contains(NBT_PLAYER_ID, Tag.TAG_INT)) {
             this.playerId = data.getInt(NBT_PLAYER_ID);
@@ -129,6 +138,9 @@ CompoundTag writeToNBT(HolderLookup.Provider registries) {
         data.put(NBT_FINAL_OUTPUT, GenericStack.writeTag(registries, finalOutput));
 
         data.put(NBT_WAITING_FOR, waitingFor.writeToNBT(registries));
+        if (!reserved.list.isEmpty()) {
+            data.put(NBT_RESERVED, reserved.writeToNBT(registries));
+        }
         data.put(NBT_TIME_TRACKER, timeTracker.writeToNBT());
 
         final ListTag list = new ListTag();
@@ -39,6 +39,15 @@ public class NetworkCraftingSimulationState extends CraftingSimulationState {
     private final KeyCounter list;
 
     public NetworkCraftingSimulationState(IStorageService storage, @Nullable IActionSource src) {
+        this(storage, src, null);
+    }
+
+    /**
+     * @param reserved Ingredients reserved by running crafting jobs, which are not available to this simulation even
+     *                 though they are still stored in the network.
+     */
+    public NetworkCraftingSimulationState(IStorageService storage, @Nullable IActionSource src,
+            @Nullable KeyCounter reserved) {
         if (src != null && src.player().isPresent()) {
             // We choose to re-query the available stacks every time a crafting simulation is started by a player.
             // Using getCachedInventory causes issues with our "CTRL+click to craft" integration with EMI, which submits
@@ -50,13 +59,22 @@ public NetworkCraftingSimulationState(IStorageService storage, @Nullable IAction
             // For non-player sources, it is fine to use the cached inventory: they will submit a new request eventually
             // if this simulation or job fails.
             this.list = new KeyCounter();
-            for (var stack : storage.getCachedInventory()) {
-                long networkAmount = stack.getLongValue();
+            var cachedInventory = storage.getCachedInventorySnapshot();
+            for (int i = 0; i < cachedInventory.size(); i++) {
+                long networkAmount = cachedInventory.getAmount(i);
                 if (networkAmount > 0) {
-                    this.list.add(stack.getKey(), networkAmount);
+                    this.list.add(cachedInventory.getKey(i), networkAmount);
                 }
             }
         }
+
+        if (reserved != null && !reserved.isEmpty()) {
+            for (var entry : reserved) {
+                var what = entry.getKey();
+                this.list.set(what, Math.max(0, this.list.get(what) - entry.getLongValue()));
+            }
+            this.list.removeZeros();
+        }
     }
 
     @Override
@@ -9,6 +9,10 @@
 /**
  * Interface implemented by machines connected to the network if they support storing
  * {@link appeng.crafting.pattern.EncodedPatternItem}, such as the pattern provider.
+ * <p>
+ * Implementations should report changes to their pattern inventory, visibility and group through
+ * {@link appeng.me.service.PatternContainerService}. Unreported changes are only picked up by open pattern access
+ * terminals when they periodically re-check all containers.
  */
 public interface PatternContainer {
     /**
@@ -75,6 +75,7 @@
 import appeng.core.settings.TickRates;
 import appeng.helpers.InterfaceLogicHost;
 import appeng.me.helpers.MachineSource;
+import appeng.me.service.PatternContainerService;
 import appeng.util.inv.AppEngInternalInventory;
 import appeng.util.inv.InternalInventoryHost;
 import appeng.util.inv.PlayerInternalInventory;
@@ -246,6 +247,7 @@ public void saveChangedInventory(AppEngInternalInventory inv) {
     public void onChangeInventory(AppEngInternalInventory inv, int slot) {
         this.saveChanges();
         this.updatePatterns();
+        PatternContainerService.notifyPatternsChanged(mainNode.getGrid(), host, slot);
     }
 
     @Override
@@ -560,6 +562,15 @@ public void onMainNodeStateChanged() {
                 grid.getTickManager().alertDevice(node);
             });
         }
+        notifyTerminalChanged();
+    }
+
+    /**
+     * Informs open pattern access terminals that the visibility or group of this provider may have changed, i.e.
+     * because an adjacent machine was placed or removed.
+     */
+    public void notifyTerminalChanged() {
+        PatternContainerService.notifyContainerChanged(mainNode.getGrid(), host);
     }
 
     public void addDrops(List<ItemStack> drops) {
@@ -797,6 +808,9 @@ private void configChanged(IConfigManager manager, Setting<?> setting) {
         } else {
             saveChanges();
         }
+        if (setting == Settings.PATTERN_ACCESS_TERMINAL) {
+            notifyTerminalChanged();
+        }
     }
 
     private boolean getRedstoneState() {
@@ -0,0 +1,76 @@
+package appeng.hooks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+/**
+ * Notifies listeners whenever the block state at a specific position changes, regardless of whether the change causes
+ * neighbor or shape updates. Some changes, such as crops growing, only notify clients and would otherwise go unnoticed
+ * by adjacent machines.
+ * <p>
+ * Only used on the server thread. The listeners of a level are dropped when it unloads, since they usually reference
+ * the level themselves and would otherwise keep it loaded.
+ */
+public final class BlockChangeListeners {
+    private static final Map<Level, Long2ObjectMap<List<Runnable>>> LISTENERS = new WeakHashMap<>();
+
+    private BlockChangeListeners() {
+    }
+
+    public static void register(ServerLevel level, BlockPos pos, Runnable listener) {
+        LISTENERS.computeIfAbsent(level, l -> new Long2ObjectOpenHashMap<>())
+                .computeIfAbsent(pos.asLong(), p -> new ArrayList<>())
+                .add(listener);
+    }
+
+    public static void unregister(ServerLevel level, BlockPos pos, Runnable listener) {
+        var levelListeners = LISTENERS.get(level);
+        if (levelListeners == null) {
+            return;
+        }
+
+        var posListeners = levelListeners.get(pos.asLong());
+        if (posListeners != null && posListeners.remove(listener) && posListeners.isEmpty()) {
+            levelListeners.remove(pos.asLong());
+            if (levelListeners.isEmpty()) {
+                LISTENERS.remove(level);
+            }
+        }
+    }
+
+    public static void removeLevel(LevelAccessor level) {
+        LISTENERS.remove(level);
+    }
+
+    /**
+     * Called by a mixin whenever a block state in a server level changes.
+     */
+    public static void onBlockStateChange(ServerLevel level, BlockPos pos) {
+        if (LISTENERS.isEmpty()) {
+            return;
+        }
+
+        var levelListeners = LISTENERS.get(level);
+        if (levelListeners == null) {
+            return;
+        }
+
+        var posListeners = levelListeners.get(pos.asLong());
+        if (posListeners != null) {
+            // Listeners may unregister themselves
+            for (var listener : posListeners.toArray(Runnable[]::new)) {
+                listener.run();
+            }
+        }
+    }
+}
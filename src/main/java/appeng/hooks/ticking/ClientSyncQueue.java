@@ -0,0 +1,133 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.hooks.ticking;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.LevelAccessor;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+
+import appeng.blockentity.AEBaseBlockEntity;
+import appeng.core.AEConfig;
+
+/**
+ * Coalesces the client updates requested by {@link AEBaseBlockEntity#markForUpdate()} and
+ * {@link AEBaseBlockEntity#markForClientUpdate()}, so that a block entity sends at most one update per tick, no matter
+ * how often its state changed during that tick.
+ * <p>
+ * Block entities that are far away from all players tracking them are synced less often. Their update is not dropped,
+ * but deferred until the interval for their distance has elapsed, so clients always end up with the latest state.
+ */
+class ClientSyncQueue {
+    /**
+     * For each block of distance beyond {@link AEConfig#getClientSyncFullRateDistance()}, the interval between two
+     * updates grows by one tick per this many blocks.
+     */
+    private static final int BLOCKS_PER_INTERVAL_TICK = 16;
+
+    private final Map<LevelAccessor, LevelQueue> levels = new Object2ObjectOpenHashMap<>();
+
+    private static class LevelQueue {
+        // Block entities with pending updates, in the order they were first marked
+        private final Set<AEBaseBlockEntity> pending = new LinkedHashSet<>();
+        // The tick in which each recently synced block entity has last sent an update
+        private final Reference2LongMap<AEBaseBlockEntity> lastSent = new Reference2LongOpenHashMap<>();
+    }
+
+    void clear() {
+        this.levels.clear();
+    }
+
+    void add(ServerLevel level, AEBaseBlockEntity blockEntity) {
+        this.levels.computeIfAbsent(level, key -> new LevelQueue()).pending.add(blockEntity);
+    }
+
+    void removeLevel(LevelAccessor level) {
+        this.levels.remove(level);
+    }
+
+    /**
+     * Sends the pending updates for the given level whose rate limit allows them to be sent in this tick.
+     */
+    void flush(ServerLevel level, long currentTick) {
+        var queue = this.levels.get(level);
+        if (queue == null) {
+            return;
+        }
+
+        var fullRateDistance = AEConfig.instance().getClientSyncFullRateDistance();
+        var maxInterval = AEConfig.instance().getClientSyncMaxInterval();
+
+        // Entries older than the max. interval no longer limit anything
+        queue.lastSent.reference2LongEntrySet().removeIf(e -> currentTick - e.getLongValue() >= maxInterval);
+
+        var it = queue.pending.iterator();
+        while (it.hasNext()) {
+            var blockEntity = it.next();
+            if (blockEntity.isRemoved() || blockEntity.getLevel() != level || blockEntity.notLoaded()) {
+                it.remove();
+                continue;
+            }
+
+            var pos = blockEntity.getBlockPos();
+            var players = level.getChunkSource().chunkMap.getPlayers(new ChunkPos(pos), false);
+            if (players.isEmpty()) {
+                // Nobody to tell. Players that start tracking the chunk later receive the full state with it.
+                it.remove();
+                continue;
+            }
+
+            if (queue.lastSent.containsKey(blockEntity)) {
+                var nearestDistanceSq = Double.MAX_VALUE;
+                for (var player : players) {
+                    nearestDistanceSq = Math.min(nearestDistanceSq,
+                            player.distanceToSqr(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5));
+                }
+                var interval = getSyncInterval(Math.sqrt(nearestDistanceSq), fullRateDistance, maxInterval);
+                if (currentTick - queue.lastSent.getLong(blockEntity) < interval) {
+                    continue; // Try again next tick
+                }
+            }
+
+            it.remove();
+            var packet = blockEntity.createClientSyncPacket();
+            if (packet != null) {
+                for (var player : players) {
+                    player.connection.send(packet);
+                }
+                queue.lastSent.put(blockEntity, currentTick);
+            }
+        }
+    }
+
+    private static int getSyncInterval(double distance, int fullRateDistance, int maxInterval) {
+        if (distance <= fullRateDistance) {
+            return 1;
+        }
+        var interval = 1 + (int) ((distance - fullRateDistance) / BLOCKS_PER_INTERVAL_TICK);
+        return Math.min(interval, maxInterval);
+    }
+}
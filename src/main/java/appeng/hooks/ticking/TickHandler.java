@@ -55,8 +55,11 @@
 import appeng.core.AEConfig;
 import appeng.core.AELog;
 import appeng.crafting.CraftingCalculation;
+import appeng.hooks.BlockChangeListeners;
 import appeng.me.Grid;
 import appeng.me.GridNode;
+import appeng.me.helpers.ParallelServiceTick;
+import appeng.me.helpers.ParallelServiceTicks;
 import appeng.util.ILevelRunnable;
 import appeng.util.Platform;
 
@@ -73,6 +76,7 @@ public class TickHandler {
     private final Map<LevelAccessor, Queue<ILevelRunnable>> callQueue = new HashMap<>();
     private final ServerBlockEntityRepo blockEntities = new ServerBlockEntityRepo();
     private final ServerGridRepo grids = new ServerGridRepo();
+    private final ClientSyncQueue clientSyncs = new ClientSyncQueue();
 
     /**
      * A stop watch to limit processing the additional queues to honor
@@ -149,6 +153,14 @@ public <T extends BlockEntity> void addInit(T blockEntity, Consumer<? super T> i
         }
     }
 
+    /**
+     * Queue a client update for a {@link AEBaseBlockEntity}, which will be sent at the end of the level tick. Multiple
+     * updates for the same block entity are coalesced into one.
+     */
+    public void addClientSync(ServerLevel level, AEBaseBlockEntity blockEntity) {
+        this.clientSyncs.add(level, blockEntity);
+    }
+
     /**
      * Add a new grid for ticking on the next update.
      * <p>
@@ -184,6 +196,9 @@ public void shutdown() {
         Platform.assertServerThread();
         this.blockEntities.clear();
         this.grids.clear();
+        this.clientSyncs.clear();
+        TickProfiler.reset();
+        ParallelServiceTicks.shutdown();
     }
 
     /**
@@ -226,7 +241,9 @@ public void onUnloadLevel(final LevelEvent.Unload ev) {
         }
 
         this.blockEntities.removeLevel(level);
+        this.clientSyncs.removeLevel(level);
         this.callQueue.remove(level);
+        BlockChangeListeners.removeLevel(level);
     }
 
     private void onServerLevelTickStart(LevelTickEvent.Pre event) {
@@ -234,7 +251,10 @@ private void onServerLevelTickStart(LevelTickEvent.Pre event) {
             return;
         }
         var queue = this.callQueue.remove(level);
+        var queueTimer = TickProfiler.queue("levelCallbacks");
+        queueTimer.start();
         processQueueElementsRemaining += this.processQueue(queue, level);
+        queueTimer.stop();
         var newQueue = this.callQueue.put(level, queue);
         // Some new tasks may have been added while we were processing the queue
         if (newQueue != null) {
@@ -259,8 +279,15 @@ private void onServerLevelTickEnd(LevelTickEvent.Post event) {
         if (!(event.getLevel() instanceof ServerLevel level)) {
             return;
         }
+        var simulationTimer = TickProfiler.queue("craftingSimulations");
+        simulationTimer.start();
         this.simulateCraftingJobs(level);
+        simulationTimer.stop();
+
+        var readyTimer = TickProfiler.queue("readyBlockEntities");
+        readyTimer.start();
         this.readyBlockEntities(level);
+        readyTimer.stop();
 
         // tick networks
         for (var g : this.grids.getNetworks()) {
@@ -273,6 +300,12 @@ private void onServerLevelTickEnd(LevelTickEvent.Post event) {
                 throw new ReportedException(crashReport);
             }
         }
+
+        // Send the client updates of everything that changed during this tick
+        var syncTimer = TickProfiler.queue("clientSyncs");
+        syncTimer.start();
+        this.clientSyncs.flush(level, tickCounter);
+        syncTimer.stop();
     }
 
     private void onServerTickStart(ServerTickEvent.Pre event) {
@@ -294,10 +327,12 @@ private void onServerTickStart(ServerTickEvent.Pre event) {
     }
 
     private void onServerTickEnd(ServerTickEvent.Post event) {
-        // tick networks
+        // tick networks. In parallel mode, services only prepare their work, which is completed for all grids at once
+        var parallelThreads = AEConfig.instance().getParallelInventoryDiffThreads();
+        var parallelTicks = parallelThreads > 0 ? new ArrayList<ParallelServiceTick>() : null;
         for (var g : this.grids.getNetworks()) {
             try {
-                g.onServerEndTick();
+                g.onServerEndTick(parallelTicks);
             } catch (Throwable t) {
                 CrashReport crashReport = CrashReport.forThrowable(t, "Ticking grid on end of server tick");
                 g.fillCrashReportCategory(crashReport.addCategory("Grid being ticked"));
@@ -305,8 +340,22 @@ private void onServerTickEnd(ServerTickEvent.Post event) {
             }
         }
 
+        if (parallelTicks != null) {
+            var parallelTimer = TickProfiler.queue("parallelInventoryDiffs");
+            parallelTimer.start();
+            try {
+                ParallelServiceTicks.run(parallelTicks, parallelThreads);
+            } catch (Throwable t) {
+                throw new ReportedException(CrashReport.forThrowable(t, "Ticking grids in parallel"));
+            }
+            parallelTimer.stop();
+        }
+
         // cross level queue.
+        var queueTimer = TickProfiler.queue("serverCallbacks");
+        queueTimer.start();
         processQueueElementsRemaining += this.processQueue(this.serverQueue, null);
+        queueTimer.stop();
 
         if (this.stopWatch.elapsed(TimeUnit.MILLISECONDS) > TIME_LIMIT_PROCESS_QUEUE_MILLISECONDS) {
             AELog.warn("Exceeded time limit of %d ms after processing %d queued tick callbacks (%d remain)",
@@ -314,6 +363,7 @@ private void onServerTickEnd(ServerTickEvent.Post event) {
                     processQueueElementsRemaining);
         }
 
+        TickProfiler.endTick();
         tickCounter++;
     }
 
@@ -0,0 +1,361 @@
+package appeng.hooks.ticking;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.jetbrains.annotations.Nullable;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+
+/**
+ * Attributes the server-side time spent by AE2 to individual grids, grid services, menus and the queues of the
+ * {@link TickHandler}. Unlike the node monitoring of the tick manager, this is cheap enough to always be enabled: each
+ * timed section costs two calls to {@link System#nanoTime()} and an addition.
+ * <p>
+ * Timings are kept for a rolling window of the last {@link #WINDOW_TICKS} server ticks. Allocations can optionally be
+ * counted as well, which is more expensive and disabled by default.
+ * <p>
+ * The profiler must only be used from the server thread.
+ */
+public final class TickProfiler {
+    /**
+     * The number of server ticks that the statistics cover.
+     */
+    public static final int WINDOW_TICKS = 200;
+
+    /**
+     * The upper bounds (exclusive) of the histogram buckets for the time spent per tick, in nanoseconds. The last
+     * bucket has no upper bound.
+     */
+    private static final long[] HISTOGRAM_BOUNDS = { 10_000L, 100_000L, 1_000_000L, 5_000_000L, 20_000_000L };
+
+    public enum Category {
+        GRID("grid"),
+        SERVICE("service"),
+        MENU("menu"),
+        QUEUE("queue");
+
+        private final String id;
+
+        Category(String id) {
+            this.id = id;
+        }
+
+        public String id() {
+            return id;
+        }
+    }
+
+    private static boolean enabled = true;
+    @Nullable
+    private static com.sun.management.ThreadMXBean allocationBean;
+
+    private static final Map<String, Timer> timers = new HashMap<>();
+    private static final Int2ObjectMap<Timer> gridTimers = new Int2ObjectOpenHashMap<>();
+    private static final Reference2ObjectMap<Class<?>, Timer> serviceTimers = new Reference2ObjectOpenHashMap<>();
+    private static final Reference2ObjectMap<Class<?>, Timer> menuTimers = new Reference2ObjectOpenHashMap<>();
+    private static final Map<String, Timer> queueTimers = new HashMap<>();
+
+    /**
+     * Returned instead of creating timers while the profiler is disabled, so that no statistics accumulate.
+     */
+    private static final Timer DISABLED_TIMER = new Timer(Category.QUEUE, "disabled");
+
+    private static long currentTick;
+
+    private TickProfiler() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        if (TickProfiler.enabled != enabled) {
+            TickProfiler.enabled = enabled;
+            reset();
+        }
+    }
+
+    public static boolean isTrackingAllocations() {
+        return allocationBean != null;
+    }
+
+    /**
+     * Enables counting the bytes allocated within timed sections.
+     *
+     * @return False if the JVM does not support counting allocations per thread.
+     */
+    public static boolean setTrackingAllocations(boolean trackAllocations) {
+        if (!trackAllocations) {
+            allocationBean = null;
+            return true;
+        }
+
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            allocationBean = bean;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Discards all collected statistics.
+     */
+    public static void reset() {
+        timers.clear();
+        gridTimers.clear();
+        serviceTimers.clear();
+        menuTimers.clear();
+        queueTimers.clear();
+    }
+
+    public static Timer grid(int serialNumber) {
+        if (!enabled) {
+            return DISABLED_TIMER;
+        }
+        var timer = gridTimers.get(serialNumber);
+        if (timer == null) {
+            timer = timer(Category.GRID, "#" + serialNumber);
+            gridTimers.put(serialNumber, timer);
+        }
+        return timer;
+    }
+
+    public static Timer service(Class<?> serviceClass) {
+        if (!enabled) {
+            return DISABLED_TIMER;
+        }
+        var timer = serviceTimers.get(serviceClass);
+        if (timer == null) {
+            timer = timer(Category.SERVICE, serviceClass.getSimpleName());
+            serviceTimers.put(serviceClass, timer);
+        }
+        return timer;
+    }
+
+    public static Timer menu(Class<?> menuClass) {
+        if (!enabled) {
+            return DISABLED_TIMER;
+        }
+        var timer = menuTimers.get(menuClass);
+        if (timer == null) {
+            timer = timer(Category.MENU, menuClass.getSimpleName());
+            menuTimers.put(menuClass, timer);
+        }
+        return timer;
+    }
+
+    public static Timer queue(String name) {
+        if (!enabled) {
+            return DISABLED_TIMER;
+        }
+        var timer = queueTimers.get(name);
+        if (timer == null) {
+            timer = timer(Category.QUEUE, name);
+            queueTimers.put(name, timer);
+        }
+        return timer;
+    }
+
+    private static Timer timer(Category category, String name) {
+        return timers.computeIfAbsent(category.id() + ":" + name, key -> new Timer(category, name));
+    }
+
+    /**
+     * Closes the statistics of the current tick. Called once at the end of each server tick.
+     */
+    static void endTick() {
+        if (!enabled) {
+            return;
+        }
+
+        var slot = (int) (currentTick % WINDOW_TICKS);
+        var it = timers.values().iterator();
+        while (it.hasNext()) {
+            var timer = it.next();
+            timer.endTick(slot);
+            // Forget about grids and menus that are gone
+            if (currentTick - timer.lastActiveTick >= WINDOW_TICKS) {
+                it.remove();
+                gridTimers.values().remove(timer);
+                serviceTimers.values().remove(timer);
+                menuTimers.values().remove(timer);
+                queueTimers.values().remove(timer);
+            }
+        }
+        currentTick++;
+    }
+
+    /**
+     * @return The timers that used the most time within the window, optionally restricted to a category.
+     */
+    public static List<Summary> getTop(@Nullable Category category, int count) {
+        var result = new ArrayList<Summary>();
+        for (var timer : timers.values()) {
+            if (category == null || timer.category == category) {
+                result.add(timer.summarize());
+            }
+        }
+        result.sort(Comparator.comparingLong(Summary::totalNanos).reversed());
+        return result.subList(0, Math.min(count, result.size()));
+    }
+
+    @Nullable
+    public static Timer getTimer(String id) {
+        return timers.get(id);
+    }
+
+    public static List<String> getTimerIds() {
+        return timers.keySet().stream().sorted().toList();
+    }
+
+    /**
+     * @return The number of ticks in which the time spent fell into each histogram bucket.
+     */
+    public static int[] getHistogram(Timer timer) {
+        var result = new int[HISTOGRAM_BOUNDS.length + 1];
+        var ticks = getWindowTicks();
+        for (var i = 0; i < ticks; i++) {
+            var nanos = timer.nanosPerTick[i];
+            var bucket = 0;
+            while (bucket < HISTOGRAM_BOUNDS.length && nanos >= HISTOGRAM_BOUNDS[bucket]) {
+                bucket++;
+            }
+            result[bucket]++;
+        }
+        return result;
+    }
+
+    /**
+     * @return A label for each histogram bucket returned by {@link #getHistogram}.
+     */
+    public static List<String> getHistogramLabels() {
+        var result = new ArrayList<String>(HISTOGRAM_BOUNDS.length + 1);
+        var lower = 0L;
+        for (var bound : HISTOGRAM_BOUNDS) {
+            result.add(formatNanos(lower) + "-" + formatNanos(bound));
+            lower = bound;
+        }
+        result.add(">=" + formatNanos(lower));
+        return result;
+    }
+
+    /**
+     * @return The number of ticks that the statistics currently cover.
+     */
+    public static int getWindowTicks() {
+        return (int) Math.min(currentTick, WINDOW_TICKS);
+    }
+
+    public static String formatNanos(long nanos) {
+        if (nanos >= 1_000_000L) {
+            return String.format(Locale.ROOT, "%.2fms", nanos / 1_000_000.0);
+        } else {
+            return String.format(Locale.ROOT, "%.1fµs", nanos / 1_000.0);
+        }
+    }
+
+    private static long getAllocatedBytes() {
+        var bean = allocationBean;
+        return bean != null ? bean.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    /**
+     * Measures a section of code. Sections measured by the same timer must not be nested.
+     */
+    public static final class Timer {
+        private final Category category;
+        private final String name;
+
+        private long startNanos = -1;
+        private long startAllocated;
+
+        private long tickNanos;
+        private long tickAllocated;
+        private int tickCalls;
+        private long lastActiveTick;
+
+        private final long[] nanosPerTick = new long[WINDOW_TICKS];
+        private final long[] allocatedPerTick = new long[WINDOW_TICKS];
+        private final int[] callsPerTick = new int[WINDOW_TICKS];
+
+        private Timer(Category category, String name) {
+            this.category = category;
+            this.name = name;
+            this.lastActiveTick = currentTick;
+        }
+
+        public void start() {
+            if (enabled) {
+                startNanos = System.nanoTime();
+                startAllocated = getAllocatedBytes();
+            }
+        }
+
+        public void stop() {
+            if (startNanos != -1) {
+                tickNanos += System.nanoTime() - startNanos;
+                tickAllocated += getAllocatedBytes() - startAllocated;
+                tickCalls++;
+                startNanos = -1;
+            }
+        }
+
+        public Category getCategory() {
+            return category;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        private void endTick(int slot) {
+            nanosPerTick[slot] = tickNanos;
+            allocatedPerTick[slot] = tickAllocated;
+            callsPerTick[slot] = tickCalls;
+            if (tickCalls > 0) {
+                lastActiveTick = currentTick;
+            }
+            tickNanos = 0;
+            tickAllocated = 0;
+            tickCalls = 0;
+        }
+
+        private Summary summarize() {
+            long totalNanos = 0;
+            long maxTickNanos = 0;
+            long allocated = 0;
+            long calls = 0;
+            var ticks = getWindowTicks();
+            for (var i = 0; i < ticks; i++) {
+                totalNanos += nanosPerTick[i];
+                maxTickNanos = Math.max(maxTickNanos, nanosPerTick[i]);
+                allocated += allocatedPerTick[i];
+                calls += callsPerTick[i];
+            }
+            return new Summary(category, name, totalNanos, ticks > 0 ? totalNanos / ticks : 0, maxTickNanos, calls,
+                    allocated);
+        }
+    }
+
+    /**
+     * The statistics of a timer over the window.
+     *
+     * @param avgTickNanos The average time spent per tick.
+     * @param maxTickNanos The most time spent within a single tick.
+     */
+    public record Summary(Category category, String name, long totalNanos, long avgTickNanos, long maxTickNanos,
+            long calls, long allocatedBytes) {
+    }
+}
@@ -26,9 +26,11 @@
 import appeng.api.networking.storage.IStorageService;
 import appeng.api.networking.ticking.ITickManager;
 import appeng.me.service.CraftingService;
+import appeng.me.service.DeferredInsertService;
 import appeng.me.service.EnergyService;
 import appeng.me.service.P2PService;
 import appeng.me.service.PathingService;
+import appeng.me.service.PatternContainerService;
 import appeng.me.service.SpatialPylonService;
 import appeng.me.service.StatisticsService;
 import appeng.me.service.StorageService;
@@ -47,5 +49,7 @@ public static void init() {
         GridServices.register(ISpatialService.class, SpatialPylonService.class);
         GridServices.register(ICraftingService.class, CraftingService.class);
         GridServices.register(StatisticsService.class, StatisticsService.class);
+        GridServices.register(PatternContainerService.class, PatternContainerService.class);
+        GridServices.register(DeferredInsertService.class, DeferredInsertService.class);
     }
 }
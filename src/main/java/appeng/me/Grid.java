@@ -19,6 +19,7 @@
 package appeng.me;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -42,11 +43,13 @@
 
 import it.unimi.dsi.fastutil.objects.Reference2IntMap;
 import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 
 import appeng.api.networking.GridServicesInternal;
 import appeng.api.networking.IGrid;
 import appeng.api.networking.IGridNode;
 import appeng.api.networking.IGridNodeListener;
+import appeng.api.networking.IGridServiceProvider;
 import appeng.api.networking.IGridService;
 import appeng.api.networking.crafting.ICraftingService;
 import appeng.api.networking.energy.IEnergyService;
@@ -57,9 +60,13 @@
 import appeng.api.networking.ticking.ITickManager;
 import appeng.core.AELog;
 import appeng.hooks.ticking.TickHandler;
+import appeng.hooks.ticking.TickProfiler;
 import appeng.me.helpers.GridServiceContainer;
+import appeng.me.helpers.ParallelServiceTick;
 import appeng.me.service.P2PService;
 import appeng.parts.AEBasePart;
+import appeng.util.DebugExport;
+import appeng.util.IDebugDumpable;
 import appeng.util.IDebugExportable;
 import appeng.util.JsonStreamUtil;
 
@@ -71,6 +78,15 @@ public class Grid implements IGrid {
     private static int nextSerial = 0;
 
     private final SetMultimap<Class<?>, IGridNode> machines = MultimapBuilder.hashKeys().hashSetValues().build();
+    /**
+     * Caches the results of {@link #getMachines} and {@link #getActiveMachines} per machine class. Both are queried
+     * frequently, but their results rarely change.
+     */
+    private final Map<Class<?>, MachineSets> machineSets = new Reference2ObjectOpenHashMap<>();
+    /**
+     * Incremented whenever the active state of any node in this grid may have changed.
+     */
+    private int activeStateVersion;
     private final GridServiceContainer services;
     // Becomes null after the last node has left the grid.
     @Nullable
@@ -115,6 +131,7 @@ void remove(GridNode gridNode) {
 
         var machineClass = gridNode.getOwner().getClass();
         this.machines.remove(machineClass, gridNode);
+        this.machineSets.remove(machineClass);
 
         if (this.pivot == gridNode) {
             var nodesIt = machines.values().iterator();
@@ -132,6 +149,7 @@ void remove(GridNode gridNode) {
     void add(GridNode gridNode, @Nullable CompoundTag savedData) {
         // track node.
         this.machines.put(gridNode.getOwner().getClass(), gridNode);
+        this.machineSets.remove(gridNode.getOwner().getClass());
 
         for (var service : services.services().values()) {
             service.addNode(gridNode, savedData);
@@ -170,32 +188,81 @@ public Iterable<IGridNode> getMachineNodes(Class<?> machineClass) {
         return this.machines.get(machineClass);
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public <T> Set<T> getMachines(Class<T> machineClass) {
-        Set<IGridNode> nodes = this.machines.get(machineClass);
-        var resultBuilder = ImmutableSet.<T>builder();
-        for (IGridNode node : nodes) {
-            var logicalHost = node.getOwner();
-            if (machineClass.isInstance(logicalHost)) {
-                resultBuilder.add(machineClass.cast(logicalHost));
-            }
+        var sets = getMachineSets(machineClass);
+        if (sets == null) {
+            return Set.of();
         }
-        return resultBuilder.build();
+
+        if (sets.machines == null) {
+            sets.machines = collectMachines(machineClass, false);
+        }
+        return (Set<T>) sets.machines;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public <T> Set<T> getActiveMachines(Class<T> machineClass) {
-        Set<IGridNode> nodes = this.machines.get(machineClass);
+        var sets = getMachineSets(machineClass);
+        if (sets == null) {
+            return Set.of();
+        }
+
+        // The power and booting state of the grid is checked in addition to the version, since the grid may already
+        // report the new state to nodes before it notifies them
+        var gridActive = isGridActive();
+        if (sets.activeMachines == null || sets.activeStateVersion != this.activeStateVersion
+                || sets.gridActive != gridActive) {
+            sets.activeMachines = collectMachines(machineClass, true);
+            sets.activeStateVersion = this.activeStateVersion;
+            sets.gridActive = gridActive;
+        }
+        return (Set<T>) sets.activeMachines;
+    }
+
+    @Nullable
+    private MachineSets getMachineSets(Class<?> machineClass) {
+        var sets = this.machineSets.get(machineClass);
+        if (sets == null && this.machines.containsKey(machineClass)) {
+            sets = new MachineSets();
+            this.machineSets.put(machineClass, sets);
+        }
+        return sets;
+    }
+
+    private <T> Set<T> collectMachines(Class<T> machineClass, boolean activeOnly) {
         var resultBuilder = ImmutableSet.<T>builder();
-        for (IGridNode node : nodes) {
+        for (IGridNode node : this.machines.get(machineClass)) {
             var logicalHost = node.getOwner();
-            if (machineClass.isInstance(logicalHost) && node.isActive()) {
+            if (machineClass.isInstance(logicalHost) && (!activeOnly || node.isActive())) {
                 resultBuilder.add(machineClass.cast(logicalHost));
             }
         }
         return resultBuilder.build();
     }
 
+    private boolean isGridActive() {
+        return getEnergyService().isNetworkPowered() && !getPathingService().isNetworkBooting();
+    }
+
+    /**
+     * Called when the active state of a node in this grid may have changed.
+     */
+    void invalidateActiveMachines() {
+        this.activeStateVersion++;
+    }
+
+    private static class MachineSets {
+        @Nullable
+        private Set<?> machines;
+        @Nullable
+        private Set<?> activeMachines;
+        private int activeStateVersion;
+        private boolean gridActive;
+    }
+
     @Override
     public Collection<IGridNode> getNodes() {
         return this.machines.values();
@@ -220,9 +287,15 @@ public void onServerStartTick() {
             return;
         }
 
+        var gridTimer = TickProfiler.grid(this.serialNumber);
+        gridTimer.start();
         for (var gc : this.services.serverStartTickServices()) {
+            var serviceTimer = TickProfiler.service(gc.getClass());
+            serviceTimer.start();
             gc.onServerStartTick();
+            serviceTimer.stop();
         }
+        gridTimer.stop();
     }
 
     public void onLevelStartTick(Level level) {
@@ -230,9 +303,15 @@ public void onLevelStartTick(Level level) {
             return;
         }
 
+        var gridTimer = TickProfiler.grid(this.serialNumber);
+        gridTimer.start();
         for (var gc : this.services.levelStartTickServices()) {
+            var serviceTimer = TickProfiler.service(gc.getClass());
+            serviceTimer.start();
             gc.onLevelStartTick(level);
+            serviceTimer.stop();
         }
+        gridTimer.stop();
     }
 
     public void onLevelEndTick(Level level) {
@@ -240,19 +319,45 @@ public void onLevelEndTick(Level level) {
             return;
         }
 
+        var gridTimer = TickProfiler.grid(this.serialNumber);
+        gridTimer.start();
         for (var gc : this.services.levelEndtickServices()) {
+            var serviceTimer = TickProfiler.service(gc.getClass());
+            serviceTimer.start();
             gc.onLevelEndTick(level);
+            serviceTimer.stop();
         }
+        gridTimer.stop();
     }
 
     public void onServerEndTick() {
+        onServerEndTick(null);
+    }
+
+    /**
+     * @param parallelTicks If not null, services implementing {@link ParallelServiceTick} only prepare their tick, and
+     *                      are added to this list if their tick still has to be computed and finished.
+     */
+    public void onServerEndTick(@Nullable List<ParallelServiceTick> parallelTicks) {
         if (this.pivot == null) {
             return;
         }
 
+        var gridTimer = TickProfiler.grid(this.serialNumber);
+        gridTimer.start();
         for (var gc : this.services.serverEndTickServices()) {
-            gc.onServerEndTick();
+            var serviceTimer = TickProfiler.service(gc.getClass());
+            serviceTimer.start();
+            if (parallelTicks != null && gc instanceof ParallelServiceTick parallelTick) {
+                if (parallelTick.prepareParallelTick()) {
+                    parallelTicks.add(parallelTick);
+                }
+            } else {
+                gc.onServerEndTick();
+            }
+            serviceTimer.stop();
         }
+        gridTimer.stop();
     }
 
     public void setImportantFlag(int i, boolean publicHasPower) {
@@ -270,6 +375,7 @@ public void notifyAllNodes(IGridNodeListener.State state) {
             // may actually cause adjacent nodes to suddenly boot (i.e. QNBs) and modify the grid while
             // we're iterating over it.
             ITERATION_BUFFER.addAll(getNodes());
+            invalidateActiveMachines();
 
             for (IGridNode node : ITERATION_BUFFER) {
                 ((GridNode) node).notifyStatusChange(state);
@@ -318,13 +424,19 @@ private static String getServiceExportKey(Class<?> service) {
 
     @Override
     public void export(JsonWriter jsonWriter) throws IOException {
+        captureExport().write(jsonWriter);
+    }
+
+    /**
+     * Captures everything {@link #export} writes on the server thread. The result doesn't access the grid anymore, so
+     * it can be written to the export from another thread.
+     */
+    public DebugExport captureExport() throws IOException {
         var registries = pivot != null ? pivot.getLevel().registryAccess() : HolderLookup.Provider.create(Stream.of());
 
-        jsonWriter.beginObject();
-        var properties = Map.of(
+        Map<String, ?> properties = Map.of(
                 "id", serialNumber,
                 "disposed", pivot == null);
-        JsonStreamUtil.writeProperties(properties, jsonWriter);
 
         // Assign unique IDs to all owners
         var machineIdMap = new Reference2IntOpenHashMap<>(machines.size());
@@ -342,49 +454,97 @@ public void export(JsonWriter jsonWriter) throws IOException {
             nodeIdMap.put(node, nodeIdMap.size());
         }
 
-        jsonWriter.name("machines");
-        exportMachines(jsonWriter, registries, machineIdMap, nodeIdMap);
+        var machineExports = captureMachines(registries, machineIdMap, nodeIdMap);
+        var nodeExports = captureNodes(registries, machineIdMap, nodeIdMap);
 
-        jsonWriter.name("nodes");
-        exportNodes(jsonWriter, registries, machineIdMap, nodeIdMap);
-
-        jsonWriter.name("services");
-        jsonWriter.beginObject();
+        var serviceExports = new ArrayList<Map.Entry<String, DebugExport>>(services.services().size());
         for (var entry : services.services().entrySet()) {
-            jsonWriter.name(getServiceExportKey(entry.getKey()));
+            serviceExports.add(Map.entry(getServiceExportKey(entry.getKey()),
+                    captureDebugDump(entry.getValue(), registries)));
+        }
+
+        return jsonWriter -> {
+            jsonWriter.beginObject();
+            JsonStreamUtil.writeProperties(properties, jsonWriter);
+
+            jsonWriter.name("machines");
+            writeArray(machineExports, jsonWriter);
+
+            jsonWriter.name("nodes");
+            writeArray(nodeExports, jsonWriter);
+
+            jsonWriter.name("services");
             jsonWriter.beginObject();
-            entry.getValue().debugDump(jsonWriter, registries);
+            for (var entry : serviceExports) {
+                jsonWriter.name(entry.getKey());
+                entry.getValue().write(jsonWriter);
+            }
             jsonWriter.endObject();
-        }
-        jsonWriter.endObject();
 
-        jsonWriter.endObject();
+            jsonWriter.endObject();
+        };
     }
 
-    private void exportMachines(JsonWriter jsonWriter, HolderLookup.Provider registries,
+    private static List<DebugExport> captureMachines(HolderLookup.Provider registries,
             Reference2IntMap<Object> machineIds,
-            Reference2IntMap<IGridNode> nodeIds) throws IOException {
-        jsonWriter.beginArray();
+            Reference2IntMap<IGridNode> nodeIds) {
+        var result = new ArrayList<DebugExport>(machineIds.size());
         for (var entry : machineIds.reference2IntEntrySet()) {
-            jsonWriter.beginObject();
-            JsonStreamUtil.writeProperties(Map.of(
-                    "id", entry.getIntValue()), jsonWriter);
-            if (entry.getKey() instanceof IDebugExportable exportable) {
-                exportable.debugExport(jsonWriter, registries, machineIds, nodeIds);
-            }
-            jsonWriter.endObject();
+            var id = entry.getIntValue();
+            var export = entry.getKey() instanceof IDebugExportable exportable
+                    ? exportable.debugExport(registries, machineIds, nodeIds)
+                    : null;
+            result.add(jsonWriter -> {
+                jsonWriter.beginObject();
+                JsonStreamUtil.writeProperties(Map.of("id", id), jsonWriter);
+                if (export != null) {
+                    export.write(jsonWriter);
+                }
+                jsonWriter.endObject();
+            });
         }
-        jsonWriter.endArray();
+        return result;
     }
 
-    private void exportNodes(JsonWriter jsonWriter, HolderLookup.Provider registries,
+    private static List<DebugExport> captureNodes(HolderLookup.Provider registries,
             Reference2IntMap<Object> machineIds,
-            Reference2IntMap<IGridNode> nodeIds) throws IOException {
-        // Dump nodes
-        jsonWriter.beginArray();
+            Reference2IntMap<IGridNode> nodeIds) {
+        var result = new ArrayList<DebugExport>(nodeIds.size());
         for (var entry : nodeIds.reference2IntEntrySet()) {
             var node = entry.getKey();
-            ((GridNode) node).debugExport(jsonWriter, registries, machineIds, nodeIds);
+            result.add(((GridNode) node).debugExport(registries, machineIds, nodeIds));
+        }
+        return result;
+    }
+
+    /**
+     * Captures the debug dump of a service. Services that don't capture it themselves, such as those of addons, can
+     * only write it directly, so it is rendered right away.
+     */
+    private static DebugExport captureDebugDump(IGridServiceProvider service, HolderLookup.Provider registries)
+            throws IOException {
+        if (service instanceof IDebugDumpable dumpable) {
+            var export = dumpable.captureDebugDump(registries);
+            return jsonWriter -> {
+                jsonWriter.beginObject();
+                export.write(jsonWriter);
+                jsonWriter.endObject();
+            };
+        }
+
+        var json = new StringWriter();
+        var dumpWriter = new JsonWriter(json);
+        dumpWriter.beginObject();
+        service.debugDump(dumpWriter, registries);
+        dumpWriter.endObject();
+        var rendered = json.toString();
+        return jsonWriter -> jsonWriter.jsonValue(rendered);
+    }
+
+    private static void writeArray(List<DebugExport> exports, JsonWriter jsonWriter) throws IOException {
+        jsonWriter.beginArray();
+        for (var export : exports) {
+            export.write(jsonWriter);
         }
         jsonWriter.endArray();
     }
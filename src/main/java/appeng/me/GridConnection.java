@@ -94,8 +94,13 @@ public void destroy() {
         this.sideA.removeConnection(this);
         this.sideB.removeConnection(this);
 
-        this.sideA.validateGrid();
-        this.sideB.validateGrid();
+        if (this.sideA.isReady() && this.sideB.isReady()) {
+            // Search outward from both sides, which is usually much closer than the pivot of the grid
+            GridSplitDetector.splitIfDisconnected(this.sideA, this.sideB);
+        } else {
+            this.sideA.validateGrid();
+            this.sideB.validateGrid();
+        }
     }
 
     @Override
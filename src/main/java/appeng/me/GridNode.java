@@ -18,12 +18,12 @@
 
 package appeng.me;
 
-import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.EnumMap;
 import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -34,7 +34,6 @@
 import com.google.common.collect.ClassToInstanceMap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.MutableClassToInstanceMap;
-import com.google.gson.stream.JsonWriter;
 
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -69,6 +68,7 @@
 import appeng.blockentity.networking.ControllerBlockEntity;
 import appeng.core.AELog;
 import appeng.me.pathfinding.IPathItem;
+import appeng.util.DebugExport;
 import appeng.util.IDebugExportable;
 import appeng.util.JsonStreamUtil;
 
@@ -170,6 +170,9 @@ public <T> void callListener(ListenerCallback<T> callback) {
      * Notifies the grid node's listener about a potential change in the grid node's status.
      */
     public void notifyStatusChange(IGridNodeListener.State reason) {
+        if (this.myGrid != null) {
+            this.myGrid.invalidateActiveMachines();
+        }
         callListener((listener, owner, node) -> listener.onStateChanged(owner, node, reason));
     }
 
@@ -202,12 +205,11 @@ void validateGrid() {
             return;
         }
 
-        var gsd = new GridSplitDetector(this.getInternalGrid().getPivot());
-        this.beginVisit(gsd);
-        if (!gsd.isPivotFound()) {
-            var gp = new GridPropagator(Grid.create(this));
-            this.beginVisit(gp);
-        }
+        GridSplitDetector.splitIfDisconnected(this, (GridNode) this.getInternalGrid().getPivot());
+    }
+
+    boolean isReady() {
+        return ready;
     }
 
     public Grid getInternalGrid() {
@@ -767,23 +769,25 @@ public void fillCrashReportCategory(CrashReportCategory category) {
     }
 
     @Override
-    public final void debugExport(JsonWriter writer, HolderLookup.Provider registries,
+    public final DebugExport debugExport(HolderLookup.Provider registries,
             Reference2IntMap<Object> machineIds,
-            Reference2IntMap<IGridNode> nodeIds) throws IOException {
-        writer.beginObject();
-        exportProperties(writer, machineIds, nodeIds);
-        writer.endObject();
-    }
-
-    protected void exportProperties(JsonWriter writer, Reference2IntMap<Object> machineIds,
-            Reference2IntMap<IGridNode> nodeIds)
-            throws IOException {
-        var id = nodeIds.getInt(this);
-        var machineId = machineIds.getInt(owner);
-        JsonStreamUtil.writeProperties(Map.of(
-                "id", id, "owner", machineId), writer);
-
-        writer.name("level");
-        writer.value(level.dimension().location().toString());
+            Reference2IntMap<IGridNode> nodeIds) {
+        var properties = new LinkedHashMap<String, Object>();
+        exportProperties(properties, machineIds, nodeIds);
+        return writer -> {
+            writer.beginObject();
+            JsonStreamUtil.writeProperties(properties, writer);
+            writer.endObject();
+        };
+    }
+
+    /**
+     * Adds the properties of this node to the export. Only plain values may be added, since they are written later.
+     */
+    protected void exportProperties(Map<String, Object> properties, Reference2IntMap<Object> machineIds,
+            Reference2IntMap<IGridNode> nodeIds) {
+        properties.put("id", nodeIds.getInt(this));
+        properties.put("owner", machineIds.getInt(owner));
+        properties.put("level", level.dimension().location().toString());
     }
 }
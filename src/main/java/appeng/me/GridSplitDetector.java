@@ -18,32 +18,111 @@
 
 package appeng.me;
 
-import appeng.api.networking.IGridNode;
-import appeng.api.networking.IGridVisitor;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
 
-class GridSplitDetector implements IGridVisitor {
+import org.jetbrains.annotations.Nullable;
 
-    private final IGridNode pivot;
-    private boolean pivotFound;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 
-    public GridSplitDetector(IGridNode pivot) {
-        this.pivot = pivot;
+import appeng.core.AELog;
+
+/**
+ * Detects whether a grid has been split after a connection was removed from it.
+ * <p>
+ * Instead of searching the entire grid for its pivot, the grid is searched outward from two nodes that were part of it
+ * at the same time, always expanding the side that has visited fewer nodes. The search ends as soon as the two sides
+ * meet, or once one side has run out of nodes. This means that removing a connection that was part of a loop only
+ * costs time proportional to the size of that loop, and that an actual split only costs time proportional to the size
+ * of the smaller part.
+ */
+final class GridSplitDetector {
+    private GridSplitDetector() {
     }
 
-    @Override
-    public boolean visitNode(IGridNode n) {
-        if (n == this.pivot) {
-            this.setPivotFound(true);
+    /**
+     * Ensures that the given nodes, which must have been part of the same grid, are still connected. If they are not,
+     * the smaller of the two parts is moved into a new grid.
+     */
+    static void splitIfDisconnected(GridNode a, GridNode b) {
+        var separated = findSmallerComponent(a, b);
+        if (separated == null) {
+            return;
+        }
+
+        var grid = a.getInternalGrid();
+        var separatedNode = separated.contains(a) ? a : b;
+        var remainingNode = separatedNode == a ? b : a;
+
+        // The old grid remains with the larger part, so that fewer nodes have to be moved
+        if (separated.contains(grid.getPivot())) {
+            grid.setPivot(remainingNode);
         }
 
-        return !this.isPivotFound();
+        AELog.grid("Splitting %d nodes off grid %s", separated.size(), grid);
+        var gp = new GridPropagator(Grid.create(separatedNode));
+        separatedNode.beginVisit(gp);
     }
 
-    public boolean isPivotFound() {
-        return this.pivotFound;
+    /**
+     * @return Null if the nodes are still connected, otherwise all nodes that are connected to either a or b, whichever
+     *         of those is the smaller set.
+     */
+    @Nullable
+    static Set<GridNode> findSmallerComponent(GridNode a, GridNode b) {
+        if (a == b) {
+            return null;
+        }
+
+        var side = new Side(a);
+        var otherSide = new Side(b);
+
+        while (true) {
+            if (side.frontier.isEmpty()) {
+                return side.visited;
+            }
+
+            if (side.expand(otherSide)) {
+                return null;
+            }
+
+            // Continue with whichever side has visited fewer nodes. The side that runs out of nodes first is then never
+            // larger than the other side, which may not have been fully visited yet.
+            if (otherSide.visited.size() < side.visited.size()) {
+                var tmp = side;
+                side = otherSide;
+                otherSide = tmp;
+            }
+        }
     }
 
-    private void setPivotFound(boolean pivotFound) {
-        this.pivotFound = pivotFound;
+    private static class Side {
+        private final Set<GridNode> visited = new ReferenceOpenHashSet<>();
+        private final Deque<GridNode> frontier = new ArrayDeque<>();
+
+        Side(GridNode start) {
+            visited.add(start);
+            frontier.add(start);
+        }
+
+        /**
+         * Expands the next node of this side.
+         *
+         * @return True if this side has met the other side.
+         */
+        boolean expand(Side other) {
+            var node = frontier.poll();
+            for (var connection : node.getConnections()) {
+                var neighbor = (GridNode) connection.getOtherSide(node);
+                if (other.visited.contains(neighbor)) {
+                    return true;
+                }
+                if (visited.add(neighbor)) {
+                    frontier.add(neighbor);
+                }
+            }
+            return false;
+        }
     }
 }
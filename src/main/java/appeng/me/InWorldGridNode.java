@@ -18,12 +18,10 @@
 
 package appeng.me;
 
-import java.io.IOException;
 import java.util.EnumSet;
+import java.util.Map;
 import java.util.Set;
 
-import com.google.gson.stream.JsonWriter;
-
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.BlockPos.MutableBlockPos;
 import net.minecraft.core.Direction;
@@ -105,24 +103,17 @@ public String toString() {
     }
 
     @Override
-    protected void exportProperties(JsonWriter writer, Reference2IntMap<Object> machineIds,
-            Reference2IntMap<IGridNode> nodeIds)
-            throws IOException {
-        super.exportProperties(writer, machineIds, nodeIds);
-
-        writer.name("location");
-        writer.beginArray();
-        writer.value(location.getX());
-        writer.value(location.getY());
-        writer.value(location.getZ());
-        writer.endArray();
-
-        writer.name("exposedSides");
+    protected void exportProperties(Map<String, Object> properties, Reference2IntMap<Object> machineIds,
+            Reference2IntMap<IGridNode> nodeIds) {
+        super.exportProperties(properties, machineIds, nodeIds);
+
+        properties.put("location", new int[] { location.getX(), location.getY(), location.getZ() });
+
         var sidesSet = new StringBuilder();
         for (var side : exposedOnSides) {
             sidesSet.append(side.name().charAt(0));
         }
-        writer.value(sidesSet.toString());
+        properties.put("exposedSides", sidesSet.toString());
     }
 
     private void cleanupConnections() {
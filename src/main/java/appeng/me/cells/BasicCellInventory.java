@@ -64,6 +64,10 @@ public class BasicCellInventory implements StorageCell {
     private int storedItems;
     private long storedItemCount;
     private Object2LongMap<AEKey> storedAmounts;
+    /**
+     * The keys that changed since the cell was last persisted, mapped to the amount they had back then.
+     */
+    private final Object2LongMap<AEKey> persistedAmounts = new Object2LongOpenHashMap<>();
     private final ItemStack i;
     private final IBasicCellItem cellType;
     private final long maxItemsPerType; // max items per type, basically infinite unless there is a distribution card.
@@ -189,39 +193,82 @@ public void persist() {
             return;
         }
 
-        // add new pretty stuff...
-        var itemCount = 0L;
-        var stacks = new ArrayList<GenericStack>(storedAmounts.size());
+        if (hasPersistedAmountsChanged()) {
+            var previousStacks = getStoredStacks();
+            var stacks = new ArrayList<GenericStack>(storedAmounts.size());
+
+            // Keep the previous order and reuse the entries that did not change
+            for (var stack : previousStacks) {
+                var what = stack.what();
+                if (!this.persistedAmounts.containsKey(what)) {
+                    stacks.add(stack);
+                } else {
+                    long amount = this.storedAmounts.getLong(what);
+                    if (amount == stack.amount()) {
+                        stacks.add(stack);
+                    } else if (amount > 0) {
+                        stacks.add(new GenericStack(what, amount));
+                    }
+                }
+            }
+
+            // Append the keys that were not stored before
+            for (var entry : Object2LongMaps.fastIterable(this.persistedAmounts)) {
+                if (entry.getLongValue() <= 0) {
+                    long amount = this.storedAmounts.getLong(entry.getKey());
+                    if (amount > 0) {
+                        stacks.add(new GenericStack(entry.getKey(), amount));
+                    }
+                }
+            }
+
+            if (stacks.isEmpty()) {
+                i.remove(AEComponents.STORAGE_CELL_INV);
+            } else {
+                i.set(AEComponents.STORAGE_CELL_INV, stacks);
+            }
+        }
 
-        for (var entry : this.storedAmounts.object2LongEntrySet()) {
-            long amount = entry.getLongValue();
-            itemCount += amount;
+        this.persistedAmounts.clear();
+        this.isPersisted = true;
+    }
 
-            if (amount > 0) {
-                stacks.add(new GenericStack(entry.getKey(), amount));
+    /**
+     * Changes that cancel each other out between two saves, i.e. an ingredient being inserted and extracted again,
+     * leave the persisted state untouched.
+     */
+    private boolean hasPersistedAmountsChanged() {
+        for (var entry : Object2LongMaps.fastIterable(this.persistedAmounts)) {
+            if (this.storedAmounts.getLong(entry.getKey()) != entry.getLongValue()) {
+                return true;
             }
         }
+        return false;
+    }
 
-        if (stacks.isEmpty()) {
-            i.remove(AEComponents.STORAGE_CELL_INV);
+    private void setStoredAmount(AEKey what, long currentAmount, long newAmount) {
+        if (newAmount > 0) {
+            getCellItems().put(what, newAmount);
         } else {
-            i.set(AEComponents.STORAGE_CELL_INV, stacks);
+            getCellItems().removeLong(what);
         }
 
-        this.storedItems = (short) this.storedAmounts.size();
+        // Keep the totals up to date, rather than recomputing them from all stored amounts
+        if (currentAmount <= 0 && newAmount > 0) {
+            this.storedItems++;
+        } else if (currentAmount > 0 && newAmount <= 0) {
+            this.storedItems--;
+        }
+        this.storedItemCount += newAmount - currentAmount;
 
-        this.storedItemCount = itemCount;
-        this.isPersisted = true;
+        if (!this.persistedAmounts.containsKey(what)) {
+            this.persistedAmounts.put(what, currentAmount);
+        }
+
+        this.saveChanges();
     }
 
     protected void saveChanges() {
-        // recalculate values
-        this.storedItems = (short) this.storedAmounts.size();
-        this.storedItemCount = 0;
-        for (var storedAmount : this.storedAmounts.values()) {
-            this.storedItemCount += storedAmount;
-        }
-
         this.isPersisted = false;
         if (this.container != null) {
             this.container.saveChanges();
@@ -394,9 +441,8 @@ private long innerInsert(AEKey what, long amount, Actionable mode) {
             amount = remainingItemCount;
         }
 
-        if (mode == Actionable.MODULATE) {
-            getCellItems().put(what, currentAmount + amount);
-            this.saveChanges();
+        if (mode == Actionable.MODULATE && amount > 0) {
+            setStoredAmount(what, currentAmount, currentAmount + amount);
         }
 
         return amount;
@@ -408,15 +454,13 @@ public long extract(AEKey what, long amount, Actionable mode, IActionSource sour
         if (currentAmount > 0) {
             if (amount >= currentAmount) {
                 if (mode == Actionable.MODULATE) {
-                    getCellItems().remove(what, currentAmount);
-                    this.saveChanges();
+                    setStoredAmount(what, currentAmount, 0);
                 }
 
                 return currentAmount;
             } else {
                 if (mode == Actionable.MODULATE) {
-                    getCellItems().put(what, currentAmount - amount);
-                    this.saveChanges();
+                    setStoredAmount(what, currentAmount, currentAmount - amount);
                 }
 
                 return amount;
@@ -0,0 +1,26 @@
+package appeng.me.helpers;
+
+/**
+ * Implemented by grid services whose end-of-tick work contains a part that only operates on state owned by the service
+ * itself. When parallel grid ticking is enabled, that part runs concurrently with the same part of other grids.
+ * <p>
+ * The tick is split into three phases:
+ * <ol>
+ * <li>{@link #prepareParallelTick()} runs on the server thread, in grid order, instead of the service's
+ * {@code onServerEndTick}. This is where any world access or access to other services must happen.</li>
+ * <li>{@link #computeParallelTick()} runs on an arbitrary thread. It must only read and write state owned by this
+ * service, and must not call into other grids, nodes or the world.</li>
+ * <li>{@link #finishParallelTick()} runs on the server thread, in grid order, once the computations of all grids are
+ * done. This is where results are published and listeners are notified.</li>
+ * </ol>
+ */
+public interface ParallelServiceTick {
+    /**
+     * @return True if {@link #computeParallelTick()} and {@link #finishParallelTick()} need to be called in this tick.
+     */
+    boolean prepareParallelTick();
+
+    void computeParallelTick();
+
+    void finishParallelTick();
+}
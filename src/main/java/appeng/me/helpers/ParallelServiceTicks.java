@@ -0,0 +1,77 @@
+package appeng.me.helpers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Runs the computation phase of {@link ParallelServiceTick parallel service ticks} on a shared fork-join pool.
+ */
+public final class ParallelServiceTicks {
+    @Nullable
+    private static ForkJoinPool pool;
+
+    private ParallelServiceTicks() {
+    }
+
+    /**
+     * Computes the given ticks in parallel and then finishes them on the calling thread, in the order they were given.
+     * The calling thread takes part in the computation.
+     *
+     * @param ticks       Ticks whose {@link ParallelServiceTick#prepareParallelTick()} returned true.
+     * @param parallelism The number of threads to use in addition to the calling thread.
+     */
+    public static void run(List<ParallelServiceTick> ticks, int parallelism) {
+        if (ticks.isEmpty()) {
+            return;
+        }
+
+        if (ticks.size() > 1 && parallelism > 0) {
+            var pool = getPool(parallelism);
+            var tasks = new ArrayList<ForkJoinTask<?>>(ticks.size() - 1);
+            for (var i = 1; i < ticks.size(); i++) {
+                tasks.add(pool.submit(ticks.get(i)::computeParallelTick));
+            }
+            ticks.get(0).computeParallelTick();
+            for (var task : tasks) {
+                task.join();
+            }
+        } else {
+            for (var tick : ticks) {
+                tick.computeParallelTick();
+            }
+        }
+
+        for (var tick : ticks) {
+            tick.finishParallelTick();
+        }
+    }
+
+    private static synchronized ForkJoinPool getPool(int parallelism) {
+        if (pool == null || pool.getParallelism() != parallelism) {
+            if (pool != null) {
+                pool.shutdown();
+            }
+            pool = new ForkJoinPool(parallelism, p -> {
+                var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                thread.setName("AE2 Grid Worker " + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+        }
+        return pool;
+    }
+
+    /**
+     * Stops the worker threads, for example when the server shuts down.
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+}
@@ -65,8 +65,10 @@
 import appeng.api.networking.storage.IStorageService;
 import appeng.api.stacks.AEKey;
 import appeng.api.stacks.GenericStack;
+import appeng.api.stacks.KeyCounter;
 import appeng.api.storage.AEKeyFilter;
 import appeng.blockentity.crafting.CraftingBlockEntity;
+import appeng.core.AEConfig;
 import appeng.crafting.CraftingCalculation;
 import appeng.crafting.CraftingLink;
 import appeng.crafting.CraftingLinkNexus;
@@ -75,6 +77,7 @@
 import appeng.me.cluster.implementations.CraftingCPUCluster;
 import appeng.me.helpers.InterestManager;
 import appeng.me.helpers.StackWatcher;
+import appeng.me.service.helpers.CraftingRequestCoalescer;
 import appeng.me.service.helpers.CraftingServiceStorage;
 import appeng.me.service.helpers.NetworkCraftingProviders;
 
@@ -124,6 +127,10 @@ public class CraftingService implements ICraftingService, IGridServiceProvider {
     private final IEnergyService energyGrid;
     private final Set<AEKey> currentlyCrafting = new HashSet<>();
     private final Set<AEKey> currentlyCraftable = new HashSet<>();
+    private final CraftingRequestCoalescer requestCoalescer = new CraftingRequestCoalescer(
+            (level, simRequester, what, amount) -> startCraftingCalculation(level, simRequester, what, amount,
+                    CalculationStrategy.CRAFT_LESS),
+            () -> TickHandler.instance().getCurrentTick());
     private long lastProcessedCraftingLogicChangeTick;
     private long lastProcessedCraftableChangeTick;
     private boolean updateList = false;
@@ -145,6 +152,8 @@ public void onServerEndTick() {
             lastProcessedCraftingLogicChangeTick = -1; // Ensure caches below are also updated
         }
 
+        this.requestCoalescer.startPendingCalculations();
+
         this.craftingLinks.values().removeIf(nexus -> nexus.isDead(this.grid, this));
 
         long latestChange = 0;
@@ -225,7 +234,8 @@ public void removeNode(IGridNode gridNode) {
         var requester = gridNode.getService(ICraftingRequester.class);
         if (requester != null) {
             for (CraftingLinkNexus link : this.craftingLinks.values()) {
-                if (link.isRequester(requester)) {
+                if (link.isRequester(requester)
+                        || CraftingRequestCoalescer.removeRequester(link.getRequester(), requester)) {
                     link.removeNode();
                 }
             }
@@ -256,6 +266,9 @@ public void addNode(IGridNode gridNode, @Nullable CompoundTag savedData) {
         var craftingRequester = gridNode.getService(ICraftingRequester.class);
         if (craftingRequester != null) {
             for (ICraftingLink link : craftingRequester.getRequestedJobs()) {
+                // Merged requests are connected through the link of the job they share
+                var nexus = this.craftingLinks.get(link.getCraftingID());
+                link = this.requestCoalescer.reattach(link, nexus != null ? nexus.getRequester() : null);
                 if (link instanceof CraftingLink) {
                     this.addLink((CraftingLink) link);
                 }
@@ -350,12 +363,30 @@ public Future<ICraftingPlan> beginCraftingCalculation(Level level, ICraftingSimu
             throw new IllegalArgumentException("Invalid Crafting Job Request");
         }
 
+        if (strategy == CalculationStrategy.CRAFT_LESS && isAutomated(simRequester)
+                && AEConfig.instance().isCoalesceCraftingRequests()) {
+            return this.requestCoalescer.request(level, simRequester, what, amount);
+        }
+
+        return startCraftingCalculation(level, simRequester, what, amount, strategy);
+    }
+
+    private Future<ICraftingPlan> startCraftingCalculation(Level level, ICraftingSimulationRequester simRequester,
+            AEKey what, long amount, CalculationStrategy strategy) {
         final CraftingCalculation job = new CraftingCalculation(level, grid, simRequester,
                 new GenericStack(what, amount), strategy);
 
         return CRAFTING_POOL.submit(job::run);
     }
 
+    /**
+     * Requests made by machines (i.e. not on behalf of a player) can be merged with other requests for the same key.
+     */
+    private static boolean isAutomated(ICraftingSimulationRequester simRequester) {
+        var src = simRequester.getActionSource();
+        return src != null && src.player().isEmpty() && src.machine().isPresent();
+    }
+
     @Override
     public ICraftingSubmitResult submitJob(ICraftingPlan job, ICraftingRequester requestingMachine, ICraftingCPU target,
             boolean prioritizePower, IActionSource src) {
@@ -363,6 +394,12 @@ public ICraftingSubmitResult submitJob(ICraftingPlan job, ICraftingRequester req
             return CraftingSubmitResult.INCOMPLETE_PLAN;
         }
 
+        if (job instanceof CraftingRequestCoalescer.CoalescedPlan coalescedPlan) {
+            // Submits the job for all merged requests once, with a requester that distributes the output among them
+            return coalescedPlan.submit(requestingMachine,
+                    groupRequester -> submitJob(coalescedPlan.getPlan(), groupRequester, target, prioritizePower, src));
+        }
+
         CraftingCPUCluster cpuCluster;
 
         if (target instanceof CraftingCPUCluster) {
@@ -438,6 +475,28 @@ private CraftingCPUCluster findSuitableCraftingCPU(ICraftingPlan job, boolean pr
         return validCpusClusters.get(0);
     }
 
+    /**
+     * @return The ingredients that crafting CPUs have reserved for their jobs, but not yet extracted from the network.
+     */
+    public KeyCounter getReservedItems() {
+        var reserved = new KeyCounter();
+        for (var cpu : this.craftingCPUClusters) {
+            cpu.craftingLogic.getAllReserved(reserved);
+        }
+        return reserved;
+    }
+
+    /**
+     * @return The amount of the given ingredient that crafting CPUs have reserved, but not yet extracted.
+     */
+    public long getReservedAmount(AEKey what) {
+        long reserved = 0;
+        for (var cpu : this.craftingCPUClusters) {
+            reserved += cpu.craftingLogic.getReserved(what);
+        }
+        return reserved;
+    }
+
     @Override
     public ImmutableSet<ICraftingCPU> getCpus() {
         var cpus = ImmutableSet.<ICraftingCPU>builder();
@@ -0,0 +1,154 @@
+package appeng.me.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.IGrid;
+import appeng.api.networking.IGridNode;
+import appeng.api.networking.IGridService;
+import appeng.api.networking.IGridServiceProvider;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.StorageHelper;
+
+/**
+ * Collects insertions into the network storage made by many machines during a tick, such as annihilation planes in a
+ * farm, and performs them at the end of the tick with a single insert per key.
+ * <p>
+ * Machines are told immediately how much of their insertion was accepted. The space left in the network for a key is
+ * simulated only once per tick, with the source of the first machine inserting it, and the amounts queued for the key
+ * are taken from that. Should the actual insertion at the end of the tick still fall short, the machines that queued
+ * last are informed of the amount that was not inserted through their {@link Overflow}. Whatever they can't take back
+ * stays queued and is inserted again at the end of the next tick.
+ */
+public class DeferredInsertService implements IGridService, IGridServiceProvider {
+    public static DeferredInsertService get(IGrid grid) {
+        return grid.getService(DeferredInsertService.class);
+    }
+
+    /**
+     * Receives the amount of a queued insertion that could not be inserted at the end of the tick.
+     */
+    @FunctionalInterface
+    public interface Overflow {
+        /**
+         * @return The amount the machine could not take back, which stays queued.
+         */
+        long onNotInserted(AEKey what, long amount);
+    }
+
+    private final IGrid grid;
+    /**
+     * The total amount queued per key.
+     */
+    private final KeyCounter queuedAmounts = new KeyCounter();
+    private final List<QueuedInsert> queue = new ArrayList<>();
+    /**
+     * How much of each key the network could take when it was first queued this tick, or -1 if it wasn't simulated yet.
+     */
+    private final Object2LongMap<AEKey> capacities = new Object2LongOpenHashMap<>();
+
+    public DeferredInsertService(IGrid grid) {
+        this.grid = grid;
+        this.capacities.defaultReturnValue(-1);
+    }
+
+    /**
+     * Queues an insertion into the network storage, which is powered by the grid's energy.
+     *
+     * @return The amount accepted into the queue.
+     */
+    public long insert(AEKey what, long amount, Actionable mode, IActionSource source, Overflow overflow) {
+        if (amount <= 0) {
+            return 0;
+        }
+
+        var capacity = capacities.getLong(what);
+        if (capacity < 0) {
+            capacity = StorageHelper.poweredInsert(grid.getEnergyService(), grid.getStorageService().getInventory(),
+                    what, Long.MAX_VALUE, source, Actionable.SIMULATE);
+            capacities.put(what, capacity);
+        }
+        var accepted = Math.max(0, Math.min(amount, capacity - queuedAmounts.get(what)));
+
+        if (mode == Actionable.MODULATE && accepted > 0) {
+            queuedAmounts.add(what, accepted);
+            queue.add(new QueuedInsert(what, accepted, source, overflow));
+        }
+        return accepted;
+    }
+
+    @Override
+    public void onServerEndTick() {
+        flush();
+    }
+
+    @Override
+    public void removeNode(IGridNode gridNode) {
+        // The grid won't tick again once its last node is gone, so hand back what is still queued. Anything the
+        // machines can't take back at this point is lost.
+        if (grid.size() <= 1 && !queue.isEmpty()) {
+            for (var insert : queue) {
+                insert.overflow.onNotInserted(insert.what, insert.amount);
+            }
+            queue.clear();
+            queuedAmounts.clear();
+        }
+    }
+
+    /**
+     * Performs all queued insertions.
+     */
+    public void flush() {
+        capacities.clear();
+        if (queue.isEmpty()) {
+            return;
+        }
+
+        var byKey = new LinkedHashMap<AEKey, List<QueuedInsert>>();
+        for (var insert : queue) {
+            byKey.computeIfAbsent(insert.what, k -> new ArrayList<>()).add(insert);
+        }
+        queue.clear();
+        queuedAmounts.clear();
+
+        var retries = new ArrayList<QueuedInsert>();
+        for (var entry : byKey.entrySet()) {
+            var what = entry.getKey();
+            var inserts = entry.getValue();
+            var total = 0L;
+            for (var insert : inserts) {
+                total += insert.amount;
+            }
+
+            // The source of the first machine is used for the combined insertion
+            var remaining = StorageHelper.poweredInsert(grid.getEnergyService(),
+                    grid.getStorageService().getInventory(), what, total, inserts.get(0).source,
+                    Actionable.MODULATE);
+            for (var insert : inserts) {
+                var inserted = Math.min(insert.amount, remaining);
+                remaining -= inserted;
+                if (inserted < insert.amount) {
+                    var kept = insert.overflow.onNotInserted(what, insert.amount - inserted);
+                    if (kept > 0) {
+                        retries.add(new QueuedInsert(what, kept, insert.source, insert.overflow));
+                    }
+                }
+            }
+        }
+
+        for (var retry : retries) {
+            queuedAmounts.add(retry.what, retry.amount);
+            queue.add(retry);
+        }
+    }
+
+    private record QueuedInsert(AEKey what, long amount, IActionSource source, Overflow overflow) {
+    }
+}
@@ -0,0 +1,136 @@
+package appeng.me.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.nbt.CompoundTag;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectLinkedOpenHashMap;
+
+import appeng.api.networking.GridHelper;
+import appeng.api.networking.IGrid;
+import appeng.api.networking.IGridNode;
+import appeng.api.networking.IGridService;
+import appeng.api.networking.IGridServiceProvider;
+import appeng.api.networking.events.GridBootingStatusChange;
+import appeng.api.networking.events.GridPowerStatusChange;
+import appeng.helpers.patternprovider.PatternContainer;
+
+/**
+ * Keeps track of the {@link PatternContainer pattern containers} connected to a grid and informs interested parties,
+ * such as open pattern access terminals, about changes to them. This allows terminals to only look at the containers
+ * that actually changed, instead of scanning every container of the grid each tick.
+ * <p>
+ * Containers report their changes using {@link #notifyPatternsChanged} and {@link #notifyContainerChanged}. Containers
+ * being added to or removed from the grid, and the grid losing or regaining power, are reported automatically.
+ */
+public class PatternContainerService implements IGridService, IGridServiceProvider {
+    static {
+        GridHelper.addGridServiceEventHandler(GridBootingStatusChange.class, PatternContainerService.class,
+                (service, evt) -> service.notifyAllChanged());
+        GridHelper.addGridServiceEventHandler(GridPowerStatusChange.class, PatternContainerService.class,
+                (service, evt) -> service.notifyAllChanged());
+    }
+
+    public static PatternContainerService get(IGrid grid) {
+        return grid.getService(PatternContainerService.class);
+    }
+
+    /**
+     * Receives the changes of the pattern containers in a grid.
+     */
+    public interface Listener {
+        /**
+         * A container was added, removed, or its visibility, group or active state may have changed.
+         */
+        void onContainerChanged(PatternContainer container);
+
+        /**
+         * The content of a slot in the pattern inventory of the container changed.
+         */
+        void onPatternsChanged(PatternContainer container, int slot);
+    }
+
+    private final Map<PatternContainer, IGridNode> containers = new Reference2ObjectLinkedOpenHashMap<>();
+    private final List<Listener> listeners = new ArrayList<>();
+
+    @Override
+    public void addNode(IGridNode node, @Nullable CompoundTag savedData) {
+        if (node.getOwner() instanceof PatternContainer container) {
+            this.containers.put(container, node);
+            fireContainerChanged(container);
+        }
+    }
+
+    @Override
+    public void removeNode(IGridNode node) {
+        if (node.getOwner() instanceof PatternContainer container && this.containers.remove(container) != null) {
+            fireContainerChanged(container);
+        }
+    }
+
+    /**
+     * @return All pattern containers connected to the grid, regardless of whether they are active.
+     */
+    public Set<PatternContainer> getContainers() {
+        return Collections.unmodifiableSet(this.containers.keySet());
+    }
+
+    /**
+     * @return True if the container is connected to this grid and its node is active.
+     */
+    public boolean isActive(PatternContainer container) {
+        var node = this.containers.get(container);
+        return node != null && node.isActive();
+    }
+
+    public void addListener(Listener listener) {
+        this.listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Reports that the visibility, group, or active state of a container may have changed.
+     */
+    public static void notifyContainerChanged(@Nullable IGrid grid, PatternContainer container) {
+        if (grid != null) {
+            get(grid).fireContainerChanged(container);
+        }
+    }
+
+    /**
+     * Reports that the content of a slot of a containers pattern inventory changed.
+     */
+    public static void notifyPatternsChanged(@Nullable IGrid grid, PatternContainer container, int slot) {
+        if (grid != null) {
+            var service = get(grid);
+            for (var listener : service.listeners) {
+                listener.onPatternsChanged(container, slot);
+            }
+        }
+    }
+
+    private void notifyAllChanged() {
+        if (this.listeners.isEmpty()) {
+            return;
+        }
+
+        for (var container : this.containers.keySet()) {
+            fireContainerChanged(container);
+        }
+    }
+
+    private void fireContainerChanged(PatternContainer container) {
+        for (var listener : this.listeners) {
+            listener.onContainerChanged(container);
+        }
+    }
+}
@@ -42,6 +42,8 @@
 import appeng.api.networking.IGridServiceProvider;
 import appeng.api.networking.events.statistics.GridChunkEvent;
 import appeng.me.InWorldGridNode;
+import appeng.util.DebugExport;
+import appeng.util.IDebugDumpable;
 import appeng.util.JsonStreamUtil;
 
 /**
@@ -49,7 +51,7 @@
  * <p>
  * Currently this tracks the chunks a network is occupying.
  */
-public class StatisticsService implements IGridService, IGridServiceProvider {
+public class StatisticsService implements IGridService, IGridServiceProvider, IDebugDumpable {
 
     private final IGrid grid;
 
@@ -147,12 +149,17 @@ private void clearLevel(ServerLevel level) {
 
     @Override
     public void debugDump(JsonWriter writer, HolderLookup.Provider registries) throws IOException {
-        JsonStreamUtil.writeProperties(Map.<String, Object>of("chunks",
+        captureDebugDump(registries).write(writer);
+    }
+
+    @Override
+    public DebugExport captureDebugDump(HolderLookup.Provider registries) {
+        Map<String, ?> properties = Map.<String, Object>of("chunks",
                 chunks.keySet().stream().collect(
                         Collectors.toMap(
                                 level -> level.dimension().location().toString(),
                                 level -> chunks.get(level).elementSet().stream().map(JsonStreamUtil::toJson)
-                                        .toList()))),
-                writer);
+                                        .toList())));
+        return writer -> JsonStreamUtil.writeProperties(properties, writer);
     }
 }
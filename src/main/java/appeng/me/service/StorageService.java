@@ -19,6 +19,7 @@
 package appeng.me.service;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
@@ -41,8 +42,10 @@
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.NbtOps;
 
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.unimi.dsi.fastutil.objects.Object2LongMap;
 import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 
 import appeng.api.networking.IGridNode;
 import appeng.api.networking.IGridServiceProvider;
@@ -50,17 +53,27 @@
 import appeng.api.networking.storage.IStorageWatcherNode;
 import appeng.api.stacks.AEKey;
 import appeng.api.stacks.KeyCounter;
+import appeng.api.stacks.KeyCounterSnapshot;
 import appeng.api.storage.IStorageMounts;
 import appeng.api.storage.IStorageProvider;
 import appeng.api.storage.MEStorage;
 import appeng.me.helpers.InterestManager;
+import appeng.me.helpers.ParallelServiceTick;
 import appeng.me.helpers.StackWatcher;
 import appeng.me.storage.NetworkStorage;
+import appeng.util.DebugExport;
+import appeng.util.IDebugDumpable;
 import appeng.util.JsonStreamUtil;
 
-public class StorageService implements IStorageService, IGridServiceProvider {
+public class StorageService implements IStorageService, IGridServiceProvider, ParallelServiceTick, IDebugDumpable {
     private static final Gson GSON = new Gson();
 
+    /**
+     * The services whose content is currently being collected into their cache, or walked by a {@link SubnetStorage}.
+     * Innermost last. Only used on the server thread.
+     */
+    private static final ArrayDeque<StorageService> ACTIVE = new ArrayDeque<>();
+
     /**
      * Tracks the storage service's state for each grid node that provides storage to the network.
      */
@@ -83,6 +96,37 @@ public class StorageService implements IStorageService, IGridServiceProvider {
      */
     private final Object2LongMap<AEKey> cachedAvailableAmounts = new Object2LongOpenHashMap<>();
     private boolean cachedStacksNeedUpdate = true;
+    /**
+     * Incremented whenever an update of the cache changes its content.
+     */
+    private long cachedStacksVersion;
+    private KeyCounterSnapshot cachedStacksSnapshot = KeyCounterSnapshot.EMPTY;
+    /**
+     * The keys whose amount changed in the last update of the cache, and their new amounts. Watchers are notified of
+     * them once the cache is consistent again.
+     */
+    private final List<AEKey> changedKeys = new ArrayList<>();
+    private final LongArrayList changedAmounts = new LongArrayList();
+    /**
+     * The other services whose cached inventory was included in our cache through a {@link SubnetStorage}, including
+     * the services they included in turn.
+     */
+    private final Set<StorageService> cacheSources = new ReferenceOpenHashSet<>();
+    private boolean collectingCache;
+    /**
+     * Set if the cache currently being collected is missing content, because a subnet led back to a service that was
+     * already being collected.
+     */
+    private boolean cacheIncomplete;
+    /**
+     * Set when another network listed our content through a {@link SubnetStorage} since our last tick, so that our
+     * cache is kept up to date for it even if nobody in our own network watches it.
+     */
+    private boolean readAsSubnet;
+    /**
+     * Time spent updating the cache while ticking in parallel, which is split across multiple phases.
+     */
+    private long parallelRefreshTime;
     /**
      * Tracks the stack watcher associated with a given grid node. Needed to clean up watchers when the node leaves the
      * grid.
@@ -97,7 +141,7 @@ public StorageService() {
 
     @Override
     public void onServerEndTick() {
-        if (interestManager.isEmpty()) {
+        if (!needsTickRefresh()) {
             // lazily rebuild cache list
             cachedStacksNeedUpdate = true;
         } else {
@@ -106,41 +150,182 @@ public void onServerEndTick() {
         }
     }
 
+    /**
+     * @return True if the cache has to be rebuilt during the tick, rather than lazily once it is accessed.
+     */
+    private boolean needsTickRefresh() {
+        var readAsSubnet = this.readAsSubnet;
+        this.readAsSubnet = false;
+        return readAsSubnet || !interestManager.isEmpty();
+    }
+
     private void updateCachedStacks() {
         var time = System.nanoTime();
 
         try {
-            cachedStacksNeedUpdate = false;
+            collectAvailableStacks();
+            computeChanges();
+            postChanges();
+        } finally {
+            inventoryRefreshStats.add(System.nanoTime() - time);
+        }
+    }
 
-            cachedAvailableStacks.clear();
+    /**
+     * Reads the current content of the network storage into the cache. This accesses the mounted storages, which may
+     * access the world.
+     */
+    private void collectAvailableStacks() {
+        cachedStacksNeedUpdate = false;
+
+        cachedAvailableStacks.clear();
+        cacheSources.clear();
+        cacheIncomplete = false;
+        collectingCache = true;
+        ACTIVE.addLast(this);
+        try {
             storage.getAvailableStacks(cachedAvailableStacks);
-            // clear() only clears the inner maps,
-            // so ensure that the outer map gets cleaned up too
-            cachedAvailableStacks.removeEmptySubmaps();
-
-            // Post watcher update for currently available stacks
-            for (var entry : cachedAvailableStacks) {
-                var what = entry.getKey();
-                var newAmount = entry.getLongValue();
-                if (newAmount != cachedAvailableAmounts.getLong(what)) {
-                    postWatcherUpdate(what, newAmount);
+        } finally {
+            ACTIVE.removeLast();
+            collectingCache = false;
+        }
+        // clear() only clears the inner maps,
+        // so ensure that the outer map gets cleaned up too
+        cachedAvailableStacks.removeEmptySubmaps();
+
+        if (cacheIncomplete) {
+            // Good enough for the service we were collected for, but not for anyone else
+            cachedStacksNeedUpdate = true;
+        }
+    }
+
+    /**
+     * Adds the content of this network to the given counter on behalf of a {@link SubnetStorage} in another network.
+     * <p>
+     * Uses the cache of this service as it is, without refreshing it, since a refresh notifies the watchers of this
+     * network, which must only happen during its own tick. The cache is instead refreshed at the end of each tick in
+     * which it was read, so the content may lag behind by a tick. The network storage is walked instead if the cache
+     * is stale, or if it includes the content of a network that is currently being collected, since that content would
+     * then be counted twice.
+     */
+    void getAvailableStacksForSubnet(KeyCounter out) {
+        if (ACTIVE.contains(this)) {
+            // Recursive use, which the network storage would also ignore. Everything collected on top of us
+            // is now missing our content.
+            var it = ACTIVE.descendingIterator();
+            while (it.hasNext()) {
+                var service = it.next();
+                if (service == this) {
+                    break;
                 }
+                service.cacheIncomplete = true;
             }
-            // Post watcher update for removed stacks
-            for (var what : cachedAvailableAmounts.keySet()) {
-                var newAmount = cachedAvailableStacks.get(what);
-                if (newAmount == 0) {
-                    postWatcherUpdate(what, newAmount);
+            return;
+        }
+
+        readAsSubnet = true;
+        var cacheUsable = !cachedStacksNeedUpdate;
+        for (var service : ACTIVE) {
+            if (cacheSources.contains(service)) {
+                cacheUsable = false;
+                break;
+            }
+        }
+
+        if (cacheUsable) {
+            out.addAll(cachedAvailableStacks);
+        } else {
+            ACTIVE.addLast(this);
+            try {
+                storage.getAvailableStacks(out);
+            } finally {
+                ACTIVE.removeLast();
+            }
+        }
+
+        for (var service : ACTIVE) {
+            if (service.collectingCache) {
+                service.cacheSources.add(this);
+                if (cacheUsable) {
+                    service.cacheSources.addAll(cacheSources);
                 }
             }
+        }
+    }
 
-            // Update private amounts
-            cachedAvailableAmounts.clear();
-            for (var entry : cachedAvailableStacks) {
-                cachedAvailableAmounts.put(entry.getKey(), entry.getLongValue());
+    /**
+     * Compares the cache against the amounts of the previous update to determine which watchers need to be notified.
+     * Only touches state owned by this service.
+     */
+    private void computeChanges() {
+        // Changes of currently available stacks
+        for (var entry : cachedAvailableStacks) {
+            var what = entry.getKey();
+            var newAmount = entry.getLongValue();
+            if (newAmount != cachedAvailableAmounts.getLong(what)) {
+                changedKeys.add(what);
+                changedAmounts.add(newAmount);
+            }
+        }
+        // Removed stacks
+        for (var what : cachedAvailableAmounts.keySet()) {
+            var newAmount = cachedAvailableStacks.get(what);
+            if (newAmount == 0) {
+                changedKeys.add(what);
+                changedAmounts.add(newAmount);
+            }
+        }
+
+        if (!changedKeys.isEmpty()) {
+            cachedStacksVersion++;
+        }
+
+        // Update private amounts
+        cachedAvailableAmounts.clear();
+        for (var entry : cachedAvailableStacks) {
+            cachedAvailableAmounts.put(entry.getKey(), entry.getLongValue());
+        }
+    }
+
+    private void postChanges() {
+        try {
+            for (var i = 0; i < changedKeys.size(); i++) {
+                postWatcherUpdate(changedKeys.get(i), changedAmounts.getLong(i));
             }
         } finally {
-            inventoryRefreshStats.add(System.nanoTime() - time);
+            changedKeys.clear();
+            changedAmounts.clear();
+        }
+    }
+
+    @Override
+    public boolean prepareParallelTick() {
+        if (!needsTickRefresh()) {
+            // Nobody needs to be notified, so the cache can be rebuilt lazily as in the serial tick
+            cachedStacksNeedUpdate = true;
+            return false;
+        }
+
+        var time = System.nanoTime();
+        collectAvailableStacks();
+        parallelRefreshTime = System.nanoTime() - time;
+        return true;
+    }
+
+    @Override
+    public void computeParallelTick() {
+        var time = System.nanoTime();
+        computeChanges();
+        parallelRefreshTime += System.nanoTime() - time;
+    }
+
+    @Override
+    public void finishParallelTick() {
+        var time = System.nanoTime();
+        try {
+            postChanges();
+        } finally {
+            inventoryRefreshStats.add(parallelRefreshTime + System.nanoTime() - time);
         }
     }
 
@@ -204,6 +389,15 @@ public KeyCounter getCachedInventory() {
         return cachedAvailableStacks;
     }
 
+    @Override
+    public KeyCounterSnapshot getCachedInventorySnapshot() {
+        var cachedInventory = getCachedInventory();
+        if (cachedStacksSnapshot.isChangedSince(cachedStacksVersion)) {
+            cachedStacksSnapshot = cachedInventory.snapshot(cachedStacksVersion);
+        }
+        return cachedStacksSnapshot;
+    }
+
     @Override
     public void addGlobalStorageProvider(IStorageProvider provider) {
         for (var state : globalProviders) {
@@ -315,23 +509,34 @@ private void unmount(MEStorage inventory) {
 
     @Override
     public void debugDump(JsonWriter writer, HolderLookup.Provider registries) throws IOException {
+        captureDebugDump(registries).write(writer);
+    }
 
-        JsonStreamUtil.writeProperties(Map.of(
-                "inventoryRefreshTime", JsonStreamUtil.toMap(inventoryRefreshStats)), writer);
-
-        writer.name("cachedAvailableStacks");
-        writer.beginArray();
-        for (var entry : cachedAvailableStacks) {
-            writer.beginObject();
-            writer.name("key");
-            var serializedKey = entry.getKey().toTagGeneric(registries);
-            var jsonKey = Dynamic.convert(NbtOps.INSTANCE, JsonOps.INSTANCE, serializedKey);
-            GSON.toJson(jsonKey, writer);
-            writer.name("amount");
-            writer.value(entry.getLongValue());
-            writer.endObject();
-        }
-        writer.endArray();
-
+    @Override
+    public DebugExport captureDebugDump(HolderLookup.Provider registries) {
+        Map<String, ?> properties = Map.of(
+                "inventoryRefreshTime", JsonStreamUtil.toMap(inventoryRefreshStats));
+        // Keys are immutable, so only the amounts have to be copied. The snapshot is reused if it is current.
+        var stacks = cachedStacksSnapshot.isChangedSince(cachedStacksVersion)
+                ? cachedAvailableStacks.snapshot(cachedStacksVersion)
+                : cachedStacksSnapshot;
+
+        return writer -> {
+            JsonStreamUtil.writeProperties(properties, writer);
+
+            writer.name("cachedAvailableStacks");
+            writer.beginArray();
+            for (int i = 0; i < stacks.size(); i++) {
+                writer.beginObject();
+                writer.name("key");
+                var serializedKey = stacks.getKey(i).toTagGeneric(registries);
+                var jsonKey = Dynamic.convert(NbtOps.INSTANCE, JsonOps.INSTANCE, serializedKey);
+                GSON.toJson(jsonKey, writer);
+                writer.name("amount");
+                writer.value(stacks.getAmount(i));
+                writer.endObject();
+            }
+            writer.endArray();
+        };
     }
 }
@@ -0,0 +1,53 @@
+package appeng.me.service;
+
+import net.minecraft.network.chat.Component;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.MEStorage;
+
+/**
+ * Exposes the storage of another grid, as seen by a storage bus facing an interface of that grid.
+ * <p>
+ * Inserting and extracting is forwarded to the network storage of the other grid. Listing the available stacks reads
+ * the cached inventory that the other grid's {@link StorageService} maintains anyway, instead of walking all of its
+ * mounted storages again. As a consequence, the listed content may lag behind the other grid by up to one tick.
+ */
+public class SubnetStorage implements MEStorage {
+    private final StorageService service;
+
+    public SubnetStorage(StorageService service) {
+        this.service = service;
+    }
+
+    public StorageService getService() {
+        return service;
+    }
+
+    @Override
+    public boolean isPreferredStorageFor(AEKey what, IActionSource source) {
+        return service.getInventory().isPreferredStorageFor(what, source);
+    }
+
+    @Override
+    public long insert(AEKey what, long amount, Actionable mode, IActionSource source) {
+        return service.getInventory().insert(what, amount, mode, source);
+    }
+
+    @Override
+    public long extract(AEKey what, long amount, Actionable mode, IActionSource source) {
+        return service.getInventory().extract(what, amount, mode, source);
+    }
+
+    @Override
+    public void getAvailableStacks(KeyCounter out) {
+        service.getAvailableStacksForSubnet(out);
+    }
+
+    @Override
+    public Component getDescription() {
+        return service.getInventory().getDescription();
+    }
+}
@@ -0,0 +1,546 @@
+package appeng.me.service.helpers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.level.Level;
+
+import appeng.api.config.Actionable;
+import appeng.api.crafting.IPatternDetails;
+import appeng.api.networking.IGridNode;
+import appeng.api.networking.crafting.ICraftingLink;
+import appeng.api.networking.crafting.ICraftingPlan;
+import appeng.api.networking.crafting.ICraftingRequester;
+import appeng.api.networking.crafting.ICraftingSimulationRequester;
+import appeng.api.networking.crafting.ICraftingSubmitResult;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.GenericStack;
+import appeng.api.stacks.KeyCounter;
+import appeng.crafting.CraftingLink;
+import appeng.crafting.execution.CraftingSubmitResult;
+
+/**
+ * Merges the crafting requests of machines that ask for the same key during the same tick into a single calculation
+ * for the summed amount, and a single job.
+ * <p>
+ * Every request still gets its own future and, once the job is submitted, its own link. The crafted items are handed
+ * to the requesters in the order they submitted the plan, up to the amount each of them requested. Whatever they don't
+ * accept is inserted into the network as usual.
+ * <p>
+ * Requests are calculated once the tick they were made in has ended. If a request is polled in a later tick before
+ * that happened (e.g. because the grid was split), its calculation is started right away.
+ * <p>
+ * Every requester saves its link together with the amount it is still owed. After a reload, the requesters of a job
+ * are merged again as they join the grid, so that none of them has to request its share a second time.
+ */
+public class CraftingRequestCoalescer {
+    /**
+     * The amount of the job's output a requester is still owed, saved alongside the data of the job's link.
+     */
+    public static final String NBT_SHARE = "mergedShare";
+
+    private final CalculationStarter calculationStarter;
+    private final LongSupplier currentTick;
+    private final Map<AEKey, Group> pendingGroups = new HashMap<>();
+
+    public CraftingRequestCoalescer(CalculationStarter calculationStarter, LongSupplier currentTick) {
+        this.calculationStarter = calculationStarter;
+        this.currentTick = currentTick;
+    }
+
+    /**
+     * Requests a plan for crafting the given amount, which will be calculated together with the other requests for
+     * the same key made during this tick.
+     */
+    public Future<ICraftingPlan> request(Level level, ICraftingSimulationRequester simRequester, AEKey what,
+            long amount) {
+        var tick = currentTick.getAsLong();
+        var group = pendingGroups.get(what);
+        if (group == null || group.tick != tick || group.calculation != null) {
+            group = new Group(level, simRequester, what, tick);
+            pendingGroups.put(what, group);
+        }
+
+        var member = new Member(group, amount);
+        group.members.add(member);
+        group.totalAmount = group.totalAmount > Long.MAX_VALUE - amount ? Long.MAX_VALUE
+                : group.totalAmount + amount;
+        return member;
+    }
+
+    /**
+     * Starts the calculations for all requests made so far.
+     */
+    public void startPendingCalculations() {
+        for (var group : pendingGroups.values()) {
+            group.startCalculation();
+        }
+        pendingGroups.clear();
+    }
+
+    /**
+     * Called when a requester leaves the grid that runs a job, so that merged jobs stop handing output to it.
+     *
+     * @param jobRequester The requester the job was submitted with.
+     * @return True if the job was submitted for merged requests, and none of its requesters remain on the grid. The
+     *         job then has to be treated as if its requester left the grid.
+     */
+    public static boolean removeRequester(@Nullable ICraftingRequester jobRequester, ICraftingRequester requester) {
+        if (!(jobRequester instanceof Group group)) {
+            return false;
+        }
+
+        var found = false;
+        for (var member : group.members) {
+            if (member.requester == requester) {
+                member.detached = true;
+                found = true;
+            }
+        }
+        return found && group.members.stream().noneMatch(Member::isAttached);
+    }
+
+    /**
+     * Called for the links of a requester that joins a grid.
+     *
+     * @param jobRequester The requester the job of the link is currently connected with on this grid, if any.
+     * @return The link that has to be connected with the job. For merged requests, this is the link of the job they
+     *         share, otherwise the given link.
+     */
+    public ICraftingLink reattach(ICraftingLink link, @Nullable ICraftingRequester jobRequester) {
+        if (!(link instanceof MemberLink memberLink)) {
+            return link;
+        }
+
+        var member = memberLink.member;
+        member.detached = false;
+        if (jobRequester instanceof Group group && group != member.group) {
+            // Another requester of the job restored its group first, or its group was on a grid that merged with ours
+            group.join(member);
+        } else if (member.group == null) {
+            new Group(memberLink.savedJobData).join(member);
+        }
+        return member.group.link;
+    }
+
+    /**
+     * Loads the saved link of a requester of a merged job. It is connected with the job again through
+     * {@link #reattach} once the requester joins a grid.
+     */
+    public static ICraftingLink loadLink(CompoundTag data, ICraftingRequester requester) {
+        var member = new Member(null, data.getLong(NBT_SHARE));
+        member.requester = requester;
+        member.link = new MemberLink(member, data.copy());
+        return member.link;
+    }
+
+    @FunctionalInterface
+    public interface CalculationStarter {
+        Future<ICraftingPlan> start(Level level, ICraftingSimulationRequester simRequester, AEKey what, long amount);
+    }
+
+    /**
+     * The plan returned to a single requester of a merged calculation. It describes the job for the summed amount, and
+     * has to be submitted using {@link #submit}.
+     */
+    public static final class CoalescedPlan implements ICraftingPlan {
+        private final ICraftingPlan plan;
+        private final Member member;
+
+        private CoalescedPlan(ICraftingPlan plan, Member member) {
+            this.plan = plan;
+            this.member = member;
+        }
+
+        /**
+         * Submits the merged job if no other requester did so yet, and returns the link of this requester.
+         *
+         * @param submitter Submits the plan for the summed amount on behalf of the given requester.
+         */
+        public ICraftingSubmitResult submit(ICraftingRequester requester,
+                Function<ICraftingRequester, ICraftingSubmitResult> submitter) {
+            return member.group.submit(member, requester, submitter);
+        }
+
+        /**
+         * @return The plan for the summed amount.
+         */
+        public ICraftingPlan getPlan() {
+            return plan;
+        }
+
+        @Override
+        public GenericStack finalOutput() {
+            return plan.finalOutput();
+        }
+
+        @Override
+        public long bytes() {
+            return plan.bytes();
+        }
+
+        @Override
+        public boolean simulation() {
+            return plan.simulation();
+        }
+
+        @Override
+        public boolean multiplePaths() {
+            return plan.multiplePaths();
+        }
+
+        @Override
+        public KeyCounter usedItems() {
+            return plan.usedItems();
+        }
+
+        @Override
+        public KeyCounter emittedItems() {
+            return plan.emittedItems();
+        }
+
+        @Override
+        public KeyCounter missingItems() {
+            return plan.missingItems();
+        }
+
+        @Override
+        public Map<IPatternDetails, Long> patternTimes() {
+            return plan.patternTimes();
+        }
+    }
+
+    /**
+     * All requests for a key made during one tick. Acts as the requester of the merged job.
+     */
+    private final class Group implements ICraftingRequester {
+        // Not known for groups restored after a reload, which don't calculate anything
+        @Nullable
+        private final Level level;
+        @Nullable
+        private final ICraftingSimulationRequester simRequester;
+        @Nullable
+        private final AEKey what;
+        private final long tick;
+        private final List<Member> members = new ArrayList<>();
+        private long totalAmount;
+        @Nullable
+        private Future<ICraftingPlan> calculation;
+        @Nullable
+        private ICraftingSubmitResult submitResult;
+        @Nullable
+        private ICraftingLink link;
+        /**
+         * The node of a requester that was on the grid the last time it was checked.
+         */
+        @Nullable
+        private IGridNode lastNode;
+
+        private Group(Level level, ICraftingSimulationRequester simRequester, AEKey what, long tick) {
+            this.level = level;
+            this.simRequester = simRequester;
+            this.what = what;
+            this.tick = tick;
+        }
+
+        /**
+         * Restores the group of a job after a reload from the saved link of one of its requesters.
+         */
+        private Group(CompoundTag linkData) {
+            this.level = null;
+            this.simRequester = null;
+            this.what = null;
+            this.tick = -1;
+            this.link = new CraftingLink(linkData, this);
+            this.submitResult = CraftingSubmitResult.successful(link);
+        }
+
+        private boolean isOpen() {
+            return calculation == null && tick == currentTick.getAsLong();
+        }
+
+        private void startCalculation() {
+            if (calculation == null) {
+                calculation = calculationStarter.start(level, simRequester, what, totalAmount);
+                if (members.stream().allMatch(m -> m.canceled)) {
+                    calculation.cancel(true);
+                }
+            }
+        }
+
+        private Future<ICraftingPlan> getCalculation() {
+            if (calculation == null) {
+                startCalculation();
+                if (pendingGroups.get(what) == this) {
+                    pendingGroups.remove(what);
+                }
+            }
+            return calculation;
+        }
+
+        private ICraftingSubmitResult submit(Member member, ICraftingRequester requester,
+                Function<ICraftingRequester, ICraftingSubmitResult> submitter) {
+            member.requester = requester;
+            member.detached = false;
+            if (lastNode == null) {
+                lastNode = requester.getActionableNode();
+            }
+            if (submitResult == null) {
+                submitResult = submitter.apply(this);
+                link = submitResult.successful() ? submitResult.link() : null;
+            }
+
+            if (link == null) {
+                return submitResult;
+            }
+            member.link = new MemberLink(member, null);
+            return CraftingSubmitResult.successful(member.link);
+        }
+
+        /**
+         * Moves a requester of this group's job into this group, e.g. after it was loaded.
+         */
+        private void join(Member member) {
+            if (member.group != null) {
+                member.group.members.remove(member);
+            }
+            member.group = this;
+            members.add(member);
+            if (lastNode == null && member.requester != null) {
+                lastNode = member.requester.getActionableNode();
+            }
+            if (member.canceled) {
+                memberCanceled();
+            }
+        }
+
+        private void memberCanceled() {
+            for (var member : members) {
+                if (!member.canceled) {
+                    return;
+                }
+            }
+
+            if (link != null) {
+                link.cancel();
+            } else if (calculation != null) {
+                calculation.cancel(true);
+            }
+        }
+
+        @Override
+        public ImmutableSet<ICraftingLink> getRequestedJobs() {
+            return link != null ? ImmutableSet.of(link) : ImmutableSet.of();
+        }
+
+        @Override
+        public long insertCraftedItems(ICraftingLink link, AEKey what, long amount, Actionable mode) {
+            long inserted = 0;
+            for (var member : members) {
+                if (inserted >= amount) {
+                    break;
+                }
+                if (!member.isAttached() || member.remaining <= 0) {
+                    continue;
+                }
+
+                var accepted = member.requester.insertCraftedItems(member.link, what,
+                        Math.min(amount - inserted, member.remaining), mode);
+                if (mode == Actionable.MODULATE) {
+                    member.remaining -= accepted;
+                }
+                inserted += accepted;
+            }
+            return inserted;
+        }
+
+        @Override
+        public void jobStateChange(ICraftingLink link) {
+            for (var member : members) {
+                if (member.link != null && !member.canceled) {
+                    member.requester.jobStateChange(member.link);
+                }
+            }
+        }
+
+        /**
+         * Only called while at least one requester is attached, since the grid forgets the requester of the job once
+         * the last one left.
+         */
+        @Override
+        public IGridNode getActionableNode() {
+            for (var member : members) {
+                if (member.isAttached()) {
+                    var node = member.requester.getActionableNode();
+                    if (node != null) {
+                        lastNode = node;
+                        break;
+                    }
+                }
+            }
+            return lastNode;
+        }
+    }
+
+    /**
+     * A single request that was merged into a group.
+     */
+    private static final class Member implements Future<ICraftingPlan> {
+        /**
+         * Null for requesters loaded after a reload, until they join a grid.
+         */
+        @Nullable
+        private Group group;
+        private long remaining;
+        private boolean canceled;
+        /**
+         * True while the requester is not on the grid, e.g. because its chunk was unloaded.
+         */
+        private boolean detached;
+        @Nullable
+        private ICraftingRequester requester;
+        @Nullable
+        private MemberLink link;
+
+        private Member(@Nullable Group group, long amount) {
+            this.group = group;
+            this.remaining = amount;
+        }
+
+        private boolean isAttached() {
+            return link != null && !canceled && !detached;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (canceled) {
+                return false;
+            }
+            canceled = true;
+            if (group != null) {
+                group.memberCanceled();
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return canceled;
+        }
+
+        @Override
+        public boolean isDone() {
+            if (canceled) {
+                return true;
+            }
+            if (group.isOpen()) {
+                // Other machines may still join the request during this tick
+                return false;
+            }
+            return group.getCalculation().isDone();
+        }
+
+        @Override
+        public ICraftingPlan get() throws InterruptedException, ExecutionException {
+            if (canceled) {
+                throw new CancellationException();
+            }
+            return new CoalescedPlan(group.getCalculation().get(), this);
+        }
+
+        @Override
+        public ICraftingPlan get(long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            if (canceled) {
+                throw new CancellationException();
+            }
+            return new CoalescedPlan(group.getCalculation().get(timeout, unit), this);
+        }
+    }
+
+    /**
+     * The link handed to a single requester of a merged job.
+     */
+    private static final class MemberLink implements ICraftingLink {
+        private final Member member;
+        /**
+         * The data this link was loaded from. Used until the requester joins a grid and its group is restored.
+         */
+        @Nullable
+        private final CompoundTag savedJobData;
+
+        private MemberLink(Member member, @Nullable CompoundTag savedJobData) {
+            this.member = member;
+            this.savedJobData = savedJobData;
+        }
+
+        @Nullable
+        private ICraftingLink getJobLink() {
+            return member.group != null ? member.group.link : null;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            if (member.canceled) {
+                return true;
+            }
+            var jobLink = getJobLink();
+            return jobLink != null ? jobLink.isCanceled() : savedJobData.getBoolean("canceled");
+        }
+
+        @Override
+        public boolean isDone() {
+            if (member.canceled) {
+                return false;
+            }
+            var jobLink = getJobLink();
+            return jobLink != null ? jobLink.isDone() : savedJobData.getBoolean("done");
+        }
+
+        @Override
+        public void cancel() {
+            if (!isDone()) {
+                member.cancel(false);
+            }
+        }
+
+        @Override
+        public boolean isStandalone() {
+            return false;
+        }
+
+        @Override
+        public void writeToNBT(CompoundTag tag) {
+            var jobLink = getJobLink();
+            if (jobLink != null) {
+                jobLink.writeToNBT(tag);
+            } else {
+                tag.merge(savedJobData);
+            }
+            tag.putBoolean("canceled", isCanceled());
+            tag.putBoolean("done", isDone());
+            tag.putLong(NBT_SHARE, member.remaining);
+        }
+
+        @Override
+        public UUID getCraftingID() {
+            var jobLink = getJobLink();
+            return jobLink != null ? jobLink.getCraftingID() : savedJobData.getUUID("craftId");
+        }
+    }
+}
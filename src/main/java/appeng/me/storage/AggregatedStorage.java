@@ -0,0 +1,25 @@
+package appeng.me.storage;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.stacks.AEKey;
+import appeng.api.storage.MEStorage;
+
+/**
+ * A storage that combines several inventories that would otherwise be mounted into {@link NetworkStorage} separately.
+ * <p>
+ * The network storage first offers a key to the inventories that are preferred storage for it, and only then to all
+ * others. To retain this order across all mounted inventories, it inserts into an aggregated storage in two separate
+ * steps, rather than using {@link #insert}.
+ */
+public interface AggregatedStorage extends MEStorage {
+    /**
+     * Inserts only into the combined inventories that are preferred storage for the key.
+     */
+    long insertPreferred(AEKey what, long amount, Actionable mode, IActionSource source);
+
+    /**
+     * Inserts only into the combined inventories that are not preferred storage for the key.
+     */
+    long insertNonPreferred(AEKey what, long amount, Actionable mode, IActionSource source);
+}
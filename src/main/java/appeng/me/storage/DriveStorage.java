@@ -0,0 +1,207 @@
+package appeng.me.storage;
+
+import com.google.common.base.Preconditions;
+
+import net.minecraft.network.chat.Component;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.me.cells.BasicCellInventory;
+
+/**
+ * Presents all cells of a drive as a single storage, so that the network storage only has to visit each drive once,
+ * rather than each of its cells.
+ * <p>
+ * For basic cells, it indexes which cells contain a key, so that inserting and extracting only visits the cells that
+ * are relevant for that key. It also keeps the merged content of those cells, which is updated key by key as the
+ * cells change. Other cell types are not indexed and always visited.
+ * <p>
+ * Within the drive, cells are visited in slot order, which is the same order the network storage would use if the
+ * cells were mounted separately.
+ */
+public class DriveStorage implements AggregatedStorage {
+    private final DriveWatcher[] cells;
+    private final Component description;
+
+    /**
+     * For each key stored in a basic cell, the bit mask of the slots whose cells contain it.
+     */
+    private final Object2IntMap<AEKey> slotsByKey = new Object2IntOpenHashMap<>();
+    /**
+     * The merged content of all basic cells.
+     */
+    private final KeyCounter basicCellContent = new KeyCounter();
+    private int basicCellSlots;
+    private int otherCellSlots;
+    private boolean indexValid;
+
+    /**
+     * @param cells The cells of the drive by slot. The array is not copied, and {@link #invalidate()} has to be called
+     *              whenever it changes.
+     */
+    public DriveStorage(DriveWatcher[] cells, Component description) {
+        Preconditions.checkArgument(cells.length <= Integer.SIZE, "Too many cells: %s", cells.length);
+        this.cells = cells;
+        this.description = description;
+    }
+
+    /**
+     * Forces the index to be rebuilt from the cells on next use. The index is built lazily, so that cells don't have to
+     * be loaded before they're actually used.
+     */
+    public void invalidate() {
+        this.indexValid = false;
+        this.slotsByKey.clear();
+        this.basicCellContent.clear();
+    }
+
+    /**
+     * Updates the index after the content of the given slot may have changed for the given key.
+     */
+    public void onCellContentChanged(int slot, AEKey what) {
+        if (!this.indexValid || (this.basicCellSlots & 1 << slot) == 0) {
+            return;
+        }
+
+        var slots = this.slotsByKey.getInt(what);
+        if (getStoredAmount(slot, what) > 0) {
+            slots |= 1 << slot;
+        } else {
+            slots &= ~(1 << slot);
+        }
+
+        if (slots == 0) {
+            this.slotsByKey.removeInt(what);
+            this.basicCellContent.remove(what);
+            return;
+        }
+
+        this.slotsByKey.put(what, slots);
+        var total = 0L;
+        for (var i = 0; i < this.cells.length; i++) {
+            if ((slots & 1 << i) != 0) {
+                total += getStoredAmount(i, what);
+            }
+        }
+        this.basicCellContent.set(what, total);
+    }
+
+    private long getStoredAmount(int slot, AEKey what) {
+        return this.cells[slot].getCell().extract(what, Long.MAX_VALUE, Actionable.SIMULATE, IActionSource.empty());
+    }
+
+    private void ensureIndex() {
+        if (this.indexValid) {
+            return;
+        }
+
+        this.indexValid = true;
+        this.basicCellSlots = 0;
+        this.otherCellSlots = 0;
+        for (var slot = 0; slot < this.cells.length; slot++) {
+            var cell = this.cells[slot];
+            if (cell == null) {
+                continue;
+            }
+
+            if (!(cell.getCell() instanceof BasicCellInventory)) {
+                this.otherCellSlots |= 1 << slot;
+                continue;
+            }
+
+            this.basicCellSlots |= 1 << slot;
+            for (var entry : cell.getAvailableStacks()) {
+                var what = entry.getKey();
+                this.slotsByKey.put(what, this.slotsByKey.getInt(what) | 1 << slot);
+                this.basicCellContent.add(what, entry.getLongValue());
+            }
+        }
+    }
+
+    /**
+     * Basic cells are preferred storage for a key exactly if they contain it, while other cells are asked.
+     */
+    private int getPreferredSlots(AEKey what, IActionSource source) {
+        ensureIndex();
+
+        var slots = this.slotsByKey.getInt(what);
+        for (var slot = 0; slot < this.cells.length; slot++) {
+            if ((this.otherCellSlots & 1 << slot) != 0 && this.cells[slot].isPreferredStorageFor(what, source)) {
+                slots |= 1 << slot;
+            }
+        }
+        return slots;
+    }
+
+    private long insertInto(int slots, AEKey what, long amount, Actionable mode, IActionSource source) {
+        var inserted = 0L;
+        for (var slot = 0; slot < this.cells.length && inserted < amount; slot++) {
+            if ((slots & 1 << slot) != 0) {
+                inserted += this.cells[slot].insert(what, amount - inserted, mode, source);
+            }
+        }
+        return inserted;
+    }
+
+    @Override
+    public boolean isPreferredStorageFor(AEKey what, IActionSource source) {
+        return getPreferredSlots(what, source) != 0;
+    }
+
+    @Override
+    public long insertPreferred(AEKey what, long amount, Actionable mode, IActionSource source) {
+        return insertInto(getPreferredSlots(what, source), what, amount, mode, source);
+    }
+
+    @Override
+    public long insertNonPreferred(AEKey what, long amount, Actionable mode, IActionSource source) {
+        var preferredSlots = getPreferredSlots(what, source);
+        var slots = (this.basicCellSlots | this.otherCellSlots) & ~preferredSlots;
+        return insertInto(slots, what, amount, mode, source);
+    }
+
+    @Override
+    public long insert(AEKey what, long amount, Actionable mode, IActionSource source) {
+        var inserted = insertPreferred(what, amount, mode, source);
+        if (inserted < amount) {
+            inserted += insertNonPreferred(what, amount - inserted, mode, source);
+        }
+        return inserted;
+    }
+
+    @Override
+    public long extract(AEKey what, long amount, Actionable mode, IActionSource source) {
+        ensureIndex();
+
+        var slots = this.slotsByKey.getInt(what) | this.otherCellSlots;
+        var extracted = 0L;
+        for (var slot = 0; slot < this.cells.length && extracted < amount; slot++) {
+            if ((slots & 1 << slot) != 0) {
+                extracted += this.cells[slot].extract(what, amount - extracted, mode, source);
+            }
+        }
+        return extracted;
+    }
+
+    @Override
+    public void getAvailableStacks(KeyCounter out) {
+        ensureIndex();
+
+        out.addAll(this.basicCellContent);
+        for (var slot = 0; slot < this.cells.length; slot++) {
+            if ((this.otherCellSlots & 1 << slot) != 0) {
+                this.cells[slot].getAvailableStacks(out);
+            }
+        }
+    }
+
+    @Override
+    public Component getDescription() {
+        return this.description;
+    }
+}
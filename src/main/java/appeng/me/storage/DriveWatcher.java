@@ -18,6 +18,10 @@
 
 package appeng.me.storage;
 
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.Nullable;
+
 import appeng.api.config.Actionable;
 import appeng.api.networking.security.IActionSource;
 import appeng.api.stacks.AEKey;
@@ -28,10 +32,20 @@ public class DriveWatcher extends MEInventoryHandler {
 
     private CellState oldStatus = CellState.EMPTY;
     private final Runnable activityCallback;
+    @Nullable
+    private final Consumer<AEKey> contentListener;
 
     public DriveWatcher(StorageCell i, Runnable activityCallback) {
+        this(i, activityCallback, null);
+    }
+
+    /**
+     * @param contentListener Is called with the key after the cell content for a key may have changed.
+     */
+    public DriveWatcher(StorageCell i, Runnable activityCallback, @Nullable Consumer<AEKey> contentListener) {
         super(i);
         this.activityCallback = activityCallback;
+        this.contentListener = contentListener;
         this.oldStatus = getStatus();
     }
 
@@ -48,6 +62,10 @@ public long insert(AEKey what, long amount, Actionable mode, IActionSource sourc
         var inserted = super.insert(what, amount, mode, source);
 
         if (mode == Actionable.MODULATE && inserted > 0) {
+            if (this.contentListener != null) {
+                this.contentListener.accept(what);
+            }
+
             var newStatus = this.getStatus();
 
             if (newStatus != this.oldStatus) {
@@ -64,6 +82,10 @@ public long extract(AEKey what, long amount, Actionable mode, IActionSource sour
         var extracted = super.extract(what, amount, mode, source);
 
         if (mode == Actionable.MODULATE && extracted > 0) {
+            if (this.contentListener != null) {
+                this.contentListener.accept(what);
+            }
+
             var newStatus = this.getStatus();
 
             if (newStatus != this.oldStatus) {
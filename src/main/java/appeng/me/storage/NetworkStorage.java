@@ -112,7 +112,10 @@ public long insert(AEKey what, long amount, Actionable type, IActionSource src)
                         continue;
                     }
 
-                    if (inv.isPreferredStorageFor(what, src)) {
+                    if (inv instanceof AggregatedStorage aggregatedStorage) {
+                        remaining -= aggregatedStorage.insertPreferred(what, remaining, type, src);
+                        secondPassInventories.add(inv);
+                    } else if (inv.isPreferredStorageFor(what, src)) {
                         remaining -= inv.insert(what, remaining, type, src);
                     } else {
                         secondPassInventories.add(inv);
@@ -129,7 +132,11 @@ public long insert(AEKey what, long amount, Actionable type, IActionSource src)
                         continue;
                     }
 
-                    remaining -= inv.insert(what, remaining, type, src);
+                    if (inv instanceof AggregatedStorage aggregatedStorage) {
+                        remaining -= aggregatedStorage.insertNonPreferred(what, remaining, type, src);
+                    } else {
+                        remaining -= inv.insert(what, remaining, type, src);
+                    }
                 }
             }
 
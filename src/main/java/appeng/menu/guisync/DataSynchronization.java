@@ -18,8 +18,11 @@
 
 package appeng.menu.guisync;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
 
 import net.minecraft.network.RegistryFriendlyByteBuf;
 import net.minecraft.world.inventory.AbstractContainerMenu;
@@ -31,65 +34,92 @@
 /**
  * Helper class for synchronizing fields from server-side menus to client-side menus. Fields need to be annotated with
  * {@link GuiSync} and given a unique key within the class hierarchy.
+ * <p>
+ * The fields of a class are only looked up once, and the resulting accessors are shared by all instances of that
+ * class. Each instance only keeps the values last sent to the client, and a set of the fields found to be changed by
+ * {@link #hasChanges()}, so that {@link #writeUpdate} does not have to compare them again.
  */
 public class DataSynchronization {
 
-    private final Map<Short, SynchronizedField<?>> fields = new HashMap<>();
+    private static final ClassValue<Schema> SCHEMAS = new ClassValue<>() {
+        @Override
+        protected Schema computeValue(Class<?> type) {
+            return Schema.create(type);
+        }
+    };
 
-    public DataSynchronization(Object host) {
-        collectFields(host, host.getClass());
-    }
+    private final Object host;
+    private final Schema schema;
+    private final long[] sentPrimitives;
+    private final Object[] sentObjects;
+    /**
+     * Fields whose value has never been sent. Used for primitive fields, which can't be compared against an absent
+     * value.
+     */
+    private final BitSet unsent = new BitSet();
+    /**
+     * Fields found to be changed by the last call to {@link #hasChanges()}.
+     */
+    private final BitSet changed = new BitSet();
+    private boolean changesCollected;
 
-    private void collectFields(Object host, Class<?> clazz) {
-        for (var f : clazz.getDeclaredFields()) {
-            if (f.isAnnotationPresent(GuiSync.class)) {
-                var annotation = f.getAnnotation(GuiSync.class);
-                short key = annotation.value();
-                if (this.fields.containsKey(key)) {
-                    throw new IllegalStateException(
-                            "Class " + host.getClass() + " declares the same sync id twice: " + key);
-                }
-                this.fields.put(key, SynchronizedField.create(host, f));
+    public DataSynchronization(Object host) {
+        this.host = host;
+        this.schema = SCHEMAS.get(host.getClass());
+        this.sentPrimitives = new long[schema.fields.length];
+        this.sentObjects = new Object[schema.fields.length];
+        for (int i = 0; i < schema.fields.length; i++) {
+            if (schema.fields[i].isPrimitive()) {
+                unsent.set(i);
             }
         }
-
-        // Recurse upwards through the class hierarchy
-        Class<?> superclass = clazz.getSuperclass();
-        if (superclass != AbstractContainerMenu.class && superclass != Object.class) {
-            collectFields(host, superclass);
-        }
     }
 
     public boolean hasChanges() {
-        for (SynchronizedField<?> value : fields.values()) {
-            if (value.hasChanges()) {
-                return true;
+        collectChanges();
+        return !changed.isEmpty();
+    }
+
+    private void collectChanges() {
+        changed.clear();
+        changed.or(unsent);
+        var fields = schema.fields;
+        for (int i = 0; i < fields.length; i++) {
+            if (!changed.get(i) && fields[i].hasChanges(host, sentPrimitives, sentObjects)) {
+                changed.set(i);
             }
         }
-        return false;
+        changesCollected = true;
     }
 
     /**
      * Write the data for all fields to the given buffer, and marks all fields as unchanged.
      */
     public void writeFull(RegistryFriendlyByteBuf data) {
-        writeFields(data, true);
+        changed.set(0, schema.fields.length);
+        writeFields(data);
     }
 
     /**
      * Write the data for changed fields to the given buffer, and marks all fields as unchanged.
      */
     public void writeUpdate(RegistryFriendlyByteBuf data) {
-        writeFields(data, false);
+        // Reuse the result of hasChanges() if it was called right before
+        if (!changesCollected) {
+            collectChanges();
+        }
+        writeFields(data);
     }
 
-    private void writeFields(RegistryFriendlyByteBuf data, boolean includeUnchanged) {
-        for (Map.Entry<Short, SynchronizedField<?>> entry : fields.entrySet()) {
-            if (includeUnchanged || entry.getValue().hasChanges()) {
-                data.writeShort(entry.getKey());
-                entry.getValue().write(data);
-            }
+    private void writeFields(RegistryFriendlyByteBuf data) {
+        var fields = schema.fields;
+        for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+            data.writeShort(fields[i].getKey());
+            fields[i].write(host, data, sentPrimitives, sentObjects);
         }
+        unsent.andNot(changed);
+        changed.clear();
+        changesCollected = false;
 
         // Terminator
         data.writeVarInt(-1);
@@ -97,13 +127,13 @@ private void writeFields(RegistryFriendlyByteBuf data, boolean includeUnchanged)
 
     public void readUpdate(RegistryFriendlyByteBuf data, ShortSet updatedFields) {
         for (short key = data.readShort(); key != -1; key = data.readShort()) {
-            SynchronizedField<?> field = fields.get(key);
-            if (field == null) {
+            int index = Arrays.binarySearch(schema.keys, key);
+            if (index < 0) {
                 AELog.warn("Server sent update for GUI field %d, which we don't know.", key);
                 continue;
             }
 
-            field.read(data);
+            schema.fields[index].read(host, data);
             updatedFields.add(key);
         }
     }
@@ -112,6 +142,45 @@ public void readUpdate(RegistryFriendlyByteBuf data, ShortSet updatedFields) {
      * @return True if any synchronized fields exist.
      */
     public boolean hasFields() {
-        return !fields.isEmpty();
+        return schema.fields.length > 0;
+    }
+
+    /**
+     * The synchronized fields of a class, sorted by key.
+     */
+    private record Schema(SynchronizedField[] fields, short[] keys) {
+        static Schema create(Class<?> hostClass) {
+            var declared = new ArrayList<Field>();
+            collectFields(hostClass, declared);
+            declared.sort(Comparator.comparingInt(f -> f.getAnnotation(GuiSync.class).value()));
+
+            var fields = new SynchronizedField[declared.size()];
+            var keys = new short[declared.size()];
+            for (int i = 0; i < fields.length; i++) {
+                var field = declared.get(i);
+                short key = field.getAnnotation(GuiSync.class).value();
+                if (i > 0 && keys[i - 1] == key) {
+                    throw new IllegalStateException(
+                            "Class " + hostClass + " declares the same sync id twice: " + key);
+                }
+                keys[i] = key;
+                fields[i] = SynchronizedField.create(key, i, field);
+            }
+            return new Schema(fields, keys);
+        }
+
+        private static void collectFields(Class<?> clazz, ArrayList<Field> result) {
+            for (var f : clazz.getDeclaredFields()) {
+                if (f.isAnnotationPresent(GuiSync.class)) {
+                    result.add(f);
+                }
+            }
+
+            // Recurse upwards through the class hierarchy
+            Class<?> superclass = clazz.getSuperclass();
+            if (superclass != AbstractContainerMenu.class && superclass != Object.class) {
+                collectFields(superclass, result);
+            }
+        }
     }
 }
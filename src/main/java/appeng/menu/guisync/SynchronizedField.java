@@ -18,13 +18,14 @@
 
 package appeng.menu.guisync;
 
-import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 import com.google.common.base.Preconditions;
@@ -37,292 +38,327 @@
 import appeng.api.stacks.GenericStack;
 
 /**
- * This class is responsible for synchronizing menu-fields from server to client.
+ * Describes how a single {@link GuiSync} field of a menu class is accessed, compared and serialized. Instances are
+ * shared by all menus of the same class, while the last value sent to the client is kept per menu by
+ * {@link DataSynchronization}.
+ * <p>
+ * Fields of primitive type store the last sent value as raw bits in a {@code long[]}, so that they can be compared
+ * without boxing. All other fields store it in an {@code Object[]} and are compared using {@link Objects#equals}.
  */
-public abstract class SynchronizedField<T> {
-
-    private final Object source;
-    protected final MethodHandle getter;
-    protected final MethodHandle setter;
-    protected T clientVersion;
+public abstract class SynchronizedField {
+
+    private final short key;
+    /**
+     * The index of this field within its {@link DataSynchronization} schema, which is also the index of the last
+     * sent value.
+     */
+    protected final int index;
+    protected final VarHandle handle;
+
+    private SynchronizedField(short key, int index, Field field) {
+        this.key = key;
+        this.index = index;
+        this.handle = createHandle(field);
+    }
 
-    private SynchronizedField(Object source, Field field) {
-        this.clientVersion = null;
-        this.source = source;
-        field.setAccessible(true);
+    private static VarHandle createHandle(Field field) {
+        try {
+            // Works for all fields of classes in modules that are open to us, such as our own
+            return MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup())
+                    .unreflectVarHandle(field);
+        } catch (IllegalAccessException ignored) {
+        }
         try {
-            this.getter = MethodHandles.publicLookup().unreflectGetter(field);
-            this.setter = MethodHandles.publicLookup().unreflectSetter(field);
+            return MethodHandles.publicLookup().unreflectVarHandle(field);
         } catch (IllegalAccessException e) {
             throw new RuntimeException(
                     "Failed to get accessor for field " + field + ". Did you forget to make it public?");
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private T getCurrentValue() {
-        try {
-            return (T) this.getter.invoke(source);
-        } catch (Throwable throwable) {
-            throw new RuntimeException(throwable);
-        }
+    public short getKey() {
+        return key;
     }
 
-    public boolean hasChanges() {
-        return !Objects.equals(getCurrentValue(), this.clientVersion);
+    /**
+     * @return True if primitive values are not known to the client until they are first sent.
+     */
+    boolean isPrimitive() {
+        return false;
     }
 
-    public final void write(RegistryFriendlyByteBuf data) {
-        T currentValue = getCurrentValue();
-        this.clientVersion = currentValue;
-        this.writeValue(data, currentValue);
-    }
-
-    public final void read(RegistryFriendlyByteBuf data) {
-        T value = readValue(data);
-        try {
-            setter.invoke(source, value);
-        } catch (Throwable throwable) {
-            throw new RuntimeException(throwable);
-        }
-    }
+    /**
+     * @return True if the current value of the field differs from the value last sent to the client.
+     */
+    abstract boolean hasChanges(Object host, long[] sentPrimitives, Object[] sentObjects);
 
-    protected abstract void writeValue(RegistryFriendlyByteBuf data, T value);
+    /**
+     * Writes the current value of the field and remembers it as the value last sent to the client.
+     */
+    abstract void write(Object host, RegistryFriendlyByteBuf data, long[] sentPrimitives, Object[] sentObjects);
 
-    protected abstract T readValue(RegistryFriendlyByteBuf data);
+    /**
+     * Reads a value sent by the server and stores it in the field.
+     */
+    abstract void read(Object host, RegistryFriendlyByteBuf data);
 
-    public static SynchronizedField<?> create(Object source, Field field) {
+    public static SynchronizedField create(short key, int index, Field field) {
         Class<?> fieldType = field.getType();
 
         if (PacketWritable.class.isAssignableFrom(fieldType)) {
-            return new CustomField(source, field);
+            return new CustomField(key, index, field);
         } else if (fieldType.isAssignableFrom(Component.class)) {
-            return new TextComponentField(source, field);
+            return new ObjectField<Component>(key, index, field, SynchronizedField::writeComponent,
+                    SynchronizedField::readComponent);
         } else if (fieldType.isAssignableFrom(GenericStack.class)) {
-            return new GenericStackField(source, field);
+            return new ObjectField<GenericStack>(key, index, field, (data, value) -> GenericStack.writeBuffer(value,
+                    data), GenericStack::readBuffer);
         } else if (fieldType.isAssignableFrom(ResourceLocation.class)) {
-            return new ResourceLocationField(source, field);
+            return new ObjectField<ResourceLocation>(key, index, field, SynchronizedField::writeResourceLocation,
+                    SynchronizedField::readResourceLocation);
         } else if (fieldType == String.class) {
-            return new StringField(source, field);
-        } else if (fieldType == int.class || fieldType == Integer.class) {
-            return new IntegerField(source, field);
-        } else if (fieldType == long.class || fieldType == Long.class) {
-            return new LongField(source, field);
+            return new ObjectField<String>(key, index, field, RegistryFriendlyByteBuf::writeUtf,
+                    RegistryFriendlyByteBuf::readUtf);
+        } else if (fieldType == int.class) {
+            return new IntegerField(key, index, field);
+        } else if (fieldType == Integer.class) {
+            return new ObjectField<Integer>(key, index, field, RegistryFriendlyByteBuf::writeInt,
+                    RegistryFriendlyByteBuf::readInt);
+        } else if (fieldType == long.class) {
+            return new LongField(key, index, field);
+        } else if (fieldType == Long.class) {
+            return new ObjectField<Long>(key, index, field, RegistryFriendlyByteBuf::writeLong,
+                    RegistryFriendlyByteBuf::readLong);
         } else if (fieldType == double.class) {
-            return new DoubleField(source, field);
-        } else if (fieldType == boolean.class || fieldType == Boolean.class) {
-            return new BooleanField(source, field);
+            return new DoubleField(key, index, field);
+        } else if (fieldType == boolean.class) {
+            return new BooleanField(key, index, field);
+        } else if (fieldType == Boolean.class) {
+            return new ObjectField<Boolean>(key, index, field, RegistryFriendlyByteBuf::writeBoolean,
+                    RegistryFriendlyByteBuf::readBoolean);
         } else if (fieldType.isEnum()) {
-            return createEnumField(source, field, fieldType.asSubclass(Enum.class));
+            return createEnumField(key, index, field, fieldType.asSubclass(Enum.class));
         } else {
             throw new IllegalArgumentException("Cannot synchronize field " + field);
         }
     }
 
-    private static <T extends Enum<T>> EnumField<T> createEnumField(Object source, Field field, Class<T> fieldType) {
-        return new EnumField<>(source, field, fieldType.getEnumConstants());
+    private static <T extends Enum<T>> ObjectField<T> createEnumField(short key, int index, Field field,
+            Class<T> fieldType) {
+        var values = fieldType.getEnumConstants();
+        return new ObjectField<>(key, index, field, (data, value) -> {
+            if (value == null) {
+                data.writeShort(-1);
+            } else {
+                data.writeShort((short) value.ordinal());
+            }
+        }, data -> {
+            int ordinal = data.readShort();
+            if (ordinal == -1) {
+                return null;
+            } else {
+                return values[ordinal];
+            }
+        });
     }
 
-    private static class StringField extends SynchronizedField<String> {
-        private StringField(Object source, Field field) {
-            super(source, field);
+    private static void writeComponent(RegistryFriendlyByteBuf data, Component value) {
+        if (value == null) {
+            data.writeBoolean(false);
+        } else {
+            data.writeBoolean(true);
+            ComponentSerialization.TRUSTED_STREAM_CODEC.encode(data, value);
         }
+    }
 
-        @Override
-        protected void writeValue(RegistryFriendlyByteBuf data, String value) {
-            data.writeUtf(value);
+    private static Component readComponent(RegistryFriendlyByteBuf data) {
+        if (data.readBoolean()) {
+            return ComponentSerialization.TRUSTED_STREAM_CODEC.decode(data);
+        } else {
+            return null;
         }
+    }
 
-        @Override
-        protected String readValue(RegistryFriendlyByteBuf data) {
-            return data.readUtf();
+    private static void writeResourceLocation(RegistryFriendlyByteBuf data, ResourceLocation value) {
+        if (value == null) {
+            data.writeBoolean(false);
+        } else {
+            data.writeBoolean(true);
+            data.writeResourceLocation(value);
         }
     }
 
-    private static class IntegerField extends SynchronizedField<Integer> {
-        private IntegerField(Object source, Field field) {
-            super(source, field);
+    private static ResourceLocation readResourceLocation(RegistryFriendlyByteBuf data) {
+        if (data.readBoolean()) {
+            return data.readResourceLocation();
+        } else {
+            return null;
         }
+    }
 
-        @Override
-        protected void writeValue(RegistryFriendlyByteBuf data, Integer value) {
-            data.writeInt(value);
+    private static class IntegerField extends SynchronizedField {
+        private IntegerField(short key, int index, Field field) {
+            super(key, index, field);
         }
 
         @Override
-        protected Integer readValue(RegistryFriendlyByteBuf data) {
-            return data.readInt();
+        boolean isPrimitive() {
+            return true;
         }
-    }
 
-    private static class LongField extends SynchronizedField<Long> {
-        private LongField(Object source, Field field) {
-            super(source, field);
+        @Override
+        boolean hasChanges(Object host, long[] sentPrimitives, Object[] sentObjects) {
+            return (int) handle.get(host) != sentPrimitives[index];
         }
 
         @Override
-        protected void writeValue(RegistryFriendlyByteBuf data, Long value) {
-            data.writeLong(value);
+        void write(Object host, RegistryFriendlyByteBuf data, long[] sentPrimitives, Object[] sentObjects) {
+            int value = (int) handle.get(host);
+            sentPrimitives[index] = value;
+            data.writeInt(value);
         }
 
         @Override
-        protected Long readValue(RegistryFriendlyByteBuf data) {
-            return data.readLong();
+        void read(Object host, RegistryFriendlyByteBuf data) {
+            handle.set(host, data.readInt());
         }
     }
 
-    private static class DoubleField extends SynchronizedField<Double> {
-        private DoubleField(Object source, Field field) {
-            super(source, field);
+    private static class LongField extends SynchronizedField {
+        private LongField(short key, int index, Field field) {
+            super(key, index, field);
         }
 
         @Override
-        protected void writeValue(RegistryFriendlyByteBuf data, Double value) {
-            data.writeDouble(value);
+        boolean isPrimitive() {
+            return true;
         }
 
         @Override
-        protected Double readValue(RegistryFriendlyByteBuf data) {
-            return data.readDouble();
-        }
-    }
-
-    private static class BooleanField extends SynchronizedField<Boolean> {
-        private BooleanField(Object source, Field field) {
-            super(source, field);
+        boolean hasChanges(Object host, long[] sentPrimitives, Object[] sentObjects) {
+            return (long) handle.get(host) != sentPrimitives[index];
         }
 
         @Override
-        protected void writeValue(RegistryFriendlyByteBuf data, Boolean value) {
-            data.writeBoolean(value);
+        void write(Object host, RegistryFriendlyByteBuf data, long[] sentPrimitives, Object[] sentObjects) {
+            long value = (long) handle.get(host);
+            sentPrimitives[index] = value;
+            data.writeLong(value);
         }
 
         @Override
-        protected Boolean readValue(RegistryFriendlyByteBuf data) {
-            return data.readBoolean();
+        void read(Object host, RegistryFriendlyByteBuf data) {
+            handle.set(host, data.readLong());
         }
     }
 
-    private static class EnumField<T extends Enum<T>> extends SynchronizedField<T> {
-        private final T[] values;
-
-        private EnumField(Object source, Field field, T[] values) {
-            super(source, field);
-            this.values = values;
+    private static class DoubleField extends SynchronizedField {
+        private DoubleField(short key, int index, Field field) {
+            super(key, index, field);
         }
 
         @Override
-        protected void writeValue(RegistryFriendlyByteBuf data, T value) {
-            if (value == null) {
-                data.writeShort(-1);
-            } else {
-                data.writeShort((short) value.ordinal());
-            }
+        boolean isPrimitive() {
+            return true;
         }
 
         @Override
-        protected T readValue(RegistryFriendlyByteBuf data) {
-            int ordinal = data.readShort();
-            if (ordinal == -1) {
-                return null;
-            } else {
-                return values[ordinal];
-            }
+        boolean hasChanges(Object host, long[] sentPrimitives, Object[] sentObjects) {
+            // Same semantics as Double.equals
+            return Double.doubleToLongBits((double) handle.get(host)) != sentPrimitives[index];
         }
-    }
 
-    private static class TextComponentField extends SynchronizedField<Component> {
-        private TextComponentField(Object source, Field field) {
-            super(source, field);
+        @Override
+        void write(Object host, RegistryFriendlyByteBuf data, long[] sentPrimitives, Object[] sentObjects) {
+            double value = (double) handle.get(host);
+            sentPrimitives[index] = Double.doubleToLongBits(value);
+            data.writeDouble(value);
         }
 
         @Override
-        protected void writeValue(RegistryFriendlyByteBuf data, Component value) {
-            if (value == null) {
-                data.writeBoolean(false);
-            } else {
-                data.writeBoolean(true);
-                ComponentSerialization.TRUSTED_STREAM_CODEC.encode(data, value);
-            }
+        void read(Object host, RegistryFriendlyByteBuf data) {
+            handle.set(host, data.readDouble());
+        }
+    }
+
+    private static class BooleanField extends SynchronizedField {
+        private BooleanField(short key, int index, Field field) {
+            super(key, index, field);
         }
 
         @Override
-        protected Component readValue(RegistryFriendlyByteBuf data) {
-            if (data.readBoolean()) {
-                return ComponentSerialization.TRUSTED_STREAM_CODEC.decode(data);
-            } else {
-                return null;
-            }
+        boolean isPrimitive() {
+            return true;
         }
-    }
 
-    private static class GenericStackField extends SynchronizedField<GenericStack> {
-        private GenericStackField(Object source, Field field) {
-            super(source, field);
+        @Override
+        boolean hasChanges(Object host, long[] sentPrimitives, Object[] sentObjects) {
+            return ((boolean) handle.get(host) ? 1 : 0) != sentPrimitives[index];
         }
 
         @Override
-        protected void writeValue(RegistryFriendlyByteBuf data, GenericStack value) {
-            GenericStack.writeBuffer(value, data);
+        void write(Object host, RegistryFriendlyByteBuf data, long[] sentPrimitives, Object[] sentObjects) {
+            boolean value = (boolean) handle.get(host);
+            sentPrimitives[index] = value ? 1 : 0;
+            data.writeBoolean(value);
         }
 
         @Override
-        protected GenericStack readValue(RegistryFriendlyByteBuf data) {
-            return GenericStack.readBuffer(data);
+        void read(Object host, RegistryFriendlyByteBuf data) {
+            handle.set(host, data.readBoolean());
         }
     }
 
-    private static class ResourceLocationField extends SynchronizedField<ResourceLocation> {
-        private ResourceLocationField(Object source, Field field) {
-            super(source, field);
+    private static class ObjectField<T> extends SynchronizedField {
+        private final BiConsumer<RegistryFriendlyByteBuf, T> writer;
+        private final Function<RegistryFriendlyByteBuf, T> reader;
+
+        private ObjectField(short key, int index, Field field, BiConsumer<RegistryFriendlyByteBuf, T> writer,
+                Function<RegistryFriendlyByteBuf, T> reader) {
+            super(key, index, field);
+            this.writer = writer;
+            this.reader = reader;
         }
 
         @Override
-        protected void writeValue(RegistryFriendlyByteBuf data, ResourceLocation value) {
-            if (value == null) {
-                data.writeBoolean(false);
-            } else {
-                data.writeBoolean(true);
-                data.writeResourceLocation(value);
-            }
+        boolean hasChanges(Object host, long[] sentPrimitives, Object[] sentObjects) {
+            return !Objects.equals(handle.get(host), sentObjects[index]);
         }
 
+        @SuppressWarnings("unchecked")
         @Override
-        protected ResourceLocation readValue(RegistryFriendlyByteBuf data) {
-            if (data.readBoolean()) {
-                return data.readResourceLocation();
-            } else {
-                return null;
-            }
+        void write(Object host, RegistryFriendlyByteBuf data, long[] sentPrimitives, Object[] sentObjects) {
+            var value = (T) handle.get(host);
+            sentObjects[index] = value;
+            writer.accept(data, value);
+        }
+
+        @Override
+        void read(Object host, RegistryFriendlyByteBuf data) {
+            handle.set(host, reader.apply(data));
         }
     }
 
-    private static class CustomField extends SynchronizedField<Object> {
+    private static class CustomField extends ObjectField<Object> {
         private static final Map<Class<?>, Function<RegistryFriendlyByteBuf, Object>> factories = new HashMap<>();
-        private final Class<?> fieldType;
 
-        private CustomField(Object source, Field field) {
-            super(source, field);
-            this.fieldType = field.getType();
+        private CustomField(short key, int index, Field field) {
+            super(key, index, field, (data, value) -> ((PacketWritable) value).writeToPacket(data),
+                    getFactory(field));
+        }
+
+        private static Function<RegistryFriendlyByteBuf, Object> getFactory(Field field) {
+            var fieldType = field.getType();
             Preconditions.checkArgument(PacketWritable.class.isAssignableFrom(fieldType));
             if (!fieldType.isRecord()) {
                 throw new RuntimeException("Use records to synchronize custom class on " + field
                         + " to enable easier equals comparisons");
             }
+            // The constructor is only looked up once it is needed, which is only on the client
+            return data -> factories.computeIfAbsent(fieldType, CustomField::createFactory).apply(data);
         }
 
-        @Override
-        protected void writeValue(RegistryFriendlyByteBuf data, Object value) {
-            ((PacketWritable) value).writeToPacket(data);
-        }
-
-        @Override
-        protected Object readValue(RegistryFriendlyByteBuf data) {
-            var factory = factories.computeIfAbsent(fieldType, CustomField::getFactory);
-            return factory.apply(data);
-        }
-
-        private static Function<RegistryFriendlyByteBuf, Object> getFactory(Class<?> clazz) {
+        private static Function<RegistryFriendlyByteBuf, Object> createFactory(Class<?> clazz) {
             try {
                 var constructor = clazz.getConstructor(RegistryFriendlyByteBuf.class);
                 return buffer -> {
@@ -18,6 +18,7 @@
 
 package appeng.menu.implementations;
 
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.Map;
@@ -28,12 +29,11 @@
 
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.MenuType;
 import net.minecraft.world.item.ItemStack;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectArrayMap;
-import it.unimi.dsi.fastutil.ints.IntArrayList;
-import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 
 import appeng.api.config.Settings;
@@ -41,7 +41,6 @@
 import appeng.api.crafting.PatternDetailsHelper;
 import appeng.api.implementations.blockentities.PatternContainerGroup;
 import appeng.api.inventories.InternalInventory;
-import appeng.api.networking.IGrid;
 import appeng.api.storage.ILinkStatus;
 import appeng.api.storage.IPatternAccessTermMenuHost;
 import appeng.client.gui.me.patternaccess.PatternAccessTermScreen;
@@ -51,6 +50,7 @@
 import appeng.core.network.clientbound.SetLinkStatusPacket;
 import appeng.helpers.InventoryAction;
 import appeng.helpers.patternprovider.PatternContainer;
+import appeng.me.service.PatternContainerService;
 import appeng.menu.AEBaseMenu;
 import appeng.menu.guisync.GuiSync;
 import appeng.menu.guisync.LinkStatusAwareMenu;
@@ -91,6 +91,42 @@ public ShowPatternProviders getShownProviders() {
      */
     private final Set<PatternContainer> pinnedHosts = Collections.newSetFromMap(new IdentityHashMap<>());
 
+    /**
+     * Containers whose visibility, group or active state may have changed since the last update.
+     */
+    private final Set<PatternContainer> dirtyContainers = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Containers that are not required to report their changes to {@link PatternContainerService} are re-checked in
+     * full at this interval (in ticks).
+     */
+    private static final int RESCAN_INTERVAL = 40;
+
+    /**
+     * The service of the grid we're currently receiving container changes from.
+     */
+    @Nullable
+    private PatternContainerService containerService;
+    private final PatternContainerService.Listener containerListener = new PatternContainerService.Listener() {
+        @Override
+        public void onContainerChanged(PatternContainer container) {
+            dirtyContainers.add(container);
+        }
+
+        @Override
+        public void onPatternsChanged(PatternContainer container, int slot) {
+            var tracker = diList.get(container);
+            if (tracker != null) {
+                tracker.dirtySlots.set(slot);
+            } else {
+                // It may have become visible if we only show providers that are not full
+                dirtyContainers.add(container);
+            }
+        }
+    };
+    private boolean forceFullUpdate;
+    private int ticksSinceRescan;
+
     public PatternAccessTermMenu(int id, Inventory ip, IPatternAccessTermMenuHost anchor) {
         this(TYPE, id, ip, anchor, true);
     }
@@ -104,14 +140,17 @@ public PatternAccessTermMenu(MenuType<?> menuType, int id, Inventory ip, IPatter
         }
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void broadcastChanges() {
         if (isClientSide()) {
             return;
         }
 
-        showPatternProviders = this.host.getConfigManager().getSetting(Settings.TERMINAL_SHOW_PATTERN_PROVIDERS);
+        var shownProviders = this.host.getConfigManager().getSetting(Settings.TERMINAL_SHOW_PATTERN_PROVIDERS);
+        if (shownProviders != showPatternProviders) {
+            showPatternProviders = shownProviders;
+            forceFullUpdate = true;
+        }
 
         super.broadcastChanges();
 
@@ -121,47 +160,88 @@ public void broadcastChanges() {
             this.pinnedHosts.clear();
         }
 
-        IGrid grid = getGrid();
+        var service = getContainerService();
+        if (service != this.containerService) {
+            if (this.containerService != null) {
+                this.containerService.removeListener(containerListener);
+            }
+            this.containerService = service;
+            if (service != null) {
+                service.addListener(containerListener);
+            }
+            this.pinnedHosts.clear();
+            this.ticksSinceRescan = 0;
+            forceFullUpdate = true;
+        }
 
-        var state = new VisitorState();
-        if (grid != null) {
-            for (var machineClass : grid.getMachineClasses()) {
-                if (PatternContainer.class.isAssignableFrom(machineClass)) {
-                    visitPatternProviderHosts(grid, (Class<? extends PatternContainer>) machineClass, state);
-                }
+        if (service != null && ++ticksSinceRescan >= RESCAN_INTERVAL) {
+            ticksSinceRescan = 0;
+            this.dirtyContainers.addAll(service.getContainers());
+            for (var tracker : this.diList.values()) {
+                tracker.dirtySlots.set(0, tracker.server.size());
             }
+        }
 
-            // Ensure we don't keep references to removed hosts
-            pinnedHosts.removeIf(host -> host.getGrid() != grid);
-        } else {
-            pinnedHosts.clear();
+        if (!forceFullUpdate) {
+            for (var container : this.dirtyContainers) {
+                if (hasVisibilityOrGroupChanged(service, container)) {
+                    forceFullUpdate = true;
+                    break;
+                }
+            }
         }
+        this.dirtyContainers.clear();
 
-        if (state.total != this.diList.size() || state.forceFullUpdate) {
-            sendFullUpdate(grid);
+        if (forceFullUpdate) {
+            forceFullUpdate = false;
+            sendFullUpdate(service);
         } else {
             sendIncrementalUpdate();
         }
     }
 
+    @Override
+    public void removed(Player player) {
+        super.removed(player);
+        if (this.containerService != null) {
+            this.containerService.removeListener(containerListener);
+            this.containerService = null;
+        }
+    }
+
     @Nullable
-    private IGrid getGrid() {
+    private PatternContainerService getContainerService() {
         var agn = host.getGridNode();
         if (agn != null && agn.isActive()) {
-            return agn.getGrid();
+            return PatternContainerService.get(agn.getGrid());
         }
         return null;
     }
 
-    public ILinkStatus getLinkStatus() {
-        return linkStatus;
+    /**
+     * Checks whether the container has to be added to or removed from the terminal, or moved to a different group.
+     */
+    private boolean hasVisibilityOrGroupChanged(@Nullable PatternContainerService service,
+            PatternContainer container) {
+        var tracker = this.diList.get(container);
+        if (service == null || !service.isActive(container)) {
+            this.pinnedHosts.remove(container);
+            return tracker != null;
+        }
+
+        if (!isVisible(container)) {
+            return tracker != null;
+        }
+
+        if (getShownProviders() == ShowPatternProviders.NOT_FULL) {
+            pinnedHosts.add(container);
+        }
+
+        return tracker == null || !tracker.group.equals(container.getTerminalGroup());
     }
 
-    private static class VisitorState {
-        // Total number of pattern provider hosts found
-        int total;
-        // Set to true if any visited machines were missing from diList, or had a different name
-        boolean forceFullUpdate;
+    public ILinkStatus getLinkStatus() {
+        return linkStatus;
     }
 
     private boolean isFull(PatternContainer logic) {
@@ -183,26 +263,6 @@ private boolean isVisible(PatternContainer container) {
         };
     }
 
-    private <T extends PatternContainer> void visitPatternProviderHosts(IGrid grid, Class<T> machineClass,
-            VisitorState state) {
-        for (var container : grid.getActiveMachines(machineClass)) {
-            if (!isVisible(container)) {
-                continue;
-            }
-
-            if (getShownProviders() == ShowPatternProviders.NOT_FULL) {
-                pinnedHosts.add(container);
-            }
-
-            var t = this.diList.get(container);
-            if (t == null || !t.group.equals(container.getTerminalGroup())) {
-                state.forceFullUpdate = true;
-            }
-
-            state.total++;
-        }
-    }
-
     @Override
     public void doAction(ServerPlayer player, InventoryAction action, int slot, long id) {
         final ContainerTracker inv = this.byId.get(id);
@@ -287,28 +347,27 @@ public void doAction(ServerPlayer player, InventoryAction action, int slot, long
         }
     }
 
-    private void sendFullUpdate(@Nullable IGrid grid) {
+    private void sendFullUpdate(@Nullable PatternContainerService service) {
         this.byId.clear();
         this.diList.clear();
 
         sendPacketToClient(new ClearPatternAccessTerminalPacket());
 
-        if (grid == null) {
+        if (service == null) {
             return;
         }
 
-        for (var machineClass : grid.getMachineClasses()) {
-            var containerClass = tryCastMachineToContainer(machineClass);
-            if (containerClass == null) {
-                continue;
-            }
+        // Ensure we don't keep references to removed hosts
+        pinnedHosts.removeIf(container -> !service.isActive(container));
 
-            for (var container : grid.getActiveMachines(containerClass)) {
-                if (isVisible(container)) {
-                    this.diList.put(container, new ContainerTracker(container,
-                            container.getTerminalPatternInventory(),
-                            container.getTerminalGroup()));
+        for (var container : service.getContainers()) {
+            if (service.isActive(container) && isVisible(container)) {
+                if (getShownProviders() == ShowPatternProviders.NOT_FULL) {
+                    pinnedHosts.add(container);
                 }
+                this.diList.put(container, new ContainerTracker(container,
+                        container.getTerminalPatternInventory(),
+                        container.getTerminalGroup()));
             }
         }
 
@@ -337,6 +396,8 @@ private static class ContainerTracker {
         private final InternalInventory client;
         // This is a reference to the real inventory used by this machine
         private final InternalInventory server;
+        // Slots that may have changed since the last update
+        private final BitSet dirtySlots = new BitSet();
 
         public ContainerTracker(PatternContainer container, InternalInventory patterns, PatternContainerGroup group) {
             this.container = container;
@@ -353,7 +414,9 @@ public PatternAccessTerminalPacket createFullPacket() {
                 if (!stack.isEmpty()) {
                     slots.put(i, stack);
                 }
+                client.setItemDirect(i, stack.isEmpty() ? ItemStack.EMPTY : stack.copy());
             }
+            dirtySlots.clear();
 
             return PatternAccessTerminalPacket.fullUpdate(
                     serverId,
@@ -365,18 +428,30 @@ public PatternAccessTerminalPacket createFullPacket() {
 
         @Nullable
         public PatternAccessTerminalPacket createUpdatePacket() {
-            var changedSlots = detectChangedSlots();
-            if (changedSlots == null) {
+            if (dirtySlots.isEmpty()) {
                 return null;
             }
 
-            var slots = new Int2ObjectArrayMap<ItemStack>(changedSlots.size());
-            for (int i = 0; i < changedSlots.size(); i++) {
-                var slot = changedSlots.getInt(i);
+            Int2ObjectArrayMap<ItemStack> slots = null;
+            for (int slot = dirtySlots.nextSetBit(0); slot >= 0; slot = dirtySlots.nextSetBit(slot + 1)) {
+                if (slot >= server.size()) {
+                    break;
+                }
+
                 var stack = server.getStackInSlot(slot);
-                // "update" client side.
-                client.setItemDirect(slot, stack.isEmpty() ? ItemStack.EMPTY : stack.copy());
-                slots.put(slot, stack);
+                if (isDifferent(stack, client.getStackInSlot(slot))) {
+                    if (slots == null) {
+                        slots = new Int2ObjectArrayMap<>();
+                    }
+                    // "update" client side.
+                    client.setItemDirect(slot, stack.isEmpty() ? ItemStack.EMPTY : stack.copy());
+                    slots.put(slot, stack);
+                }
+            }
+            dirtySlots.clear();
+
+            if (slots == null) {
+                return null;
             }
 
             return PatternAccessTerminalPacket.incrementalUpdate(
@@ -384,20 +459,6 @@ public PatternAccessTerminalPacket createUpdatePacket() {
                     slots);
         }
 
-        @Nullable
-        private IntList detectChangedSlots() {
-            IntList changedSlots = null;
-            for (int x = 0; x < server.size(); x++) {
-                if (isDifferent(server.getStackInSlot(x), client.getStackInSlot(x))) {
-                    if (changedSlots == null) {
-                        changedSlots = new IntArrayList();
-                    }
-                    changedSlots.add(x);
-                }
-            }
-            return changedSlots;
-        }
-
         private static boolean isDifferent(ItemStack a, ItemStack b) {
             if (a.isEmpty() && b.isEmpty()) {
                 return false;
@@ -423,13 +484,6 @@ public boolean allowInsert(InternalInventory inv, int slot, ItemStack stack) {
         }
     }
 
-    private static Class<? extends PatternContainer> tryCastMachineToContainer(Class<?> machineClass) {
-        if (PatternContainer.class.isAssignableFrom(machineClass)) {
-            return machineClass.asSubclass(PatternContainer.class);
-        }
-        return null;
-    }
-
     // When using a custom implementation of ILinkStatus, override this and implement your own packet
     protected void updateLinkStatus() {
         var linkStatus = host.getLinkStatus();
@@ -38,6 +38,12 @@ public interface IClientRepo {
      */
     void handleUpdate(boolean fullUpdate, List<GridInventoryEntry> entries);
 
+    /**
+     * Sets the number of changed entries that the server has yet to send, because large updates are spread over
+     * multiple ticks.
+     */
+    void setPendingEntries(int pendingEntries);
+
     /**
      * @return All entries in this repository, regardless of any filter.
      */
@@ -18,8 +18,8 @@
 
 package appeng.menu.me.common;
 
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.function.Consumer;
@@ -48,7 +48,10 @@ public class IncrementalUpdateHelper implements Iterable<AEKey> {
      */
     private final BiMap<AEKey, Long> mapping;
 
-    private final Set<AEKey> changes = new HashSet<>();
+    /**
+     * The pending changes, in the order they were first queued.
+     */
+    private final Set<AEKey> changes = new LinkedHashSet<>();
 
     private long serial;
 
@@ -94,11 +97,12 @@ public void reset() {
         this.mapping.clear();
     }
 
+    /**
+     * Queues a change of the given key. A key that is already queued keeps its place, so that changes which are
+     * spread over multiple updates are sent in the order they were first queued.
+     */
     public void addChange(AEKey entry) {
-        if (!changes.add(entry)) {
-            changes.remove(entry);
-            changes.add(entry);
-        }
+        changes.add(entry);
     }
 
     /**
@@ -114,6 +118,28 @@ public void commitChanges() {
         fullUpdate = false;
     }
 
+    /**
+     * Removes the change that was queued first, to send it while other changes may still be pending. Any further
+     * update is incremental.
+     *
+     * @return The key of the removed change, or null if no changes are pending.
+     */
+    @Nullable
+    public AEKey pollChange() {
+        var it = changes.iterator();
+        if (!it.hasNext()) {
+            return null;
+        }
+        var key = it.next();
+        it.remove();
+        fullUpdate = false;
+        return key;
+    }
+
+    public int getChangeCount() {
+        return changes.size();
+    }
+
     public boolean hasChanges() {
         return fullUpdate || !changes.isEmpty();
     }
@@ -20,6 +20,7 @@
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -69,7 +70,9 @@
 import appeng.api.util.KeyTypeSelection;
 import appeng.api.util.KeyTypeSelectionHost;
 import appeng.client.gui.me.common.MEStorageScreen;
+import appeng.core.AEConfig;
 import appeng.core.AELog;
+import appeng.core.network.KeyDictionary;
 import appeng.core.network.ServerboundPacket;
 import appeng.core.network.bidirectional.ConfigValuePacket;
 import appeng.core.network.clientbound.MEInventoryUpdatePacket;
@@ -257,28 +260,45 @@ public void broadcastChanges() {
             var requestables = new KeyCounter();
 
             try {
+                var changes = new ArrayList<AEKey>();
                 // Craftables
                 // Newly craftable
-                Sets.difference(previousCraftables, craftables).forEach(updateHelper::addChange);
+                changes.addAll(Sets.difference(previousCraftables, craftables));
                 // No longer craftable
-                Sets.difference(craftables, previousCraftables).forEach(updateHelper::addChange);
+                changes.addAll(Sets.difference(craftables, previousCraftables));
 
                 // Available changes
                 previousAvailableStacks.removeAll(availableStacks);
                 previousAvailableStacks.removeZeros();
-                previousAvailableStacks.keySet().forEach(updateHelper::addChange);
+                changes.addAll(previousAvailableStacks.keySet());
+
+                var byteBudget = AEConfig.instance().getTerminalSyncBytesPerTick();
+                if (byteBudget > 0) {
+                    // Only this tick's changes are sorted, changes that are still pending keep their place
+                    changes.sort(getUpdateOrder(availableStacks, craftables));
+                }
+                changes.forEach(updateHelper::addChange);
 
                 if (updateHelper.hasChanges()) {
                     var builder = MEInventoryUpdatePacket
                             .builder(containerId, updateHelper.isFullUpdate(), getPlayer().registryAccess());
                     builder.setFilter(this::isKeyVisible);
+                    if (getPlayer() instanceof ServerPlayer serverPlayer) {
+                        builder.setKeyDictionary(KeyDictionary.forPlayer(serverPlayer));
+                    }
+                    if (byteBudget > 0) {
+                        builder.setByteBudget(byteBudget);
+                    }
                     builder.addChanges(updateHelper, availableStacks, craftables, requestables);
                     builder.buildAndSend(this::sendPacketToClient);
-                    updateHelper.commitChanges();
                 }
 
             } catch (Exception e) {
                 AELog.warn(e, "Failed to send incremental inventory update to client");
+                // Ids may have been assigned for keys that never reached the client
+                if (getPlayer() instanceof ServerPlayer serverPlayer) {
+                    KeyDictionary.reset(serverPlayer);
+                }
             }
 
             previousCraftables = ImmutableSet.copyOf(craftables);
@@ -289,6 +309,36 @@ public void broadcastChanges() {
 
     }
 
+    /**
+     * Approximates the order in which the client shows the entries, so that updates spread over multiple ticks send
+     * what the player sees first. Changes are queued in this order as they arrive. The server doesn't know the
+     * translated names or the search text of the client, so entries are ordered by their id instead of their name, and
+     * only the view mode is taken into account.
+     */
+    private Comparator<AEKey> getUpdateOrder(KeyCounter availableStacks, Set<AEKey> craftables) {
+        var viewMode = serverCM.hasSetting(Settings.VIEW_MODE) ? serverCM.getSetting(Settings.VIEW_MODE)
+                : ViewItems.ALL;
+        var sortBy = serverCM.hasSetting(Settings.SORT_BY) ? serverCM.getSetting(Settings.SORT_BY) : SortOrder.NAME;
+        var sortDir = serverCM.hasSetting(Settings.SORT_DIRECTION) ? serverCM.getSetting(Settings.SORT_DIRECTION)
+                : SortDir.ASCENDING;
+
+        Comparator<AEKey> sorted = switch (sortBy) {
+            case AMOUNT -> Comparator.comparingLong(availableStacks::get);
+            case MOD -> Comparator.comparing(AEKey::getModId).thenComparing(key -> key.getId().getPath());
+            case NAME -> Comparator.comparing(key -> key.getId().getPath());
+        };
+        if (sortDir == SortDir.DESCENDING) {
+            sorted = sorted.reversed();
+        }
+
+        Comparator<AEKey> hiddenLast = Comparator.comparing(key -> switch (viewMode) {
+            case ALL -> false;
+            case STORED -> availableStacks.get(key) <= 0;
+            case CRAFTABLE -> !craftables.contains(key);
+        });
+        return hiddenLast.thenComparing(sorted);
+    }
+
     @Override
     public void onServerDataSync(ShortSet updatedFields) {
         super.onServerDataSync(updatedFields);
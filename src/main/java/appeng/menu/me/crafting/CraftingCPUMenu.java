@@ -20,6 +20,8 @@
 
 import java.util.function.Consumer;
 
+import org.jetbrains.annotations.Nullable;
+
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
@@ -33,6 +35,7 @@
 import appeng.api.stacks.KeyCounter;
 import appeng.blockentity.crafting.CraftingBlockEntity;
 import appeng.core.network.clientbound.CraftingStatusPacket;
+import appeng.crafting.execution.CraftingJobTelemetry;
 import appeng.me.cluster.implementations.CraftingCPUCluster;
 import appeng.menu.AEBaseMenu;
 import appeng.menu.guisync.GuiSync;
@@ -67,6 +70,14 @@ public class CraftingCPUMenu extends AEBaseMenu {
     public CpuSelectionMode schedulingMode = CpuSelectionMode.ANY;
     @GuiSync(1)
     public boolean cantStoreItems = false;
+    /**
+     * The co-processor utilization in percent, or -1 if no job telemetry is collected.
+     */
+    @GuiSync(2)
+    public int coProcessorUtilization = -1;
+    @GuiSync(3)
+    @Nullable
+    public CraftingJobTelemetry.CpuState cpuState;
 
     public CraftingCPUMenu(MenuType<?> menuType, int id, Inventory ip, Object te) {
         super(menuType, id, ip, te);
@@ -141,6 +152,14 @@ public void broadcastChanges() {
         if (isServerSide() && this.cpu != null) {
             this.schedulingMode = this.cpu.getSelectionMode();
             this.cantStoreItems = this.cpu.craftingLogic.isCantStoreItems();
+            var telemetry = this.cpu.craftingLogic.getTelemetry();
+            if (telemetry != null) {
+                this.coProcessorUtilization = this.cpu.craftingLogic.getCoProcessorUtilization();
+                this.cpuState = telemetry.getLastState();
+            } else {
+                this.coProcessorUtilization = -1;
+                this.cpuState = null;
+            }
 
             if (this.incrementalUpdateHelper.hasChanges()) {
                 CraftingStatus status = CraftingStatus.create(this.incrementalUpdateHelper, this.cpu.craftingLogic);
@@ -161,6 +180,15 @@ public boolean isCantStoreItems() {
         return cantStoreItems;
     }
 
+    public int getCoProcessorUtilization() {
+        return coProcessorUtilization;
+    }
+
+    @Nullable
+    public CraftingJobTelemetry.CpuState getCpuState() {
+        return cpuState;
+    }
+
     public boolean allowConfiguration() {
         return true;
     }
@@ -0,0 +1,24 @@
+package appeng.mixins;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.state.BlockState;
+
+import appeng.hooks.BlockChangeListeners;
+
+/**
+ * Forwards all block state changes to {@link BlockChangeListeners}, including those that don't update neighbors.
+ */
+@Mixin(ServerLevel.class)
+public class ServerLevelMixin {
+    @Inject(method = "onBlockStateChange", at = @At("HEAD"))
+    private void notifyBlockChangeListeners(BlockPos pos, BlockState oldState, BlockState newState,
+            CallbackInfo ci) {
+        BlockChangeListeners.onBlockStateChange((ServerLevel) (Object) this, pos);
+    }
+}
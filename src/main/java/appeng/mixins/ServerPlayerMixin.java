@@ -0,0 +1,37 @@
+package appeng.mixins;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import net.minecraft.server.level.ServerPlayer;
+
+import appeng.hooks.ticking.TickProfiler;
+import appeng.menu.AEBaseMenu;
+
+/**
+ * Attributes the time spent synchronizing AE2 menus to the {@link TickProfiler}. This has to happen around the call,
+ * since most menus do their work in overrides of {@link AEBaseMenu#broadcastChanges()}.
+ */
+@Mixin(ServerPlayer.class)
+public class ServerPlayerMixin {
+    @Inject(method = "tick", at = @At(value = "INVOKE",
+            target = "Lnet/minecraft/world/inventory/AbstractContainerMenu;broadcastChanges()V"))
+    private void startMenuTimer(CallbackInfo ci) {
+        var menu = ((ServerPlayer) (Object) this).containerMenu;
+        if (menu instanceof AEBaseMenu) {
+            TickProfiler.menu(menu.getClass()).start();
+        }
+    }
+
+    @Inject(method = "tick", at = @At(value = "INVOKE",
+            target = "Lnet/minecraft/world/inventory/AbstractContainerMenu;broadcastChanges()V",
+            shift = At.Shift.AFTER))
+    private void stopMenuTimer(CallbackInfo ci) {
+        var menu = ((ServerPlayer) (Object) this).containerMenu;
+        if (menu instanceof AEBaseMenu) {
+            TickProfiler.menu(menu.getClass()).stop();
+        }
+    }
+}
@@ -18,13 +18,10 @@
 
 package appeng.parts;
 
-import java.io.IOException;
 import java.util.EnumSet;
 import java.util.Map;
 import java.util.Objects;
 
-import com.google.gson.stream.JsonWriter;
-
 import org.jetbrains.annotations.MustBeInvokedByOverriders;
 import org.jetbrains.annotations.Nullable;
 
@@ -71,6 +68,7 @@
 import appeng.core.definitions.AEBlocks;
 import appeng.core.definitions.AEParts;
 import appeng.items.tools.MemoryCardItem;
+import appeng.util.DebugExport;
 import appeng.util.IDebugExportable;
 import appeng.util.InteractionUtil;
 import appeng.util.JsonStreamUtil;
@@ -484,13 +482,13 @@ protected boolean shouldSendMissingChannelStateToClient() {
     }
 
     @Override
-    public void debugExport(JsonWriter writer, HolderLookup.Provider registries, Reference2IntMap<Object> machineIds,
-            Reference2IntMap<IGridNode> nodeIds)
-            throws IOException {
+    public DebugExport debugExport(HolderLookup.Provider registries, Reference2IntMap<Object> machineIds,
+            Reference2IntMap<IGridNode> nodeIds) {
         var myId = machineIds.getOrDefault(this, -1);
-        JsonStreamUtil.writeProperties(Map.of(
+        Map<String, ?> properties = Map.of(
                 "id", myId,
                 "item", BuiltInRegistries.ITEM.getKey(getPartItem().asItem()).toString(),
-                "mainNodeId", nodeIds.getOrDefault(mainNode.getNode(), -1)), writer);
+                "mainNodeId", nodeIds.getOrDefault(mainNode.getNode(), -1));
+        return writer -> JsonStreamUtil.writeProperties(properties, writer);
     }
 }
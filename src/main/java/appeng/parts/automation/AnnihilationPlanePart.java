@@ -18,6 +18,7 @@
 
 package appeng.parts.automation;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.jetbrains.annotations.Nullable;
@@ -34,6 +35,7 @@
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.enchantment.ItemEnchantments;
 import net.minecraft.world.level.BlockGetter;
 import net.neoforged.neoforge.client.model.data.ModelData;
@@ -57,9 +59,12 @@
 import appeng.core.AEConfig;
 import appeng.core.definitions.AEItems;
 import appeng.core.settings.TickRates;
+import appeng.hooks.BlockChangeListeners;
 import appeng.items.parts.PartModels;
 import appeng.me.helpers.MachineSource;
+import appeng.me.service.DeferredInsertService;
 import appeng.parts.AEBasePart;
+import appeng.util.Platform;
 import appeng.util.SettingsFrom;
 
 public class AnnihilationPlanePart extends AEBasePart implements IGridTickable {
@@ -91,6 +96,14 @@ public static List<IPartModel> getModels() {
     private ContinuousGeneration continuousGeneration;
     private int continuousGenerationTicks;
 
+    /**
+     * Wakes the plane up whenever the block in front of it changes, even if the change doesn't update neighbors (i.e.
+     * crops growing).
+     */
+    private final Runnable blockChangeListener = this::refresh;
+    @Nullable
+    private BlockPos listeningPos;
+
     public AnnihilationPlanePart(IPartItem<?> partItem) {
         super(partItem);
         getMainNode().addService(IGridTickable.class, this);
@@ -114,6 +127,21 @@ public void addToWorld() {
                     1,
                     200);
         }
+
+        if (host.getLevel() instanceof ServerLevel serverLevel) {
+            listeningPos = host.getBlockPos().relative(getSide());
+            BlockChangeListeners.register(serverLevel, listeningPos, blockChangeListener);
+        }
+    }
+
+    @Override
+    public void removeFromWorld() {
+        super.removeFromWorld();
+
+        if (listeningPos != null && getLevel() instanceof ServerLevel serverLevel) {
+            BlockChangeListeners.unregister(serverLevel, listeningPos, blockChangeListener);
+            listeningPos = null;
+        }
     }
 
     @Override
@@ -348,10 +376,37 @@ private long insertIntoGrid(AEKey what, long amount, Actionable mode) {
         if (grid == null) {
             return 0;
         }
+        // Only items can be handed back by dropping them, so other keys are always inserted right away
+        if (AEConfig.instance().isBatchAnnihilationPlaneInserts() && what instanceof AEItemKey) {
+            return DeferredInsertService.get(grid).insert(what, amount, mode, this.actionSource,
+                    this::dropNotInserted);
+        }
         return StorageHelper.poweredInsert(grid.getEnergyService(), grid.getStorageService().getInventory(),
                 what, amount, this.actionSource, mode);
     }
 
+    /**
+     * Drops items that were picked up, but could not be inserted into the network after all, in front of the plane.
+     * The plane will pick them up again once the network has space.
+     *
+     * @return The amount that could not be dropped and stays queued.
+     */
+    private long dropNotInserted(AEKey what, long amount) {
+        var be = getBlockEntity();
+        if (!(what instanceof AEItemKey itemKey) || be == null || be.getLevel() == null) {
+            return amount;
+        }
+
+        var drops = new ArrayList<ItemStack>();
+        while (amount > 0) {
+            var count = (int) Math.min(amount, itemKey.getMaxStackSize());
+            drops.add(itemKey.toStack(count));
+            amount -= count;
+        }
+        Platform.spawnDrops(be.getLevel(), be.getBlockPos().relative(getSide()), drops);
+        return 0;
+    }
+
     @Override
     public IPartModel getStaticModels() {
         return MODELS.getModel(this.isPowered(), this.isActive());
@@ -0,0 +1,150 @@
+package appeng.parts.automation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+/**
+ * Counts the entities around formation planes. Many planes dropping items next to each other would otherwise each
+ * query the same area of the level for every item they drop.
+ * <p>
+ * The bounding boxes of the entities are collected per chunk section, and each section is queried at most once per tick
+ * and level. Planes then count the entities intersecting their search area from the collected boxes, so they count the
+ * same entities as a direct query of that area would. Entities spawned by planes during the tick are added to the
+ * sections they were spawned in, so that planes placing items after them in the same tick still see them.
+ */
+final class EntityDensityCache {
+    /**
+     * How far around the queried position entities are counted, in blocks.
+     */
+    private static final int RADIUS = 8;
+
+    /**
+     * The caches must not reference their level, since that would keep the weak keys from being collected.
+     */
+    private static final Map<Level, EntityDensityCache> CACHES = new WeakHashMap<>();
+
+    private final Long2ObjectMap<Section> sections = new Long2ObjectOpenHashMap<>();
+    private long gameTime;
+
+    private EntityDensityCache(long gameTime) {
+        this.gameTime = gameTime;
+    }
+
+    private static EntityDensityCache get(Level level) {
+        var cache = CACHES.computeIfAbsent(level, l -> new EntityDensityCache(l.getGameTime()));
+        if (cache.gameTime != level.getGameTime()) {
+            cache.gameTime = level.getGameTime();
+            cache.sections.clear();
+        }
+        return cache;
+    }
+
+    /**
+     * @return The number of entities intersecting the area within {@value #RADIUS} blocks of the given position.
+     */
+    static int countEntitiesAround(Level level, BlockPos pos) {
+        var cache = get(level);
+        var bounds = new AABB(pos).inflate(RADIUS);
+
+        // Entities overlapping multiple sections are collected for each of them
+        var counted = new IntOpenHashSet();
+        forEachSection(bounds, (x, y, z) -> {
+            var section = cache.getSection(level, x, y, z);
+            for (var i = 0; i < section.ids.size(); i++) {
+                if (section.boxes.get(i).intersects(bounds)) {
+                    counted.add(section.ids.getInt(i));
+                }
+            }
+        });
+        return counted.size();
+    }
+
+    /**
+     * Records that an entity was spawned during this tick.
+     */
+    static void onEntitySpawned(Level level, Entity entity) {
+        var cache = get(level);
+        var bounds = entity.getBoundingBox();
+        forEachSection(bounds, (x, y, z) -> {
+            // Sections that weren't collected yet will include the new entity once they are
+            var section = cache.sections.get(SectionPos.asLong(x, y, z));
+            if (section != null) {
+                section.add(entity.getId(), bounds);
+            }
+        });
+    }
+
+    private Section getSection(Level level, int x, int y, int z) {
+        var key = SectionPos.asLong(x, y, z);
+        var section = sections.get(key);
+        if (section == null) {
+            section = collectSection(level, x, y, z);
+            sections.put(key, section);
+        }
+        return section;
+    }
+
+    private static Section collectSection(Level level, int sectionX, int sectionY, int sectionZ) {
+        var minX = SectionPos.sectionToBlockCoord(sectionX);
+        var minY = SectionPos.sectionToBlockCoord(sectionY);
+        var minZ = SectionPos.sectionToBlockCoord(sectionZ);
+        var bounds = new AABB(minX, minY, minZ, minX + SectionPos.SECTION_SIZE, minY + SectionPos.SECTION_SIZE,
+                minZ + SectionPos.SECTION_SIZE);
+
+        // Collect in the predicate rather than into a list of entities, the boxes are all that's needed
+        var section = new Section();
+        level.getEntities((Entity) null, bounds, entity -> {
+            section.add(entity.getId(), entity.getBoundingBox());
+            return false;
+        });
+        return section;
+    }
+
+    private static void forEachSection(AABB bounds, SectionConsumer consumer) {
+        var minX = SectionPos.posToSectionCoord(bounds.minX);
+        var minY = SectionPos.posToSectionCoord(bounds.minY);
+        var minZ = SectionPos.posToSectionCoord(bounds.minZ);
+        var maxX = SectionPos.posToSectionCoord(bounds.maxX);
+        var maxY = SectionPos.posToSectionCoord(bounds.maxY);
+        var maxZ = SectionPos.posToSectionCoord(bounds.maxZ);
+        for (var x = minX; x <= maxX; x++) {
+            for (var y = minY; y <= maxY; y++) {
+                for (var z = minZ; z <= maxZ; z++) {
+                    consumer.accept(x, y, z);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface SectionConsumer {
+        void accept(int x, int y, int z);
+    }
+
+    /**
+     * The ids and bounding boxes of the entities intersecting a chunk section.
+     */
+    private static final class Section {
+        private final IntList ids = new IntArrayList();
+        private final List<AABB> boxes = new ArrayList<>();
+
+        void add(int id, AABB box) {
+            ids.add(id);
+            boxes.add(box);
+        }
+    }
+}
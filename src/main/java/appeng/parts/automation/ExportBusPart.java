@@ -37,11 +37,13 @@
 import appeng.api.config.Settings;
 import appeng.api.config.YesNo;
 import appeng.api.networking.IGrid;
+import appeng.api.networking.IStackWatcher;
 import appeng.api.networking.crafting.ICraftingLink;
 import appeng.api.networking.crafting.ICraftingRequester;
 import appeng.api.networking.crafting.ICraftingService;
 import appeng.api.networking.energy.IEnergyService;
 import appeng.api.networking.storage.IStorageService;
+import appeng.api.networking.storage.IStorageWatcherNode;
 import appeng.api.parts.IPartCollisionHelper;
 import appeng.api.parts.IPartItem;
 import appeng.api.parts.IPartModel;
@@ -80,11 +82,57 @@ public class ExportBusPart extends IOBusPart implements ICraftingRequester {
     private int nextSlot = 0;
     @Nullable
     private StackExportStrategy exportStrategy;
+    @Nullable
+    private IStackWatcher storageWatcher;
+
+    private final IStorageWatcherNode storageWatcherNode = new IStorageWatcherNode() {
+        @Override
+        public void updateWatcher(IStackWatcher newWatcher) {
+            storageWatcher = newWatcher;
+            configureWatchers();
+        }
+
+        @Override
+        public void onStackChange(AEKey what, long amount) {
+            if (amount > 0) {
+                wakeUp();
+            }
+        }
+    };
 
     public ExportBusPart(IPartItem<?> partItem) {
         super(TickRates.ExportBus, StackWorldBehaviors.withExportStrategy(), partItem);
         this.craftingTracker = new MultiCraftingTracker(this, getConfig().size());
         getMainNode().addService(ICraftingRequester.class, this);
+        getMainNode().addService(IStorageWatcherNode.class, storageWatcherNode);
+    }
+
+    @Override
+    protected void updateState() {
+        super.updateState();
+        configureWatchers();
+    }
+
+    /**
+     * When reactive I/O buses are enabled, an idle export bus is woken up when the network gains any of the configured
+     * items.
+     */
+    private void configureWatchers() {
+        if (this.storageWatcher == null) {
+            return;
+        }
+
+        this.storageWatcher.reset();
+
+        if (isReactive()) {
+            if (isUpgradedWith(AEItems.FUZZY_CARD)) {
+                this.storageWatcher.setWatchAll(true);
+            } else {
+                for (var what : getConfig().keySet()) {
+                    this.storageWatcher.add(what);
+                }
+            }
+        }
     }
 
     @Override
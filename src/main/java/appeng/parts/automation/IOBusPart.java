@@ -26,11 +26,13 @@
 import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.MenuType;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.BlockGetter;
 import net.minecraft.world.phys.Vec3;
+import net.neoforged.neoforge.capabilities.ICapabilityInvalidationListener;
 
 import appeng.api.config.FuzzyMode;
 import appeng.api.config.RedstoneMode;
@@ -49,6 +51,7 @@
 import appeng.api.util.AECableType;
 import appeng.api.util.IConfigManager;
 import appeng.api.util.IConfigManagerBuilder;
+import appeng.core.AEConfig;
 import appeng.core.AppEng;
 import appeng.core.definitions.AEItems;
 import appeng.core.settings.TickRates;
@@ -58,6 +61,7 @@
 import appeng.menu.ISubMenu;
 import appeng.menu.MenuOpener;
 import appeng.menu.locator.MenuLocators;
+import appeng.parts.PartAdjacentApi;
 import appeng.parts.PartModel;
 import appeng.util.ConfigInventory;
 import appeng.util.Platform;
@@ -88,6 +92,22 @@ public abstract class IOBusPart extends UpgradeablePart implements IGridTickable
      * act on this during its next tick.
      */
     private boolean pendingPulse = false;
+    /**
+     * Indicates that something that could allow the bus to do work has changed since the start of its last tick. Only
+     * used if {@link AEConfig#isReactiveIOBuses() reactive I/O buses} are enabled.
+     */
+    private boolean wakeupPending = false;
+
+    // Capability listener.
+    // Stored as a field because it will be stored in a WeakReference by the capability invalidation system.
+    private final ICapabilityInvalidationListener capabilityListener = () -> {
+        if (!PartAdjacentApi.isPartValid(this)) {
+            return false;
+        }
+
+        this.wakeUp();
+        return true;
+    };
 
     public IOBusPart(TickRates tickRates, Set<AEKeyType> supportedKeyTypes, IPartItem<?> partItem) {
         super(partItem);
@@ -185,6 +205,26 @@ public void onNeighborChanged(BlockGetter level, BlockPos pos, BlockPos neighbor
             // This handles waking up the bus if the adjacent redstone has changed
             updateRedstoneState();
         }
+
+        // Containers notify their neighbors when their content changes (see Level#updateNeighbourForOutputSignal)
+        if (neighbor.equals(pos.relative(getSide()))) {
+            wakeUp();
+        }
+    }
+
+    /**
+     * Wakes up a bus that went to sleep because it was idle. Called when the adjacent block or the network content
+     * changes in a way that may allow the bus to do work again.
+     */
+    protected final void wakeUp() {
+        if (isReactive()) {
+            this.wakeupPending = true;
+            getMainNode().ifPresent((grid, node) -> grid.getTickManager().alertDevice(node));
+        }
+    }
+
+    protected static boolean isReactive() {
+        return AEConfig.instance().isReactiveIOBuses();
     }
 
     protected int availableSlots() {
@@ -215,14 +255,20 @@ public final TickRateModulation tickingRequest(IGridNode node, int ticksSinceLas
 
         // Reset a potential redstone pulse trigger
         this.pendingPulse = false;
+        this.wakeupPending = false;
 
         var hasDoneWork = this.doBusWork(node.getGrid());
 
         // We may be back to sleep (i.e. in pulse mode)
         if (isSleeping()) {
             return TickRateModulation.SLEEP;
+        } else if (hasDoneWork) {
+            return TickRateModulation.FASTER;
+        } else if (isReactive() && !this.wakeupPending) {
+            // Sleep until woken up by a change to the adjacent block or the network content
+            return TickRateModulation.SLEEP;
         } else {
-            return hasDoneWork ? TickRateModulation.FASTER : TickRateModulation.SLOWER;
+            return TickRateModulation.SLOWER;
         }
     }
 
@@ -245,7 +291,7 @@ protected final boolean canDoBusWork() {
         return Platform.areBlockEntitiesTicking(self.getLevel(), targetPos);
     }
 
-    private void updateState() {
+    protected void updateState() {
         filter = null; // rebuild the filter
 
         updateRedstoneState();
@@ -315,6 +361,11 @@ public void addToWorld() {
         if (pendingPulse) {
             getMainNode().ifPresent((grid, node) -> grid.getTickManager().alertDevice(node));
         }
+
+        if (isReactive() && getLevel() instanceof ServerLevel serverLevel) {
+            var targetPos = getBlockEntity().getBlockPos().relative(getSide());
+            serverLevel.registerCapabilityListener(targetPos, this.capabilityListener);
+        }
     }
 
     @Override
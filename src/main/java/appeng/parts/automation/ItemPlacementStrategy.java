@@ -17,7 +17,6 @@
 import net.minecraft.world.item.context.DirectionalPlaceContext;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
-import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.BlockHitResult;
 import net.minecraft.world.phys.Vec3;
 
@@ -68,17 +67,7 @@ public final long placeInWorld(AEKey what, long amount, Actionable type, boolean
 
         if (level.getBlockState(placePos).canBeReplaced()) {
             if (placeAsEntity) {
-                final var sum = this.countEntitesAround(level, placePos);
-
-                // Disable spawning once there is a certain amount of entities in an area.
-                if (sum < AEConfig.instance().getFormationPlaneEntityLimit()) {
-                    worked = true;
-
-                    if (type == Actionable.MODULATE) {
-                        is.setCount(maxStorage);
-                        spawnItemEntity(level, host, side, is);
-                    }
-                }
+                return spawnItemEntities(itemKey, amount, type, side, placePos);
             } else {
                 final var player = Platform.getFakePlayer(level, ownerUuid);
                 Platform.configurePlayer(player, side, host);
@@ -119,7 +108,37 @@ public final long placeInWorld(AEKey what, long amount, Actionable type, boolean
         return 0;
     }
 
-    private static void spawnItemEntity(Level level, BlockEntity te, Direction side, ItemStack is) {
+    /**
+     * Drops up to {@link AEConfig#getFormationPlaneBatchStacks()} full stacks at once, as long as the entity limit
+     * around the plane allows it.
+     *
+     * @return The number of items dropped.
+     */
+    private long spawnItemEntities(AEItemKey what, long amount, Actionable type, Direction side, BlockPos placePos) {
+        // Disable spawning once there is a certain amount of entities in an area.
+        var allowedEntities = AEConfig.instance().getFormationPlaneEntityLimit()
+                - EntityDensityCache.countEntitiesAround(level, placePos);
+        var stackSize = what.getMaxStackSize();
+        var stacks = (int) Math.min(Math.min(allowedEntities, AEConfig.instance().getFormationPlaneBatchStacks()),
+                (amount + stackSize - 1) / stackSize);
+        if (stacks <= 0) {
+            return 0;
+        }
+
+        var placed = Math.min(amount, (long) stacks * stackSize);
+        if (type == Actionable.MODULATE) {
+            var remaining = placed;
+            while (remaining > 0) {
+                var count = (int) Math.min(remaining, stackSize);
+                var entity = spawnItemEntity(level, host, side, what.toStack(count));
+                EntityDensityCache.onEntitySpawned(level, entity);
+                remaining -= count;
+            }
+        }
+        return placed;
+    }
+
+    private static Entity spawnItemEntity(Level level, BlockEntity te, Direction side, ItemStack is) {
         // The center of the block the plane is located in
         final var centerX = te.getBlockPos().getX() + .5;
         final double centerY = te.getBlockPos().getY();
@@ -167,13 +186,7 @@ private static void spawnItemEntity(Level level, BlockEntity te, Direction side,
         // for cleaning up the entity in that case, so we should always assume our spawning was successful,
         // and consume items...
         level.addFreshEntity(entity);
-    }
-
-    private int countEntitesAround(Level level, BlockPos pos) {
-        final var t = new AABB(pos).inflate(8);
-        final var list = level.getEntitiesOfClass(Entity.class, t);
-
-        return list.size();
+        return entity;
     }
 
     /**
@@ -156,6 +156,7 @@ public void importSettings(SettingsFrom mode, DataComponentMap input, @Nullable
     @Override
     public void onNeighborChanged(BlockGetter level, BlockPos pos, BlockPos neighbor) {
         logic.updateRedstoneState();
+        logic.notifyTerminalChanged();
     }
 
     @Override
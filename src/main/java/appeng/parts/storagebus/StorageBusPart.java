@@ -66,6 +66,7 @@
 import appeng.api.util.AECableType;
 import appeng.api.util.IConfigManager;
 import appeng.api.util.IConfigManagerBuilder;
+import appeng.core.AEConfig;
 import appeng.core.AppEng;
 import appeng.core.definitions.AEItems;
 import appeng.core.settings.TickRates;
@@ -75,6 +76,8 @@
 import appeng.helpers.InterfaceLogicHost;
 import appeng.items.parts.PartModels;
 import appeng.me.helpers.MachineSource;
+import appeng.me.service.StorageService;
+import appeng.me.service.SubnetStorage;
 import appeng.me.storage.CompositeStorage;
 import appeng.me.storage.ITickingMonitor;
 import appeng.me.storage.MEInventoryHandler;
@@ -340,7 +343,9 @@ private void updateTarget(boolean forceFullUpdate) {
             // Prioritize a handler to directly link to another ME network
             foundMonitor = adjacentStorageAccessor.find();
 
-            if (foundMonitor == null) {
+            if (foundMonitor != null) {
+                foundMonitor = getSubnetPassthrough(foundMonitor);
+            } else {
                 // Query all available external APIs
                 // TODO: If a filter is configured, we might want to only query external APIs for compatible key spaces
                 foundExternalApi = new IdentityHashMap<>(2);
@@ -451,7 +456,32 @@ private void invalidateOnExternalStorageChange() {
         });
     }
 
-    private void checkStorageBusOnInterface() {
+    /**
+     * If the storage found is the network storage of another grid exposed by an interface, and subnet passthrough is
+     * enabled, replaces it with a view of that grid's storage that reuses its cached inventory.
+     */
+    private MEStorage getSubnetPassthrough(MEStorage foundMonitor) {
+        if (!AEConfig.instance().isSubnetStorageBusPassthrough()
+                || !(findTargetInterface() instanceof InterfaceLogicHost interfaceHost)) {
+            return foundMonitor;
+        }
+
+        var node = interfaceHost.getInterfaceLogic().getActionableNode();
+        if (node == null || !(node.getGrid().getStorageService() instanceof StorageService storageService)
+                || storageService.getInventory() != foundMonitor) {
+            return foundMonitor;
+        }
+
+        // Reuse the current passthrough so the storage isn't remounted needlessly
+        if (this.handler.getDelegate() instanceof SubnetStorage subnetStorage
+                && subnetStorage.getService() == storageService) {
+            return subnetStorage;
+        }
+        return new SubnetStorage(storageService);
+    }
+
+    @Nullable
+    private Object findTargetInterface() {
         var oppositeSide = getSide().getOpposite();
         var targetPos = getBlockEntity().getBlockPos().relative(getSide());
         var targetBe = getLevel().getBlockEntity(targetPos);
@@ -460,8 +490,11 @@ private void checkStorageBusOnInterface() {
         if (targetBe instanceof IPartHost partHost) {
             targetHost = partHost.getPart(oppositeSide);
         }
+        return targetHost;
+    }
 
-        if (targetHost instanceof InterfaceLogicHost) {
+    private void checkStorageBusOnInterface() {
+        if (findTargetInterface() instanceof InterfaceLogicHost) {
             var server = getLevel().getServer();
             var player = IPlayerRegistry.getConnected(server, this.getActionableNode().getOwningPlayerId());
             if (player != null) {
@@ -23,7 +23,9 @@
 import appeng.server.services.compass.TestCompassCommand;
 import appeng.server.subcommands.ChannelModeCommand;
 import appeng.server.subcommands.ChunkLogger;
+import appeng.server.subcommands.CraftingTelemetryCommand;
 import appeng.server.subcommands.GridsCommand;
+import appeng.server.subcommands.ProfileCommand;
 import appeng.server.subcommands.SetupTestWorldCommand;
 import appeng.server.subcommands.SpatialStorageCommand;
 import appeng.server.subcommands.TestMeteoritesCommand;
@@ -35,7 +37,9 @@ public enum Commands {
     SPATIAL(4, "spatial", new SpatialStorageCommand()),
     CHANNEL_MODE(4, "channelmode", new ChannelModeCommand()),
     TICK_MONITORING(4, "tickmonitor", new TickMonitoring()),
+    PROFILE(4, "profile", new ProfileCommand()),
     GRIDS(4, "grids", new GridsCommand()),
+    CRAFTING_JOBS(4, "craftingjobs", new CraftingTelemetryCommand()),
 
     // Testing
     COMPASS(4, "compass", new TestCompassCommand(), true),
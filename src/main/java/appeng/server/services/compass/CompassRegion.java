@@ -48,9 +48,26 @@ final class CompassRegion extends AESavedData {
 
     private static final int BITMAP_LENGTH = CHUNKS_PER_REGION * CHUNKS_PER_REGION;
 
+    /**
+     * The number of chunks on each axis that are summarized by a tile.
+     */
+    static final int CHUNKS_PER_TILE = 32;
+
+    private static final int TILES_PER_REGION = CHUNKS_PER_REGION / CHUNKS_PER_TILE;
+
     // Key is the section index, see ChunkAccess.getSections()
     private final Map<Integer, BitSet> sections = new HashMap<>();
 
+    /**
+     * The chunks that have a compass target in any section. Derived from {@link #sections}, not saved.
+     */
+    private final BitSet columns = new BitSet();
+
+    /**
+     * The number of chunks with a compass target in each tile. Derived from {@link #columns}, not saved.
+     */
+    private final int[] tileCounts = new int[TILES_PER_REGION * TILES_PER_REGION];
+
     /**
      * Gets the name of the save data for a region that has the given coordinates.
      */
@@ -62,15 +79,27 @@ private static String getRegionSaveName(int regionX, int regionZ) {
      * Retrieve the compass region that serves the given chunk position.
      */
     public static CompassRegion get(ServerLevel level, ChunkPos chunkPos) {
-        Objects.requireNonNull(level, "level");
         Objects.requireNonNull(chunkPos, "chunkPos");
+        return get(level, chunkPos.x, chunkPos.z);
+    }
 
-        var regionX = chunkPos.x / CHUNKS_PER_REGION;
-        var regionZ = chunkPos.z / CHUNKS_PER_REGION;
+    /**
+     * Retrieve the compass region that serves the given chunk position.
+     */
+    public static CompassRegion get(ServerLevel level, int cx, int cz) {
+        Objects.requireNonNull(level, "level");
 
         return level.getDataStorage().computeIfAbsent(
                 FACTORY,
-                getRegionSaveName(regionX, regionZ));
+                getRegionSaveName(getRegionCoordinate(cx), getRegionCoordinate(cz)));
+    }
+
+    /**
+     * Gets the region coordinate for a chunk coordinate. Note that this rounds towards zero, which is kept for
+     * compatibility with existing saves.
+     */
+    static int getRegionCoordinate(int chunkCoordinate) {
+        return chunkCoordinate / CHUNKS_PER_REGION;
     }
 
     public static CompassRegion load(CompoundTag nbt, HolderLookup.Provider registries) {
@@ -87,6 +116,13 @@ public static CompassRegion load(CompoundTag nbt, HolderLookup.Provider registri
                 AELog.warn("Compass region contains unknown NBT tag %s", key);
             }
         }
+
+        for (var section : result.sections.values()) {
+            result.columns.or(section);
+        }
+        for (var i = result.columns.nextSetBit(0); i >= 0; i = result.columns.nextSetBit(i + 1)) {
+            result.tileCounts[getTileIndex(i)]++;
+        }
         return result;
     }
 
@@ -103,13 +139,18 @@ public CompoundTag save(CompoundTag compound, HolderLookup.Provider registries)
     }
 
     boolean hasCompassTarget(int cx, int cz) {
-        var bitmapIndex = getBitmapIndex(cx, cz);
-        for (BitSet bitmap : sections.values()) {
-            if (bitmap.get(bitmapIndex)) {
-                return true;
-            }
-        }
-        return false;
+        return columns.get(getBitmapIndex(cx, cz));
+    }
+
+    /**
+     * @return False if none of the chunks in the tile containing the given chunk has a compass target.
+     */
+    boolean mayHaveCompassTargetInTile(int cx, int cz) {
+        return tileCounts[getTileIndex(getBitmapIndex(cx, cz))] > 0;
+    }
+
+    boolean isEmpty() {
+        return columns.isEmpty();
     }
 
     boolean hasCompassTarget(int cx, int cz, int sectionIndex) {
@@ -146,6 +187,29 @@ void setHasCompassTarget(int cx, int cz, int sectionIndex, boolean hasTarget) {
                 section.set(bitmapIndex);
             }
         }
+
+        updateColumn(bitmapIndex);
+    }
+
+    private void updateColumn(int bitmapIndex) {
+        var hasTarget = false;
+        for (var section : sections.values()) {
+            if (section.get(bitmapIndex)) {
+                hasTarget = true;
+                break;
+            }
+        }
+
+        if (columns.get(bitmapIndex) != hasTarget) {
+            columns.set(bitmapIndex, hasTarget);
+            tileCounts[getTileIndex(bitmapIndex)] += hasTarget ? 1 : -1;
+        }
+    }
+
+    private static int getTileIndex(int bitmapIndex) {
+        var tileX = (bitmapIndex % CHUNKS_PER_REGION) / CHUNKS_PER_TILE;
+        var tileZ = (bitmapIndex / CHUNKS_PER_REGION) / CHUNKS_PER_TILE;
+        return tileX + tileZ * TILES_PER_REGION;
     }
 
     private static int getBitmapIndex(int cx, int cz) {
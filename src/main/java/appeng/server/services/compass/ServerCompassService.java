@@ -19,13 +19,8 @@
 package appeng.server.services.compass;
 
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-
 import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.core.BlockPos;
@@ -33,6 +28,9 @@
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.chunk.ChunkAccess;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
 import appeng.blockentity.misc.MysteriousCubeBlockEntity;
 import appeng.core.definitions.AEBlocks;
 
@@ -44,24 +42,8 @@ public final class ServerCompassService {
     private static final int MAX_RANGE = 174;
     private static final int CHUNK_SIZE = 16;
 
-    private record Query(ServerLevel level, ChunkPos chunk) {
-    }
-
-    // We use this basic cache to prevent client-side spamming, although the client can request arbitrary
-    // chunk positions and range, if malicious.
-    private static final LoadingCache<Query, Optional<BlockPos>> CLOSEST_METEORITE_CACHE = CacheBuilder.newBuilder()
-            .maximumSize(100)
-            .weakKeys()
-            .expireAfterWrite(5, TimeUnit.SECONDS)
-            .build(new CacheLoader<>() {
-                @Override
-                public Optional<BlockPos> load(ServerCompassService.Query query) {
-                    return Optional.ofNullable(findClosestMeteoritePos(query.level, query.chunk));
-                }
-            });
-
     public static Optional<BlockPos> getClosestMeteorite(ServerLevel level, ChunkPos chunkPos) {
-        return CLOSEST_METEORITE_CACHE.getUnchecked(new Query(level, chunkPos));
+        return Optional.ofNullable(findClosestMeteoritePos(level, chunkPos));
     }
 
     @Nullable
@@ -93,75 +75,118 @@ private static BlockPos findClosestMeteoritePos(ServerLevel level, ChunkPos orig
         return chosenPos;
     }
 
+    /**
+     * Finds the closest chunk with a compass target whose distance on both axes is below {@link #MAX_RANGE}.
+     * <p>
+     * Rather than probing every chunk in range, this first visits the tiles that summarize
+     * {@link CompassRegion#CHUNKS_PER_TILE} chunks per axis, ordered by their distance, and skips the empty ones. Only
+     * the chunks of non-empty tiles are probed, and the search ends once no remaining tile can contain a closer chunk.
+     * Each chunk is looked up in the region that actually serves it, so the search works across region borders.
+     */
     @Nullable
     private static ChunkPos findClosestMeteoriteChunk(ServerLevel level, ChunkPos chunkPos) {
-        var cr = CompassRegion.get(level, chunkPos);
         var cx = chunkPos.x;
         var cz = chunkPos.z;
-
-        // Am I standing on it?
-        if (cr.hasCompassTarget(cx, cz)) {
-            return chunkPos;
-        }
-
-        // spiral outward...
-        for (int offset = 1; offset < MAX_RANGE; offset++) {
-            final int minX = cx - offset;
-            final int minZ = cz - offset;
-            final int maxX = cx + offset;
-            final int maxZ = cz + offset;
-
-            int closest = Integer.MAX_VALUE;
-            int chosen_x = cx;
-            int chosen_z = cz;
-
-            for (int z = minZ; z <= maxZ; z++) {
-                if (cr.hasCompassTarget(minX, z)) {
-                    final int closeness = dist(cx, cz, minX, z);
-                    if (closeness < closest) {
-                        closest = closeness;
-                        chosen_x = minX;
-                        chosen_z = z;
-                    }
+        var minX = cx - MAX_RANGE + 1;
+        var maxX = cx + MAX_RANGE - 1;
+        var minZ = cz - MAX_RANGE + 1;
+        var maxZ = cz + MAX_RANGE - 1;
+        var regions = new RegionLookup(level);
+
+        // Collect the tiles that may contain a target, packed as (distance << 32 | tile index)
+        var tileSize = CompassRegion.CHUNKS_PER_TILE;
+        var minTileX = Math.floorDiv(minX, tileSize);
+        var minTileZ = Math.floorDiv(minZ, tileSize);
+        var tilesX = Math.floorDiv(maxX, tileSize) - minTileX + 1;
+        var tilesZ = Math.floorDiv(maxZ, tileSize) - minTileZ + 1;
+        var tiles = new LongArrayList();
+        for (var tz = 0; tz < tilesZ; tz++) {
+            var tileMinZ = Math.max(minZ, (minTileZ + tz) * tileSize);
+            var tileMaxZ = Math.min(maxZ, (minTileZ + tz + 1) * tileSize - 1);
+            for (var tx = 0; tx < tilesX; tx++) {
+                var tileMinX = Math.max(minX, (minTileX + tx) * tileSize);
+                var tileMaxX = Math.min(maxX, (minTileX + tx + 1) * tileSize - 1);
+                if (regions.mayHaveCompassTarget(tileMinX, tileMinZ, tileMaxX, tileMaxZ)) {
+                    var distance = dist(cx, cz, Math.clamp(cx, tileMinX, tileMaxX), Math.clamp(cz, tileMinZ, tileMaxZ));
+                    tiles.add((long) distance << 32 | (tx + tz * tilesX));
                 }
+            }
+        }
+        tiles.sort(null);
+
+        int closest = Integer.MAX_VALUE;
+        int chosenX = cx;
+        int chosenZ = cz;
+        for (var i = 0; i < tiles.size(); i++) {
+            var tile = tiles.getLong(i);
+            if ((int) (tile >>> 32) >= closest) {
+                break; // No chunk in this or any later tile can be closer
+            }
 
-                if (cr.hasCompassTarget(maxX, z)) {
-                    final int closeness = dist(cx, cz, maxX, z);
-                    if (closeness < closest) {
-                        closest = closeness;
-                        chosen_x = maxX;
-                        chosen_z = z;
+            var tx = (int) tile % tilesX;
+            var tz = (int) tile / tilesX;
+            var tileMinX = Math.max(minX, (minTileX + tx) * tileSize);
+            var tileMaxX = Math.min(maxX, (minTileX + tx + 1) * tileSize - 1);
+            var tileMinZ = Math.max(minZ, (minTileZ + tz) * tileSize);
+            var tileMaxZ = Math.min(maxZ, (minTileZ + tz + 1) * tileSize - 1);
+            for (var z = tileMinZ; z <= tileMaxZ; z++) {
+                for (var x = tileMinX; x <= tileMaxX; x++) {
+                    if (regions.get(x, z).hasCompassTarget(x, z)) {
+                        var closeness = dist(cx, cz, x, z);
+                        if (closeness < closest) {
+                            closest = closeness;
+                            chosenX = x;
+                            chosenZ = z;
+                        }
                     }
                 }
             }
+        }
 
-            for (int x = minX + 1; x < maxX; x++) {
-                if (cr.hasCompassTarget(x, minZ)) {
-                    final int closeness = dist(cx, cz, x, minZ);
-                    if (closeness < closest) {
-                        closest = closeness;
-                        chosen_x = x;
-                        chosen_z = minZ;
-                    }
-                }
+        if (closest < Integer.MAX_VALUE) {
+            return new ChunkPos(chosenX, chosenZ);
+        }
 
-                if (cr.hasCompassTarget(x, maxZ)) {
-                    final int closeness = dist(cx, cz, x, maxZ);
-                    if (closeness < closest) {
-                        closest = closeness;
-                        chosen_x = x;
-                        chosen_z = maxZ;
-                    }
-                }
-            }
+        // didn't find anything...
+        return null;
+    }
+
+    /**
+     * Resolves and remembers the regions used by a single query.
+     */
+    private static class RegionLookup {
+        private final ServerLevel level;
+        private final Long2ObjectOpenHashMap<CompassRegion> regions = new Long2ObjectOpenHashMap<>();
+
+        RegionLookup(ServerLevel level) {
+            this.level = level;
+        }
 
-            if (closest < Integer.MAX_VALUE) {
-                return new ChunkPos(chosen_x, chosen_z);
+        CompassRegion get(int cx, int cz) {
+            var key = ChunkPos.asLong(CompassRegion.getRegionCoordinate(cx), CompassRegion.getRegionCoordinate(cz));
+            var region = regions.get(key);
+            if (region == null) {
+                region = CompassRegion.get(level, cx, cz);
+                regions.put(key, region);
             }
+            return region;
         }
 
-        // didn't find shit...
-        return null;
+        /**
+         * Checks the summary tiles of the regions serving the given area of at most one tile.
+         */
+        boolean mayHaveCompassTarget(int minX, int minZ, int maxX, int maxZ) {
+            // Region borders do not necessarily align with tile borders, so check the regions of all corners
+            return mayHaveCompassTarget(minX, minZ)
+                    || mayHaveCompassTarget(maxX, minZ)
+                    || mayHaveCompassTarget(minX, maxZ)
+                    || mayHaveCompassTarget(maxX, maxZ);
+        }
+
+        private boolean mayHaveCompassTarget(int cx, int cz) {
+            var region = get(cx, cz);
+            return !region.isEmpty() && region.mayHaveCompassTargetInTile(cx, cz);
+        }
     }
 
     public static void updateArea(ServerLevel level, ChunkAccess chunk) {
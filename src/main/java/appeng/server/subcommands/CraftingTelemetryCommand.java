@@ -0,0 +1,119 @@
+package appeng.server.subcommands;
+
+import static net.minecraft.commands.Commands.argument;
+import static net.minecraft.commands.Commands.literal;
+
+import java.util.Locale;
+
+import com.mojang.brigadier.arguments.BoolArgumentType;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+
+import appeng.crafting.execution.CraftingJobTelemetry;
+import appeng.hooks.ticking.TickHandler;
+import appeng.hooks.ticking.TickProfiler;
+import appeng.me.cluster.implementations.CraftingCPUCluster;
+import appeng.server.ISubCommand;
+
+/**
+ * Shows the statistics collected by {@link CraftingJobTelemetry} for the jobs of all crafting CPUs.
+ * <ul>
+ * <li>{@code /ae2 craftingjobs [tasks]} shows each busy CPU, and the given number of its most stalled patterns</li>
+ * <li>{@code /ae2 craftingjobs enable <bool>} starts or stops collecting</li>
+ * </ul>
+ */
+public class CraftingTelemetryCommand implements ISubCommand {
+    private static final int DEFAULT_TASKS = 3;
+
+    @Override
+    public void addArguments(LiteralArgumentBuilder<CommandSourceStack> builder) {
+        builder.then(argument("tasks", IntegerArgumentType.integer(0))
+                .executes(ctx -> showJobs(ctx.getSource(), IntegerArgumentType.getInteger(ctx, "tasks"))));
+
+        builder.then(literal("enable").then(argument("enable", BoolArgumentType.bool()).executes(ctx -> {
+            var enable = BoolArgumentType.getBool(ctx, "enable");
+            CraftingJobTelemetry.setEnabled(enable);
+            ctx.getSource().sendSuccess(
+                    () -> Component.literal("Crafting job telemetry " + (enable ? "enabled" : "disabled")), true);
+            return 1;
+        })));
+    }
+
+    @Override
+    public void call(MinecraftServer srv, CommandContext<CommandSourceStack> data, CommandSourceStack sender) {
+        showJobs(sender, DEFAULT_TASKS);
+    }
+
+    private static int showJobs(CommandSourceStack source, int taskCount) {
+        if (!CraftingJobTelemetry.isEnabled()) {
+            source.sendFailure(Component.literal(
+                    "Crafting job telemetry is disabled. Use /ae2 craftingjobs enable true"));
+            return 0;
+        }
+
+        var jobs = 0;
+        for (var grid : TickHandler.instance().getGridList()) {
+            for (var cpu : grid.getCraftingService().getCpus()) {
+                if (cpu instanceof CraftingCPUCluster cluster && cluster.craftingLogic.getTelemetry() != null) {
+                    showJob(source, grid.getSerialNumber(), cluster, taskCount);
+                    jobs++;
+                }
+            }
+        }
+
+        if (jobs == 0) {
+            source.sendSystemMessage(Component.literal("No crafting jobs with telemetry are running"));
+        }
+        return jobs;
+    }
+
+    private static void showJob(CommandSourceStack source, int gridSerial, CraftingCPUCluster cluster,
+            int taskCount) {
+        var logic = cluster.craftingLogic;
+        var telemetry = logic.getTelemetry();
+        var output = logic.getFinalJobOutput();
+
+        var header = Component.literal("Grid #" + gridSerial + " CPU ");
+        header.append(cluster.getName() != null ? cluster.getName()
+                : Component.literal(cluster.getBoundsMin().toShortString()));
+        if (output != null) {
+            header.append(": " + output.amount() + "x ").append(output.what().getDisplayName());
+        }
+        source.sendSystemMessage(header);
+
+        var states = new StringBuilder();
+        states.append("  ").append(telemetry.getTicks()).append(" ticks, ")
+                .append(telemetry.getAverageUtilization()).append("% co-processor usage (now ")
+                .append(logic.getCoProcessorUtilization()).append("%)");
+        for (var state : CraftingJobTelemetry.CpuState.values()) {
+            var ticks = telemetry.getTicks(state);
+            if (ticks > 0) {
+                states.append(", ").append(state.name().toLowerCase(Locale.ROOT)).append('=').append(ticks);
+            }
+        }
+        source.sendSystemMessage(Component.literal(states.toString()));
+
+        var tasks = telemetry.getTasks();
+        for (var i = 0; i < Math.min(taskCount, tasks.size()); i++) {
+            var task = tasks.get(i);
+            var line = Component.literal("  - ")
+                    .append(task.getDetails().getPrimaryOutput().what().getDisplayName());
+            var stats = new StringBuilder();
+            stats.append(": pushed ").append(task.getSuccesses()).append('/').append(task.getAttempts())
+                    .append(", ").append(TickProfiler.formatNanos(task.getAveragePushNanos())).append("/push")
+                    .append(", ").append(task.getTicksWithoutInputs()).append(" ticks without inputs");
+            for (var failure : CraftingJobTelemetry.PushFailure.values()) {
+                var count = task.getFailures(failure);
+                if (count > 0) {
+                    stats.append(", ").append(failure.name().toLowerCase(Locale.ROOT)).append('=').append(count);
+                }
+            }
+            source.sendSystemMessage(line.append(stats.toString()));
+        }
+    }
+}
@@ -7,12 +7,17 @@
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -30,9 +35,11 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import net.minecraft.Util;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
 import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.NbtIo;
 import net.minecraft.nbt.NbtUtils;
 import net.minecraft.network.chat.Component;
@@ -53,11 +60,17 @@
 import appeng.parts.AEBasePart;
 import appeng.parts.p2p.MEP2PTunnelPart;
 import appeng.server.ISubCommand;
+import appeng.util.DebugExport;
 import appeng.util.Platform;
 
 public class GridsCommand implements ISubCommand {
     private static final Logger LOG = LoggerFactory.getLogger(GridsCommand.class);
 
+    /**
+     * Only one export may be written in the background at a time.
+     */
+    private static final AtomicBoolean EXPORT_RUNNING = new AtomicBoolean();
+
     public static String buildExportCommand(int gridSerial) {
         return "/ae2 grids export " + gridSerial;
     }
@@ -160,32 +173,79 @@ public void call(MinecraftServer srv, CommandContext<CommandSourceStack> data,
 
     private void exportGrids(int baseSerialNumber, Collection<Grid> grids, CommandSourceStack source)
             throws CommandSyntaxException {
+        if (!EXPORT_RUNNING.compareAndSet(false, true)) {
+            throw new SimpleCommandExceptionType(new LiteralMessage("Another grid export is still running")).create();
+        }
+
         source.sendSystemMessage(Component.literal("Exporting " + grids.size() + " grids"));
         LOG.info("Exporting {} grids for {}", grids.size(), source);
 
+        ExportSnapshot snapshot;
+        try {
+            var start = System.nanoTime();
+            snapshot = ExportSnapshot.capture(grids);
+            var tookMs = (System.nanoTime() - start) / 1_000_000;
+            source.sendSystemMessage(Component.literal("Captured " + snapshot.grids().size() + " grids and "
+                    + snapshot.chunks().size() + " chunks in " + tookMs + "ms, writing export in the background"));
+        } catch (IOException | RuntimeException e) {
+            EXPORT_RUNNING.set(false);
+            LOG.error("Failed to export grids.", e);
+            source.sendFailure(Component.literal("Failed to export grids: " + e));
+            return;
+        }
+
+        var server = source.getServer();
+        OutputStream out;
         if (source.isPlayer()) {
             var player = source.getPlayerOrException();
             PacketDistributor.sendToPlayer(player,
                     new ExportedGridContent(baseSerialNumber, ExportedGridContent.ContentType.FIRST_CHUNK,
                             new byte[0]));
-
-            try (var out = new SendToPlayerStream(player, baseSerialNumber)) {
-                exportGrids(grids, out);
-            }
+            out = new SendToPlayerStream(server, player, baseSerialNumber);
         } else {
-            var targetPath = Paths.get("grids.zip");
-            try (var out = Files.newOutputStream(targetPath)) {
-                exportGrids(grids, out);
+            try {
+                out = Files.newOutputStream(Paths.get("grids.zip"));
             } catch (IOException e) {
+                EXPORT_RUNNING.set(false);
                 LOG.error("Failed to export grids.", e);
                 source.sendFailure(Component.literal("Failed to export grids: " + e));
+                return;
             }
         }
 
+        // Serialization and compression only work on the snapshot and can happen off the server thread
+        CompletableFuture.runAsync(() -> {
+            try (out) {
+                snapshot.write(out, progress -> server.execute(() -> source.sendSystemMessage(progress)));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }, Util.ioPool()).whenComplete((result, e) -> {
+            EXPORT_RUNNING.set(false);
+            server.execute(() -> {
+                if (e != null) {
+                    LOG.error("Failed to export grids.", e);
+                    source.sendFailure(Component.literal("Failed to export grids: " + e));
+                } else {
+                    source.sendSystemMessage(Component.literal("Finished exporting " + grids.size() + " grids"));
+                }
+            });
+        });
     }
 
-    private void exportGrids(Iterable<Grid> grids, OutputStream out) {
-        try (var zipOut = new ZipOutputStream(out)) {
+    /**
+     * An immutable view of the exported grids and the chunks they occupy. It is captured in a single pass on the server
+     * thread, so that the expensive part of the export, rendering, compressing and writing it, can then happen in the
+     * background without accessing live game state.
+     * <p>
+     * The grids are captured as plain data using {@link Grid#captureExport}, and their JSON is streamed straight into
+     * the zip file.
+     */
+    private record ExportSnapshot(List<GridSnapshot> grids, List<ChunkSnapshot> chunks) {
+        private static final int PROGRESS_STEPS = 4;
+
+        static ExportSnapshot capture(Iterable<Grid> grids) throws IOException {
+            var gridSnapshots = new ArrayList<GridSnapshot>();
             // Collect all chunks that grids live in and dump them all later
             var chunksByLevel = new HashMap<ServerLevel, Set<ChunkPos>>();
 
@@ -196,48 +256,83 @@ private void exportGrids(Iterable<Grid> grids, OutputStream out) {
                             .addAll(entry.getValue().elementSet());
                 }
 
-                var entry = new ZipEntry("grid_" + grid.getSerialNumber() + ".json");
-                zipOut.putNextEntry(entry);
-
-                try (var writer = new JsonWriter(
-                        new OutputStreamWriter(CloseShieldOutputStream.wrap(zipOut), StandardCharsets.UTF_8))) {
-                    writer.setIndent(" ");
-                    grid.export(writer);
-                }
+                gridSnapshots.add(new GridSnapshot(grid.getSerialNumber(), grid.captureExport()));
             }
 
-            zipOut.putNextEntry(new ZipEntry("chunks/"));
+            var chunkSnapshots = new ArrayList<ChunkSnapshot>();
             for (var entry : chunksByLevel.entrySet()) {
                 var level = entry.getKey();
-                var chunks = entry.getValue();
                 var baseName = sanitizeName(level.dimension().location().toString());
-                for (var chunk : chunks) {
+                for (var chunk : entry.getValue()) {
                     var serializedChunk = ChunkSerializer.write(level, level.getChunk(chunk.x, chunk.z));
-                    zipOut.putNextEntry(new ZipEntry("chunks/" + baseName + "_" + chunk.x + "_" + chunk.z + ".nbt"));
-                    NbtIo.writeCompressed(serializedChunk, CloseShieldOutputStream.wrap(zipOut));
+                    chunkSnapshots.add(new ChunkSnapshot(baseName + "_" + chunk.x + "_" + chunk.z, serializedChunk));
+                }
+            }
 
-                    zipOut.putNextEntry(new ZipEntry("chunks/" + baseName + "_" + chunk.x + "_" + chunk.z + ".snbt"));
-                    zipOut.write(NbtUtils.structureToSnbt(serializedChunk).getBytes(StandardCharsets.UTF_8));
+            return new ExportSnapshot(gridSnapshots, chunkSnapshots);
+        }
+
+        void write(OutputStream out, Consumer<Component> progressListener) throws IOException {
+            var total = grids.size() + chunks.size();
+            var written = 0;
+            var reportedSteps = 0;
+
+            try (var zipOut = new ZipOutputStream(out)) {
+                for (var grid : grids) {
+                    zipOut.putNextEntry(new ZipEntry("grid_" + grid.serialNumber() + ".json"));
+                    // Closing the writer must not close the zip file
+                    try (var writer = new JsonWriter(
+                            new OutputStreamWriter(CloseShieldOutputStream.wrap(zipOut), StandardCharsets.UTF_8))) {
+                        writer.setIndent(" ");
+                        grid.export().write(writer);
+                    }
+                    written++;
+                    reportedSteps = reportProgress(written, total, reportedSteps, progressListener);
+                }
+
+                zipOut.putNextEntry(new ZipEntry("chunks/"));
+                for (var chunk : chunks) {
+                    zipOut.putNextEntry(new ZipEntry("chunks/" + chunk.name() + ".nbt"));
+                    NbtIo.writeCompressed(chunk.data(), CloseShieldOutputStream.wrap(zipOut));
+
+                    zipOut.putNextEntry(new ZipEntry("chunks/" + chunk.name() + ".snbt"));
+                    zipOut.write(NbtUtils.structureToSnbt(chunk.data()).getBytes(StandardCharsets.UTF_8));
+                    written++;
+                    reportedSteps = reportProgress(written, total, reportedSteps, progressListener);
                 }
             }
+        }
 
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        private static int reportProgress(int written, int total, int reportedSteps,
+                Consumer<Component> progressListener) {
+            var steps = written * PROGRESS_STEPS / total;
+            if (steps > reportedSteps && written < total) {
+                progressListener.accept(Component.literal("Grid export " + (steps * 100 / PROGRESS_STEPS) + "% done"));
+            }
+            return Math.max(steps, reportedSteps);
         }
     }
 
-    private String sanitizeName(String string) {
+    private record GridSnapshot(int serialNumber, DebugExport export) {
+    }
+
+    private record ChunkSnapshot(String name, CompoundTag data) {
+    }
+
+    private static String sanitizeName(String string) {
         return string.replaceAll("[^A-Za-z0-9-,]", "_");
     }
 
     private static class SendToPlayerStream extends OutputStream {
         private static final int FLUSH_AFTER = 512 * 1024;
         private final ByteArrayOutputStream bout; // 512kb buffer
+        private final MinecraftServer server;
         private final ServerPlayer player;
         private final int baseSerialNumber;
         private boolean closed;
 
-        public SendToPlayerStream(ServerPlayer player, int baseSerialNumber) {
+        public SendToPlayerStream(MinecraftServer server, ServerPlayer player, int baseSerialNumber) {
+            this.server = server;
             this.player = player;
             this.baseSerialNumber = baseSerialNumber;
             bout = new ByteArrayOutputStream(FLUSH_AFTER);
@@ -248,10 +343,7 @@ public void write(int b) {
             Preconditions.checkState(!closed, "stream already closed");
             bout.write(b);
             if (bout.size() > FLUSH_AFTER) {
-                PacketDistributor.sendToPlayer(player,
-                        new ExportedGridContent(baseSerialNumber, ExportedGridContent.ContentType.CHUNK,
-                                bout.toByteArray()));
-                bout.reset();
+                send(ExportedGridContent.ContentType.CHUNK);
             }
         }
 
@@ -260,10 +352,7 @@ public void write(@NotNull byte[] b, int off, int len) {
             Preconditions.checkState(!closed, "stream already closed");
             bout.write(b, off, len);
             if (bout.size() > FLUSH_AFTER) {
-                PacketDistributor.sendToPlayer(player,
-                        new ExportedGridContent(baseSerialNumber, ExportedGridContent.ContentType.CHUNK,
-                                bout.toByteArray()));
-                bout.reset();
+                send(ExportedGridContent.ContentType.CHUNK);
             }
         }
 
@@ -271,11 +360,17 @@ public void write(@NotNull byte[] b, int off, int len) {
         public void close() {
             if (!closed) {
                 closed = true;
-                PacketDistributor.sendToPlayer(player,
-                        new ExportedGridContent(baseSerialNumber, ExportedGridContent.ContentType.LAST_CHUNK,
-                                bout.toByteArray()));
-                bout.reset();
+                send(ExportedGridContent.ContentType.LAST_CHUNK);
             }
         }
+
+        /**
+         * The stream is written by the export thread, but packets must be sent from the server thread.
+         */
+        private void send(ExportedGridContent.ContentType contentType) {
+            var packet = new ExportedGridContent(baseSerialNumber, contentType, bout.toByteArray());
+            bout.reset();
+            server.execute(() -> PacketDistributor.sendToPlayer(player, packet));
+        }
     }
 }
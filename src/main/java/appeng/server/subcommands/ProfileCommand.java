@@ -0,0 +1,139 @@
+package appeng.server.subcommands;
+
+import static net.minecraft.commands.Commands.argument;
+import static net.minecraft.commands.Commands.literal;
+
+import java.util.Locale;
+
+import com.mojang.brigadier.LiteralMessage;
+import com.mojang.brigadier.arguments.BoolArgumentType;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.SharedSuggestionProvider;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+
+import appeng.hooks.ticking.TickProfiler;
+import appeng.server.ISubCommand;
+
+/**
+ * Shows the statistics collected by the {@link TickProfiler}.
+ * <ul>
+ * <li>{@code /ae2 profile} shows the top offenders across all categories</li>
+ * <li>{@code /ae2 profile top [grid|service|menu|queue] [count]} shows the top offenders of a category</li>
+ * <li>{@code /ae2 profile histogram <timer>} shows how the time spent per tick is distributed for one timer</li>
+ * <li>{@code /ae2 profile enable|allocations <bool>} and {@code /ae2 profile reset} control the profiler</li>
+ * </ul>
+ */
+public class ProfileCommand implements ISubCommand {
+    private static final int DEFAULT_COUNT = 10;
+
+    @Override
+    public void addArguments(LiteralArgumentBuilder<CommandSourceStack> builder) {
+        var top = literal("top").executes(ctx -> showTop(ctx.getSource(), null, DEFAULT_COUNT));
+        top.then(argument("count", IntegerArgumentType.integer(1))
+                .executes(ctx -> showTop(ctx.getSource(), null, IntegerArgumentType.getInteger(ctx, "count"))));
+        for (var category : TickProfiler.Category.values()) {
+            top.then(literal(category.id())
+                    .executes(ctx -> showTop(ctx.getSource(), category, DEFAULT_COUNT))
+                    .then(argument("count", IntegerArgumentType.integer(1))
+                            .executes(ctx -> showTop(ctx.getSource(), category,
+                                    IntegerArgumentType.getInteger(ctx, "count")))));
+        }
+        builder.then(top);
+
+        builder.then(literal("histogram").then(argument("timer", StringArgumentType.greedyString())
+                .suggests((ctx, suggestions) -> SharedSuggestionProvider.suggest(TickProfiler.getTimerIds(),
+                        suggestions))
+                .executes(ctx -> showHistogram(ctx.getSource(), StringArgumentType.getString(ctx, "timer")))));
+
+        builder.then(literal("enable").then(argument("enable", BoolArgumentType.bool()).executes(ctx -> {
+            var enable = BoolArgumentType.getBool(ctx, "enable");
+            TickProfiler.setEnabled(enable);
+            ctx.getSource().sendSuccess(() -> Component.literal("Profiler " + (enable ? "enabled" : "disabled")), true);
+            return 1;
+        })));
+
+        builder.then(literal("allocations").then(argument("enable", BoolArgumentType.bool()).executes(ctx -> {
+            var enable = BoolArgumentType.getBool(ctx, "enable");
+            if (!TickProfiler.setTrackingAllocations(enable)) {
+                throw new SimpleCommandExceptionType(
+                        new LiteralMessage("This JVM does not support counting allocations per thread")).create();
+            }
+            ctx.getSource().sendSuccess(
+                    () -> Component.literal("Allocation tracking " + (enable ? "enabled" : "disabled")), true);
+            return 1;
+        })));
+
+        builder.then(literal("reset").executes(ctx -> {
+            TickProfiler.reset();
+            ctx.getSource().sendSuccess(() -> Component.literal("Profiler statistics cleared"), true);
+            return 1;
+        }));
+    }
+
+    @Override
+    public void call(MinecraftServer srv, CommandContext<CommandSourceStack> data, CommandSourceStack sender) {
+        showTop(sender, null, DEFAULT_COUNT);
+    }
+
+    private static int showTop(CommandSourceStack source, @Nullable TickProfiler.Category category, int count) {
+        if (!TickProfiler.isEnabled()) {
+            source.sendFailure(Component.literal("The profiler is disabled. Use /ae2 profile enable true"));
+            return 0;
+        }
+
+        var top = TickProfiler.getTop(category, count);
+        var trackAllocations = TickProfiler.isTrackingAllocations();
+        source.sendSystemMessage(Component.literal("Top " + top.size() + " over the last "
+                + TickProfiler.getWindowTicks() + " ticks (avg/tick, max/tick, calls"
+                + (trackAllocations ? ", allocated" : "") + "):"));
+        for (var summary : top) {
+            var line = new StringBuilder();
+            line.append(summary.category().id()).append(':').append(summary.name())
+                    .append(" ").append(TickProfiler.formatNanos(summary.avgTickNanos()))
+                    .append(", ").append(TickProfiler.formatNanos(summary.maxTickNanos()))
+                    .append(", ").append(summary.calls());
+            if (trackAllocations) {
+                line.append(", ").append(formatBytes(summary.allocatedBytes()));
+            }
+            source.sendSystemMessage(Component.literal(line.toString()));
+        }
+        return top.size();
+    }
+
+    private static int showHistogram(CommandSourceStack source, String timerId) throws CommandSyntaxException {
+        var timer = TickProfiler.getTimer(timerId);
+        if (timer == null) {
+            throw new SimpleCommandExceptionType(new LiteralMessage("Unknown timer: " + timerId)).create();
+        }
+
+        var histogram = TickProfiler.getHistogram(timer);
+        var labels = TickProfiler.getHistogramLabels();
+        var ticks = Math.max(1, TickProfiler.getWindowTicks());
+        source.sendSystemMessage(Component.literal("Time per tick of " + timerId + " over the last "
+                + TickProfiler.getWindowTicks() + " ticks:"));
+        for (var i = 0; i < histogram.length; i++) {
+            var bar = "#".repeat(histogram[i] * 40 / ticks);
+            source.sendSystemMessage(Component.literal(
+                    String.format(Locale.ROOT, "%12s %4d %s", labels.get(i), histogram[i], bar)));
+        }
+        return 1;
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes >= 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.1fMiB", bytes / (1024.0 * 1024.0));
+        } else {
+            return String.format(Locale.ROOT, "%.1fKiB", bytes / 1024.0);
+        }
+    }
+}
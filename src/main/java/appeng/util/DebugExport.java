@@ -0,0 +1,14 @@
+package appeng.util;
+
+import java.io.IOException;
+
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Debug information that was captured from the live game state on the server thread. It only holds plain data, so it
+ * can be written to a debug export later, from any thread.
+ */
+@FunctionalInterface
+public interface DebugExport {
+    void write(JsonWriter writer) throws IOException;
+}
@@ -0,0 +1,15 @@
+package appeng.util;
+
+import net.minecraft.core.HolderLookup;
+
+/**
+ * Implemented by grid services that capture their
+ * {@link appeng.api.networking.IGridServiceProvider#debugDump debug dump} as plain data, so that it can be written
+ * off the server thread.
+ */
+public interface IDebugDumpable {
+    /**
+     * Captures the state of this service on the server thread. The returned export must not access the service.
+     */
+    DebugExport captureDebugDump(HolderLookup.Provider registries);
+}
@@ -1,9 +1,5 @@
 package appeng.util;
 
-import java.io.IOException;
-
-import com.google.gson.stream.JsonWriter;
-
 import net.minecraft.core.HolderLookup;
 
 import it.unimi.dsi.fastutil.objects.Reference2IntMap;
@@ -14,7 +10,9 @@
  * Interface for objects that allow themselves to be exported to a debug export.
  */
 public interface IDebugExportable {
-    void debugExport(JsonWriter writer, HolderLookup.Provider registries, Reference2IntMap<Object> machineIds,
-            Reference2IntMap<IGridNode> nodeIds)
-            throws IOException;
+    /**
+     * Captures the properties of this object on the server thread. The returned export must not access this object.
+     */
+    DebugExport debugExport(HolderLookup.Provider registries, Reference2IntMap<Object> machineIds,
+            Reference2IntMap<IGridNode> nodeIds);
 }
@@ -0,0 +1,91 @@
+package appeng.api.stacks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import appeng.api.config.FuzzyMode;
+import appeng.util.TestKeys;
+
+/**
+ * Measures {@link KeyCounter} operations for both keys without fuzzy search support (backed by a hash map) and
+ * damageable keys (backed by a hash map with a separate damage index). See {@link VariantCounterBenchmark} for a
+ * comparison with the previous sorted map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class KeyCounterBenchmark {
+    @Param({ "100", "10000" })
+    public int keyCount;
+
+    @Param({ "simple", "damaged" })
+    public String keyKind;
+
+    private List<AEKey> keys;
+    private KeyCounter counter;
+    private AEKey fuzzyProbe;
+
+    @Setup
+    public void setup() {
+        keys = switch (keyKind) {
+            case "simple" -> TestKeys.simpleItems(keyCount);
+            case "damaged" -> TestKeys.damagedItems(keyCount);
+            default -> throw new IllegalArgumentException(keyKind);
+        };
+
+        counter = new KeyCounter();
+        for (var key : keys) {
+            counter.add(key, 1);
+        }
+        fuzzyProbe = keys.get(keys.size() / 2);
+    }
+
+    @Benchmark
+    public KeyCounter build() {
+        var result = new KeyCounter();
+        for (var key : keys) {
+            result.add(key, 1);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public void add() {
+        for (var key : keys) {
+            counter.add(key, 1);
+        }
+    }
+
+    @Benchmark
+    public void get(Blackhole bh) {
+        for (var key : keys) {
+            bh.consume(counter.get(key));
+        }
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh) {
+        for (var entry : counter) {
+            bh.consume(entry.getLongValue());
+        }
+    }
+
+    @Benchmark
+    public int findFuzzy() {
+        return counter.findFuzzy(fuzzyProbe, FuzzyMode.PERCENT_50).size();
+    }
+}
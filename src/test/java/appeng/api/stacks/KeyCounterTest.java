@@ -20,6 +20,7 @@
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -177,6 +178,46 @@ public void testGetFirstItem() {
         assertEquals(1, itemList.getFirstEntry().getLongValue());
     }
 
+    @Test
+    public void testSnapshotContainsNonZeroEntries() {
+        itemList.add(diamondSword(100), 1);
+        itemList.add(diamondSword(50), 2);
+        itemList.add(nameTag(), 3);
+        itemList.add(diamondSword(25), 0);
+
+        var snapshot = itemList.snapshot(7);
+
+        assertEquals(7, snapshot.getVersion());
+        assertFalse(snapshot.isChangedSince(7));
+        assertTrue(snapshot.isChangedSince(6));
+        assertEquals(3, snapshot.size());
+        assertEquals(1, snapshot.get(diamondSword(100)));
+        assertEquals(2, snapshot.get(diamondSword(50)));
+        assertEquals(3, snapshot.get(nameTag()));
+        assertEquals(0, snapshot.get(diamondSword(25)));
+        assertEquals(-1, snapshot.indexOf(diamondSword(25)));
+
+        var entries = new ArrayList<String>();
+        for (int i = 0; i < snapshot.size(); i++) {
+            assertEquals(i, snapshot.indexOf(snapshot.getKey(i)));
+            entries.add(snapshot.getKey(i) + "=" + snapshot.getAmount(i));
+        }
+        assertThat(entries).containsExactlyInAnyOrder(diamondSword(100) + "=1", diamondSword(50) + "=2",
+                nameTag() + "=3");
+    }
+
+    @Test
+    public void testSnapshotIsNotAffectedByChanges() {
+        itemList.add(nameTag(), 3);
+        var snapshot = itemList.snapshot(1);
+
+        itemList.add(nameTag(), 3);
+        itemList.add(diamondSword(100), 1);
+
+        assertEquals(1, snapshot.size());
+        assertEquals(3, snapshot.get(nameTag()));
+    }
+
     @Nested
     class FindFuzzyDamageableItems {
 
@@ -245,6 +286,52 @@ public void testPercent25WithDamagedFilter() {
             assertReturnedDurabilities(damagedFilter, FuzzyMode.PERCENT_25, 0, 24);
         }
 
+        @Test
+        public void testRemovedItemsAreNotReturned() {
+            for (var i = 0; i < 50; i++) {
+                itemList.remove(swords[i]);
+            }
+
+            assertReturnedDurabilities(undamagedFilter, FuzzyMode.IGNORE_ALL, 50, 100);
+        }
+
+        @Test
+        public void testRemovedItemsAreNotReturnedAfterRemoveZeros() {
+            for (var i = 0; i < 50; i++) {
+                itemList.remove(swords[i], 1);
+            }
+            itemList.removeZeros();
+
+            assertReturnedDurabilities(undamagedFilter, FuzzyMode.IGNORE_ALL, 50, 100);
+        }
+
+        @Test
+        public void testReaddedItemsAreReturnedOnce() {
+            // Churn through enough removals to trigger rebuilding the index at least once.
+            // The undamaged sword is kept, so that the variants of the sword are not dropped altogether.
+            for (var round = 0; round < 5; round++) {
+                for (var i = 0; i < 100; i++) {
+                    itemList.remove(swords[i]);
+                }
+                for (var i = 0; i < 100; i++) {
+                    itemList.add(swords[i], 1);
+                }
+            }
+
+            assertReturnedDurabilities(undamagedFilter, FuzzyMode.IGNORE_ALL, 0, 100);
+        }
+
+        @Test
+        public void testCopyIsIndependent() {
+            var copy = new KeyCounter();
+            copy.addAll(itemList);
+            for (var i = 0; i < 50; i++) {
+                itemList.remove(swords[i]);
+            }
+
+            assertThat(copy.findFuzzy(undamagedFilter, FuzzyMode.IGNORE_ALL)).hasSize(101);
+        }
+
         private void assertReturnedDurabilities(AEItemKey filter, FuzzyMode fuzzyMode, int minDurabilityInclusive,
                 int maxDurabilityInclusive) {
             var items = itemList.findFuzzy(filter, fuzzyMode);
@@ -0,0 +1,124 @@
+package appeng.api.stacks;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongSortedMap;
+
+import appeng.api.config.FuzzyMode;
+import appeng.util.TestKeys;
+
+/**
+ * Compares the variant map that {@link KeyCounter} uses for damageable keys against the previous implementation, which
+ * was backed only by a map sorted by {@link FuzzySearch}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class VariantCounterBenchmark {
+    @Param({ "100", "10000" })
+    public int keyCount;
+
+    @Param({ "hybrid", "tree" })
+    public String impl;
+
+    private List<AEKey> keys;
+    private VariantCounter counter;
+    private AEKey fuzzyProbe;
+
+    @Setup
+    public void setup() {
+        keys = TestKeys.damagedItems(keyCount);
+        counter = build();
+        fuzzyProbe = keys.get(keys.size() / 2);
+    }
+
+    private VariantCounter create() {
+        return switch (impl) {
+            case "hybrid" -> new VariantCounter.FuzzyVariantMap();
+            case "tree" -> new TreeVariantMap();
+            default -> throw new IllegalArgumentException(impl);
+        };
+    }
+
+    @Benchmark
+    public VariantCounter build() {
+        var result = create();
+        for (var key : keys) {
+            result.add(key, 1);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public void add() {
+        for (var key : keys) {
+            counter.add(key, 1);
+        }
+    }
+
+    @Benchmark
+    public void get(Blackhole bh) {
+        for (var key : keys) {
+            bh.consume(counter.get(key));
+        }
+    }
+
+    @Benchmark
+    public void churn() {
+        for (var key : keys) {
+            counter.remove(key);
+            counter.add(key, 1);
+        }
+    }
+
+    @Benchmark
+    public int findFuzzy() {
+        return counter.findFuzzy(fuzzyProbe, FuzzyMode.PERCENT_50).size();
+    }
+
+    @Benchmark
+    public boolean findFuzzyIsEmpty() {
+        return counter.findFuzzy(fuzzyProbe, FuzzyMode.PERCENT_99).isEmpty();
+    }
+
+    /**
+     * The previous variant map for damageable keys.
+     */
+    static class TreeVariantMap extends VariantCounter {
+        private final AEKey2LongMap.AVLTreeMap records = FuzzySearch.createMap2Long();
+
+        @Override
+        public Collection<Object2LongMap.Entry<AEKey>> findFuzzy(AEKey key, FuzzyMode fuzzy) {
+            return FuzzySearch.findFuzzy((Object2LongSortedMap<AEKey>) records, key, fuzzy).object2LongEntrySet();
+        }
+
+        @Override
+        AEKey2LongMap getRecords() {
+            return records;
+        }
+
+        @Override
+        public VariantCounter copy() {
+            var result = new TreeVariantMap();
+            result.records.putAll(records);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package appeng.client.gui.me.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class RepoSearchTest {
+    @Test
+    void extendingTermsNarrows() {
+        assertThat(RepoSearch.isNarrowing("", "i")).isTrue();
+        assertThat(RepoSearch.isNarrowing("ir", "iro")).isTrue();
+        assertThat(RepoSearch.isNarrowing("iron", "iron ")).isTrue();
+        assertThat(RepoSearch.isNarrowing("iron ", "iron @mine")).isTrue();
+        assertThat(RepoSearch.isNarrowing("iron|go", "iron|gold")).isTrue();
+        assertThat(RepoSearch.isNarrowing("Iron", "iron ingot")).isTrue();
+    }
+
+    @Test
+    void changingTermsDoesNotNarrow() {
+        assertThat(RepoSearch.isNarrowing("iron", "ron")).isFalse();
+        assertThat(RepoSearch.isNarrowing("iron", "airon")).isFalse();
+        assertThat(RepoSearch.isNarrowing("iron ingot", "iron")).isFalse();
+        assertThat(RepoSearch.isNarrowing("iron", "@iron")).isFalse();
+    }
+
+    @Test
+    void addingAlternativesDoesNotNarrow() {
+        assertThat(RepoSearch.isNarrowing("foo", "foo|")).isTrue();
+        assertThat(RepoSearch.isNarrowing("foo|", "foo|b")).isFalse();
+        assertThat(RepoSearch.isNarrowing("foo", "foo|b")).isFalse();
+        assertThat(RepoSearch.isNarrowing("foo|bar", "foo")).isFalse();
+    }
+}
@@ -0,0 +1,77 @@
+package appeng.core.network;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.Unpooled;
+
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+
+import appeng.api.stacks.AEKey;
+import appeng.util.BootstrapMinecraft;
+import appeng.util.TestKeys;
+
+@BootstrapMinecraft
+class KeyDictionaryTest {
+    private final List<AEKey> keys = TestKeys.simpleItems(3);
+    private final AEKey a = keys.get(0);
+    private final AEKey b = keys.get(1);
+    private final AEKey c = keys.get(2);
+
+    @BeforeEach
+    void clearClientKeys() {
+        KeyDictionary.clearClientKeys();
+    }
+
+    @Test
+    void keysAreOnlySentOnce() {
+        var dictionary = new KeyDictionary(16);
+        var first = createBuffer();
+        KeyDictionary.writeKey(first, a, dictionary);
+        var second = createBuffer();
+        KeyDictionary.writeKey(second, a, dictionary);
+
+        assertThat(second.readableBytes()).isEqualTo(1).isLessThan(first.readableBytes());
+        assertThat(KeyDictionary.readKey(first)).isEqualTo(a);
+        assertThat(KeyDictionary.readKey(second)).isEqualTo(a);
+    }
+
+    @Test
+    void leastRecentlyUsedKeysAreEvicted() {
+        var dictionary = new KeyDictionary(2);
+        var written = List.of(a, b, a, c, b, a, c);
+        var buffer = createBuffer();
+        for (var key : written) {
+            KeyDictionary.writeKey(buffer, key, dictionary);
+        }
+
+        var read = new ArrayList<AEKey>();
+        while (buffer.isReadable()) {
+            read.add(KeyDictionary.readKey(buffer));
+        }
+        assertThat(read).isEqualTo(written);
+    }
+
+    @Test
+    void keysAreWrittenInlineWithoutDictionary() {
+        var buffer = createBuffer();
+        KeyDictionary.writeKey(buffer, a, null);
+        KeyDictionary.writeKey(buffer, null, null);
+
+        assertThat(KeyDictionary.readKey(buffer)).isEqualTo(a);
+        assertThat(KeyDictionary.readKey(buffer)).isNull();
+        assertThat(buffer.isReadable()).isFalse();
+    }
+
+    private static RegistryFriendlyByteBuf createBuffer() {
+        return new RegistryFriendlyByteBuf(Unpooled.buffer(),
+                RegistryAccess.fromRegistryOfRegistries(BuiltInRegistries.REGISTRY));
+    }
+}
@@ -0,0 +1,83 @@
+package appeng.core.network.clientbound;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.BuiltInRegistries;
+
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.menu.me.common.IncrementalUpdateHelper;
+import appeng.util.TestKeys;
+
+/**
+ * Measures encoding the terminal inventory sync packets, both for opening a terminal (full update) and for a tick in
+ * which the amounts of all keys changed (incremental update referring to previously sent keys by serial).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MEInventoryUpdatePacketBenchmark {
+    @Param({ "1000", "50000" })
+    public int keyCount;
+
+    @Param({ "simple", "damaged" })
+    public String keyKind;
+
+    private final RegistryAccess registryAccess = RegistryAccess.fromRegistryOfRegistries(BuiltInRegistries.REGISTRY);
+    private final KeyCounter networkStorage = new KeyCounter();
+    private final KeyCounter requestables = new KeyCounter();
+    private List<AEKey> keys;
+    private IncrementalUpdateHelper sentKeys;
+
+    @Setup
+    public void setup() {
+        keys = switch (keyKind) {
+            case "simple" -> TestKeys.simpleItems(keyCount);
+            case "damaged" -> TestKeys.damagedItems(keyCount);
+            default -> throw new IllegalArgumentException(keyKind);
+        };
+
+        for (var key : keys) {
+            networkStorage.add(key, 1000);
+        }
+
+        sentKeys = new IncrementalUpdateHelper();
+        for (var key : keys) {
+            sentKeys.getOrAssignSerial(key);
+        }
+    }
+
+    @Benchmark
+    public List<MEInventoryUpdatePacket> fullUpdate() {
+        var builder = MEInventoryUpdatePacket.builder(0, true, registryAccess);
+        builder.addFull(new IncrementalUpdateHelper(), networkStorage, Set.of(), requestables);
+        return builder.build();
+    }
+
+    @Benchmark
+    public List<MEInventoryUpdatePacket> incrementalUpdate() {
+        for (var key : keys) {
+            sentKeys.addChange(key);
+        }
+
+        var builder = MEInventoryUpdatePacket.builder(0, false, registryAccess);
+        builder.addChanges(sentKeys, networkStorage, Set.of(), requestables);
+        return builder.build();
+    }
+}
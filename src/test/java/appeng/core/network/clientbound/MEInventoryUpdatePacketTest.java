@@ -0,0 +1,90 @@
+package appeng.core.network.clientbound;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.BuiltInRegistries;
+
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.menu.me.common.IncrementalUpdateHelper;
+import appeng.util.BootstrapMinecraft;
+import appeng.util.TestKeys;
+
+@BootstrapMinecraft
+class MEInventoryUpdatePacketTest {
+    private final RegistryAccess registryAccess = RegistryAccess.fromRegistryOfRegistries(BuiltInRegistries.REGISTRY);
+    private final List<AEKey> keys = TestKeys.simpleItems(1000);
+    private final KeyCounter networkStorage = new KeyCounter();
+    private final IncrementalUpdateHelper updateHelper = new IncrementalUpdateHelper();
+    private final List<AEKey> received = new ArrayList<>();
+
+    @Test
+    void largeUpdatesAreSpreadOverMultipleTicks() {
+        for (var key : keys) {
+            networkStorage.add(key, 1);
+            updateHelper.addChange(key);
+        }
+
+        var firstTick = sendTick();
+        assertThat(firstTick.get(0).fullUpdate()).isTrue();
+        var pending = firstTick.get(firstTick.size() - 1).pendingEntries();
+        assertThat(pending).isPositive().isLessThan(keys.size());
+        assertThat(received).hasSize(keys.size() - pending);
+
+        // Changing a pending key again doesn't move it to the back of the queue
+        updateHelper.addChange(keys.get(keys.size() - 2));
+
+        var ticks = 1;
+        List<MEInventoryUpdatePacket> packets = firstTick;
+        while (updateHelper.hasChanges()) {
+            packets = sendTick();
+            assertThat(packets.get(0).fullUpdate()).isFalse();
+            assertThat(++ticks).isLessThanOrEqualTo(keys.size());
+        }
+
+        assertThat(ticks).isGreaterThan(1);
+        assertThat(packets.get(packets.size() - 1).pendingEntries()).isZero();
+        assertThat(received).containsExactlyElementsOf(keys);
+    }
+
+    @Test
+    void updatesWithoutBudgetAreSentAtOnce() {
+        for (var key : keys) {
+            networkStorage.add(key, 1);
+            updateHelper.addChange(key);
+        }
+
+        var builder = MEInventoryUpdatePacket.builder(0, updateHelper.isFullUpdate(), registryAccess);
+        builder.addChanges(updateHelper, networkStorage, Set.of(), new KeyCounter());
+        receive(builder.build());
+
+        assertThat(updateHelper.hasChanges()).isFalse();
+        assertThat(received).containsExactlyElementsOf(keys);
+    }
+
+    private List<MEInventoryUpdatePacket> sendTick() {
+        var builder = MEInventoryUpdatePacket.builder(0, updateHelper.isFullUpdate(), registryAccess);
+        builder.setByteBudget(1024);
+        builder.addChanges(updateHelper, networkStorage, Set.of(), new KeyCounter());
+        var packets = builder.build();
+        assertThat(packets).isNotEmpty();
+        receive(packets);
+        return packets;
+    }
+
+    private void receive(List<MEInventoryUpdatePacket> packets) {
+        for (var packet : packets) {
+            var data = packet.encodedEntries();
+            for (var i = 0; i < packet.encodedEntryCount(); i++) {
+                received.add(MEInventoryUpdatePacket.readEntry(data).getWhat());
+            }
+        }
+    }
+}
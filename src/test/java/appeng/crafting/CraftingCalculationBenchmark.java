@@ -0,0 +1,77 @@
+package appeng.crafting;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import appeng.api.networking.crafting.CalculationStrategy;
+import appeng.api.networking.crafting.ICraftingPlan;
+import appeng.api.stacks.GenericStack;
+import appeng.crafting.simulation.helpers.ProcessingPatternBuilder;
+import appeng.crafting.simulation.helpers.SimulationEnv;
+import appeng.util.TestKeys;
+
+/**
+ * Measures {@link CraftingCalculation} on a synthetic, complete binary tree of processing patterns, where every
+ * intermediate item is crafted from two other items and only the leaves are stored in the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CraftingCalculationBenchmark {
+    @Param({ "6", "10" })
+    public int depth;
+
+    @Param({ "1", "64" })
+    public long amount;
+
+    private SimulationEnv env;
+    private GenericStack output;
+    private ExecutorService executor;
+
+    @Setup
+    public void setup() {
+        env = new SimulationEnv();
+        executor = Executors.newSingleThreadExecutor();
+
+        var nodeCount = (1 << depth) - 1;
+        var keys = TestKeys.simpleItems(nodeCount);
+        var firstLeaf = nodeCount / 2;
+
+        for (int i = 0; i < firstLeaf; i++) {
+            env.addPattern(new ProcessingPatternBuilder(new GenericStack(keys.get(i), 1))
+                    .addPreciseInput(1, new GenericStack(keys.get(2 * i + 1), 1))
+                    .addPreciseInput(1, new GenericStack(keys.get(2 * i + 2), 1))
+                    .build());
+        }
+        for (int i = firstLeaf; i < nodeCount; i++) {
+            env.addStoredItem(keys.get(i), Long.MAX_VALUE / nodeCount);
+        }
+
+        output = new GenericStack(keys.getFirst(), amount);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public ICraftingPlan calculate() {
+        return env.runSimulation(output, CalculationStrategy.REPORT_MISSING_ITEMS, executor);
+    }
+}
@@ -0,0 +1,198 @@
+package appeng.crafting.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.BuiltInRegistries;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.IGrid;
+import appeng.api.networking.crafting.ICraftingPlan;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.networking.storage.IStorageService;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.GenericStack;
+import appeng.api.stacks.KeyCounter;
+import appeng.crafting.CraftingLink;
+import appeng.crafting.inv.ListCraftingInventory;
+import appeng.me.cluster.implementations.CraftingCPUCluster;
+import appeng.me.service.CraftingService;
+import appeng.util.BootstrapMinecraft;
+import appeng.util.KeyCounterStorage;
+import appeng.util.TestKeys;
+
+@BootstrapMinecraft
+class ReservedIngredientsTest {
+    private final RegistryAccess registryAccess = RegistryAccess.fromRegistryOfRegistries(BuiltInRegistries.REGISTRY);
+    private final AEKey a = TestKeys.simpleItems(3).get(0);
+    private final AEKey b = TestKeys.simpleItems(3).get(1);
+    private final AEKey output = TestKeys.simpleItems(3).get(2);
+    private final KeyCounterStorage storage = new KeyCounterStorage(Set.of(a, b));
+    private final CraftingService craftingService = mock(CraftingService.class);
+    private final IGrid grid = createGrid();
+    private final ListCraftingInventory reservations = new ListCraftingInventory(what -> {
+    });
+    private final ListCraftingInventory cpuInventory = new ListCraftingInventory(what -> {
+    });
+
+    @Test
+    void reservedIngredientsAreExtractedLater() {
+        storage.insert(a, 10, Actionable.MODULATE, IActionSource.empty());
+        storage.insert(b, 5, Actionable.MODULATE, IActionSource.empty());
+
+        var plan = createPlan(Map.of(a, 4L, b, 5L));
+        assertThat(CraftingCpuHelper.tryReserveInitialItems(plan, grid, reservations, IActionSource.empty())).isNull();
+        assertThat(reservations.extract(a, Long.MAX_VALUE, Actionable.SIMULATE)).isEqualTo(4);
+        assertThat(reservations.extract(b, Long.MAX_VALUE, Actionable.SIMULATE)).isEqualTo(5);
+        // Reserving doesn't touch the network
+        assertThat(storage.getAvailableStacks().get(a)).isEqualTo(10);
+
+        assertThat(CraftingCpuHelper.extractReservedItems(reservations, grid, cpuInventory, IActionSource.empty(), 1,
+                List.of())).isTrue();
+        assertThat(reservations.list.size()).isEqualTo(1);
+        assertThat(CraftingCpuHelper.extractReservedItems(reservations, grid, cpuInventory, IActionSource.empty(), 1,
+                List.of())).isTrue();
+        assertThat(reservations.list.isEmpty()).isTrue();
+        assertThat(cpuInventory.extract(a, Long.MAX_VALUE, Actionable.SIMULATE)).isEqualTo(4);
+        assertThat(cpuInventory.extract(b, Long.MAX_VALUE, Actionable.SIMULATE)).isEqualTo(5);
+        assertThat(storage.getAvailableStacks().get(a)).isEqualTo(6);
+        assertThat(storage.getAvailableStacks().get(b)).isZero();
+    }
+
+    @Test
+    void missingIngredientsStayReserved() {
+        storage.insert(a, 10, Actionable.MODULATE, IActionSource.empty());
+        reservations.insert(a, 4, Actionable.MODULATE);
+        // Something else took the items after they were reserved
+        storage.extract(a, 8, Actionable.MODULATE, IActionSource.empty());
+
+        assertThat(CraftingCpuHelper.extractReservedItems(reservations, grid, cpuInventory, IActionSource.empty(), 1,
+                List.of())).isTrue();
+        assertThat(reservations.extract(a, Long.MAX_VALUE, Actionable.SIMULATE)).isEqualTo(2);
+        assertThat(cpuInventory.extract(a, Long.MAX_VALUE, Actionable.SIMULATE)).isEqualTo(2);
+
+        assertThat(CraftingCpuHelper.extractReservedItems(reservations, grid, cpuInventory, IActionSource.empty(), 1,
+                List.of())).isFalse();
+        assertThat(reservations.extract(a, Long.MAX_VALUE, Actionable.SIMULATE)).isEqualTo(2);
+    }
+
+    @Test
+    void missingIngredientsDontHoldUpOthers() {
+        storage.insert(b, 5, Actionable.MODULATE, IActionSource.empty());
+        reservations.insert(a, 4, Actionable.MODULATE);
+        reservations.insert(b, 5, Actionable.MODULATE);
+
+        assertThat(CraftingCpuHelper.extractReservedItems(reservations, grid, cpuInventory, IActionSource.empty(), 1,
+                List.of())).isTrue();
+        assertThat(cpuInventory.extract(b, Long.MAX_VALUE, Actionable.SIMULATE)).isEqualTo(5);
+        assertThat(reservations.extract(a, Long.MAX_VALUE, Actionable.SIMULATE)).isEqualTo(4);
+    }
+
+    @Test
+    void preferredIngredientsAreExtractedFirst() {
+        storage.insert(a, 10, Actionable.MODULATE, IActionSource.empty());
+        storage.insert(b, 5, Actionable.MODULATE, IActionSource.empty());
+
+        for (var preferred : List.of(a, b)) {
+            reservations.clear();
+            cpuInventory.clear();
+            reservations.insert(a, 4, Actionable.MODULATE);
+            reservations.insert(b, 5, Actionable.MODULATE);
+
+            assertThat(CraftingCpuHelper.extractReservedItems(reservations, grid, cpuInventory, IActionSource.empty(),
+                    1, List.of(preferred))).isTrue();
+            assertThat(reservations.list.size()).isEqualTo(1);
+            assertThat(reservations.extract(preferred, Long.MAX_VALUE, Actionable.SIMULATE)).isZero();
+            assertThat(cpuInventory.list.size()).isEqualTo(1);
+            assertThat(cpuInventory.extract(preferred, Long.MAX_VALUE, Actionable.SIMULATE)).isPositive();
+        }
+    }
+
+    @Test
+    void reservationFailsIfIngredientsAreMissing() {
+        storage.insert(a, 10, Actionable.MODULATE, IActionSource.empty());
+        storage.insert(b, 3, Actionable.MODULATE, IActionSource.empty());
+
+        var plan = createPlan(Map.of(a, 4L, b, 5L));
+        assertThat(CraftingCpuHelper.tryReserveInitialItems(plan, grid, reservations, IActionSource.empty()))
+                .isEqualTo(new GenericStack(b, 2));
+        assertThat(reservations.list.isEmpty()).isTrue();
+    }
+
+    @Test
+    void reservationFailsIfIngredientsAreReservedByOtherJobs() {
+        storage.insert(a, 10, Actionable.MODULATE, IActionSource.empty());
+        when(craftingService.getReservedAmount(a)).thenReturn(8L);
+
+        var plan = createPlan(Map.of(a, 4L));
+        assertThat(CraftingCpuHelper.tryReserveInitialItems(plan, grid, reservations, IActionSource.empty()))
+                .isEqualTo(new GenericStack(a, 2));
+        assertThat(reservations.list.isEmpty()).isTrue();
+    }
+
+    @Test
+    void reservationFailsIfTheSourceCantExtract() {
+        var restrictedSource = mock(IActionSource.class);
+        var restrictedStorage = new KeyCounterStorage(Set.of(a)) {
+            @Override
+            public long extract(AEKey what, long amount, Actionable mode, IActionSource source) {
+                return source == restrictedSource ? 0 : super.extract(what, amount, mode, source);
+            }
+        };
+        restrictedStorage.insert(a, 10, Actionable.MODULATE, IActionSource.empty());
+        when(grid.getStorageService().getInventory()).thenReturn(restrictedStorage);
+
+        var plan = createPlan(Map.of(a, 4L));
+        assertThat(CraftingCpuHelper.tryReserveInitialItems(plan, grid, reservations, restrictedSource))
+                .isEqualTo(new GenericStack(a, 4));
+        assertThat(CraftingCpuHelper.tryReserveInitialItems(plan, grid, reservations, IActionSource.empty()))
+                .isNull();
+    }
+
+    @Test
+    void reservationsAreSavedWithTheJob() {
+        var plan = createPlan(Map.of());
+        var cluster = mock(CraftingCPUCluster.class);
+        var link = new CraftingLink(CraftingCpuHelper.generateLinkData(UUID.randomUUID(), true, false), cluster);
+        var job = new ExecutingCraftingJob(plan, what -> {
+        }, link, null);
+        job.reserved.insert(a, 4, Actionable.MODULATE);
+        job.reserved.insert(b, 5, Actionable.MODULATE);
+
+        var loaded = new ExecutingCraftingJob(job.writeToNBT(registryAccess), registryAccess, what -> {
+        }, new CraftingCpuLogic(cluster));
+        assertThat(loaded.reserved.extract(a, Long.MAX_VALUE, Actionable.SIMULATE)).isEqualTo(4);
+        assertThat(loaded.reserved.extract(b, Long.MAX_VALUE, Actionable.SIMULATE)).isEqualTo(5);
+        assertThat(loaded.reserved.list.size()).isEqualTo(2);
+    }
+
+    private IGrid createGrid() {
+        var storageService = mock(IStorageService.class);
+        when(storageService.getInventory()).thenReturn(storage);
+        when(storageService.getCachedInventory()).thenAnswer(invocation -> storage.getAvailableStacks());
+        var grid = mock(IGrid.class);
+        when(grid.getStorageService()).thenReturn(storageService);
+        when(grid.getCraftingService()).thenReturn(craftingService);
+        return grid;
+    }
+
+    private ICraftingPlan createPlan(Map<AEKey, Long> usedItems) {
+        var used = new KeyCounter();
+        usedItems.forEach(used::add);
+        var plan = mock(ICraftingPlan.class);
+        when(plan.usedItems()).thenReturn(used);
+        when(plan.emittedItems()).thenReturn(new KeyCounter());
+        when(plan.patternTimes()).thenReturn(Map.of());
+        when(plan.finalOutput()).thenReturn(new GenericStack(output, 1));
+        return plan;
+    }
+}
@@ -9,6 +9,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -89,9 +90,13 @@ public SimulationEnv copy() {
     }
 
     public ICraftingPlan runSimulation(GenericStack what, CalculationStrategy strategy) {
+        return runSimulation(what, strategy, Executors.newSingleThreadExecutor());
+    }
+
+    public ICraftingPlan runSimulation(GenericStack what, CalculationStrategy strategy, ExecutorService executor) {
         var calculation = new CraftingCalculation(mock(Level.class), gridMock, simulationRequester, what, strategy);
         try {
-            var calculationFuture = Executors.newSingleThreadExecutor().submit(calculation::run);
+            var calculationFuture = executor.submit(calculation::run);
             calculation.simulateFor(1000000000);
             return calculationFuture.get(1000, TimeUnit.MILLISECONDS);
         } catch (Exception e) {
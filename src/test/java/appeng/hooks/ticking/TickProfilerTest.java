@@ -0,0 +1,91 @@
+package appeng.hooks.ticking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TickProfilerTest {
+    @BeforeEach
+    void setUp() {
+        TickProfiler.setEnabled(true);
+        TickProfiler.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TickProfiler.reset();
+    }
+
+    @Test
+    void timersAreAttributedByCategory() {
+        var grid = TickProfiler.grid(1);
+        var service = TickProfiler.service(String.class);
+        for (var i = 0; i < 3; i++) {
+            grid.start();
+            service.start();
+            service.stop();
+            grid.stop();
+            TickProfiler.endTick();
+        }
+
+        var top = TickProfiler.getTop(TickProfiler.Category.SERVICE, 10);
+        assertThat(top).hasSize(1);
+        assertThat(top.get(0).name()).isEqualTo("String");
+        assertThat(top.get(0).calls()).isEqualTo(3);
+        assertThat(TickProfiler.getTimer("grid:#1")).isSameAs(grid);
+        assertThat(TickProfiler.getTop(null, 10)).hasSize(2);
+    }
+
+    @Test
+    void histogramCoversEveryTickOfTheWindow() {
+        var timer = TickProfiler.queue("test");
+        for (var i = 0; i < TickProfiler.WINDOW_TICKS; i++) {
+            timer.start();
+            timer.stop();
+            TickProfiler.endTick();
+        }
+
+        var histogram = TickProfiler.getHistogram(timer);
+        assertThat(histogram).hasSize(TickProfiler.getHistogramLabels().size());
+        assertThat(Arrays.stream(histogram).sum()).isEqualTo(TickProfiler.WINDOW_TICKS);
+    }
+
+    @Test
+    void idleTimersAreForgotten() {
+        var timer = TickProfiler.grid(2);
+        timer.start();
+        timer.stop();
+        for (var i = 0; i <= TickProfiler.WINDOW_TICKS; i++) {
+            TickProfiler.endTick();
+        }
+
+        assertThat(TickProfiler.getTimer("grid:#2")).isNull();
+        assertThat(TickProfiler.grid(2)).isNotSameAs(timer);
+    }
+
+    @Test
+    void stoppingWithoutStartingIsIgnored() {
+        var timer = TickProfiler.queue("unstarted");
+        timer.stop();
+        TickProfiler.endTick();
+
+        assertThat(TickProfiler.getTop(TickProfiler.Category.QUEUE, 1).get(0).calls()).isZero();
+    }
+
+    @Test
+    void noTimersAreCreatedWhileDisabled() {
+        TickProfiler.setEnabled(false);
+        for (var i = 0; i < 10; i++) {
+            var timer = TickProfiler.grid(i);
+            timer.start();
+            timer.stop();
+            TickProfiler.endTick();
+        }
+
+        assertThat(TickProfiler.getTimerIds()).isEmpty();
+    }
+}
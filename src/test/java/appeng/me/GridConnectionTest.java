@@ -3,6 +3,7 @@
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.never;
@@ -205,4 +206,120 @@ private void assertSameGrid(IGridNode a, IGridNode b) {
         }
     }
 
+    /**
+     * Tests how grids are split when a connection is destroyed.
+     */
+    @Nested
+    class GridSplitting {
+        /**
+         * Removing a connection that is part of a loop must not split the grid.
+         */
+        @Test
+        void testRemovingConnectionInLoopKeepsGrid() {
+            var nodes = makeChain(4);
+            var grid = nodes[0].getInternalGrid();
+            var closingConnection = GridHelper.createConnection(nodes[3], nodes[0]);
+
+            closingConnection.destroy();
+
+            for (var node : nodes) {
+                assertSame(grid, node.getGrid());
+            }
+            assertEquals(4, grid.size());
+        }
+
+        /**
+         * When the grid is split, the larger part keeps the existing grid.
+         */
+        @Test
+        void testSplitMovesSmallerPartToNewGrid() {
+            var nodes = makeChain(5);
+            var grid = nodes[0].getInternalGrid();
+
+            // Split into [0, 1, 2, 3] and [4]
+            nodes[3].getConnections().stream()
+                    .filter(c -> c.getOtherSide(nodes[3]) == nodes[4])
+                    .findFirst()
+                    .orElseThrow()
+                    .destroy();
+
+            for (int i = 0; i < 4; i++) {
+                assertSame(grid, nodes[i].getGrid());
+            }
+            assertNotSame(grid, nodes[4].getGrid());
+            assertEquals(4, grid.size());
+            assertEquals(1, nodes[4].getGrid().size());
+        }
+
+        /**
+         * If the pivot of the grid ends up in the smaller part, the pivot is moved so that the larger part can keep
+         * the existing grid.
+         */
+        @Test
+        void testSplitMovesPivotOutOfSmallerPart() {
+            var nodes = makeChain(5);
+            var grid = nodes[0].getInternalGrid();
+            grid.setPivot(nodes[4]);
+
+            // Split into [0, 1, 2, 3] and [4]
+            nodes[4].getConnections().getFirst().destroy();
+
+            assertSame(grid, nodes[0].getGrid());
+            assertNotSame(grid, nodes[4].getGrid());
+            assertThat(grid.getPivot()).isNotSameAs(nodes[4]);
+            assertSame(nodes[4], nodes[4].getGrid().getPivot());
+        }
+
+        /**
+         * The part with fewer nodes is split off, even if the search reaches more nodes per step on that side.
+         */
+        @Test
+        void testSplitMovesStarOffLongChain() {
+            var chain = makeChain(100);
+            var center = makeReadyNode();
+            var leaves = new GridNode[20];
+            for (int i = 0; i < leaves.length; i++) {
+                leaves[i] = makeReadyNode();
+                GridHelper.createConnection(center, leaves[i]);
+            }
+            var bridge = GridHelper.createConnection(chain[chain.length - 1], center);
+            var grid = chain[0].getInternalGrid();
+            assertSame(grid, center.getGrid());
+
+            bridge.destroy();
+
+            assertSame(grid, chain[0].getGrid());
+            assertEquals(chain.length, grid.size());
+            var starGrid = center.getGrid();
+            assertNotSame(grid, starGrid);
+            assertEquals(leaves.length + 1, starGrid.size());
+            for (var leaf : leaves) {
+                assertSame(starGrid, leaf.getGrid());
+            }
+        }
+
+        @Test
+        void testSmallerComponentIsFoundForLongChainAgainstStar() {
+            var chain = makeChain(100);
+            var center = makeReadyNode();
+            for (int i = 0; i < 20; i++) {
+                GridHelper.createConnection(center, makeReadyNode());
+            }
+
+            var component = GridSplitDetector.findSmallerComponent(chain[chain.length - 1], center);
+            assertNotNull(component);
+            assertThat(component).hasSize(21).contains(center);
+        }
+
+        private GridNode[] makeChain(int length) {
+            var nodes = new GridNode[length];
+            for (int i = 0; i < length; i++) {
+                nodes[i] = makeReadyNode();
+                if (i > 0) {
+                    GridHelper.createConnection(nodes[i - 1], nodes[i]);
+                }
+            }
+            return nodes;
+        }
+    }
 }
@@ -6,9 +6,11 @@
 import static org.mockito.Mockito.reset;
 
 import java.util.ArrayList;
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 
+import appeng.api.networking.GridHelper;
 import appeng.api.networking.IGridNodeListener;
 import appeng.me.service.PathingService;
 
@@ -33,4 +35,43 @@ public void rebootNotificationIsPostedAfterGridBeginsBooting() {
         assertThat(calls).containsExactly(false, true);
     }
 
+    @Test
+    public void machineSetsAreReusedUntilNodesChange() {
+        var node = makeReadyNode();
+        var grid = node.getGrid();
+        var machines = grid.getMachines(Object.class);
+        assertThat(machines).containsExactly(owner);
+        assertThat(grid.getMachines(Object.class)).isSameAs(machines);
+
+        var otherOwner = new Object();
+        var other = new GridNode(level, otherOwner, listener, Set.of());
+        other.markReady();
+        GridHelper.createConnection(node, other);
+        assertThat(grid.getMachines(Object.class)).containsExactlyInAnyOrder(owner, otherOwner);
+
+        other.destroy();
+        assertThat(grid.getMachines(Object.class)).containsExactly(owner);
+    }
+
+    /**
+     * The active machines must already reflect the new state when nodes are notified about it.
+     */
+    @Test
+    public void activeMachinesFollowGridBooting() {
+        var node = makePoweredNode();
+        var grid = node.getGrid();
+        assertThat(grid.getActiveMachines(Object.class)).containsExactly(owner);
+        reset(listener);
+        var calls = new ArrayList<Set<Object>>();
+        doAnswer(invocation -> {
+            calls.add(grid.getActiveMachines(Object.class));
+            return null;
+        }).when(listener).onStateChanged(owner, node, IGridNodeListener.State.GRID_BOOT);
+        var pathingService = (PathingService) grid.getPathingService();
+        pathingService.repath();
+        runTick(grid);
+        assertThat(calls).satisfiesExactly(
+                machines -> assertThat(machines).isEmpty(),
+                machines -> assertThat(machines).containsExactly(owner));
+    }
 }
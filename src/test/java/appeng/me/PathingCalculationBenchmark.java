@@ -0,0 +1,93 @@
+package appeng.me;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.minecraft.server.level.ServerLevel;
+
+import appeng.api.networking.GridFlags;
+import appeng.api.networking.GridHelper;
+import appeng.api.networking.IGrid;
+import appeng.api.networking.IGridNode;
+import appeng.api.networking.IGridNodeListener;
+import appeng.blockentity.networking.ControllerBlockEntity;
+import appeng.me.pathfinding.PathingCalculation;
+
+/**
+ * Measures {@link PathingCalculation} on a square mesh of cables (which contains many loops), where every cable has a
+ * device attached that requires a channel. A single controller is attached to one corner of the mesh.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PathingCalculationBenchmark {
+    @Param({ "10", "50", "100" })
+    public int size;
+
+    @Param({ "false", "true" })
+    public boolean dense;
+
+    private IGrid grid;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        var level = mock(ServerLevel.class);
+        IGridNodeListener<Object> listener = mock(IGridNodeListener.class);
+
+        var controller = makeNode(level, listener, Set.of(GridFlags.DENSE_CAPACITY));
+        var cableFlags = dense ? Set.of(GridFlags.PREFERRED, GridFlags.DENSE_CAPACITY) : Set.of(GridFlags.PREFERRED);
+
+        var cables = new GridNode[size][size];
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                var cable = makeNode(level, listener, cableFlags);
+                cables[x][y] = cable;
+                if (x > 0) {
+                    GridHelper.createConnection(cables[x - 1][y], cable);
+                }
+                if (y > 0) {
+                    GridHelper.createConnection(cables[x][y - 1], cable);
+                }
+
+                var device = makeNode(level, listener, Set.of(GridFlags.REQUIRE_CHANNEL));
+                GridHelper.createConnection(cable, device);
+            }
+        }
+        GridHelper.createConnection(controller, cables[0][0]);
+
+        // The controller is only recognized by its owner's class, which we use a mock grid to get around
+        grid = mock(IGrid.class);
+        when(grid.getMachineNodes(ControllerBlockEntity.class)).thenReturn(List.<IGridNode>of(controller));
+    }
+
+    private static GridNode makeNode(ServerLevel level, IGridNodeListener<Object> listener, Set<GridFlags> flags) {
+        var node = new GridNode(level, new Object(), listener, flags);
+        node.markReady();
+        return node;
+    }
+
+    @Benchmark
+    public int compute() {
+        var calculation = new PathingCalculation(grid);
+        calculation.compute();
+        return calculation.getChannelsInUse();
+    }
+}
@@ -13,10 +13,12 @@
 import net.minecraft.world.level.material.Fluids;
 
 import appeng.api.config.Actionable;
+import appeng.api.ids.AEComponents;
 import appeng.api.networking.security.IActionSource;
 import appeng.api.stacks.AEFluidKey;
 import appeng.api.stacks.AEItemKey;
 import appeng.api.stacks.AEKeyType;
+import appeng.api.stacks.GenericStack;
 import appeng.api.storage.StorageCells;
 import appeng.api.storage.cells.CellState;
 import appeng.core.definitions.AEItems;
@@ -176,6 +178,45 @@ void testVoidUpgradeUnformatted() {
         assertThat(cell.insert(rejected, Long.MAX_VALUE, Actionable.MODULATE, SRC)).isZero();
     }
 
+    @Test
+    void testPersistOnlyRewritesChangedEntries() {
+        var item = AEItems.ITEM_CELL_1K.get();
+        var stack = new ItemStack(item);
+        var keys = generateDifferentKeys(3);
+        var cell = StorageCells.getCellInventory(stack, () -> {
+        });
+        Objects.requireNonNull(cell);
+
+        cell.insert(keys[0], 10, Actionable.MODULATE, SRC);
+        cell.insert(keys[1], 20, Actionable.MODULATE, SRC);
+        cell.persist();
+        var persisted = stack.get(AEComponents.STORAGE_CELL_INV);
+        assertThat(persisted).containsExactly(new GenericStack(keys[0], 10), new GenericStack(keys[1], 20));
+
+        // Changes that cancel out don't replace the component
+        cell.insert(keys[2], 5, Actionable.MODULATE, SRC);
+        cell.extract(keys[2], 5, Actionable.MODULATE, SRC);
+        cell.extract(keys[0], 3, Actionable.MODULATE, SRC);
+        cell.insert(keys[0], 3, Actionable.MODULATE, SRC);
+        cell.persist();
+        assertThat(stack.get(AEComponents.STORAGE_CELL_INV)).isSameAs(persisted);
+
+        // Unchanged entries are reused, removed entries are dropped and new entries are appended
+        cell.extract(keys[0], 10, Actionable.MODULATE, SRC);
+        cell.insert(keys[2], 7, Actionable.MODULATE, SRC);
+        cell.persist();
+        var updated = stack.get(AEComponents.STORAGE_CELL_INV);
+        assertThat(updated).containsExactly(new GenericStack(keys[1], 20), new GenericStack(keys[2], 7));
+        assertThat(updated.get(0)).isSameAs(persisted.get(1));
+
+        // The totals are kept up to date without recounting and match a freshly loaded cell
+        var reloaded = (BasicCellInventory) StorageCells.getCellInventory(stack, null);
+        var basicCell = (BasicCellInventory) cell;
+        Objects.requireNonNull(reloaded);
+        assertThat(basicCell.getStoredItemTypes()).isEqualTo(2).isEqualTo(reloaded.getStoredItemTypes());
+        assertThat(basicCell.getStoredItemCount()).isEqualTo(27).isEqualTo(reloaded.getStoredItemCount());
+    }
+
     private static AEItemKey[] generateDifferentKeys(int count) {
         var out = new AEItemKey[count];
         for (int i = 0; i < count; ++i) {
@@ -0,0 +1,158 @@
+package appeng.me.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.network.chat.Component;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.IGrid;
+import appeng.api.networking.energy.IEnergyService;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.networking.storage.IStorageService;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.GenericStack;
+import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.MEStorage;
+import appeng.util.BootstrapMinecraft;
+import appeng.util.TestKeys;
+
+@BootstrapMinecraft
+class DeferredInsertServiceTest {
+    private final AEKey a = TestKeys.simpleItems(2).get(0);
+    private final AEKey b = TestKeys.simpleItems(2).get(1);
+    private final LimitedStorage storage = new LimitedStorage();
+    private final DeferredInsertService service = new DeferredInsertService(createGrid(storage));
+    private final List<GenericStack> overflows = new ArrayList<>();
+
+    @Test
+    void insertsAreBatchedPerKey() {
+        storage.capacity = 100;
+        assertThat(service.insert(a, 10, Actionable.MODULATE, IActionSource.empty(), this::keepNothing)).isEqualTo(10);
+        assertThat(service.insert(b, 5, Actionable.MODULATE, IActionSource.empty(), this::keepNothing)).isEqualTo(5);
+        assertThat(service.insert(a, 20, Actionable.MODULATE, IActionSource.empty(), this::keepNothing)).isEqualTo(20);
+        assertThat(storage.stored.isEmpty()).isTrue();
+
+        service.onServerEndTick();
+        assertThat(storage.inserts).containsExactly(new GenericStack(a, 30), new GenericStack(b, 5));
+        assertThat(storage.stored.get(a)).isEqualTo(30);
+        assertThat(overflows).isEmpty();
+    }
+
+    @Test
+    void queuedAmountsCountAgainstCapacity() {
+        storage.capacity = 25;
+        assertThat(service.insert(a, 20, Actionable.MODULATE, IActionSource.empty(), this::keepNothing)).isEqualTo(20);
+        assertThat(service.insert(a, 20, Actionable.SIMULATE, IActionSource.empty(), this::keepNothing)).isEqualTo(5);
+        assertThat(service.insert(a, 20, Actionable.MODULATE, IActionSource.empty(), this::keepNothing)).isEqualTo(5);
+
+        service.onServerEndTick();
+        assertThat(storage.stored.get(a)).isEqualTo(25);
+    }
+
+    @Test
+    void lastQueuedInsertsOverflow() {
+        storage.capacity = 30;
+        service.insert(a, 20, Actionable.MODULATE, IActionSource.empty(), this::keepNothing);
+        service.insert(a, 10, Actionable.MODULATE, IActionSource.empty(), this::keepNothing);
+        // Something else filled the storage in the meantime
+        storage.capacity = 25;
+
+        service.onServerEndTick();
+        assertThat(storage.stored.get(a)).isEqualTo(25);
+        assertThat(overflows).containsExactly(new GenericStack(a, 5));
+    }
+
+    @Test
+    void overflowThatIsKeptIsRetried() {
+        storage.capacity = 10;
+        service.insert(a, 10, Actionable.MODULATE, IActionSource.empty(), (what, amount) -> amount);
+        storage.capacity = 4;
+
+        service.onServerEndTick();
+        assertThat(storage.stored.get(a)).isEqualTo(4);
+
+        storage.capacity = 10;
+        service.onServerEndTick();
+        assertThat(storage.stored.get(a)).isEqualTo(10);
+        service.onServerEndTick();
+        assertThat(storage.inserts).hasSize(2);
+    }
+
+    @Test
+    void capacityIsSimulatedOncePerKeyAndTick() {
+        storage.capacity = 100;
+        for (var i = 0; i < 10; i++) {
+            service.insert(a, 1, Actionable.SIMULATE, IActionSource.empty(), this::keepNothing);
+            service.insert(a, 1, Actionable.MODULATE, IActionSource.empty(), this::keepNothing);
+            service.insert(b, 1, Actionable.MODULATE, IActionSource.empty(), this::keepNothing);
+        }
+        assertThat(storage.simulations).isEqualTo(2);
+
+        service.onServerEndTick();
+        assertThat(storage.stored.get(a)).isEqualTo(10);
+        assertThat(storage.stored.get(b)).isEqualTo(10);
+
+        // The next tick simulates again, since the content of the network may have changed
+        var simulations = storage.simulations;
+        service.insert(a, 1, Actionable.MODULATE, IActionSource.empty(), this::keepNothing);
+        assertThat(storage.simulations).isEqualTo(simulations + 1);
+    }
+
+    private long keepNothing(AEKey what, long amount) {
+        overflows.add(new GenericStack(what, amount));
+        return 0;
+    }
+
+    private static IGrid createGrid(MEStorage storage) {
+        var energyService = mock(IEnergyService.class);
+        when(energyService.extractAEPower(anyDouble(), any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        var storageService = mock(IStorageService.class);
+        when(storageService.getInventory()).thenReturn(storage);
+        var grid = mock(IGrid.class);
+        when(grid.getEnergyService()).thenReturn(energyService);
+        when(grid.getStorageService()).thenReturn(storageService);
+        return grid;
+    }
+
+    /**
+     * Storage that accepts a limited total amount, and records each modulating insert.
+     */
+    private static class LimitedStorage implements MEStorage {
+        private final KeyCounter stored = new KeyCounter();
+        private final List<GenericStack> inserts = new ArrayList<>();
+        private long capacity;
+        private int simulations;
+
+        @Override
+        public long insert(AEKey what, long amount, Actionable mode, IActionSource source) {
+            if (mode == Actionable.SIMULATE) {
+                simulations++;
+            }
+            var total = 0L;
+            for (var entry : stored) {
+                total += entry.getLongValue();
+            }
+            var inserted = Math.max(0, Math.min(amount, capacity - total));
+            if (mode == Actionable.MODULATE && inserted > 0) {
+                stored.add(what, inserted);
+                inserts.add(new GenericStack(what, inserted));
+            }
+            return inserted;
+        }
+
+        @Override
+        public Component getDescription() {
+            return Component.literal("Limited Storage");
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package appeng.me.service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.util.KeyCounterStorage;
+import appeng.util.TestKeys;
+
+/**
+ * Measures rebuilding the cached network inventory of the {@link StorageService}, which happens every tick while
+ * anything on the grid watches the network inventory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class StorageServiceBenchmark {
+    private static final int MOUNTS = 100;
+
+    @Param({ "1000", "50000" })
+    public int keyCount;
+
+    private StorageService service;
+    private List<AEKey> keys;
+    private int changedKey;
+
+    @Setup
+    public void setup() {
+        service = new StorageService();
+        keys = TestKeys.simpleItems(keyCount);
+
+        var keysPerMount = keyCount / MOUNTS;
+        service.addGlobalStorageProvider(storageMounts -> {
+            for (int i = 0; i < MOUNTS; i++) {
+                var accepted = new HashSet<>(keys.subList(i * keysPerMount, (i + 1) * keysPerMount));
+                storageMounts.mount(new KeyCounterStorage(accepted), 0);
+            }
+        });
+
+        for (var key : keys) {
+            service.getInventory().insert(key, 1000, Actionable.MODULATE, IActionSource.empty());
+        }
+        service.getCachedInventory();
+    }
+
+    @Benchmark
+    public KeyCounter rebuildUnchanged() {
+        service.invalidateCache();
+        return service.getCachedInventory();
+    }
+
+    /**
+     * Rebuilds the cache after the amount of a single key has changed.
+     */
+    @Benchmark
+    public KeyCounter rebuildWithChange() {
+        var key = keys.get(changedKey++ % keys.size());
+        service.getInventory().insert(key, 1, Actionable.MODULATE, IActionSource.empty());
+        service.invalidateCache();
+        return service.getCachedInventory();
+    }
+}
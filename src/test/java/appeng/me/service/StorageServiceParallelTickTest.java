@@ -0,0 +1,117 @@
+package appeng.me.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.IStackWatcher;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.networking.storage.IStorageWatcherNode;
+import appeng.api.stacks.AEKey;
+import appeng.me.AbstractGridNodeTest;
+import appeng.me.Grid;
+import appeng.me.helpers.ParallelServiceTick;
+import appeng.me.helpers.ParallelServiceTicks;
+import appeng.util.KeyCounterStorage;
+import appeng.util.TestKeys;
+
+/**
+ * Checks that splitting the storage service tick into phases and computing them in parallel notifies watchers of the
+ * exact same changes, in the exact same order, as the serial tick.
+ */
+class StorageServiceParallelTickTest extends AbstractGridNodeTest {
+    private static final int GRIDS = 16;
+    private static final int TICKS = 20;
+
+    @AfterEach
+    void shutdownPool() {
+        ParallelServiceTicks.shutdown();
+    }
+
+    @Test
+    void parallelTickNotifiesWatchersLikeSerialTick() {
+        var serial = simulate(0);
+        var parallel = simulate(4);
+
+        assertThat(serial).allSatisfy(log -> assertThat(log).isNotEmpty());
+        assertThat(parallel).isEqualTo(serial);
+    }
+
+    @Test
+    void parallelTickWithoutWatchersDefersNothing() {
+        var node = makeNode();
+        var grid = node.getInternalGrid();
+
+        var parallelTicks = new ArrayList<ParallelServiceTick>();
+        grid.onServerEndTick(parallelTicks);
+
+        assertThat(parallelTicks).isEmpty();
+    }
+
+    /**
+     * Runs the same random changes on a number of grids and records the watcher notifications of each grid.
+     */
+    private List<List<String>> simulate(int parallelism) {
+        var keys = TestKeys.simpleItems(50);
+        var grids = new ArrayList<Grid>();
+        var logs = new ArrayList<List<String>>();
+        for (var i = 0; i < GRIDS; i++) {
+            var log = new ArrayList<String>();
+            var node = makeNode();
+            node.addService(IStorageWatcherNode.class, new RecordingWatcher(log));
+            var grid = node.getInternalGrid();
+            grid.getStorageService().addGlobalStorageProvider(
+                    mounts -> mounts.mount(new KeyCounterStorage(new HashSet<>(keys)), 0));
+            grids.add(grid);
+            logs.add(log);
+        }
+
+        var random = new Random(1234);
+        for (var tick = 0; tick < TICKS; tick++) {
+            for (var grid : grids) {
+                var inventory = grid.getStorageService().getInventory();
+                for (var change = 0; change < 10; change++) {
+                    var key = keys.get(random.nextInt(keys.size()));
+                    if (random.nextBoolean()) {
+                        inventory.insert(key, random.nextInt(100) + 1, Actionable.MODULATE, IActionSource.empty());
+                    } else {
+                        inventory.extract(key, random.nextInt(100) + 1, Actionable.MODULATE, IActionSource.empty());
+                    }
+                }
+            }
+
+            if (parallelism > 0) {
+                var parallelTicks = new ArrayList<ParallelServiceTick>();
+                for (var grid : grids) {
+                    grid.onServerEndTick(parallelTicks);
+                }
+                assertThat(parallelTicks).hasSize(GRIDS);
+                ParallelServiceTicks.run(parallelTicks, parallelism);
+            } else {
+                for (var grid : grids) {
+                    grid.onServerEndTick();
+                }
+            }
+        }
+        return logs;
+    }
+
+    private record RecordingWatcher(List<String> log) implements IStorageWatcherNode {
+        @Override
+        public void updateWatcher(IStackWatcher newWatcher) {
+            newWatcher.setWatchAll(true);
+        }
+
+        @Override
+        public void onStackChange(AEKey what, long amount) {
+            log.add(what + "=" + amount);
+        }
+    }
+}
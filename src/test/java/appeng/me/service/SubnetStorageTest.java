@@ -0,0 +1,101 @@
+package appeng.me.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.stacks.AEKey;
+import appeng.util.BootstrapMinecraft;
+import appeng.util.KeyCounterStorage;
+import appeng.util.TestKeys;
+
+/**
+ * Checks that listing the content of subnets through their cached inventory counts everything exactly once, even if
+ * networks can see each other.
+ */
+@BootstrapMinecraft
+class SubnetStorageTest {
+    private final AEKey a = TestKeys.simpleItems(2).get(0);
+    private final AEKey b = TestKeys.simpleItems(2).get(1);
+
+    @Test
+    void chainOfSubnetsListsAllContent() {
+        var main = createService(a, 5);
+        var subnet = createService(b, 7);
+        var subSubnet = createService(a, 3);
+        mountSubnet(main, subnet);
+        mountSubnet(subnet, subSubnet);
+
+        assertThat(main.getCachedInventory().get(a)).isEqualTo(8);
+        assertThat(main.getCachedInventory().get(b)).isEqualTo(7);
+        assertThat(subnet.getCachedInventory().get(a)).isEqualTo(3);
+    }
+
+    @Test
+    void networksSeeingEachOtherDoNotCountTwice() {
+        var first = createService(a, 5);
+        var second = createService(b, 7);
+        mountSubnet(first, second);
+        mountSubnet(second, first);
+
+        for (var i = 0; i < 3; i++) {
+            assertThat(first.getCachedInventory().get(a)).isEqualTo(5);
+            assertThat(first.getCachedInventory().get(b)).isEqualTo(7);
+            assertThat(second.getCachedInventory().get(a)).isEqualTo(5);
+            assertThat(second.getCachedInventory().get(b)).isEqualTo(7);
+            first.invalidateCache();
+            second.invalidateCache();
+        }
+    }
+
+    @Test
+    void subnetCacheIsOnlyRefreshedInTheSubnetsOwnTick() {
+        var main = createService(a, 5);
+        var subnetStorage = new KeyCounterStorage(Set.of(b));
+        subnetStorage.insert(b, 7, Actionable.MODULATE, IActionSource.empty());
+        var subnet = new StorageService();
+        subnet.addGlobalStorageProvider(mounts -> mounts.mount(subnetStorage, 0));
+        mountSubnet(main, subnet);
+
+        // The subnet has no cache yet, so its storage is listed directly
+        assertThat(main.getCachedInventory().get(b)).isEqualTo(7);
+
+        // Having been read, the subnet now keeps its cache up to date in its own tick
+        subnet.onServerEndTick();
+        subnetStorage.insert(b, 3, Actionable.MODULATE, IActionSource.empty());
+        main.invalidateCache();
+        assertThat(main.getCachedInventory().get(b)).isEqualTo(7);
+
+        subnet.onServerEndTick();
+        main.invalidateCache();
+        assertThat(main.getCachedInventory().get(b)).isEqualTo(10);
+    }
+
+    @Test
+    void insertAndExtractAreForwarded() {
+        var subnet = createService(b, 0);
+        var storage = new SubnetStorage(subnet);
+
+        assertThat(storage.insert(b, 10, Actionable.MODULATE, IActionSource.empty())).isEqualTo(10);
+        assertThat(storage.extract(b, 4, Actionable.MODULATE, IActionSource.empty())).isEqualTo(4);
+        assertThat(subnet.getInventory().extract(b, Long.MAX_VALUE, Actionable.SIMULATE, IActionSource.empty()))
+                .isEqualTo(6);
+    }
+
+    private static StorageService createService(AEKey what, long amount) {
+        var service = new StorageService();
+        var storage = new KeyCounterStorage(Set.of(what));
+        storage.insert(what, amount, Actionable.MODULATE, IActionSource.empty());
+        service.addGlobalStorageProvider(mounts -> mounts.mount(storage, 0));
+        return service;
+    }
+
+    private static void mountSubnet(StorageService service, StorageService subnet) {
+        var subnetStorage = new SubnetStorage(subnet);
+        service.addGlobalStorageProvider(mounts -> mounts.mount(subnetStorage, 0));
+    }
+}
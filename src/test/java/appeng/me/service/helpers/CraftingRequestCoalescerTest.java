@@ -0,0 +1,296 @@
+package appeng.me.service.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.nbt.CompoundTag;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.IGrid;
+import appeng.api.networking.IGridNode;
+import appeng.api.networking.crafting.ICraftingCPU;
+import appeng.api.networking.crafting.ICraftingLink;
+import appeng.api.networking.crafting.ICraftingPlan;
+import appeng.api.networking.crafting.ICraftingRequester;
+import appeng.api.networking.crafting.ICraftingSimulationRequester;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.GenericStack;
+import appeng.api.storage.StorageHelper;
+import appeng.crafting.CraftingLink;
+import appeng.crafting.CraftingLinkNexus;
+import appeng.crafting.execution.CraftingSubmitResult;
+import appeng.util.BootstrapMinecraft;
+import appeng.util.TestKeys;
+
+@BootstrapMinecraft
+class CraftingRequestCoalescerTest {
+    private final AEKey a = TestKeys.simpleItems(2).get(0);
+    private final AEKey b = TestKeys.simpleItems(2).get(1);
+    private final ICraftingSimulationRequester simRequester = mock(ICraftingSimulationRequester.class);
+    private final List<GenericStack> calculations = new ArrayList<>();
+    private final CompletableFuture<ICraftingPlan> calculation = new CompletableFuture<>();
+    private final UUID craftId = UUID.randomUUID();
+    private final CraftingLinkNexus nexus = new CraftingLinkNexus(craftId);
+    private long tick = 1;
+    private final CraftingRequestCoalescer coalescer = new CraftingRequestCoalescer(
+            (level, requester, what, amount) -> {
+                calculations.add(new GenericStack(what, amount));
+                return calculation;
+            }, () -> tick);
+
+    @Test
+    void requestsForTheSameKeyAreCalculatedOnce() {
+        coalescer.request(null, simRequester, a, 3);
+        coalescer.request(null, simRequester, b, 2);
+        coalescer.request(null, simRequester, a, 5);
+        assertThat(calculations).isEmpty();
+
+        coalescer.startPendingCalculations();
+        assertThat(calculations).containsExactlyInAnyOrder(new GenericStack(a, 8), new GenericStack(b, 2));
+    }
+
+    @Test
+    void requestsOfLaterTicksAreCalculatedSeparately() {
+        var first = coalescer.request(null, simRequester, a, 3);
+        assertThat(first.isDone()).isFalse();
+
+        tick++;
+        // Polling the request after its tick has ended starts the calculation, even if the grid didn't tick
+        assertThat(first.isDone()).isFalse();
+        coalescer.request(null, simRequester, a, 5);
+        coalescer.startPendingCalculations();
+
+        assertThat(calculations).containsExactly(new GenericStack(a, 3), new GenericStack(a, 5));
+    }
+
+    @Test
+    void outputIsDistributedAmongRequesters() throws Exception {
+        var first = coalescer.request(null, simRequester, a, 3);
+        var second = coalescer.request(null, simRequester, a, 5);
+        coalescer.startPendingCalculations();
+        calculation.complete(mock(ICraftingPlan.class));
+
+        var jobLink = mock(ICraftingLink.class);
+        var groupRequesters = new ArrayList<ICraftingRequester>();
+        var firstRequester = createRequester();
+        var secondRequester = createRequester();
+        var firstLink = submit(first, firstRequester, jobLink, groupRequesters);
+        var secondLink = submit(second, secondRequester, jobLink, groupRequesters);
+        assertThat(groupRequesters).hasSize(1);
+
+        var groupRequester = groupRequesters.get(0);
+        assertThat(groupRequester.insertCraftedItems(jobLink, a, 10, Actionable.MODULATE)).isEqualTo(8);
+        verify(firstRequester).insertCraftedItems(firstLink, a, 3, Actionable.MODULATE);
+        verify(secondRequester).insertCraftedItems(secondLink, a, 5, Actionable.MODULATE);
+        assertThat(groupRequester.insertCraftedItems(jobLink, a, 1, Actionable.MODULATE)).isZero();
+    }
+
+    @Test
+    void jobIsCanceledOnceAllRequestersCancel() throws Exception {
+        var first = coalescer.request(null, simRequester, a, 3);
+        var second = coalescer.request(null, simRequester, a, 5);
+        coalescer.startPendingCalculations();
+        calculation.complete(mock(ICraftingPlan.class));
+
+        var jobLink = mock(ICraftingLink.class);
+        var groupRequesters = new ArrayList<ICraftingRequester>();
+        var firstLink = submit(first, createRequester(), jobLink, groupRequesters);
+        var secondLink = submit(second, createRequester(), jobLink, groupRequesters);
+
+        firstLink.cancel();
+        assertThat(firstLink.isCanceled()).isTrue();
+        verify(jobLink, never()).cancel();
+
+        secondLink.cancel();
+        verify(jobLink).cancel();
+    }
+
+    @Test
+    void removedRequestersDontReceiveOutput() throws Exception {
+        var first = coalescer.request(null, simRequester, a, 3);
+        var second = coalescer.request(null, simRequester, a, 5);
+        coalescer.startPendingCalculations();
+        calculation.complete(mock(ICraftingPlan.class));
+
+        var grid = mock(IGrid.class);
+        var firstRequester = createRequester(grid);
+        var secondRequester = createRequester(grid);
+        var firstLink = submitJob(first, firstRequester);
+        submitJob(second, secondRequester);
+        var groupRequester = nexus.getRequester();
+
+        assertThat(CraftingRequestCoalescer.removeRequester(groupRequester, firstRequester)).isFalse();
+        assertThat(nexus.getRequest()).isNotNull();
+        assertThat(groupRequester.getActionableNode()).isSameAs(secondRequester.getActionableNode());
+        assertThat(groupRequester.insertCraftedItems(nexus.getRequest(), a, 10, Actionable.MODULATE)).isEqualTo(5);
+        verify(firstRequester, never()).insertCraftedItems(any(), any(), anyLong(), any());
+
+        // Rejoining the grid connects the requester with the job again
+        var jobLink = coalescer.reattach(firstLink, groupRequester);
+        assertThat(jobLink).isSameAs(nexus.getRequest());
+        assertThat(groupRequester.getActionableNode()).isSameAs(firstRequester.getActionableNode());
+    }
+
+    @Test
+    void jobLosesItsRequesterOnceAllRequestersAreRemoved() throws Exception {
+        var first = coalescer.request(null, simRequester, a, 3);
+        var second = coalescer.request(null, simRequester, a, 5);
+        coalescer.startPendingCalculations();
+        calculation.complete(mock(ICraftingPlan.class));
+
+        var grid = mock(IGrid.class);
+        var firstRequester = createRequester(grid);
+        var secondRequester = createRequester(grid);
+        submitJob(first, firstRequester);
+        submitJob(second, secondRequester);
+
+        assertThat(CraftingRequestCoalescer.removeRequester(nexus.getRequester(), firstRequester)).isFalse();
+        assertThat(CraftingRequestCoalescer.removeRequester(nexus.getRequester(), secondRequester)).isTrue();
+        nexus.removeNode();
+        // Destroyed nodes are cleared by their machines
+        when(firstRequester.getActionableNode()).thenReturn(null);
+        when(secondRequester.getActionableNode()).thenReturn(null);
+
+        // Like for any other requester that left the grid, the job is only canceled after a grace period
+        for (var i = 0; i < 60; i++) {
+            assertThat(nexus.isDead(grid, null)).isFalse();
+        }
+        assertThat(nexus.isDead(grid, null)).isTrue();
+    }
+
+    @Test
+    void allRequestersAreReconnectedAfterReload() throws Exception {
+        var first = coalescer.request(null, simRequester, a, 3);
+        var second = coalescer.request(null, simRequester, a, 5);
+        coalescer.startPendingCalculations();
+        calculation.complete(mock(ICraftingPlan.class));
+
+        var grid = mock(IGrid.class);
+        var firstRequester = createRequester(grid);
+        var secondRequester = createRequester(grid);
+        var firstLink = submitJob(first, firstRequester);
+        var secondLink = submitJob(second, secondRequester);
+        nexus.getRequester().insertCraftedItems(nexus.getRequest(), a, 1, Actionable.MODULATE);
+        var firstTag = new CompoundTag();
+        firstLink.writeToNBT(firstTag);
+        var secondTag = new CompoundTag();
+        secondLink.writeToNBT(secondTag);
+
+        var reloadedNexus = new CraftingLinkNexus(craftId);
+        new CraftingLink(createLinkData(false), mock(ICraftingCPU.class)).setNexus(reloadedNexus);
+        var reloadedFirst = StorageHelper.loadCraftingLink(firstTag, firstRequester);
+        var reloadedSecond = StorageHelper.loadCraftingLink(secondTag, secondRequester);
+        assertThat(reloadedFirst.getCraftingID()).isEqualTo(craftId);
+        assertThat(reloadedFirst.isCanceled()).isFalse();
+        assertThat(reloadedSecond.getCraftingID()).isEqualTo(craftId);
+        assertThat(reloadedSecond.isCanceled()).isFalse();
+
+        // The first requester to join restores the group, the others join it
+        var jobLink = coalescer.reattach(reloadedFirst, reloadedNexus.getRequester());
+        ((CraftingLink) jobLink).setNexus(reloadedNexus);
+        assertThat(coalescer.reattach(reloadedSecond, reloadedNexus.getRequester())).isSameAs(jobLink);
+
+        // Each requester only receives what it was still owed
+        var groupRequester = reloadedNexus.getRequester();
+        assertThat(groupRequester.insertCraftedItems(jobLink, a, 10, Actionable.MODULATE)).isEqualTo(7);
+        verify(firstRequester).insertCraftedItems(reloadedFirst, a, 2, Actionable.MODULATE);
+        verify(secondRequester).insertCraftedItems(reloadedSecond, a, 5, Actionable.MODULATE);
+
+        jobLink.cancel();
+        assertThat(reloadedFirst.isCanceled()).isTrue();
+        assertThat(reloadedSecond.isCanceled()).isTrue();
+        verify(firstRequester).jobStateChange(reloadedFirst);
+        verify(secondRequester).jobStateChange(reloadedSecond);
+    }
+
+    @Test
+    void groupsRestoredOnSeparateGridsAreMerged() throws Exception {
+        var first = coalescer.request(null, simRequester, a, 3);
+        var second = coalescer.request(null, simRequester, a, 5);
+        coalescer.startPendingCalculations();
+        calculation.complete(mock(ICraftingPlan.class));
+
+        var firstRequester = createRequester(mock(IGrid.class));
+        var secondRequester = createRequester(mock(IGrid.class));
+        var firstTag = new CompoundTag();
+        submitJob(first, firstRequester).writeToNBT(firstTag);
+        var secondTag = new CompoundTag();
+        submitJob(second, secondRequester).writeToNBT(secondTag);
+
+        var reloadedFirst = StorageHelper.loadCraftingLink(firstTag, firstRequester);
+        var reloadedSecond = StorageHelper.loadCraftingLink(secondTag, secondRequester);
+        var reloadedNexus = new CraftingLinkNexus(craftId);
+        var jobLink = coalescer.reattach(reloadedFirst, null);
+        ((CraftingLink) jobLink).setNexus(reloadedNexus);
+        assertThat(coalescer.reattach(reloadedSecond, null)).isNotSameAs(jobLink);
+
+        // The second requester's grid merges into the grid the job is connected with
+        var groupRequester = reloadedNexus.getRequester();
+        assertThat(coalescer.reattach(reloadedSecond, groupRequester)).isSameAs(jobLink);
+        assertThat(groupRequester.insertCraftedItems(jobLink, a, 10, Actionable.MODULATE)).isEqualTo(8);
+        verify(firstRequester).insertCraftedItems(reloadedFirst, a, 3, Actionable.MODULATE);
+        verify(secondRequester).insertCraftedItems(reloadedSecond, a, 5, Actionable.MODULATE);
+    }
+
+    private static ICraftingRequester createRequester(IGrid grid) {
+        var node = mock(IGridNode.class);
+        when(node.getGrid()).thenReturn(grid);
+        var requester = createRequester();
+        when(requester.getActionableNode()).thenReturn(node);
+        return requester;
+    }
+
+    private static ICraftingRequester createRequester() {
+        var requester = mock(ICraftingRequester.class);
+        when(requester.insertCraftedItems(any(), any(), anyLong(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(2));
+        return requester;
+    }
+
+    private static ICraftingLink submit(Future<ICraftingPlan> future, ICraftingRequester requester,
+            ICraftingLink jobLink, List<ICraftingRequester> groupRequesters) throws Exception {
+        assertThat(future.isDone()).isTrue();
+        var plan = (CraftingRequestCoalescer.CoalescedPlan) future.get();
+        var result = plan.submit(requester, groupRequester -> {
+            groupRequesters.add(groupRequester);
+            return CraftingSubmitResult.successful(jobLink);
+        });
+        assertThat(result.successful()).isTrue();
+        return result.link();
+    }
+
+    /**
+     * Submits the plan, connecting the job with {@link #nexus} like a crafting CPU would.
+     */
+    private ICraftingLink submitJob(Future<ICraftingPlan> future, ICraftingRequester requester) throws Exception {
+        var plan = (CraftingRequestCoalescer.CoalescedPlan) future.get();
+        var result = plan.submit(requester, groupRequester -> {
+            var requesterLink = new CraftingLink(createLinkData(true), groupRequester);
+            requesterLink.setNexus(nexus);
+            new CraftingLink(createLinkData(false), mock(ICraftingCPU.class)).setNexus(nexus);
+            return CraftingSubmitResult.successful(requesterLink);
+        });
+        assertThat(result.successful()).isTrue();
+        return result.link();
+    }
+
+    private CompoundTag createLinkData(boolean requester) {
+        var tag = new CompoundTag();
+        tag.putUUID("craftId", craftId);
+        tag.putBoolean("req", requester);
+        return tag;
+    }
+}
@@ -0,0 +1,93 @@
+package appeng.me.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Objects;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.Items;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.storage.StorageCells;
+import appeng.core.definitions.AEItems;
+import appeng.me.helpers.BaseActionSource;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class DriveStorageTest {
+    private static final IActionSource SRC = new BaseActionSource();
+    private static final AEItemKey DIAMOND = AEItemKey.of(Items.DIAMOND);
+    private static final AEItemKey STICK = AEItemKey.of(Items.STICK);
+
+    private final DriveWatcher[] cells = new DriveWatcher[3];
+    private final DriveStorage storage = new DriveStorage(cells, Component.literal("drive"));
+
+    private DriveWatcher createCell(DriveWatcher[] cells, DriveStorage storage, int slot) {
+        var cell = StorageCells.getCellInventory(AEItems.ITEM_CELL_1K.stack(), null);
+        Objects.requireNonNull(cell);
+        var watcher = new DriveWatcher(cell, () -> {
+        }, what -> storage.onCellContentChanged(slot, what));
+        cells[slot] = watcher;
+        storage.invalidate();
+        return watcher;
+    }
+
+    @Test
+    void testPrefersCellsContainingTheKey() {
+        createCell(cells, storage, 0);
+        var cell1 = createCell(cells, storage, 1);
+        cell1.insert(DIAMOND, 1, Actionable.MODULATE, SRC);
+
+        assertThat(storage.insert(DIAMOND, 10, Actionable.MODULATE, SRC)).isEqualTo(10);
+        assertThat(storage.insert(STICK, 5, Actionable.MODULATE, SRC)).isEqualTo(5);
+
+        assertThat(cells[0].getAvailableStacks().get(DIAMOND)).isZero();
+        assertThat(cells[0].getAvailableStacks().get(STICK)).isEqualTo(5);
+        assertThat(cells[1].getAvailableStacks().get(DIAMOND)).isEqualTo(11);
+    }
+
+    @Test
+    void testMergedContentFollowsChanges() {
+        var cell0 = createCell(cells, storage, 0);
+        var cell2 = createCell(cells, storage, 2);
+        cell0.insert(DIAMOND, 4, Actionable.MODULATE, SRC);
+        cell2.insert(DIAMOND, 6, Actionable.MODULATE, SRC);
+
+        assertThat(storage.getAvailableStacks().get(DIAMOND)).isEqualTo(10);
+
+        // Extraction empties the cells in slot order
+        assertThat(storage.extract(DIAMOND, 5, Actionable.MODULATE, SRC)).isEqualTo(5);
+        assertThat(cell0.getAvailableStacks().get(DIAMOND)).isZero();
+        assertThat(storage.getAvailableStacks().get(DIAMOND)).isEqualTo(5);
+
+        // Changes made through a single cell are picked up as well
+        cell2.extract(DIAMOND, 5, Actionable.MODULATE, SRC);
+        assertThat(storage.getAvailableStacks().isEmpty()).isTrue();
+        assertThat(storage.isPreferredStorageFor(DIAMOND, SRC)).isFalse();
+    }
+
+    /**
+     * A cell containing a key in a later drive must still be filled before empty cells of an earlier drive, just like
+     * when all cells are mounted separately.
+     */
+    @Test
+    void testNetworkStorageKeepsPreferredCellsFirstAcrossDrives() {
+        var otherCells = new DriveWatcher[1];
+        var otherStorage = new DriveStorage(otherCells, Component.literal("other drive"));
+        createCell(cells, storage, 0);
+        var preferredCell = createCell(otherCells, otherStorage, 0);
+        preferredCell.insert(DIAMOND, 1, Actionable.MODULATE, SRC);
+
+        var networkStorage = new NetworkStorage();
+        networkStorage.mount(0, storage);
+        networkStorage.mount(0, otherStorage);
+
+        assertThat(networkStorage.insert(DIAMOND, 10, Actionable.MODULATE, SRC)).isEqualTo(10);
+        assertThat(preferredCell.getAvailableStacks().get(DIAMOND)).isEqualTo(11);
+        assertThat(storage.getAvailableStacks().isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,88 @@
+package appeng.me.storage;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.util.KeyCounterStorage;
+import appeng.util.TestKeys;
+
+/**
+ * Measures routing inserts and extracts through {@link NetworkStorage} with many mounted storages, where each key is
+ * only accepted by a single storage.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class NetworkStorageBenchmark {
+    private static final int KEYS_PER_MOUNT = 10;
+
+    @Param({ "10", "100", "1000" })
+    public int mounts;
+
+    @Param({ "1", "4" })
+    public int priorities;
+
+    private final IActionSource source = IActionSource.empty();
+    private NetworkStorage storage;
+    private List<AEKey> keys;
+
+    @Setup
+    public void setup() {
+        storage = new NetworkStorage();
+        keys = TestKeys.simpleItems(mounts * KEYS_PER_MOUNT);
+
+        for (int i = 0; i < mounts; i++) {
+            var accepted = new HashSet<>(keys.subList(i * KEYS_PER_MOUNT, (i + 1) * KEYS_PER_MOUNT));
+            storage.mount(i % priorities, new KeyCounterStorage(accepted));
+        }
+
+        for (var key : keys) {
+            storage.insert(key, 1000, Actionable.MODULATE, source);
+        }
+    }
+
+    /**
+     * Inserts and then extracts one of each key, leaving the network contents unchanged.
+     */
+    @Benchmark
+    public long insertAndExtract() {
+        long moved = 0;
+        for (var key : keys) {
+            moved += storage.insert(key, 1, Actionable.MODULATE, source);
+            moved += storage.extract(key, 1, Actionable.MODULATE, source);
+        }
+        return moved;
+    }
+
+    @Benchmark
+    public long simulateExtract() {
+        long extracted = 0;
+        for (var key : keys) {
+            extracted += storage.extract(key, 1, Actionable.SIMULATE, source);
+        }
+        return extracted;
+    }
+
+    @Benchmark
+    public KeyCounter getAvailableStacks() {
+        return storage.getAvailableStacks();
+    }
+}
@@ -0,0 +1,190 @@
+package appeng.menu.guisync;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.Unpooled;
+
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.chat.Component;
+
+import it.unimi.dsi.fastutil.shorts.ShortOpenHashSet;
+import it.unimi.dsi.fastutil.shorts.ShortSet;
+
+import appeng.api.stacks.GenericStack;
+import appeng.util.BootstrapMinecraft;
+import appeng.util.TestKeys;
+
+@BootstrapMinecraft
+class DataSynchronizationTest {
+    private final Host server = new Host();
+    private final Host client = new Host();
+    private final DataSynchronization serverSync = new DataSynchronization(server);
+    private final DataSynchronization clientSync = new DataSynchronization(client);
+
+    @Test
+    void allFieldsAreSentInFullUpdates() {
+        fill(server);
+
+        var buffer = createBuffer();
+        serverSync.writeFull(buffer);
+        assertThat(read(buffer)).containsExactlyInAnyOrderElementsOf(Host.ALL_KEYS);
+        assertClientMatchesServer();
+
+        // Nothing changed since the full update
+        assertThat(serverSync.hasChanges()).isFalse();
+        assertThat(sendUpdate()).isEmpty();
+    }
+
+    @Test
+    void primitiveFieldsAreAlwaysSentTheFirstTime() {
+        // The client doesn't know the server values yet, even if they happen to be the default
+        client.intField = 1;
+        client.longField = 2;
+        client.doubleField = 3;
+        client.booleanField = true;
+
+        assertThat(serverSync.hasChanges()).isTrue();
+        assertThat(sendUpdate()).containsExactlyInAnyOrderElementsOf(Host.PRIMITIVE_KEYS);
+        assertClientMatchesServer();
+
+        assertThat(serverSync.hasChanges()).isFalse();
+        assertThat(sendUpdate()).isEmpty();
+    }
+
+    @Test
+    void onlyChangedFieldsAreSent() {
+        fill(server);
+        serverSync.writeFull(createBuffer());
+        fill(client);
+
+        server.intField = -5;
+        assertThat(sendUpdate()).containsExactly((short) 1);
+        server.longField = Long.MIN_VALUE;
+        assertThat(sendUpdate()).containsExactly((short) 2);
+        server.doubleField = Double.NaN;
+        assertThat(sendUpdate()).containsExactly((short) 3);
+        // NaN is compared by its bits, not resent forever
+        assertThat(sendUpdate()).isEmpty();
+        server.booleanField = false;
+        assertThat(sendUpdate()).containsExactly((short) 4);
+        server.boxedField = 1234;
+        assertThat(sendUpdate()).containsExactly((short) 5);
+        server.enumField = null;
+        assertThat(sendUpdate()).containsExactly((short) 6);
+        server.componentField = Component.literal("changed");
+        assertThat(sendUpdate()).containsExactly((short) 7);
+        server.stackField = null;
+        assertThat(sendUpdate()).containsExactly((short) 8);
+        server.recordField = new Point(-1, -2);
+        assertThat(sendUpdate()).containsExactly((short) 9);
+        assertClientMatchesServer();
+
+        // Equal objects aren't resent, even if they're different instances
+        server.componentField = Component.literal("changed");
+        server.recordField = new Point(-1, -2);
+        assertThat(serverSync.hasChanges()).isFalse();
+        assertThat(sendUpdate()).isEmpty();
+    }
+
+    @Test
+    void changesFoundByHasChangesAreWritten() {
+        fill(server);
+        serverSync.writeFull(createBuffer());
+        fill(client);
+
+        server.intField = 7;
+        server.recordField = new Point(3, 4);
+        assertThat(serverSync.hasChanges()).isTrue();
+        assertThat(sendUpdate()).containsExactlyInAnyOrder((short) 1, (short) 9);
+        assertClientMatchesServer();
+    }
+
+    private ShortSet sendUpdate() {
+        var buffer = createBuffer();
+        serverSync.writeUpdate(buffer);
+        return read(buffer);
+    }
+
+    private ShortSet read(RegistryFriendlyByteBuf buffer) {
+        var updated = new ShortOpenHashSet();
+        clientSync.readUpdate(buffer, updated);
+        return updated;
+    }
+
+    private void assertClientMatchesServer() {
+        assertThat(client.intField).isEqualTo(server.intField);
+        assertThat(client.longField).isEqualTo(server.longField);
+        assertThat(client.doubleField).isEqualTo(server.doubleField);
+        assertThat(client.booleanField).isEqualTo(server.booleanField);
+        assertThat(client.boxedField).isEqualTo(server.boxedField);
+        assertThat(client.enumField).isEqualTo(server.enumField);
+        assertThat(client.componentField).isEqualTo(server.componentField);
+        assertThat(client.stackField).isEqualTo(server.stackField);
+        assertThat(client.recordField).isEqualTo(server.recordField);
+    }
+
+    private static void fill(Host host) {
+        host.intField = 42;
+        host.longField = Long.MAX_VALUE;
+        host.doubleField = 0.5;
+        host.booleanField = true;
+        host.boxedField = 17;
+        host.enumField = Color.GREEN;
+        host.componentField = Component.literal("text");
+        host.stackField = new GenericStack(TestKeys.simpleItems(1).get(0), 64);
+        host.recordField = new Point(1, 2);
+    }
+
+    private static RegistryFriendlyByteBuf createBuffer() {
+        return new RegistryFriendlyByteBuf(Unpooled.buffer(),
+                RegistryAccess.fromRegistryOfRegistries(BuiltInRegistries.REGISTRY));
+    }
+
+    public static class Host {
+        static final List<Short> PRIMITIVE_KEYS = List.of((short) 1, (short) 2, (short) 3, (short) 4);
+        static final List<Short> ALL_KEYS = List.of((short) 1, (short) 2, (short) 3, (short) 4, (short) 5,
+                (short) 6, (short) 7, (short) 8, (short) 9);
+
+        @GuiSync(1)
+        public int intField;
+        @GuiSync(2)
+        public long longField;
+        @GuiSync(3)
+        public double doubleField;
+        @GuiSync(4)
+        public boolean booleanField;
+        @GuiSync(5)
+        public Integer boxedField;
+        @GuiSync(6)
+        public Color enumField;
+        @GuiSync(7)
+        public Component componentField;
+        @GuiSync(8)
+        public GenericStack stackField;
+        @GuiSync(9)
+        public Point recordField;
+    }
+
+    public enum Color {
+        RED,
+        GREEN
+    }
+
+    public record Point(int x, int y) implements PacketWritable {
+        public Point(RegistryFriendlyByteBuf data) {
+            this(data.readInt(), data.readInt());
+        }
+
+        @Override
+        public void writeToPacket(RegistryFriendlyByteBuf data) {
+            data.writeInt(x);
+            data.writeInt(y);
+        }
+    }
+}
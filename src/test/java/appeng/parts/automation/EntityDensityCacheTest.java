@@ -0,0 +1,125 @@
+package appeng.parts.automation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class EntityDensityCacheTest {
+    private final Level level = mock(Level.class);
+    private final List<Entity> entities = new ArrayList<>();
+    private long gameTime = 100;
+    private int queries;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(level.getGameTime()).thenAnswer(invocation -> gameTime);
+        when(level.getEntities((Entity) isNull(), any(AABB.class), any())).thenAnswer(invocation -> {
+            queries++;
+            AABB bounds = invocation.getArgument(1);
+            Predicate<Entity> predicate = invocation.getArgument(2);
+            for (var entity : entities) {
+                if (entity.getBoundingBox().intersects(bounds)) {
+                    predicate.test(entity);
+                }
+            }
+            return List.of();
+        });
+    }
+
+    @Test
+    void sectionsAreQueriedOncePerTick() {
+        addEntity(1, 1, 1);
+        addEntity(2, 3, 4);
+        // Far away from the queried position
+        addEntity(100, 1, 1);
+
+        // The area around this position overlaps 2x2x2 sections
+        var pos = new BlockPos(8, 8, 8);
+        assertThat(EntityDensityCache.countEntitiesAround(level, pos)).isEqualTo(2);
+        assertThat(queries).isEqualTo(8);
+
+        addEntity(5, 5, 5);
+        assertThat(EntityDensityCache.countEntitiesAround(level, pos)).isEqualTo(2);
+        assertThat(queries).isEqualTo(8);
+
+        gameTime++;
+        assertThat(EntityDensityCache.countEntitiesAround(level, pos)).isEqualTo(3);
+        assertThat(queries).isEqualTo(16);
+    }
+
+    @Test
+    void onlyEntitiesInTheSearchAreaAreCounted() {
+        var pos = new BlockPos(8, 8, 8);
+        // Inside of the same sections, but outside of the 17x17x17 area around the position
+        addEntity(-1, 8, 8);
+        addEntity(25, 8, 8);
+        addEntity(8, 8, 30);
+        // At the edges of the area
+        addEntity(0, 8, 8);
+        addEntity(16, 16, 16);
+
+        assertThat(EntityDensityCache.countEntitiesAround(level, pos)).isEqualTo(2);
+    }
+
+    @Test
+    void entitiesOverlappingSectionsAreCountedOnce() {
+        // Crosses the border of the sections at x = 16
+        addEntity(new AABB(15.5, 8, 8, 16.5, 9, 9));
+
+        assertThat(EntityDensityCache.countEntitiesAround(level, new BlockPos(8, 8, 8))).isEqualTo(1);
+        assertThat(EntityDensityCache.countEntitiesAround(level, new BlockPos(20, 8, 8))).isEqualTo(1);
+    }
+
+    @Test
+    void spawnedEntitiesAreCountedDuringTheTick() {
+        var pos = new BlockPos(8, 8, 8);
+        assertThat(EntityDensityCache.countEntitiesAround(level, pos)).isZero();
+
+        for (var i = 0; i < 3; i++) {
+            EntityDensityCache.onEntitySpawned(level, addEntity(1, 1, 1));
+        }
+        assertThat(EntityDensityCache.countEntitiesAround(level, pos)).isEqualTo(3);
+    }
+
+    @Test
+    void levelsAreCountedSeparately() {
+        addEntity(1, 1, 1);
+        var pos = new BlockPos(8, 8, 8);
+        assertThat(EntityDensityCache.countEntitiesAround(level, pos)).isEqualTo(1);
+
+        var otherLevel = mock(Level.class);
+        when(otherLevel.getGameTime()).thenReturn(gameTime);
+        when(otherLevel.getEntities((Entity) isNull(), any(AABB.class), any())).thenReturn(List.of());
+        assertThat(EntityDensityCache.countEntitiesAround(otherLevel, pos)).isZero();
+    }
+
+    private Entity addEntity(int x, int y, int z) {
+        return addEntity(new AABB(x, y, z, x + 0.25, y + 0.25, z + 0.25));
+    }
+
+    private Entity addEntity(AABB boundingBox) {
+        var entity = mock(Entity.class);
+        when(entity.getId()).thenReturn(entities.size());
+        when(entity.getBoundingBox()).thenReturn(boundingBox);
+        entities.add(entity);
+        return entity;
+    }
+}
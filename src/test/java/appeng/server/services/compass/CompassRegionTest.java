@@ -0,0 +1,61 @@
+package appeng.server.services.compass;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.nbt.CompoundTag;
+
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class CompassRegionTest {
+    private final CompassRegion region = new CompassRegion();
+
+    @Test
+    void targetsInAnySectionAreVisibleInTheirColumnAndTile() {
+        region.setHasCompassTarget(5, 7, 2, true);
+        region.setHasCompassTarget(5, 7, 9, true);
+
+        assertThat(region.hasCompassTarget(5, 7)).isTrue();
+        assertThat(region.mayHaveCompassTargetInTile(31, 31)).isTrue();
+        assertThat(region.mayHaveCompassTargetInTile(32, 0)).isFalse();
+        assertThat(region.isEmpty()).isFalse();
+
+        // The column stays occupied until the target is gone from all sections
+        region.setHasCompassTarget(5, 7, 2, false);
+        assertThat(region.hasCompassTarget(5, 7)).isTrue();
+
+        region.setHasCompassTarget(5, 7, 9, false);
+        assertThat(region.hasCompassTarget(5, 7)).isFalse();
+        assertThat(region.mayHaveCompassTargetInTile(5, 7)).isFalse();
+        assertThat(region.isEmpty()).isTrue();
+    }
+
+    @Test
+    void summaryIsRebuiltWhenLoading() {
+        region.setHasCompassTarget(100, 200, 3, true);
+        region.setHasCompassTarget(101, 200, 4, true);
+
+        var loaded = CompassRegion.load(region.save(new CompoundTag(), RegistryAccess.EMPTY), RegistryAccess.EMPTY);
+
+        assertThat(loaded.hasCompassTarget(100, 200)).isTrue();
+        assertThat(loaded.hasCompassTarget(101, 200)).isTrue();
+        assertThat(loaded.hasCompassTarget(102, 200)).isFalse();
+        assertThat(loaded.mayHaveCompassTargetInTile(96, 192)).isTrue();
+
+        loaded.setHasCompassTarget(100, 200, 3, false);
+        loaded.setHasCompassTarget(101, 200, 4, false);
+        assertThat(loaded.isEmpty()).isTrue();
+        assertThat(loaded.mayHaveCompassTargetInTile(96, 192)).isFalse();
+    }
+
+    @Test
+    void regionCoordinatesRoundTowardsZero() {
+        assertThat(CompassRegion.getRegionCoordinate(1023)).isZero();
+        assertThat(CompassRegion.getRegionCoordinate(-1023)).isZero();
+        assertThat(CompassRegion.getRegionCoordinate(-1024)).isEqualTo(-1);
+        assertThat(CompassRegion.getRegionCoordinate(1024)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,54 @@
+package appeng.util;
+
+import java.util.Set;
+
+import net.minecraft.network.chat.Component;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.MEStorage;
+
+/**
+ * Simple in-memory storage with unlimited capacity that only accepts a fixed set of keys, similar to a partitioned
+ * storage cell.
+ */
+public class KeyCounterStorage implements MEStorage {
+    private final Set<AEKey> accepted;
+    private final KeyCounter stored = new KeyCounter();
+
+    public KeyCounterStorage(Set<AEKey> accepted) {
+        this.accepted = accepted;
+    }
+
+    @Override
+    public long insert(AEKey what, long amount, Actionable mode, IActionSource source) {
+        if (!accepted.contains(what)) {
+            return 0;
+        }
+        if (mode == Actionable.MODULATE) {
+            stored.add(what, amount);
+        }
+        return amount;
+    }
+
+    @Override
+    public long extract(AEKey what, long amount, Actionable mode, IActionSource source) {
+        var extracted = Math.min(amount, stored.get(what));
+        if (extracted > 0 && mode == Actionable.MODULATE) {
+            stored.remove(what, extracted);
+        }
+        return extracted;
+    }
+
+    @Override
+    public void getAvailableStacks(KeyCounter out) {
+        out.addAll(stored);
+    }
+
+    @Override
+    public Component getDescription() {
+        return Component.literal("Test Storage");
+    }
+}
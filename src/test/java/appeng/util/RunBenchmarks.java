@@ -0,0 +1,48 @@
+package appeng.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks found in the test source set (all classes ending in <code>Benchmark</code>).
+ * <p/>
+ * This is excluded from normal test runs. Use <code>./gradlew test -PrunBenchmarks</code> to run all benchmarks, or
+ * add <code>-Pbenchmarks=&lt;regexp&gt;</code> to only run some of them. Results are written as JSON to
+ * <code>build/reports/jmh/results.json</code>.
+ * <p/>
+ * The benchmarks run in the test JVM rather than in forked JVMs, since they rely on Minecraft having been bootstrapped
+ * by the unit test environment.
+ */
+@BootstrapMinecraft
+@Tag("benchmark")
+class RunBenchmarks {
+    @Test
+    void runBenchmarks() throws IOException, RunnerException {
+        var results = Path.of(System.getProperty("appeng.benchmarks.results", "build/reports/jmh/results.json"))
+                .toAbsolutePath();
+        Files.createDirectories(results.getParent());
+
+        var include = System.getProperty("appeng.benchmarks.include", "");
+        if (include.isEmpty()) {
+            include = "appeng\\..*Benchmark";
+        }
+
+        var options = new OptionsBuilder()
+                .include(include)
+                .forks(0)
+                .shouldFailOnError(true)
+                .resultFormat(ResultFormatType.JSON)
+                .result(results.toString())
+                .build();
+
+        new Runner(options).run();
+    }
+}
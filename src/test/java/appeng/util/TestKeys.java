@@ -0,0 +1,60 @@
+package appeng.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.core.component.DataComponents;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+
+/**
+ * Generates large numbers of distinct keys for benchmarks.
+ */
+public final class TestKeys {
+    private TestKeys() {
+    }
+
+    /**
+     * Distinct items from the registry that are not damageable, with additional variants differing only in their custom
+     * name once the registry runs out of items.
+     */
+    public static List<AEKey> simpleItems(int count) {
+        var items = BuiltInRegistries.ITEM.stream()
+                .filter(item -> item != Items.AIR && !new ItemStack(item).isDamageableItem())
+                .toList();
+
+        var result = new ArrayList<AEKey>(count);
+        for (int i = 0; i < count; i++) {
+            var stack = new ItemStack(items.get(i % items.size()));
+            if (i >= items.size()) {
+                stack.set(DataComponents.CUSTOM_NAME, Component.literal("variant " + i / items.size()));
+            }
+            result.add(AEItemKey.of(stack));
+        }
+        return result;
+    }
+
+    /**
+     * Diamond swords with all possible damage values, with additional variants differing only in their custom name once
+     * all damage values have been used.
+     */
+    public static List<AEKey> damagedItems(int count) {
+        var maxDamage = new ItemStack(Items.DIAMOND_SWORD).getMaxDamage();
+
+        var result = new ArrayList<AEKey>(count);
+        for (int i = 0; i < count; i++) {
+            var stack = new ItemStack(Items.DIAMOND_SWORD);
+            stack.setDamageValue(i % maxDamage);
+            if (i >= maxDamage) {
+                stack.set(DataComponents.CUSTOM_NAME, Component.literal("variant " + i / maxDamage));
+            }
+            result.add(AEItemKey.of(stack));
+        }
+        return result;
+    }
+}